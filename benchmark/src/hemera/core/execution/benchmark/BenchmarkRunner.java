@@ -0,0 +1,31 @@
+package hemera.core.execution.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmark suite and write the results in
+ * JSON format, so the results of different versions
+ * can be compared by tooling.
+ * <p>
+ * Usage: <code>BenchmarkRunner [result-file] [include-regex]</code>
+ * The result file defaults to <code>benchmark-results.json</code>
+ * and the include pattern defaults to all benchmarks
+ * in this package.
+ */
+public class BenchmarkRunner {
+
+	public static void main(final String[] args) throws RunnerException {
+		final String result = (args.length > 0) ? args[0] : "benchmark-results.json";
+		final String include = (args.length > 1) ? args[1] : BenchmarkRunner.class.getPackage().getName() + ".*";
+		final Options options = new OptionsBuilder()
+				.include(include)
+				.resultFormat(ResultFormatType.JSON)
+				.result(result)
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,44 @@
+package hemera.core.execution.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hemera.core.execution.executable.EventExecutable;
+import hemera.core.execution.interfaces.task.IEventTask;
+
+/**
+ * Measure the cost of cancelling a task. The local
+ * cancellation isolates the executable state machine,
+ * while the submitted cancellation races the executors
+ * for tasks that are queued in the service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CancelBenchmark {
+
+	private final IEventTask task = new IEventTask() {
+		@Override
+		public void execute() throws Exception {
+		}
+	};
+
+	@Benchmark
+	public boolean cancelLocal() {
+		return new EventExecutable(this.task).cancel();
+	}
+
+	@Benchmark
+	public boolean cancelSubmitted(final ServiceState state) {
+		return state.service.submit(this.task).cancel();
+	}
+}
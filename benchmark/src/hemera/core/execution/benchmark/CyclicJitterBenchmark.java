@@ -0,0 +1,98 @@
+package hemera.core.execution.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hemera.core.execution.interfaces.task.CycleMode;
+import hemera.core.execution.interfaces.task.ICyclicTask;
+import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
+
+/**
+ * Measure the jitter of a cyclic task running at a
+ * one millisecond cycle limit. Each invocation runs a
+ * fixed number of cycles, and the lateness and skipped
+ * cycle counters of the task handle are reported as
+ * auxiliary counters next to the total duration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CyclicJitterBenchmark {
+
+	private final static int cycleCount = 100;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class JitterCounters {
+
+		public long totalLatenessMicros;
+
+		public long maxLatenessMicros;
+
+		public long skippedCycles;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.totalLatenessMicros = 0;
+			this.maxLatenessMicros = 0;
+			this.skippedCycles = 0;
+		}
+	}
+
+	@Benchmark
+	public ICyclicTaskHandle cycle(final ServiceState state, final JitterCounters counters) throws InterruptedException {
+		final ICyclicTaskHandle handle = state.service.submit(new ICyclicTask() {
+			@Override
+			public boolean execute() throws Exception {
+				return true;
+			}
+
+			@Override
+			public void cleanup() throws Exception {
+			}
+
+			@Override
+			public void signalTerminate() throws Exception {
+			}
+
+			@Override
+			public int getCycleCount() {
+				return CyclicJitterBenchmark.cycleCount;
+			}
+
+			@Override
+			public long getCycleLimit(final TimeUnit unit) {
+				return unit.convert(1, TimeUnit.MILLISECONDS);
+			}
+
+			@Override
+			public CycleMode getCycleMode() {
+				return CycleMode.FIXED_RATE;
+			}
+
+			@Override
+			public int getCatchUpLimit() {
+				return 0;
+			}
+		});
+		handle.await();
+		counters.totalLatenessMicros += handle.getTotalLateness(TimeUnit.MICROSECONDS);
+		counters.maxLatenessMicros = Math.max(counters.maxLatenessMicros, handle.getMaxLateness(TimeUnit.MICROSECONDS));
+		counters.skippedCycles += handle.getSkippedCount();
+		return handle;
+	}
+}
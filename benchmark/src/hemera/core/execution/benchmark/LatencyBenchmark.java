@@ -0,0 +1,60 @@
+package hemera.core.execution.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.IResultTask;
+
+/**
+ * Sample the latency distributions of a single task.
+ * The sample time mode reports the percentiles of
+ * each measurement.
+ * <p>
+ * The submit to start latency is the time between
+ * the submission and the task starting execution. The
+ * round trip latency additionally includes waking up
+ * the waiting thread with the task result.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LatencyBenchmark {
+
+	private final IResultTask<Integer> resultTask = new IResultTask<Integer>() {
+		@Override
+		public Integer execute() throws Exception {
+			return 1;
+		}
+	};
+
+	@Benchmark
+	public boolean submitToStart(final ServiceState state) {
+		final AtomicBoolean started = new AtomicBoolean(false);
+		state.service.submit(new IEventTask() {
+			@Override
+			public void execute() throws Exception {
+				started.set(true);
+			}
+		});
+		while (!started.get()) {
+			// Spin to observe the start as early as possible.
+		}
+		return started.get();
+	}
+
+	@Benchmark
+	public Integer getAndWaitRoundTrip(final ServiceState state) throws InterruptedException {
+		return state.service.submit(this.resultTask).getAndWait();
+	}
+}
@@ -0,0 +1,58 @@
+package hemera.core.execution.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import hemera.core.execution.assisted.AssistedService;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.interfaces.IExceptionHandler;
+import hemera.core.execution.interfaces.IExecutionService;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.scalable.ScalableService;
+
+/**
+ * Shared benchmark state that activates the execution
+ * service under test. Every benchmark runs against
+ * both service types and a range of executor counts,
+ * which covers the scaling with executor count.
+ * <p>
+ * The scalable service is created with equal minimum
+ * and maximum counts, so both services run with the
+ * same number of executor threads.
+ */
+@State(Scope.Benchmark)
+public class ServiceState {
+
+	@Param({"assisted", "scalable"})
+	public String type;
+
+	@Param({"1", "2", "4", "8"})
+	public int executorCount;
+
+	public IExecutionService service;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final IExceptionHandler handler = new LogExceptionHandler();
+		final LogServiceListener listener = new LogServiceListener();
+		if ("assisted".equals(this.type)) {
+			this.service = new AssistedService(handler, listener, this.executorCount, 1024, 100, TimeUnit.MILLISECONDS);
+		} else if ("scalable".equals(this.type)) {
+			this.service = new ScalableService(handler, listener, this.executorCount, this.executorCount, 200, TimeUnit.MILLISECONDS);
+		} else {
+			throw new IllegalArgumentException("Unknown service type: " + this.type);
+		}
+		this.service.activate();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		this.service.shutdownAndWait();
+	}
+}
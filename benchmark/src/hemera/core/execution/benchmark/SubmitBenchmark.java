@@ -0,0 +1,70 @@
+package hemera.core.execution.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IGroupTaskHandle;
+
+/**
+ * Measure the submission throughput of empty event
+ * tasks, both one at a time and as batches. The
+ * submitting threads are throttled by the service
+ * capacity, so the score reflects the sustained
+ * submit and execute rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SubmitBenchmark {
+
+	private final static int batchSize = 100;
+
+	private final IEventTask task = new IEventTask() {
+		@Override
+		public void execute() throws Exception {
+		}
+	};
+
+	private final List<IEventTask> batch = new ArrayList<IEventTask>(SubmitBenchmark.batchSize);
+
+	public SubmitBenchmark() {
+		for (int i = 0; i < SubmitBenchmark.batchSize; i++) {
+			this.batch.add(this.task);
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public IEventTaskHandle submitSingleProducer(final ServiceState state) {
+		return state.service.submit(this.task);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public IEventTaskHandle submitMultipleProducers(final ServiceState state) {
+		return state.service.submit(this.task);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public IGroupTaskHandle submitBatch(final ServiceState state) {
+		return state.service.submitAll(this.batch);
+	}
+}
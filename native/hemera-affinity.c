@@ -0,0 +1,23 @@
+/*
+ * Native binding of hemera.core.execution.affinity.LinuxAffinityProvider.
+ *
+ * Build with:
+ * gcc -O2 -shared -fPIC -I"$JAVA_HOME/include" -I"$JAVA_HOME/include/linux" \
+ *     -o libhemera-affinity.so hemera-affinity.c
+ *
+ * and place the library on java.library.path.
+ */
+#define _GNU_SOURCE
+#include <errno.h>
+#include <sched.h>
+#include <jni.h>
+
+JNIEXPORT jint JNICALL Java_hemera_core_execution_affinity_LinuxAffinityProvider_setAffinity(JNIEnv *env, jclass type, jint cpu) {
+	cpu_set_t set;
+	if (cpu < 0 || cpu >= CPU_SETSIZE) return EINVAL;
+	CPU_ZERO(&set);
+	CPU_SET(cpu, &set);
+	/* A pid of 0 binds the calling thread. */
+	if (sched_setaffinity(0, sizeof(set), &set) != 0) return errno;
+	return 0;
+}
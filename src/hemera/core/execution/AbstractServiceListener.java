@@ -1,7 +1,16 @@
 package hemera.core.execution;
 
-import hemera.core.execution.executable.CyclicExecutable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import hemera.core.execution.interfaces.IServiceListener;
+import hemera.core.execution.interfaces.metrics.ExecutorState;
+import hemera.core.execution.metrics.ExecutorSnapshot;
 import hemera.core.utility.logging.FileLogger;
 
 /**
@@ -9,39 +18,113 @@ import hemera.core.utility.logging.FileLogger;
  * abstraction of all service listeners. It provides the
  * basic logging functionality for when a service event
  * occurs.
+ * <p>
+ * When the service capacity is reached, the listener
+ * is notified with a report of the diagnostic snapshots
+ * of all the executors, which is captured without
+ * pausing any executor threads. Since the notification
+ * is sent while the service is saturated, stack-traces
+ * are not captured by default.
+ * <p>
+ * Stack sampling can be enabled, in which case the
+ * stack-traces of a bounded number of the executors that
+ * have been executing their current tasks the longest
+ * are captured on a separate thread, with a bounded
+ * depth. At most a single sampling is in progress at
+ * any time.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.2
+ * @version 1.0.3
  */
 public abstract class AbstractServiceListener implements IServiceListener {
+	/**
+	 * The <code>int</code> maximum number of executors
+	 * whose stack-traces are sampled. <code>0</code> if
+	 * stack sampling is disabled.
+	 */
+	private final int sampledCount;
+	/**
+	 * The <code>int</code> maximum number of frames of
+	 * each sampled stack-trace.
+	 */
+	private final int sampledDepth;
+	/**
+	 * The <code>AtomicBoolean</code> flag indicating if
+	 * a stack sampling is in progress.
+	 */
+	private final AtomicBoolean sampling;
 	/**
 	 * The <code>ExecutionService</code> instance.
 	 */
 	private ExecutionService servcie;
 
+	/**
+	 * Constructor of <code>AbstractServiceListener</code>.
+	 * <p>
+	 * This constructor disables stack sampling.
+	 */
+	protected AbstractServiceListener() {
+		this(0, 0);
+	}
+
+	/**
+	 * Constructor of <code>AbstractServiceListener</code>.
+	 * @param sampledCount The <code>int</code> maximum
+	 * number of executors whose stack-traces are sampled
+	 * when the capacity is reached. <code>0</code> to
+	 * disable stack sampling.
+	 * @param sampledDepth The <code>int</code> maximum
+	 * number of frames of each sampled stack-trace.
+	 */
+	protected AbstractServiceListener(final int sampledCount, final int sampledDepth) {
+		if (sampledCount < 0) throw new IllegalArgumentException("Sampled executor count cannot be negative.");
+		else if (sampledCount > 0 && sampledDepth <= 0) throw new IllegalArgumentException("Sampled stack depth must be greater than 0.");
+		this.sampledCount = sampledCount;
+		this.sampledDepth = sampledDepth;
+		this.sampling = new AtomicBoolean(false);
+	}
+
 	@Override
 	public final void capacityReached() {
+		final List<Executor> executors = new ArrayList<Executor>();
+		final List<ExecutorSnapshot> snapshots = new ArrayList<ExecutorSnapshot>();
 		final StringBuilder builder = new StringBuilder();
-		final Iterable<Executor> executors = this.servcie.getExecutors();
-		for (final Executor executor : executors) {
-			builder.append((executor.getName())).append("\n");
-			final CyclicExecutable cyclicExecutable = executor.currentCyclicExecutable;
-			if (cyclicExecutable != null) {
-				builder.append("Cyclic Task: ").append(cyclicExecutable.getTask()).append("\n");
-			}
-			builder.append(FileLogger.buildStacktrace(executor.thread.getStackTrace())).append("\n");
+		for (final Executor executor : this.servcie.getExecutors()) {
+			final ExecutorSnapshot snapshot = executor.snapshot();
+			executors.add(executor);
+			snapshots.add(snapshot);
+			builder.append(snapshot).append("\n");
 		}
 		this.capacityReached(builder.toString());
+		if (this.sampledCount > 0 && this.sampling.compareAndSet(false, true)) {
+			final Thread sampler = new Thread(new Sampler(executors, snapshots));
+			sampler.setName("ServiceListener-Sampler");
+			sampler.setDaemon(true);
+			sampler.start();
+		}
 	}
-	
+
 	/**
 	 * Notify that the service has reached its maximum
 	 * capacity.
-	 * @param stacktrace The current stack track of all
-	 * executor threads.
+	 * @param report The <code>String</code> report of
+	 * the diagnostic snapshots of all the executors.
+	 */
+	protected abstract void capacityReached(final String report);
+
+	/**
+	 * Notify that the stack-traces of the longest running
+	 * executors have been sampled after the service has
+	 * reached its maximum capacity. This method is only
+	 * invoked if stack sampling is enabled, by the
+	 * sampling thread. The default implementation does
+	 * nothing.
+	 * @param stacktrace The <code>String</code> sampled
+	 * stack-traces.
 	 */
-	protected abstract void capacityReached(final String stacktrace);
-	
+	protected void stacksSampled(final String stacktrace) {
+	}
+
 	/**
 	 * Set the execution service that owns this listener.
 	 * @param service The <code>ExecutionService</code>.
@@ -49,4 +132,70 @@ public abstract class AbstractServiceListener implements IServiceListener {
 	void setExecutionService(final ExecutionService service) {
 		this.servcie = service;
 	}
+
+	/**
+	 * <code>Sampler</code> defines the logic that samples
+	 * the stack-traces of the executors that have been
+	 * executing their current tasks the longest.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final class Sampler implements Runnable {
+		/**
+		 * The <code>List</code> of <code>Executor</code>.
+		 */
+		private final List<Executor> executors;
+		/**
+		 * The <code>List</code> of the corresponding
+		 * <code>ExecutorSnapshot</code>.
+		 */
+		private final List<ExecutorSnapshot> snapshots;
+
+		/**
+		 * Constructor of <code>Sampler</code>.
+		 * @param executors The <code>List</code> of
+		 * <code>Executor</code>.
+		 * @param snapshots The <code>List</code> of the
+		 * corresponding <code>ExecutorSnapshot</code>.
+		 */
+		private Sampler(final List<Executor> executors, final List<ExecutorSnapshot> snapshots) {
+			this.executors = executors;
+			this.snapshots = snapshots;
+		}
+
+		@Override
+		public void run() {
+			final AbstractServiceListener listener = AbstractServiceListener.this;
+			try {
+				// Order the executing executors by their time in task.
+				final List<Integer> indices = new ArrayList<Integer>();
+				for (int i = 0; i < this.snapshots.size(); i++) {
+					if (this.snapshots.get(i).getState() == ExecutorState.EXECUTING) indices.add(i);
+				}
+				Collections.sort(indices, new Comparator<Integer>() {
+					@Override
+					public int compare(final Integer a, final Integer b) {
+						final long timeA = snapshots.get(a).getTimeInTask(TimeUnit.NANOSECONDS);
+						final long timeB = snapshots.get(b).getTimeInTask(TimeUnit.NANOSECONDS);
+						return (timeA > timeB) ? -1 : ((timeA < timeB) ? 1 : 0);
+					}
+				});
+				final StringBuilder builder = new StringBuilder();
+				final int count = Math.min(listener.sampledCount, indices.size());
+				for (int i = 0; i < count; i++) {
+					final int index = indices.get(i);
+					final StackTraceElement[] trace = this.executors.get(index).thread.getStackTrace();
+					final int depth = Math.min(listener.sampledDepth, trace.length);
+					builder.append(this.snapshots.get(index)).append("\n");
+					builder.append(FileLogger.buildStacktrace(Arrays.copyOf(trace, depth))).append("\n");
+				}
+				if (count > 0) listener.stacksSampled(builder.toString());
+			} catch (final Exception e) {
+				listener.servcie.handler.handle(e);
+			} finally {
+				listener.sampling.set(false);
+			}
+		}
+	}
 }
@@ -1,17 +1,43 @@
 package hemera.core.execution;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
+import hemera.core.execution.admission.BlockPolicy;
+import hemera.core.execution.context.ContextPropagator;
+import hemera.core.execution.context.ContextSnapshot;
+import hemera.core.execution.event.EventStream;
+import hemera.core.execution.executable.CyclicExecutable;
+import hemera.core.execution.executable.EventExecutable;
+import hemera.core.execution.executable.ResultExecutable;
+import hemera.core.execution.executable.ResultTaskGroup;
+import hemera.core.execution.executable.TaskGroup;
 import hemera.core.execution.interfaces.IExceptionHandler;
 import hemera.core.execution.interfaces.IExecutionService;
 import hemera.core.execution.interfaces.IServiceListener;
+import hemera.core.execution.interfaces.admission.IConcurrencyLimit;
+import hemera.core.execution.interfaces.admission.IRejectedTask;
+import hemera.core.execution.interfaces.admission.IRejectionPolicy;
+import hemera.core.execution.interfaces.context.IContextCarrier;
+import hemera.core.execution.interfaces.event.ExecutionEventType;
+import hemera.core.execution.interfaces.event.IEventSubscriber;
+import hemera.core.execution.interfaces.metrics.IExecutorSnapshot;
+import hemera.core.execution.interfaces.metrics.IServiceMetrics;
 import hemera.core.execution.interfaces.task.ICyclicTask;
 import hemera.core.execution.interfaces.task.IEventTask;
 import hemera.core.execution.interfaces.task.IResultTask;
 import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
 import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IGroupTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IResultGroupHandle;
 import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.metrics.ServiceMetrics;
 
 /**
  * <code>ExecutionService</code> defines abstraction
@@ -19,11 +45,39 @@ import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
  * is responsible for task execution for the entire
  * system. It provides the commonly shared logic among
  * all types of execution services.
+ * <p>
+ * Executor threads started by the service are tracked
+ * by a termination latch, which is released once the
+ * service has been shut down and all the threads have
+ * exited. Termination of all executors is requested at
+ * once, so they shut down in parallel, and waiting for
+ * termination returns as soon as the last thread exits.
+ * <p>
+ * Individually submitted event and result tasks pass
+ * through admission control. A task is admitted if the
+ * optional concurrency limit has a free slot and the
+ * service can place the task without blocking. Other
+ * tasks are handed to the rejection policy, which by
+ * default blocks until the task can be admitted.
+ * <p>
+ * The lifecycle events of the executors and tasks are
+ * published to the subscribers through the event stream
+ * of the service, which all of its executors share.
+ * <p>
+ * The context of the registered context carriers is
+ * captured when a task is submitted to the service,
+ * and installed around the execution of the task.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.1
+ * @version 1.0.8
  */
 public abstract class ExecutionService implements IExecutionService {
+	/**
+	 * The <code>long</code> time in nanoseconds a
+	 * submission backs off before retrying when the
+	 * service is saturated.
+	 */
+	private final static long capacityBackoff = TimeUnit.MICROSECONDS.toNanos(100);
 	/**
 	 * The <code>IExceptionHandler</code> instance used
 	 * to gracefully allow executors handle exceptions.
@@ -33,6 +87,21 @@ public abstract class ExecutionService implements IExecutionService {
 	 * The <code>IServiceListener</code> instance.
 	 */
 	protected final IServiceListener listener;
+	/**
+	 * The <code>ServiceMetrics</code> shared by all the
+	 * executors of the service.
+	 */
+	protected final ServiceMetrics metrics;
+	/**
+	 * The <code>EventStream</code> shared by all the
+	 * executors of the service.
+	 */
+	protected final EventStream events;
+	/**
+	 * The <code>ContextPropagator</code> that captures
+	 * the context of the submitted tasks.
+	 */
+	private final ContextPropagator contexts;
 	/**
 	 * The <code>AtomicBoolean</code> activated flag.
 	 * <p>
@@ -49,6 +118,21 @@ public abstract class ExecutionService implements IExecutionService {
 	 * be provided.
 	 */
 	private final AtomicBoolean shutdown;
+	/**
+	 * The <code>TerminationLatch</code> released when
+	 * the service has terminated.
+	 */
+	private final TerminationLatch termination;
+	/**
+	 * The <code>IRejectionPolicy</code> used to handle
+	 * the tasks that cannot be admitted.
+	 */
+	private volatile IRejectionPolicy rejectionPolicy;
+	/**
+	 * The <code>IConcurrencyLimit</code> on the admitted
+	 * tasks. <code>null</code> if there is no limit.
+	 */
+	private volatile IConcurrencyLimit concurrencyLimit;
 	
 	/**
 	 * Constructor of <code>ExecutionService</code>.
@@ -63,8 +147,14 @@ public abstract class ExecutionService implements IExecutionService {
 		this.handler = handler;
 		listener.setExecutionService(this);
 		this.listener = new ListenerWrapper(listener, this.handler);
+		this.metrics = new ServiceMetrics();
+		this.events = new EventStream(this.handler);
+		this.contexts = new ContextPropagator();
 		this.activated = new AtomicBoolean(false);
 		this.shutdown = new AtomicBoolean(false);
+		this.termination = new TerminationLatch();
+		this.rejectionPolicy = new BlockPolicy();
+		this.concurrencyLimit = null;
 		// Add exception handler as system shutdown hook.
 		Runtime.getRuntime().addShutdownHook(new Thread(handler));
 	}
@@ -81,35 +171,47 @@ public abstract class ExecutionService implements IExecutionService {
 	 */
 	protected abstract void doActivate();
 
+	/**
+	 * Start the given executor with its thread tracked
+	 * for the service termination.
+	 * <p>
+	 * Service implementations should always start their
+	 * executors with this method.
+	 * @param executor The <code>Executor</code> to be
+	 * started.
+	 */
+	protected final void start(final Executor executor) {
+		executor.start(this.termination, this.events);
+	}
+
 	@Override
 	public void shutdown() {
 		if (!this.shutdown.compareAndSet(false, true)) return;
 		this.doShutdown();
+		this.termination.arrive();
 	}
 	
 	/**
 	 * Perform service type specific graceful shutdown.
+	 * <p>
+	 * This method should request all executors to
+	 * terminate without waiting for them.
 	 */
 	protected abstract void doShutdown();
 	
 	@Override
 	public void shutdownAndWait() throws InterruptedException {
 		if (!this.shutdown.compareAndSet(false, true)) return;
-		this.doShutdownAndWait();
+		this.doShutdown();
+		this.termination.arrive();
+		this.termination.await(-1, null);
 	}
-	
-	/**
-	 * Perform service type specific graceful shutdown
-	 * and wait.
-	 * @throws InterruptedException If waiting process
-	 * is interrupted.
-	 */
-	protected abstract void doShutdownAndWait() throws InterruptedException;
 
 	@Override
 	public void forceShutdown() {
 		if (!this.shutdown.compareAndSet(false, true)) return;
 		this.doForceShutdown();
+		this.termination.arrive();
 	}
 	
 	/**
@@ -120,76 +222,280 @@ public abstract class ExecutionService implements IExecutionService {
 	@Override
 	public void forceShutdown(final long time, final TimeUnit unit) throws InterruptedException {
 		if (!this.shutdown.compareAndSet(false, true)) return;
-		this.doForceShutdown(time, unit);
+		this.doShutdown();
+		this.termination.arrive();
+		// Only force the executors that are still running
+		// after the given time.
+		if (!this.termination.await(time, unit)) this.doForceShutdown();
+	}
+
+	@Override
+	public void shutdownAndDrain() {
+		if (!this.shutdown.compareAndSet(false, true)) return;
+		this.doDrain();
+		this.termination.arrive();
 	}
-	
+
 	/**
-	 * Perform service type specific graceful shutdown
-	 * and wait then force shutdown.
-	 * @param time The <code>Long</code> time value.
-	 * @param unit The <code>TimeUnit</code> of the value.
-	 * @throws InterruptedException If waiting process is
-	 * interrupted.
+	 * Perform service type specific drain shutdown.
+	 * <p>
+	 * This method should request all executors to
+	 * drain without waiting for them.
 	 */
-	protected abstract void doForceShutdown(final long time, final TimeUnit unit) throws InterruptedException;
+	protected abstract void doDrain();
 
 	@Override
-	public IEventTaskHandle submit(final IEventTask task) {
-		this.exceptionCheck(task);
-		final IEventTaskHandle handle = this.doSubmit(task);
-		if (handle == null) throw new RuntimeException("Service error: submission of task failed even though service is running.");
-		return handle;
+	public List<IEventTaskHandle> shutdownAndCancel() {
+		if (!this.shutdown.compareAndSet(false, true)) return Collections.emptyList();
+		final List<EventExecutable> pending = new ArrayList<EventExecutable>();
+		this.doCancel(pending);
+		this.termination.arrive();
+		// Tasks that have been taken for execution concurrently
+		// can no longer be cancelled, they are not returned.
+		final List<IEventTaskHandle> cancelled = new ArrayList<IEventTaskHandle>(pending.size());
+		for (final EventExecutable executable : pending) {
+			if (executable.cancel()) {
+				cancelled.add(executable);
+				this.publish(ExecutionEventType.TASK_CANCELLED, executable);
+			}
+		}
+		return cancelled;
 	}
-	
+
 	/**
-	 * Perform the service type specific event task
-	 * assignment.
-	 * @param task The <code>IEventTask</code> to be
-	 * submitted.
-	 * @return The <code>IEventTaskHandle</code> of
-	 * the given task. This method should never return
-	 * <code>null</code>.
+	 * Perform service type specific cancelling shutdown.
+	 * <p>
+	 * This method should request all executors to
+	 * terminate without waiting for them, and remove
+	 * all the executables that have not yet been taken
+	 * for execution.
+	 * @param pending The <code>List</code> to add the
+	 * removed <code>EventExecutable</code> to.
 	 */
-	protected abstract IEventTaskHandle doSubmit(final IEventTask task);
+	protected abstract void doCancel(final List<EventExecutable> pending);
+
+	@Override
+	public boolean awaitTermination(final long time, final TimeUnit unit) throws InterruptedException {
+		if (unit == null) throw new IllegalArgumentException("Time unit cannot be null.");
+		return this.termination.await(Math.max(time, 0), unit);
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return this.termination.isReleased();
+	}
+
+	@Override
+	public IEventTaskHandle submit(final IEventTask task) {
+		this.exceptionCheck(task);
+		final EventExecutable executable = new EventExecutable(task);
+		executable.setContext(this.contexts.capture());
+		this.admit(executable);
+		this.metrics.recordSubmitted(1);
+		this.publish(ExecutionEventType.TASK_SUBMITTED, executable);
+		return executable;
+	}
 	
 	@Override
 	public ICyclicTaskHandle submit(final ICyclicTask task) {
 		this.exceptionCheck(task);
-		final ICyclicTaskHandle handle = this.doSubmit(task);
-		if (handle == null) throw new RuntimeException("Service error: submission of task failed even though service is running.");
-		return handle;
+		final CyclicExecutable executable = new CyclicExecutable(task, this.handler, this.events);
+		executable.setContext(this.contexts.capture());
+		// Cyclic tasks hold their executors until terminated,
+		// they always wait for capacity.
+		if (!this.offer(executable)) {
+			this.listener.capacityReached();
+			this.publish(ExecutionEventType.CAPACITY_REACHED, null);
+			while (!this.offer(executable)) {
+				try {
+					this.awaitCapacity(-1);
+				} catch (final InterruptedException e) {
+					this.handler.handle(e);
+				}
+			}
+		}
+		this.metrics.recordSubmitted(1);
+		this.publish(ExecutionEventType.TASK_SUBMITTED, executable);
+		return executable;
 	}
-	
-	/**
-	 * Perform the service type specific cyclic task
-	 * assignment.
-	 * @param task The <code>ICyclicTask</code> to be
-	 * submitted.
-	 * @return The <code>ICyclicTaskHandle</code> of
-	 * the given task. This method should never return
-	 * <code>null</code>.
-	 */
-	protected abstract ICyclicTaskHandle doSubmit(final ICyclicTask task);
 
 	@Override
 	public <V> IResultTaskHandle<V> submit(final IResultTask<V> task) {
 		this.exceptionCheck(task);
-		final IResultTaskHandle<V> handle = this.doSubmit(task);
-		if (handle == null) throw new RuntimeException("Service error: submission of task failed even though service is running.");
-		return handle;
+		final ResultExecutable<V> executable = new ResultExecutable<V>(task);
+		executable.setContext(this.contexts.capture());
+		this.admit(executable);
+		this.metrics.recordSubmitted(1);
+		this.publish(ExecutionEventType.TASK_SUBMITTED, executable);
+		return executable;
 	}
-	
+
+	/**
+	 * Publish an event of the given type that did not
+	 * occur on an executor, if any subscriber is
+	 * interested in it.
+	 * @param type The <code>ExecutionEventType</code>.
+	 * @param executable The <code>EventExecutable</code>
+	 * the event is about. <code>null</code> if the event
+	 * is not about a task.
+	 */
+	private void publish(final ExecutionEventType type, final EventExecutable executable) {
+		if (this.events.isEnabled(type)) this.events.publish(type, null, executable, 0, null);
+	}
+
+	/**
+	 * Admit the given executable, or hand it to the
+	 * rejection policy if it cannot be admitted.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be admitted.
+	 * @throws RejectedExecutionException If the policy
+	 * rejected the executable.
+	 */
+	private void admit(final EventExecutable executable) {
+		final IConcurrencyLimit limit = this.concurrencyLimit;
+		if (this.tryAdmit(executable, limit)) return;
+		this.listener.capacityReached();
+		this.publish(ExecutionEventType.CAPACITY_REACHED, null);
+		try {
+			this.rejectionPolicy.reject(new RejectedTask(executable, limit));
+		} catch (final RejectedExecutionException e) {
+			// The policy may have dropped the task already.
+			if (executable.cancel()) this.metrics.recordRejected();
+			throw e;
+		}
+	}
+
 	/**
-	 * Perform the service type specific result task
-	 * assignment.
-	 * @param <V> The result task result return type.
-	 * @param task The <code>IResultTask</code> to be
-	 * submitted.
-	 * @return The <code>IResultTaskHandle</code> of
-	 * the given task. This method should never return
-	 * <code>null</code>.
+	 * Try to admit the given executable without blocking.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be admitted.
+	 * @param limit The <code>IConcurrencyLimit</code>
+	 * to acquire a slot from. <code>null</code> if there
+	 * is no limit.
+	 * @return <code>true</code> if the executable has
+	 * been admitted. <code>false</code> otherwise.
 	 */
-	protected abstract <V> IResultTaskHandle<V> doSubmit(final IResultTask<V> task);
+	private boolean tryAdmit(final EventExecutable executable, final IConcurrencyLimit limit) {
+		if (limit == null) return this.offer(executable);
+		else if (!limit.tryAcquire()) return false;
+		else if (!this.offer(executable)) {
+			limit.releaseIgnored();
+			return false;
+		}
+		// The slot is released once the executable is done, which
+		// may already be the case.
+		executable.onDone(new LimitRelease(executable, limit));
+		return true;
+	}
+
+	/**
+	 * Try to place the given executable for execution
+	 * without blocking.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be placed.
+	 * @return <code>true</code> if the executable has
+	 * been placed. <code>false</code> if the service is
+	 * saturated.
+	 */
+	protected abstract boolean offer(final EventExecutable executable);
+
+	/**
+	 * Wait until the service may have capacity for a
+	 * new executable, or the given time elapses.
+	 * <p>
+	 * The default implementation backs off for a short
+	 * period of time. Implementations that are notified
+	 * when capacity becomes available should override
+	 * this method to wake up earlier.
+	 * @param timeout The <code>long</code> maximum time
+	 * to wait in nanoseconds. Less than 0 if the time is
+	 * not bound.
+	 * @throws InterruptedException If the waiting is
+	 * interrupted.
+	 */
+	protected void awaitCapacity(final long timeout) throws InterruptedException {
+		final long backoff = (timeout < 0) ? ExecutionService.capacityBackoff : Math.min(timeout, ExecutionService.capacityBackoff);
+		LockSupport.parkNanos(this, backoff);
+		if (Thread.interrupted()) throw new InterruptedException("Interrupted while waiting for service capacity.");
+	}
+
+	/**
+	 * Remove the oldest pending executable that has not
+	 * yet been taken for execution.
+	 * @return The removed <code>EventExecutable</code>.
+	 * <code>null</code> if there are none.
+	 */
+	protected abstract EventExecutable evict();
+
+	@Override
+	public void setRejectionPolicy(final IRejectionPolicy policy) {
+		if (policy == null) throw new IllegalArgumentException("Rejection policy cannot be null.");
+		this.rejectionPolicy = policy;
+	}
+
+	@Override
+	public void setConcurrencyLimit(final IConcurrencyLimit limit) {
+		this.concurrencyLimit = limit;
+	}
+
+	@Override
+	public IGroupTaskHandle submitAll(final Collection<? extends IEventTask> tasks) {
+		this.exceptionCheck(tasks);
+		// Validate the entire batch before submitting any task.
+		final EventExecutable[] executables = new EventExecutable[tasks.size()];
+		final ContextSnapshot context = this.contexts.capture();
+		int index = 0;
+		for (final IEventTask task : tasks) {
+			if (task == null) throw new IllegalArgumentException("Task is null.");
+			executables[index] = new EventExecutable(task);
+			executables[index].setContext(context);
+			index++;
+		}
+		if (executables.length > 0) this.doSubmitAll(executables);
+		this.metrics.recordSubmitted(executables.length);
+		this.publishAll(ExecutionEventType.TASK_SUBMITTED, executables);
+		return new TaskGroup(executables);
+	}
+
+	@Override
+	public <V> IResultGroupHandle<V> submitAll(final IResultTask<V>[] tasks) {
+		this.exceptionCheck(tasks);
+		@SuppressWarnings("unchecked")
+		final ResultExecutable<V>[] executables = new ResultExecutable[tasks.length];
+		final ContextSnapshot context = this.contexts.capture();
+		for (int i = 0; i < tasks.length; i++) {
+			if (tasks[i] == null) throw new IllegalArgumentException("Task is null.");
+			executables[i] = new ResultExecutable<V>(tasks[i]);
+			executables[i].setContext(context);
+		}
+		if (executables.length > 0) this.doSubmitAll(executables);
+		this.metrics.recordSubmitted(executables.length);
+		this.publishAll(ExecutionEventType.TASK_SUBMITTED, executables);
+		return new ResultTaskGroup<V>(executables);
+	}
+
+	/**
+	 * Publish an event of the given type for each of
+	 * the given executables, if any subscriber is
+	 * interested in it.
+	 * @param type The <code>ExecutionEventType</code>.
+	 * @param executables The <code>EventExecutable</code>
+	 * array.
+	 */
+	private void publishAll(final ExecutionEventType type, final EventExecutable[] executables) {
+		if (!this.events.isEnabled(type)) return;
+		for (final EventExecutable executable : executables) {
+			this.events.publish(type, null, executable, 0, null);
+		}
+	}
+
+	/**
+	 * Perform the service type specific assignment of
+	 * the given batch of executables.
+	 * @param executables The non-empty <code>EventExecutable</code>
+	 * array to be assigned.
+	 */
+	protected abstract void doSubmitAll(final EventExecutable[] executables);
 	
 	/**
 	 * Check all the exception causing status.
@@ -213,4 +519,151 @@ public abstract class ExecutionService implements IExecutionService {
 	public final IExceptionHandler getExceptionHandler() {
 		return this.handler;
 	}
+
+	@Override
+	public final IServiceMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	@Override
+	public List<IExecutorSnapshot> getExecutorSnapshots() {
+		final List<IExecutorSnapshot> snapshots = new ArrayList<IExecutorSnapshot>();
+		for (final Executor executor : this.getExecutors()) {
+			snapshots.add(executor.snapshot());
+		}
+		return snapshots;
+	}
+
+	@Override
+	public void subscribe(final IEventSubscriber subscriber, final ExecutionEventType... types) {
+		this.events.subscribe(subscriber, types);
+	}
+
+	@Override
+	public boolean unsubscribe(final IEventSubscriber subscriber) {
+		return this.events.unsubscribe(subscriber);
+	}
+
+	@Override
+	public void addContextCarrier(final IContextCarrier<?> carrier) {
+		this.contexts.add(carrier);
+	}
+
+	@Override
+	public boolean removeContextCarrier(final IContextCarrier<?> carrier) {
+		return this.contexts.remove(carrier);
+	}
+
+	/**
+	 * <code>RejectedTask</code> defines the implementation
+	 * of a task that could not be admitted, which performs
+	 * the operations of the rejection policy on the service.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final class RejectedTask implements IRejectedTask {
+		/**
+		 * The rejected <code>EventExecutable</code>.
+		 */
+		private final EventExecutable executable;
+		/**
+		 * The <code>IConcurrencyLimit</code> at the time
+		 * of the submission. <code>null</code> if there
+		 * is no limit.
+		 */
+		private final IConcurrencyLimit limit;
+
+		/**
+		 * Constructor of <code>RejectedTask</code>.
+		 * @param executable The rejected <code>EventExecutable</code>.
+		 * @param limit The <code>IConcurrencyLimit</code>.
+		 */
+		private RejectedTask(final EventExecutable executable, final IConcurrencyLimit limit) {
+			this.executable = executable;
+			this.limit = limit;
+		}
+
+		@Override
+		public boolean retry() {
+			return ExecutionService.this.tryAdmit(this.executable, this.limit);
+		}
+
+		@Override
+		public void await(final long value, final TimeUnit unit) throws InterruptedException {
+			final boolean timed = (value >= 0 && unit != null);
+			ExecutionService.this.awaitCapacity(timed ? unit.toNanos(value) : -1);
+		}
+
+		@Override
+		public boolean evictOldest() {
+			final EventExecutable evicted = ExecutionService.this.evict();
+			if (evicted == null) return false;
+			if (evicted.cancel()) {
+				ExecutionService.this.metrics.recordRejected();
+				ExecutionService.this.publish(ExecutionEventType.TASK_CANCELLED, evicted);
+			}
+			return true;
+		}
+
+		@Override
+		public void runInCaller() {
+			try {
+				this.executable.execute();
+			} catch (final Exception e) {
+				ExecutionService.this.handler.handle(e);
+			}
+		}
+
+		@Override
+		public void drop() {
+			if (this.executable.cancel()) ExecutionService.this.metrics.recordRejected();
+		}
+
+		@Override
+		public IEventTaskHandle getHandle() {
+			return this.executable;
+		}
+	}
+
+	/**
+	 * <code>LimitRelease</code> defines the callback that
+	 * releases the concurrency limit slot of an admitted
+	 * executable once it is done.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final static class LimitRelease implements Runnable {
+		/**
+		 * The admitted <code>EventExecutable</code>.
+		 */
+		private final EventExecutable executable;
+		/**
+		 * The <code>IConcurrencyLimit</code> the slot
+		 * was acquired from.
+		 */
+		private final IConcurrencyLimit limit;
+
+		/**
+		 * Constructor of <code>LimitRelease</code>.
+		 * @param executable The admitted <code>EventExecutable</code>.
+		 * @param limit The <code>IConcurrencyLimit</code>.
+		 */
+		private LimitRelease(final EventExecutable executable, final IConcurrencyLimit limit) {
+			this.executable = executable;
+			this.limit = limit;
+		}
+
+		@Override
+		public void run() {
+			if (this.executable.isCancelled()) {
+				this.limit.releaseIgnored();
+			} else if (this.executable.isExpired()) {
+				this.limit.releaseDropped();
+			} else {
+				this.limit.release(System.nanoTime() - this.executable.getCreationTime(), TimeUnit.NANOSECONDS);
+			}
+		}
+	}
 }
@@ -1,16 +1,28 @@
 package hemera.core.execution;
 
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
+import hemera.core.execution.event.EventStream;
 import hemera.core.execution.executable.CyclicExecutable;
+import hemera.core.execution.executable.EventExecutable;
+import hemera.core.execution.idle.BlockIdleStrategy;
 import hemera.core.execution.interfaces.IExceptionHandler;
 import hemera.core.execution.interfaces.IExecutor;
+import hemera.core.execution.interfaces.IIdleStrategy;
+import hemera.core.execution.interfaces.event.ExecutionEventType;
+import hemera.core.execution.interfaces.metrics.ExecutorState;
 import hemera.core.execution.interfaces.task.ICyclicTask;
 import hemera.core.execution.interfaces.task.IEventTask;
 import hemera.core.execution.interfaces.task.IResultTask;
 import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
 import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
 import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.metrics.ExecutorMetrics;
+import hemera.core.execution.metrics.ExecutorSnapshot;
+import hemera.core.execution.metrics.ServiceMetrics;
 
 /**
  * <code>Executor</code> defines the abstraction of an
@@ -24,9 +36,14 @@ import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
  * single running cycle logic without worrying about
  * the activation, termination or exception handling
  * issues.
+ * <p>
+ * The lifecycle events of the executor thread and the
+ * tasks it executes are published to the event stream
+ * of the owning service. Events that no subscriber is
+ * interested in are skipped with a single mask check.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.1
+ * @version 1.0.10
  */
 public abstract class Executor implements IExecutor {
 	/**
@@ -39,6 +56,24 @@ public abstract class Executor implements IExecutor {
 	 * task execution graceful exception handling.
 	 */
 	protected final IExceptionHandler handler;
+	/**
+	 * The <code>IIdleStrategy</code> used when there
+	 * are no tasks to execute.
+	 */
+	private final IIdleStrategy idleStrategy;
+	/**
+	 * The <code>ExecutorMetrics</code> of this executor.
+	 */
+	protected final ExecutorMetrics metrics;
+	/**
+	 * The <code>AtomicBoolean</code> executor thread
+	 * parked flag.
+	 * <p>
+	 * This flag is set right before the executor thread
+	 * parks, so that task assignments only need to wake
+	 * up the executor if it is actually parked.
+	 */
+	private final AtomicBoolean parked;
 	/**
 	 * The <code>AtomicBoolean</code> executor thread
 	 * started flag.
@@ -59,21 +94,49 @@ public abstract class Executor implements IExecutor {
 	 * guaranteed.
 	 */
 	private volatile boolean requestedTermination;
+	/**
+	 * The <code>Boolean</code> executor drain flag.
+	 * <p>
+	 * Since drain invocation can potentially be in a
+	 * different thread than the executing thread,
+	 * memory visibility of this flag needs to be
+	 * guaranteed.
+	 */
+	private volatile boolean requestedDrain;
 	/**
 	 * The <code>Boolean</code> executor thread terminated
 	 * flag.
 	 * <p>
 	 * All implementation executors should guarantee
 	 * to write this flag to <code>true</code> upon
-	 * exiting thread <code>run</code> method. This
-	 * flag is read by the <code>ExecutionService</code>
-	 * <code>shutdownAndWait</code> method.
+	 * exiting thread <code>run</code> method.
 	 * <p>
 	 * Since write-thread, which is the executor thread
 	 * is different from the read-thread thread, memory
 	 * visibility of this flag needs to be guaranteed.
 	 */
 	private volatile boolean threadTerminated;
+	/**
+	 * The <code>TerminationLatch</code> of the service
+	 * the executor thread is registered with.
+	 * <code>null</code> if the executor is started
+	 * outside of a service.
+	 * <p>
+	 * This field is written before the executor thread
+	 * is started, therefore its memory visibility is
+	 * guaranteed by the thread start.
+	 */
+	private TerminationLatch latch;
+	/**
+	 * The <code>EventStream</code> of the service the
+	 * executor is owned by. <code>null</code> if the
+	 * executor is started outside of a service.
+	 * <p>
+	 * Since tasks of this executor may be executed by
+	 * other threads, memory visibility of this field
+	 * needs to be guaranteed.
+	 */
+	private volatile EventStream events;
 	/**
 	 * The current <code>CyclicExecutable</code> instance.
 	 * This field is written right before the executable
@@ -82,6 +145,23 @@ public abstract class Executor implements IExecutor {
 	 * executable being executed.
 	 */
 	protected volatile CyclicExecutable currentCyclicExecutable;
+	/**
+	 * The <code>EventExecutable</code> currently being
+	 * executed by the executor thread, maintained for
+	 * diagnostic snapshots. <code>null</code> if the
+	 * executor thread is not executing a task.
+	 * <p>
+	 * Tasks stolen from this executor and executed by
+	 * other threads are not recorded.
+	 */
+	private volatile EventExecutable current;
+	/**
+	 * The <code>long</code> time in nanoseconds the
+	 * current executable started executing at. It is
+	 * written before and read after the current field,
+	 * which guarantees its memory visibility.
+	 */
+	private long currentStart;
 	
 	/**
 	 * Constructor of <code>Executor</code>.
@@ -91,17 +171,75 @@ public abstract class Executor implements IExecutor {
 	 * used for task execution graceful exception handling.
 	 */
 	protected Executor(final String name, final IExceptionHandler handler) {
-		this.thread = new Thread(this);
+		this(name, handler, new BlockIdleStrategy());
+	}
+	
+	/**
+	 * Constructor of <code>Executor</code>.
+	 * @param name The <code>String</code> name of this
+	 * executor thread.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used for task execution graceful exception handling.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
+	 */
+	protected Executor(final String name, final IExceptionHandler handler, final IIdleStrategy idleStrategy) {
+		this(name, handler, idleStrategy, null);
+	}
+	
+	/**
+	 * Constructor of <code>Executor</code>.
+	 * @param name The <code>String</code> name of this
+	 * executor thread.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used for task execution graceful exception handling.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
+	 * @param serviceMetrics The <code>ServiceMetrics</code>
+	 * of the owning service to register the executor
+	 * metrics with. <code>null</code> if the executor is
+	 * not owned by a service.
+	 */
+	protected Executor(final String name, final IExceptionHandler handler, final IIdleStrategy idleStrategy, final ServiceMetrics serviceMetrics) {
+		this(name, handler, idleStrategy, serviceMetrics, null);
+	}
+	
+	/**
+	 * Constructor of <code>Executor</code>.
+	 * @param name The <code>String</code> name of this
+	 * executor thread.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used for task execution graceful exception handling.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
+	 * @param serviceMetrics The <code>ServiceMetrics</code>
+	 * of the owning service to register the executor
+	 * metrics with. <code>null</code> if the executor is
+	 * not owned by a service.
+	 * @param threadFactory The <code>ThreadFactory</code>
+	 * used to create the executor thread. <code>null</code>
+	 * if a regular platform thread should be created.
+	 */
+	protected Executor(final String name, final IExceptionHandler handler, final IIdleStrategy idleStrategy, final ServiceMetrics serviceMetrics,
+			final ThreadFactory threadFactory) {
+		if (idleStrategy == null) throw new IllegalArgumentException("Idle strategy cannot be null.");
+		this.thread = (threadFactory == null) ? new Thread(this) : threadFactory.newThread(this);
 		this.thread.setName(name);
 		this.handler = handler;
+		this.idleStrategy = idleStrategy;
+		this.metrics = (serviceMetrics == null) ? new ExecutorMetrics(name) : serviceMetrics.newExecutorMetrics(name);
+		this.parked = new AtomicBoolean(false);
 		this.started = new AtomicBoolean(false);
 		this.requestedTermination = false;
+		this.requestedDrain = false;
 		this.threadTerminated = false;
 	}
 	
 	@Override
 	public final void run() {
 		try {
+			this.onStart();
+			this.publish(ExecutionEventType.EXECUTOR_STARTED, null, 0, null);
 			while (!this.requestedTermination) {
 				try {
 					this.doRun();
@@ -109,12 +247,119 @@ public abstract class Executor implements IExecutor {
 				} catch (final Exception e) {
 					this.handler.handle(e);
 				}
+				// Terminate once all pending tasks have been executed.
+				if (this.requestedDrain && this.isDrained()) break;
 			}
 		} finally {
+			this.metrics.retire();
+			this.publish(ExecutionEventType.EXECUTOR_RETIRED, null, 0, null);
 			this.threadTerminated = true;
+			this.onExit();
+			if (this.latch != null) this.latch.arrive();
 		}
 	}
 	
+	/**
+	 * Execute the given executable within the invoking
+	 * thread and record its outcome into the metrics of
+	 * this executor.
+	 * <p>
+	 * The queue wait time is measured from the creation
+	 * of the executable, and the execution time is not
+	 * recorded for cyclic executables, since they keep
+	 * executing until terminated. Executables whose
+	 * deadlines have passed are dropped without being
+	 * executed.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be executed.
+	 * @throws Exception If the task execution failed.
+	 */
+	protected final void execute(final EventExecutable executable) throws Exception {
+		// Cancelled before execution, nothing is executed.
+		if (executable.isCancelled()) {
+			this.metrics.recordCancelled();
+			this.publish(ExecutionEventType.TASK_CANCELLED, executable, 0, null);
+			return;
+		}
+		final long start = System.nanoTime();
+		final long wait = start - executable.getCreationTime();
+		final boolean cyclic = (executable instanceof CyclicExecutable);
+		// A cyclic task started while draining would never finish,
+		// terminate it so only its clean up is performed.
+		if (cyclic && this.requestedDrain) ((CyclicExecutable)executable).terminate();
+		final boolean own = (Thread.currentThread() == this.thread);
+		if (own) {
+			this.currentStart = start;
+			this.current = executable;
+		}
+		this.publish(ExecutionEventType.TASK_STARTED, executable, 0, null);
+		try {
+			executable.execute();
+		} catch (final Exception e) {
+			final long elapsed = System.nanoTime() - start;
+			this.metrics.recordExecution(wait, cyclic ? -1 : elapsed, false);
+			this.publish(ExecutionEventType.TASK_FAILED, executable, elapsed, e);
+			throw e;
+		} finally {
+			if (own) this.current = null;
+		}
+		// Cancelled concurrently or expired right before execution.
+		if (executable.isCancelled()) {
+			this.metrics.recordCancelled();
+			this.publish(ExecutionEventType.TASK_CANCELLED, executable, 0, null);
+		} else if (executable.isExpired()) {
+			this.metrics.recordExpired();
+			this.publish(ExecutionEventType.TASK_EXPIRED, executable, 0, null);
+		} else {
+			final long elapsed = System.nanoTime() - start;
+			this.metrics.recordExecution(wait, cyclic ? -1 : elapsed, true);
+			this.publish(ExecutionEventType.TASK_COMPLETED, executable, elapsed, null);
+		}
+	}
+	
+	/**
+	 * Publish an event of the given type on this executor
+	 * if any subscriber is interested in it.
+	 * @param type The <code>ExecutionEventType</code>.
+	 * @param executable The <code>EventExecutable</code>
+	 * the event is about. <code>null</code> if the event
+	 * is not about a task.
+	 * @param duration The <code>long</code> duration in
+	 * nanoseconds associated with the event.
+	 * @param cause The <code>Exception</code> the task
+	 * failed with. <code>null</code> if not a failure.
+	 */
+	private void publish(final ExecutionEventType type, final EventExecutable executable, final long duration, final Exception cause) {
+		final EventStream events = this.events;
+		if (events != null && events.isEnabled(type)) events.publish(type, this.getName(), executable, duration, cause);
+	}
+	
+	/**
+	 * Invoked by the executor thread once before it
+	 * starts executing tasks. The default implementation
+	 * does nothing.
+	 * <p>
+	 * Subclasses may override this method to prepare
+	 * the executor thread, such as binding the thread
+	 * to a processor.
+	 */
+	protected void onStart() {
+	}
+	
+	/**
+	 * Invoked by the executor thread once after it has
+	 * stopped executing tasks, before its termination
+	 * is signaled. The default implementation does
+	 * nothing.
+	 * <p>
+	 * Subclasses may override this method to release
+	 * the tasks or resources still held by the executor.
+	 * The executor is already marked as terminated when
+	 * this method is invoked.
+	 */
+	protected void onExit() {
+	}
+	
 	/**
 	 * Perform the actual executor running logic for a
 	 * single execution cycle.
@@ -123,13 +368,124 @@ public abstract class Executor implements IExecutor {
 	 * is gracefully handled by the exception handler.
 	 */
 	protected abstract void doRun() throws Exception;
+	
+	/**
+	 * Check if there are tasks assigned to this executor
+	 * that are waiting to be executed.
+	 * <p>
+	 * This method is invoked by the executor thread while
+	 * idling, to determine if idling should end.
+	 * @return <code>true</code> if there are tasks to
+	 * be executed. <code>false</code> otherwise.
+	 */
+	protected abstract boolean hasPendingTask();
+	
+	/**
+	 * Idle the executor thread until either a task is
+	 * assigned, termination is requested or the given
+	 * time elapses.
+	 * <p>
+	 * The executor performs idling steps as defined by
+	 * its idle strategy, and parks the thread when the
+	 * strategy decides so. A parked executor is woken
+	 * up by the <code>wakeup</code> method.
+	 * <p>
+	 * If given time value is less than or equal to 0
+	 * or given time unit is <code>null</code>, then
+	 * the executor idles until a task is assigned or
+	 * termination is requested.
+	 * @param timeout The <code>long</code> time value.
+	 * @param unit The <code>TimeUnit</code> the value
+	 * is in.
+	 * @return <code>true</code> if idling ended due to
+	 * task assignment or termination request. <code>
+	 * false</code> if the given time elapsed.
+	 * @throws InterruptedException If the executor
+	 * thread is interrupted while parking.
+	 */
+	protected final boolean idle(final long timeout, final TimeUnit unit) throws InterruptedException {
+		final boolean timed = (timeout > 0 && unit != null);
+		final long deadline = timed ? System.nanoTime() + unit.toNanos(timeout) : 0;
+		int iteration = 0;
+		this.metrics.recordIdle();
+		while (true) {
+			if (this.requestedTermination || this.requestedDrain || this.hasPendingTask()) return true;
+			final long remaining = timed ? deadline - System.nanoTime() : 0;
+			if (timed && remaining <= 0) return false;
+			// Perform a non-blocking idling step.
+			if (this.idleStrategy.idle(iteration)) {
+				if (iteration < Integer.MAX_VALUE) iteration++;
+				continue;
+			}
+			// Park until woken up.
+			this.metrics.recordPark();
+			this.publish(ExecutionEventType.EXECUTOR_IDLE, null, 0, null);
+			this.parked.set(true);
+			try {
+				// Check again after publishing the parked flag, so a
+				// concurrent assignment either observes the flag and
+				// wakes this thread up, or its task is observed here.
+				if (this.requestedTermination || this.requestedDrain || this.hasPendingTask()) return true;
+				if (timed) LockSupport.parkNanos(this, remaining);
+				else LockSupport.park(this);
+			} finally {
+				this.parked.set(false);
+			}
+			this.publish(ExecutionEventType.EXECUTOR_WOKE, null, 0, null);
+			if (Thread.interrupted() && !this.requestedTermination) {
+				throw new InterruptedException("Executor idling interrupted: " + this.getName());
+			}
+		}
+	}
+	
+	/**
+	 * Wake up the executor thread if it is parked.
+	 * <p>
+	 * This method does not perform any signaling if
+	 * the executor is not parked.
+	 */
+	protected final void wakeup() {
+		if (this.parked.get() && this.parked.compareAndSet(true, false)) {
+			LockSupport.unpark(this.thread);
+		}
+	}
 
 	@Override
 	public void start() {
+		this.start(null, null);
+	}
+
+	/**
+	 * Start the executor thread registered with the
+	 * given termination latch, which is released only
+	 * after the thread exits.
+	 * @param latch The <code>TerminationLatch</code>
+	 * to register with. <code>null</code> if the
+	 * executor is not registered.
+	 * @param events The <code>EventStream</code> to
+	 * publish the lifecycle events to. <code>null</code>
+	 * if the events are not published.
+	 */
+	final void start(final TerminationLatch latch, final EventStream events) {
 		if(!this.started.compareAndSet(false, true)) return;
+		if (latch != null) {
+			latch.register();
+			this.latch = latch;
+		}
+		this.events = events;
 		this.thread.start();
 	}
 
+	/**
+	 * Retrieve the event stream the executor publishes
+	 * its lifecycle events to.
+	 * @return The <code>EventStream</code>. <code>null</code>
+	 * if the events are not published.
+	 */
+	protected final EventStream getEventStream() {
+		return this.events;
+	}
+
 	@Override
 	public void forceTerminate() {
 		this.requestTerminate();
@@ -143,6 +499,32 @@ public abstract class Executor implements IExecutor {
 		if (this.currentCyclicExecutable != null) {
 			this.currentCyclicExecutable.terminate();
 		}
+		// Wake up idling.
+		this.wakeup();
+	}
+
+	@Override
+	public void requestDrain() {
+		this.requestedDrain = true;
+		// Signal cyclic executable to terminate.
+		final CyclicExecutable cyclic = this.currentCyclicExecutable;
+		if (cyclic != null) cyclic.terminate();
+		// Wake up idling.
+		this.wakeup();
+	}
+
+	/**
+	 * Check if the executor has executed all of its
+	 * pending tasks and can terminate when draining.
+	 * <p>
+	 * Subclasses that can be assigned tasks while they
+	 * are checked should override this method to ensure
+	 * no tasks can be assigned after it returns true.
+	 * @return <code>true</code> if the executor has no
+	 * more pending tasks. <code>false</code> otherwise.
+	 */
+	protected boolean isDrained() {
+		return !this.hasPendingTask();
 	}
 
 	/**
@@ -152,6 +534,37 @@ public abstract class Executor implements IExecutor {
 		this.requestedTermination = false;
 	}
 	
+	/**
+	 * Assign the given range of already constructed
+	 * executables to this executor as a single batch.
+	 * @param executables The <code>EventExecutable</code>
+	 * array.
+	 * @param offset The <code>int</code> index of the
+	 * first executable to be assigned.
+	 * @param length The <code>int</code> number of
+	 * executables to be assigned.
+	 * @throws IllegalStateException If the executor has
+	 * been requested to terminate.
+	 */
+	public final void assignAll(final EventExecutable[] executables, final int offset, final int length) throws IllegalStateException {
+		if (this.hasRequestedTermination()) {
+			throw new IllegalStateException("Executor has been requested to terminate: " + this.getName());
+		}
+		this.doAssignAll(executables, offset, length);
+	}
+
+	/**
+	 * Perform the batch assignment logic, all status
+	 * has been checked.
+	 * @param executables The <code>EventExecutable</code>
+	 * array.
+	 * @param offset The <code>int</code> index of the
+	 * first executable to be assigned.
+	 * @param length The <code>int</code> number of
+	 * executables to be assigned.
+	 */
+	protected abstract void doAssignAll(final EventExecutable[] executables, final int offset, final int length);
+
 	@Override
 	public final IEventTaskHandle assign(final IEventTask task) throws IllegalStateException {
 		if (this.hasRequestedTermination()) {
@@ -207,11 +620,55 @@ public abstract class Executor implements IExecutor {
 	 */
 	protected abstract <V> IResultTaskHandle<V> doAssign(final IResultTask<V> task);
 
+	/**
+	 * Capture a diagnostic snapshot of this executor.
+	 * <p>
+	 * The snapshot is built from the fields maintained
+	 * by the executor thread, without inspecting the
+	 * thread itself, so it is safe to invoke from any
+	 * thread at any time.
+	 * @return The <code>ExecutorSnapshot</code>.
+	 */
+	public ExecutorSnapshot snapshot() {
+		final EventExecutable executable = this.current;
+		final long start = this.currentStart;
+		final ExecutorState state;
+		if (this.threadTerminated) state = ExecutorState.TERMINATED;
+		else if (!this.started.get()) state = ExecutorState.NEW;
+		else if (executable != null) state = ExecutorState.EXECUTING;
+		else if (this.parked.get()) state = ExecutorState.PARKED;
+		else state = ExecutorState.ACTIVE;
+		String taskClass = null;
+		long timeInTask = 0;
+		if (executable != null) {
+			final Object task = executable.getTask();
+			taskClass = (task == null) ? executable.getClass().getName() : task.getClass().getName();
+			timeInTask = Math.max(0, System.nanoTime() - start);
+		}
+		return new ExecutorSnapshot(this.getName(), state, taskClass, timeInTask, this.getQueueLength(),
+				(executable instanceof CyclicExecutable));
+	}
+	
+	/**
+	 * Retrieve the number of tasks waiting in the buffer
+	 * of this executor. The default implementation has
+	 * no buffer.
+	 * @return The <code>int</code> number of tasks.
+	 */
+	public int getQueueLength() {
+		return 0;
+	}
+	
 	@Override
 	public String getName() {
 		return this.thread.getName();
 	}
 	
+	@Override
+	public ExecutorMetrics getMetrics() {
+		return this.metrics;
+	}
+	
 	@Override
 	public boolean hasStarted() {
 		return this.started.get();
@@ -226,4 +683,9 @@ public abstract class Executor implements IExecutor {
 	public boolean hasRequestedTermination() {
 		return this.requestedTermination;
 	}
+
+	@Override
+	public boolean hasRequestedDrain() {
+		return this.requestedDrain;
+	}
 }
@@ -1,11 +1,11 @@
 package hemera.core.execution;
 
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import hemera.core.execution.interfaces.IExceptionHandler;
 import hemera.core.execution.interfaces.IServiceListener;
+import hemera.core.execution.throttle.EventDispatcher;
+import hemera.core.execution.throttle.EventThrottle;
 
 /**
  * <code>ListenerWrapper</code> defines the utility unit
@@ -19,12 +19,23 @@ import hemera.core.execution.interfaces.IServiceListener;
  * <p>
  * This implementation fully supports concurrency and
  * thread-safety allowing the wrapper to be invoked by
- * the service in any thread.
+ * the service in any thread. The frequency is enforced
+ * by a lock-free throttle, so the threads invoking the
+ * wrapper never wait for each other. The notifications
+ * that pass the throttle are sent to the listener by a
+ * single dispatcher thread, so a submitting thread does
+ * not execute the listener logic while the service is
+ * saturated.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.0
+ * @version 1.0.2
  */
 class ListenerWrapper implements IServiceListener {
+	/**
+	 * The <code>int</code> number of pending
+	 * notifications before new ones are discarded.
+	 */
+	private final static int pendingCapacity = 16;
 	/**
 	 * The <code>IServiceListener</code> instance.
 	 */
@@ -35,25 +46,16 @@ class ListenerWrapper implements IServiceListener {
 	 */
 	private final IExceptionHandler handler;
 	/**
-	 * The invocation <code>Lock</code>.
-	 * <p>
-	 * This lock guarantees that only a single thread
-	 * can send a notification at a time.
-	 */
-	private final Lock lock;
-	/**
-	 * The <code>long</code> notification frequency in
-	 * nanoseconds.
+	 * The <code>EventDispatcher</code> that throttles
+	 * and sends the capacity-reached notifications.
 	 */
-	private long frequencyNano;
+	private final EventDispatcher capacityDispatcher;
 	/**
-	 * The <code>long</code> last capacity-reached event
-	 * notification time in nanoseconds.
-	 * <p>
-	 * This value is guarded by the invocation lock.
+	 * The capacity-reached notification
+	 * <code>Runnable</code>.
 	 */
-	private long lastCapcityReachedTime;
-	
+	private final Runnable capacityNotification;
+
 	/**
 	 * Constructor of <code>ListenerWrapper</code>.
 	 * @param listener The <code>IServiceListener</code>
@@ -64,26 +66,19 @@ class ListenerWrapper implements IServiceListener {
 	ListenerWrapper(final IServiceListener listener, final IExceptionHandler handler) {
 		this.listener = listener;
 		this.handler = handler;
-		this.lock = new ReentrantLock();
-		this.frequencyNano = this.listener.getFrequency(TimeUnit.NANOSECONDS);
+		final EventThrottle throttle = new EventThrottle(this.listener.getFrequency(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+		this.capacityDispatcher = new EventDispatcher("ServiceListener-Dispatcher", this.handler, throttle, ListenerWrapper.pendingCapacity);
+		this.capacityNotification = new Runnable() {
+			@Override
+			public void run() {
+				ListenerWrapper.this.listener.capacityReached();
+			}
+		};
 	}
 
 	@Override
 	public void capacityReached() {
-		// Only allow a single thread to pass through at a time.
-		this.lock.lock();
-		try {
-			final long currenttime = System.nanoTime();
-			final long elapsed = currenttime - this.lastCapcityReachedTime;
-			if (elapsed > this.frequencyNano) {
-				this.lastCapcityReachedTime = currenttime;
-				this.listener.capacityReached();
-			}
-		} catch (final Exception e) {
-			this.handler.handle(e);
-		} finally {
-			this.lock.unlock();
-		}
+		this.capacityDispatcher.dispatch(this.capacityNotification);
 	}
 
 	@Override
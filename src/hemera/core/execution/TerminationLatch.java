@@ -0,0 +1,98 @@
+package hemera.core.execution;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <code>TerminationLatch</code> defines the latch that
+ * is released once an execution service has been shut
+ * down and all of its executor threads have exited.
+ * <p>
+ * The latch counts a party for the service itself and
+ * one for each started executor thread. The service
+ * party arrives when the service is shut down, and each
+ * executor party arrives when its thread exits, so the
+ * count only drops to zero when both have happened.
+ * Registration and arrival are single atomic operations,
+ * only the last arrival acquires the monitor to wake up
+ * the waiting threads.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+final class TerminationLatch {
+	/**
+	 * The <code>AtomicInteger</code> number of parties
+	 * that have not yet arrived.
+	 */
+	private final AtomicInteger count;
+
+	/**
+	 * Constructor of <code>TerminationLatch</code>.
+	 * <p>
+	 * The latch is created with the party of the
+	 * service registered.
+	 */
+	TerminationLatch() {
+		this.count = new AtomicInteger(1);
+	}
+
+	/**
+	 * Register the party of an executor thread that
+	 * is about to start.
+	 */
+	void register() {
+		this.count.incrementAndGet();
+	}
+
+	/**
+	 * Arrive on behalf of a registered party, releasing
+	 * the waiting threads if it is the last one.
+	 */
+	void arrive() {
+		if (this.count.decrementAndGet() == 0) {
+			synchronized (this) {
+				this.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Block until the latch is released or the given
+	 * time has elapsed.
+	 * @param time The <code>long</code> time value.
+	 * Negative to wait without timing out.
+	 * @param unit The <code>TimeUnit</code> of the
+	 * value.
+	 * @return <code>true</code> if the latch has been
+	 * released. <code>false</code> if the time elapsed.
+	 * @throws InterruptedException If waiting process
+	 * is interrupted.
+	 */
+	boolean await(final long time, final TimeUnit unit) throws InterruptedException {
+		if (this.isReleased()) return true;
+		final boolean timed = (time >= 0);
+		final long deadline = timed ? System.nanoTime() + unit.toNanos(time) : 0;
+		synchronized (this) {
+			while (!this.isReleased()) {
+				if (timed) {
+					final long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) return false;
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+				} else {
+					this.wait();
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Check if the latch has been released.
+	 * @return <code>true</code> if all the parties have
+	 * arrived. <code>false</code> otherwise.
+	 */
+	boolean isReleased() {
+		return (this.count.get() <= 0);
+	}
+}
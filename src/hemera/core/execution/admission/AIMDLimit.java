@@ -0,0 +1,65 @@
+package hemera.core.execution.admission;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>AIMDLimit</code> defines the implementation of
+ * an additive-increase multiplicative-decrease adaptive
+ * concurrency limit.
+ * <p>
+ * Every task that completes within the latency timeout
+ * increases the limit by the reciprocal of the limit,
+ * which grows the limit by about one task per round of
+ * completed tasks. The limit only grows while at least
+ * half of it is in use, so it does not drift upwards
+ * under light load. A task that exceeds the timeout or
+ * is dropped multiplies the limit by the backoff ratio.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class AIMDLimit extends AbstractConcurrencyLimit {
+	/**
+	 * The <code>double</code> ratio the limit is
+	 * multiplied by on congestion.
+	 */
+	private final double backoffRatio;
+	/**
+	 * The <code>long</code> latency in nanoseconds
+	 * beyond which a task signals congestion.
+	 */
+	private final long timeout;
+
+	/**
+	 * Constructor of <code>AIMDLimit</code>.
+	 * @param initial The <code>int</code> initial limit.
+	 * @param min The <code>int</code> minimum limit.
+	 * @param max The <code>int</code> maximum limit.
+	 * @param backoffRatio The <code>double</code> ratio
+	 * in the range of (0, 1) the limit is multiplied by
+	 * on congestion.
+	 * @param timeout The <code>long</code> latency beyond
+	 * which a task signals congestion.
+	 * @param unit The <code>TimeUnit</code> the timeout
+	 * is in.
+	 */
+	public AIMDLimit(final int initial, final int min, final int max, final double backoffRatio, final long timeout, final TimeUnit unit) {
+		super(initial, min, max);
+		if (backoffRatio <= 0 || backoffRatio >= 1) throw new IllegalArgumentException("Backoff ratio must be between 0 and 1.");
+		else if (timeout <= 0 || unit == null) throw new IllegalArgumentException("Latency timeout must be greater than 0.");
+		this.backoffRatio = backoffRatio;
+		this.timeout = unit.toNanos(timeout);
+	}
+
+	@Override
+	protected double sample(final double limit, final long latency, final int inflight) {
+		if (latency > this.timeout) return this.drop(limit);
+		else if (inflight * 2 >= limit) return (limit + 1 / limit);
+		else return limit;
+	}
+
+	@Override
+	protected double drop(final double limit) {
+		return (limit * this.backoffRatio);
+	}
+}
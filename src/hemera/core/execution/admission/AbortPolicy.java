@@ -0,0 +1,24 @@
+package hemera.core.execution.admission;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import hemera.core.execution.interfaces.admission.IRejectedTask;
+import hemera.core.execution.interfaces.admission.IRejectionPolicy;
+
+/**
+ * <code>AbortPolicy</code> defines the implementation
+ * of a rejection policy that immediately rejects the
+ * task with an exception, so the submitting thread is
+ * never blocked.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class AbortPolicy implements IRejectionPolicy {
+
+	@Override
+	public void reject(final IRejectedTask task) throws RejectedExecutionException {
+		task.drop();
+		throw new RejectedExecutionException("Service capacity reached.");
+	}
+}
@@ -0,0 +1,142 @@
+package hemera.core.execution.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import hemera.core.execution.interfaces.admission.IConcurrencyLimit;
+
+/**
+ * <code>AbstractConcurrencyLimit</code> defines the
+ * abstraction of an adaptive concurrency limit that
+ * tracks the number of admitted tasks and adjusts the
+ * limit on every released slot.
+ * <p>
+ * The limit is kept as a fractional value, so that it
+ * can grow by less than a whole task per sample, and
+ * is updated with atomic compare and set operations.
+ * Neither the slot acquisition nor the update require
+ * locking. The limit is always kept between the given
+ * minimum and maximum values.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public abstract class AbstractConcurrencyLimit implements IConcurrencyLimit {
+	/**
+	 * The <code>int</code> minimum limit.
+	 */
+	private final int minLimit;
+	/**
+	 * The <code>int</code> maximum limit.
+	 */
+	private final int maxLimit;
+	/**
+	 * The <code>AtomicInteger</code> number of acquired
+	 * slots.
+	 */
+	private final AtomicInteger inflight;
+	/**
+	 * The <code>AtomicLong</code> bits of the current
+	 * <code>double</code> limit.
+	 */
+	private final AtomicLong limit;
+
+	/**
+	 * Constructor of <code>AbstractConcurrencyLimit</code>.
+	 * @param initial The <code>int</code> initial limit.
+	 * @param min The <code>int</code> minimum limit.
+	 * @param max The <code>int</code> maximum limit.
+	 */
+	protected AbstractConcurrencyLimit(final int initial, final int min, final int max) {
+		if (min <= 0) throw new IllegalArgumentException("Minimum limit must be greater than 0.");
+		else if (max < min) throw new IllegalArgumentException("Maximum limit cannot be less than the minimum limit.");
+		else if (initial < min || initial > max) throw new IllegalArgumentException("Initial limit must be between the minimum and maximum limits.");
+		this.minLimit = min;
+		this.maxLimit = max;
+		this.inflight = new AtomicInteger(0);
+		this.limit = new AtomicLong(Double.doubleToLongBits(initial));
+	}
+
+	@Override
+	public boolean tryAcquire() {
+		while (true) {
+			final int count = this.inflight.get();
+			if (count >= this.getLimit()) return false;
+			else if (this.inflight.compareAndSet(count, count+1)) return true;
+		}
+	}
+
+	@Override
+	public void release(final long latency, final TimeUnit unit) {
+		final int count = this.inflight.getAndDecrement();
+		final long nanos = unit.toNanos(latency);
+		while (true) {
+			final long bits = this.limit.get();
+			final double current = Double.longBitsToDouble(bits);
+			final double updated = this.clamp(this.sample(current, nanos, count));
+			if (updated == current || this.limit.compareAndSet(bits, Double.doubleToLongBits(updated))) return;
+		}
+	}
+
+	@Override
+	public void releaseDropped() {
+		this.inflight.decrementAndGet();
+		while (true) {
+			final long bits = this.limit.get();
+			final double current = Double.longBitsToDouble(bits);
+			final double updated = this.clamp(this.drop(current));
+			if (updated == current || this.limit.compareAndSet(bits, Double.doubleToLongBits(updated))) return;
+		}
+	}
+
+	@Override
+	public void releaseIgnored() {
+		this.inflight.decrementAndGet();
+	}
+
+	/**
+	 * Compute the new limit after a task has completed.
+	 * <p>
+	 * This method may be invoked concurrently, and more
+	 * than once for the same sample if the limit changes
+	 * concurrently. It should not modify any state that
+	 * is based on the given limit.
+	 * @param limit The <code>double</code> current limit.
+	 * @param latency The <code>long</code> latency of
+	 * the task in nanoseconds.
+	 * @param inflight The <code>int</code> number of
+	 * tasks admitted when the task completed, including
+	 * the task itself.
+	 * @return The <code>double</code> new limit.
+	 */
+	protected abstract double sample(final double limit, final long latency, final int inflight);
+
+	/**
+	 * Compute the new limit after a task has been
+	 * dropped due to overload.
+	 * @param limit The <code>double</code> current limit.
+	 * @return The <code>double</code> new limit.
+	 */
+	protected abstract double drop(final double limit);
+
+	/**
+	 * Clamp the given limit between the minimum and the
+	 * maximum limits.
+	 * @param limit The <code>double</code> limit.
+	 * @return The <code>double</code> clamped limit.
+	 */
+	private double clamp(final double limit) {
+		return Math.max(this.minLimit, Math.min(this.maxLimit, limit));
+	}
+
+	@Override
+	public int getLimit() {
+		return (int)Double.longBitsToDouble(this.limit.get());
+	}
+
+	@Override
+	public int getInFlight() {
+		return this.inflight.get();
+	}
+}
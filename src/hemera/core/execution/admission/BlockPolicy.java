@@ -0,0 +1,71 @@
+package hemera.core.execution.admission;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.interfaces.admission.IRejectedTask;
+import hemera.core.execution.interfaces.admission.IRejectionPolicy;
+
+/**
+ * <code>BlockPolicy</code> defines the implementation
+ * of a rejection policy that blocks the submitting
+ * thread until the task is admitted.
+ * <p>
+ * The waiting can be bound by a timeout, after which
+ * the task is rejected with an exception. The task is
+ * also rejected if the submitting thread is interrupted
+ * while waiting, in which case the interrupted status
+ * of the thread is restored.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class BlockPolicy implements IRejectionPolicy {
+	/**
+	 * The <code>long</code> maximum waiting time in
+	 * nanoseconds. Less than or equal to 0 if the
+	 * waiting is not bound.
+	 */
+	private final long timeout;
+
+	/**
+	 * Constructor of <code>BlockPolicy</code> that
+	 * blocks until the task is admitted.
+	 */
+	public BlockPolicy() {
+		this(0, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Constructor of <code>BlockPolicy</code>.
+	 * @param timeout The <code>long</code> maximum
+	 * waiting time. Less than or equal to 0 to block
+	 * until the task is admitted.
+	 * @param unit The <code>TimeUnit</code> the value
+	 * is in.
+	 */
+	public BlockPolicy(final long timeout, final TimeUnit unit) {
+		if (unit == null) throw new IllegalArgumentException("Time unit cannot be null.");
+		this.timeout = unit.toNanos(timeout);
+	}
+
+	@Override
+	public void reject(final IRejectedTask task) throws RejectedExecutionException {
+		final boolean timed = (this.timeout > 0);
+		final long deadline = timed ? System.nanoTime() + this.timeout : 0;
+		while (!task.retry()) {
+			final long remaining = timed ? deadline - System.nanoTime() : -1;
+			if (timed && remaining <= 0) {
+				task.drop();
+				throw new RejectedExecutionException("Service capacity did not become available within the timeout.");
+			}
+			try {
+				task.await(remaining, TimeUnit.NANOSECONDS);
+			} catch (final InterruptedException e) {
+				task.drop();
+				Thread.currentThread().interrupt();
+				throw new RejectedExecutionException("Interrupted while waiting for service capacity.", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package hemera.core.execution.admission;
+
+import hemera.core.execution.interfaces.admission.IRejectedTask;
+import hemera.core.execution.interfaces.admission.IRejectionPolicy;
+
+/**
+ * <code>CallerRunsPolicy</code> defines the implementation
+ * of a rejection policy that executes the task within
+ * the submitting thread.
+ * <p>
+ * This slows down the submitting thread to the rate the
+ * service can execute tasks at, without queuing the task.
+ * It should not be used if the submitting threads cannot
+ * afford to execute tasks, such as network I/O threads.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class CallerRunsPolicy implements IRejectionPolicy {
+
+	@Override
+	public void reject(final IRejectedTask task) {
+		task.runInCaller();
+	}
+}
@@ -0,0 +1,31 @@
+package hemera.core.execution.admission;
+
+import hemera.core.execution.interfaces.admission.IRejectedTask;
+import hemera.core.execution.interfaces.admission.IRejectionPolicy;
+
+/**
+ * <code>DropOldestPolicy</code> defines the implementation
+ * of a rejection policy that cancels the oldest pending
+ * task of the service to make room for the new task.
+ * <p>
+ * This favors fresh tasks over the ones that have been
+ * waiting the longest, whose submitters are the most
+ * likely to have given up. If there are no pending tasks
+ * that can be removed, the new task itself is dropped.
+ * The submitting thread is never blocked.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class DropOldestPolicy implements IRejectionPolicy {
+
+	@Override
+	public void reject(final IRejectedTask task) {
+		do {
+			if (!task.evictOldest()) {
+				task.drop();
+				return;
+			}
+		} while (!task.retry());
+	}
+}
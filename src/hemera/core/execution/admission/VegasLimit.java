@@ -0,0 +1,100 @@
+package hemera.core.execution.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <code>VegasLimit</code> defines the implementation of
+ * a delay based adaptive concurrency limit, modeled
+ * after the TCP Vegas congestion control.
+ * <p>
+ * The lowest latency observed is used as the latency
+ * of the service without load. The number of queued
+ * tasks is then estimated from each sample as
+ * <code>limit * (1 - minLatency / latency)</code>. The
+ * limit grows by one task while the estimate is below
+ * alpha, and shrinks by one task once it exceeds beta,
+ * so the queues are kept short before they saturate. A
+ * dropped task shrinks the limit by its logarithm.
+ * <p>
+ * Since the latency without load may change over time,
+ * the lowest latency is reset periodically.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class VegasLimit extends AbstractConcurrencyLimit {
+	/**
+	 * The <code>long</code> number of samples after
+	 * which the lowest latency is reset.
+	 */
+	private final static long probeInterval = 1000;
+	/**
+	 * The <code>double</code> estimated queue size
+	 * below which the limit grows.
+	 */
+	private final double alpha;
+	/**
+	 * The <code>double</code> estimated queue size
+	 * above which the limit shrinks.
+	 */
+	private final double beta;
+	/**
+	 * The <code>AtomicLong</code> lowest latency in
+	 * nanoseconds. <code>Long.MAX_VALUE</code> if
+	 * there are no samples.
+	 */
+	private final AtomicLong minLatency;
+	/**
+	 * The <code>AtomicLong</code> number of samples.
+	 */
+	private final AtomicLong samples;
+
+	/**
+	 * Constructor of <code>VegasLimit</code>.
+	 * @param initial The <code>int</code> initial limit.
+	 * @param min The <code>int</code> minimum limit.
+	 * @param max The <code>int</code> maximum limit.
+	 * @param alpha The <code>double</code> estimated
+	 * queue size below which the limit grows.
+	 * @param beta The <code>double</code> estimated
+	 * queue size above which the limit shrinks.
+	 */
+	public VegasLimit(final int initial, final int min, final int max, final double alpha, final double beta) {
+		super(initial, min, max);
+		if (alpha < 0) throw new IllegalArgumentException("Alpha cannot be negative.");
+		else if (beta <= alpha) throw new IllegalArgumentException("Beta must be greater than alpha.");
+		this.alpha = alpha;
+		this.beta = beta;
+		this.minLatency = new AtomicLong(Long.MAX_VALUE);
+		this.samples = new AtomicLong(0);
+	}
+
+	@Override
+	public void release(final long latency, final TimeUnit unit) {
+		final long nanos = Math.max(1, unit.toNanos(latency));
+		// Reset the lowest latency periodically to probe for changes.
+		if (this.samples.incrementAndGet() % VegasLimit.probeInterval == 0) {
+			this.minLatency.set(nanos);
+		} else {
+			long current = this.minLatency.get();
+			while (nanos < current && !this.minLatency.compareAndSet(current, nanos)) {
+				current = this.minLatency.get();
+			}
+		}
+		super.release(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	protected double sample(final double limit, final long latency, final int inflight) {
+		final double queue = limit * (1 - (double)this.minLatency.get() / latency);
+		if (queue > this.beta) return (limit - 1);
+		else if (queue < this.alpha && inflight * 2 >= limit) return (limit + 1);
+		else return limit;
+	}
+
+	@Override
+	protected double drop(final double limit) {
+		return (limit - Math.max(1, Math.log10(limit)));
+	}
+}
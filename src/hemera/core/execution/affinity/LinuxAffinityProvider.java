@@ -0,0 +1,195 @@
+package hemera.core.execution.affinity;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hemera.core.execution.interfaces.affinity.IAffinityProvider;
+
+/**
+ * <code>LinuxAffinityProvider</code> defines the
+ * implementation of an affinity provider for Linux
+ * hosts.
+ * <p>
+ * The NUMA topology is read from the <code>cpulist</code>
+ * entries of the node directories in <code>sysfs</code>.
+ * If the topology is not available, all the processors
+ * are treated as a single node.
+ * <p>
+ * Threads are bound with <code>sched_setaffinity</code>
+ * through the <code>hemera-affinity</code> native library,
+ * which is loaded from <code>java.library.path</code>.
+ * The source of the library is in the <code>native</code>
+ * folder of the project. If the library cannot be loaded,
+ * binding is disabled and the topology is still used
+ * for NUMA-aware work-stealing.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class LinuxAffinityProvider implements IAffinityProvider {
+	/**
+	 * The <code>Logger</code> instance.
+	 */
+	private final static Logger logger = Logger.getLogger(LinuxAffinityProvider.class.getName());
+	/**
+	 * The <code>String</code> default path of the node
+	 * directories.
+	 */
+	private final static String defaultRoot = "/sys/devices/system/node";
+	/**
+	 * The <code>boolean</code> flag indicating if the
+	 * native library has been loaded.
+	 */
+	private final static boolean loaded;
+	/**
+	 * The two-dimensional <code>int</code> array of the
+	 * processors of each node.
+	 */
+	private final int[][] nodes;
+
+	static {
+		boolean success = false;
+		try {
+			System.loadLibrary("hemera-affinity");
+			success = true;
+		} catch (final UnsatisfiedLinkError e) {
+			LinuxAffinityProvider.logger.log(Level.INFO, "Affinity library not available, threads are not bound: " + e.getMessage());
+		} catch (final SecurityException e) {
+			LinuxAffinityProvider.logger.log(Level.INFO, "Affinity library not allowed, threads are not bound: " + e.getMessage());
+		}
+		loaded = success;
+	}
+
+	/**
+	 * Constructor of <code>LinuxAffinityProvider</code>.
+	 * <p>
+	 * This constructor reads the topology from the
+	 * default <code>sysfs</code> node directories.
+	 */
+	public LinuxAffinityProvider() {
+		this(new File(LinuxAffinityProvider.defaultRoot));
+	}
+
+	/**
+	 * Constructor of <code>LinuxAffinityProvider</code>.
+	 * @param root The <code>File</code> directory that
+	 * contains the <code>nodeN</code> directories.
+	 */
+	public LinuxAffinityProvider(final File root) {
+		if (root == null) throw new IllegalArgumentException("Topology root cannot be null.");
+		this.nodes = LinuxAffinityProvider.readTopology(root);
+	}
+
+	/**
+	 * Read the processors of each node under the given
+	 * directory.
+	 * @param root The <code>File</code> directory that
+	 * contains the <code>nodeN</code> directories.
+	 * @return The two-dimensional <code>int</code> array
+	 * of the processors of each node, ordered by the node
+	 * number. A single node of all the available processors
+	 * if the topology cannot be read.
+	 */
+	private static int[][] readTopology(final File root) {
+		final File[] files = root.listFiles();
+		final List<int[]> nodes = new ArrayList<int[]>();
+		if (files != null) {
+			// Order the nodes by number, skipping memory-only nodes.
+			final TreeMap<Integer, File> ordered = new TreeMap<Integer, File>();
+			for (final File file : files) {
+				final String name = file.getName();
+				if (file.isDirectory() && name.matches("node[0-9]+")) {
+					ordered.put(Integer.valueOf(name.substring(4)), file);
+				}
+			}
+			for (final File file : ordered.values()) {
+				try {
+					final int[] cpus = LinuxAffinityProvider.readCpuList(new File(file, "cpulist"));
+					if (cpus.length > 0) nodes.add(cpus);
+				} catch (final IOException e) {
+					LinuxAffinityProvider.logger.log(Level.WARNING, "Failed to read node topology: " + file, e);
+				}
+			}
+		}
+		if (nodes.isEmpty()) {
+			final int[] cpus = new int[Runtime.getRuntime().availableProcessors()];
+			for (int i = 0; i < cpus.length; i++) {
+				cpus[i] = i;
+			}
+			nodes.add(cpus);
+		}
+		return nodes.toArray(new int[nodes.size()][]);
+	}
+
+	/**
+	 * Read the given processor list file, in the format
+	 * of comma separated processors and processor ranges,
+	 * such as <code>0-3,8,10-11</code>.
+	 * @param file The <code>File</code> to read.
+	 * @return The <code>int</code> array of processors
+	 * in ascending order.
+	 * @throws IOException If reading the file failed.
+	 */
+	private static int[] readCpuList(final File file) throws IOException {
+		final BufferedReader reader = new BufferedReader(new FileReader(file));
+		final String line;
+		try {
+			line = reader.readLine();
+		} finally {
+			reader.close();
+		}
+		if (line == null || line.trim().length() == 0) return new int[0];
+		final List<Integer> cpus = new ArrayList<Integer>();
+		try {
+			for (final String range : line.trim().split(",")) {
+				final int separator = range.indexOf('-');
+				final int first = Integer.parseInt(range.substring(0, (separator<0) ? range.length() : separator).trim());
+				final int last = (separator<0) ? first : Integer.parseInt(range.substring(separator+1).trim());
+				for (int cpu = first; cpu <= last; cpu++) {
+					cpus.add(cpu);
+				}
+			}
+		} catch (final NumberFormatException e) {
+			throw new IOException("Invalid processor list: " + line);
+		}
+		final int[] array = new int[cpus.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = cpus.get(i);
+		}
+		Arrays.sort(array);
+		return array;
+	}
+
+	/**
+	 * Bind the invoking thread to the given processor.
+	 * @param cpu The <code>int</code> processor.
+	 * @return The <code>int</code> result of the system
+	 * call, which is 0 on success.
+	 */
+	private static native int setAffinity(final int cpu);
+
+	@Override
+	public boolean pin(final int cpu) {
+		if (!LinuxAffinityProvider.loaded) return false;
+		return (LinuxAffinityProvider.setAffinity(cpu) == 0);
+	}
+
+	@Override
+	public int getNodeCount() {
+		return this.nodes.length;
+	}
+
+	@Override
+	public int[] getCpus(final int node) {
+		if (node < 0 || node >= this.nodes.length) throw new IllegalArgumentException("Invalid node: " + node);
+		return this.nodes[node].clone();
+	}
+}
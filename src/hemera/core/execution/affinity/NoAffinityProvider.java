@@ -0,0 +1,50 @@
+package hemera.core.execution.affinity;
+
+import hemera.core.execution.interfaces.affinity.IAffinityProvider;
+
+/**
+ * <code>NoAffinityProvider</code> defines the
+ * implementation of an affinity provider that treats
+ * all the available processors as a single node, and
+ * never binds threads to processors.
+ * <p>
+ * This provider is used on platforms where neither
+ * the topology nor the thread binding is available,
+ * so the placement of the threads is left entirely to
+ * the operating system scheduler.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class NoAffinityProvider implements IAffinityProvider {
+	/**
+	 * The <code>int</code> array of all the processors.
+	 */
+	private final int[] cpus;
+
+	/**
+	 * Constructor of <code>NoAffinityProvider</code>.
+	 */
+	public NoAffinityProvider() {
+		this.cpus = new int[Runtime.getRuntime().availableProcessors()];
+		for (int i = 0; i < this.cpus.length; i++) {
+			this.cpus[i] = i;
+		}
+	}
+
+	@Override
+	public boolean pin(final int cpu) {
+		return false;
+	}
+
+	@Override
+	public int getNodeCount() {
+		return 1;
+	}
+
+	@Override
+	public int[] getCpus(final int node) {
+		if (node != 0) throw new IllegalArgumentException("Invalid node: " + node);
+		return this.cpus.clone();
+	}
+}
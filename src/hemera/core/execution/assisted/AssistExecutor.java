@@ -1,36 +1,54 @@
 package hemera.core.execution.assisted;
 
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import hemera.core.execution.Executor;
 import hemera.core.execution.executable.CyclicExecutable;
 import hemera.core.execution.executable.EventExecutable;
 import hemera.core.execution.executable.ResultExecutable;
 import hemera.core.execution.interfaces.IExceptionHandler;
+import hemera.core.execution.interfaces.IIdleStrategy;
 import hemera.core.execution.interfaces.IServiceListener;
+import hemera.core.execution.interfaces.affinity.IAffinityProvider;
 import hemera.core.execution.interfaces.assisted.IAssistExecutor;
 import hemera.core.execution.interfaces.assisted.IAssistedService;
 import hemera.core.execution.interfaces.task.ICyclicTask;
 import hemera.core.execution.interfaces.task.IEventTask;
 import hemera.core.execution.interfaces.task.IResultTask;
+import hemera.core.execution.interfaces.task.TaskPriority;
 import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
 import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
 import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.metrics.ServiceMetrics;
 
 /**
  * <code>AssistExecutor</code> defines implementation
  * of an executor unit that conforms with the interface
  * <code>IAssistExecutor</code>.
+ * <p>
+ * Tasks are buffered in a separate work-stealing deque
+ * for each priority level. Both the executor and the
+ * assisting executors take the highest priority tasks
+ * first, while lower priority tasks are aged so they
+ * are not starved.
+ * <p>
+ * The executor is closed once its thread exits. Tasks
+ * assigned concurrently with the exit are cancelled
+ * instead of being left behind, as well as the tasks
+ * still buffered when the executor leaves on drain.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.2
+ * @version 1.0.9
  */
 public class AssistExecutor extends Executor implements IAssistExecutor {
+	/**
+	 * The <code>long</code> time in nanoseconds a full
+	 * buffer assignment backs off before retrying.
+	 */
+	private final static long fullBackoff = TimeUnit.MICROSECONDS.toNanos(100);
 	/**
 	 * The <code>IAssistedService</code> shared by all
 	 * assist executors in the service.
@@ -51,25 +69,66 @@ public class AssistExecutor extends Executor implements IAssistExecutor {
 	 */
 	private final TimeUnit idleunit;
 	/**
-	 * The <code>BlockingDeque</code> of local task
+	 * The <code>PriorityBuffer</code> of local task
 	 * buffer of <code>EventExecutable</code>.
 	 * <p>
 	 * This data structure needs to support a high
 	 * level of concurrency to allow multiple threads
 	 * to poll elements from it, since work-stealing
-	 * operates on the tail end and local execution
-	 * operates on the head end. Assignments are put
-	 * at the head.
+	 * operates on the top end and local execution
+	 * operates on the bottom end. Assignments are
+	 * pushed by the submitting threads without locking
+	 * and moved onto the bottom by the executor.
+	 */
+	private final PriorityBuffer buffer;
+	/**
+	 * The <code>IAffinityProvider</code> used to bind
+	 * the executor thread. <code>null</code> if the
+	 * thread is not bound.
+	 */
+	private final IAffinityProvider affinity;
+	/**
+	 * The <code>int</code> processor the executor
+	 * thread is bound to.
 	 */
-	private final BlockingDeque<EventExecutable> buffer;
+	private final int cpu;
 	/**
-	 * The idling <code>Lock</code>.
+	 * The <code>int</code> NUMA node the executor is
+	 * placed on.
 	 */
-	private final Lock lock;
+	private final int node;
 	/**
-	 * The idling <code>Condition</code>.
+	 * The <code>boolean</code> flag indicating if the
+	 * executor thread has exited, after which buffered
+	 * tasks are no longer executed.
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * Constructor of <code>AssistExecutor</code>.
+	 * @param name The <code>String</code> name of this
+	 * executor thread.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used for task execution graceful exception
+	 * handling.
+	 * @param group The <code>IAssistedService</code>
+	 * shared by all assist executors.
+	 * @param listener The <code>IServiceListener</code>
+	 * instance used to notify critical events.
+	 * @param maxBufferSize The <code>int</code> upper
+	 * limit for the internal task buffer.
+	 * @param idletime The <code>long</code> eager-
+	 * idling waiting time value.
+	 * @param idleunit The <code>TimeUnit</code> eager-
+	 * idling waiting time unit.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
 	 */
-	private final Condition idle;
+	public AssistExecutor(final String name, final IExceptionHandler handler, final IAssistedService group,
+			final IServiceListener listener, final int maxBufferSize, final long idletime, final TimeUnit idleunit,
+			final IIdleStrategy idleStrategy) {
+		this(name, handler, group, listener, maxBufferSize, idletime, idleunit, idleStrategy, null);
+	}
 
 	/**
 	 * Constructor of <code>AssistExecutor</code>.
@@ -88,38 +147,212 @@ public class AssistExecutor extends Executor implements IAssistExecutor {
 	 * idling waiting time value.
 	 * @param idleunit The <code>TimeUnit</code> eager-
 	 * idling waiting time unit.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
+	 * @param serviceMetrics The <code>ServiceMetrics</code>
+	 * of the owning service. <code>null</code> if the
+	 * executor is not owned by a service.
 	 */
 	public AssistExecutor(final String name, final IExceptionHandler handler, final IAssistedService group,
-			final IServiceListener listener, final int maxBufferSize, final long idletime, final TimeUnit idleunit) {
-		super(name, handler);
+			final IServiceListener listener, final int maxBufferSize, final long idletime, final TimeUnit idleunit,
+			final IIdleStrategy idleStrategy, final ServiceMetrics serviceMetrics) {
+		this(name, handler, group, listener, maxBufferSize, idletime, idleunit, idleStrategy, serviceMetrics,
+				PriorityBuffer.defaultAgingLimit);
+	}
+
+	/**
+	 * Constructor of <code>AssistExecutor</code>.
+	 * @param name The <code>String</code> name of this
+	 * executor thread.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used for task execution graceful exception
+	 * handling.
+	 * @param group The <code>IAssistedService</code>
+	 * shared by all assist executors.
+	 * @param listener The <code>IServiceListener</code>
+	 * instance used to notify critical events.
+	 * @param maxBufferSize The <code>int</code> upper
+	 * limit for the internal task buffer of each
+	 * priority level.
+	 * @param idletime The <code>long</code> eager-
+	 * idling waiting time value.
+	 * @param idleunit The <code>TimeUnit</code> eager-
+	 * idling waiting time unit.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
+	 * @param serviceMetrics The <code>ServiceMetrics</code>
+	 * of the owning service. <code>null</code> if the
+	 * executor is not owned by a service.
+	 * @param agingLimit The <code>int</code> number of
+	 * higher priority tasks executed before the oldest
+	 * waiting task of a lower priority is executed.
+	 */
+	public AssistExecutor(final String name, final IExceptionHandler handler, final IAssistedService group,
+			final IServiceListener listener, final int maxBufferSize, final long idletime, final TimeUnit idleunit,
+			final IIdleStrategy idleStrategy, final ServiceMetrics serviceMetrics, final int agingLimit) {
+		this(name, handler, group, listener, maxBufferSize, idletime, idleunit, idleStrategy, serviceMetrics, agingLimit, null, -1, 0);
+	}
+
+	/**
+	 * Constructor of <code>AssistExecutor</code>.
+	 * @param name The <code>String</code> name of this
+	 * executor thread.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used for task execution graceful exception
+	 * handling.
+	 * @param group The <code>IAssistedService</code>
+	 * shared by all assist executors.
+	 * @param listener The <code>IServiceListener</code>
+	 * instance used to notify critical events.
+	 * @param maxBufferSize The <code>int</code> upper
+	 * limit for the internal task buffer of each
+	 * priority level.
+	 * @param idletime The <code>long</code> eager-
+	 * idling waiting time value.
+	 * @param idleunit The <code>TimeUnit</code> eager-
+	 * idling waiting time unit.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
+	 * @param serviceMetrics The <code>ServiceMetrics</code>
+	 * of the owning service. <code>null</code> if the
+	 * executor is not owned by a service.
+	 * @param agingLimit The <code>int</code> number of
+	 * higher priority tasks executed before the oldest
+	 * waiting task of a lower priority is executed.
+	 * @param affinity The <code>IAffinityProvider</code>
+	 * used to bind the executor thread to the given
+	 * processor. <code>null</code> to not bind.
+	 * @param cpu The <code>int</code> processor to bind
+	 * the executor thread to.
+	 * @param node The <code>int</code> NUMA node of
+	 * the processor.
+	 */
+	public AssistExecutor(final String name, final IExceptionHandler handler, final IAssistedService group,
+			final IServiceListener listener, final int maxBufferSize, final long idletime, final TimeUnit idleunit,
+			final IIdleStrategy idleStrategy, final ServiceMetrics serviceMetrics, final int agingLimit,
+			final IAffinityProvider affinity, final int cpu, final int node) {
+		this(name, handler, group, listener, maxBufferSize, idletime, idleunit, idleStrategy, serviceMetrics, agingLimit,
+				affinity, cpu, node, new AtomicInteger(0));
+	}
+
+	/**
+	 * Constructor of <code>AssistExecutor</code>.
+	 * @param name The <code>String</code> name of this
+	 * executor thread.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used for task execution graceful exception
+	 * handling.
+	 * @param group The <code>IAssistedService</code>
+	 * shared by all assist executors.
+	 * @param listener The <code>IServiceListener</code>
+	 * instance used to notify critical events.
+	 * @param maxBufferSize The <code>int</code> upper
+	 * limit for the internal task buffer of each
+	 * priority level.
+	 * @param idletime The <code>long</code> eager-
+	 * idling waiting time value.
+	 * @param idleunit The <code>TimeUnit</code> eager-
+	 * idling waiting time unit.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
+	 * @param serviceMetrics The <code>ServiceMetrics</code>
+	 * of the owning service. <code>null</code> if the
+	 * executor is not owned by a service.
+	 * @param agingLimit The <code>int</code> number of
+	 * higher priority tasks executed before the oldest
+	 * waiting task of a lower priority is executed.
+	 * @param affinity The <code>IAffinityProvider</code>
+	 * used to bind the executor thread to the given
+	 * processor. <code>null</code> to not bind.
+	 * @param cpu The <code>int</code> processor to bind
+	 * the executor thread to.
+	 * @param node The <code>int</code> NUMA node of
+	 * the processor.
+	 * @param urgent The <code>AtomicInteger</code>
+	 * number of pending high priority tasks shared by
+	 * the executors of the same service.
+	 */
+	AssistExecutor(final String name, final IExceptionHandler handler, final IAssistedService group,
+			final IServiceListener listener, final int maxBufferSize, final long idletime, final TimeUnit idleunit,
+			final IIdleStrategy idleStrategy, final ServiceMetrics serviceMetrics, final int agingLimit,
+			final IAffinityProvider affinity, final int cpu, final int node, final AtomicInteger urgent) {
+		super(name, handler, idleStrategy, serviceMetrics);
+		if (node < 0) throw new IllegalArgumentException("Node cannot be negative.");
 		this.group = group;
 		this.listener = listener;
 		this.idletime = idletime;
 		this.idleunit = idleunit;
-		// TODO Replace with Java 7 ConcurrentLinkedDeque.
-		this.buffer = new LinkedBlockingDeque<EventExecutable>(maxBufferSize);
-		this.lock = new ReentrantLock();
-		this.idle = this.lock.newCondition();
+		this.buffer = new PriorityBuffer(maxBufferSize, agingLimit, urgent);
+		this.affinity = affinity;
+		this.cpu = cpu;
+		this.node = node;
+	}
+
+	@Override
+	protected void onStart() {
+		if (this.affinity == null) return;
+		try {
+			this.affinity.pin(this.cpu);
+		} catch (final Exception e) {
+			this.handler.handle(e);
+		}
 	}
 
 	@Override
 	public boolean assist() {
-		final EventExecutable executable = this.buffer.pollLast();
+		return (this.assist(1) > 0);
+	}
+
+	@Override
+	public int assist(final int limit) {
+		int executed = 0;
+		while (executed < limit) {
+			final EventExecutable executable = this.buffer.steal();
+			if (executable == null) break;
+			this.executeStolen(executable);
+			executed++;
+		}
+		if (executed > 0) this.metrics.recordStolen(executed);
+		return executed;
+	}
+
+	/**
+	 * Assist this executor by executing a single task
+	 * of the given priority within the invoking thread.
+	 * @param priority The <code>TaskPriority</code> of
+	 * the task to steal.
+	 * @return <code>true</code> if a task has been
+	 * executed. <code>false</code> if there are no
+	 * tasks of the priority.
+	 */
+	boolean assist(final TaskPriority priority) {
+		final EventExecutable executable = this.buffer.steal(priority);
 		if (executable == null) return false;
+		this.executeStolen(executable);
+		this.metrics.recordStolen(1);
+		return true;
+	}
+
+	/**
+	 * Execute the given stolen executable within the
+	 * invoking thread.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be executed.
+	 */
+	private void executeStolen(final EventExecutable executable) {
 		try {
-			executable.execute();
+			this.execute(executable);
 		} catch (final Exception e) {
 			this.handler.handle(e);
 		}
-		return true;
 	}
 
 	@Override
 	protected final void doRun() throws Exception {
 		// Execute local task buffer until empty.
-		// Poll from head to lower contention since
-		// other assisting executors poll from tail.
-		EventExecutable executable = this.buffer.pollFirst();
+		// Pop from bottom to lower contention since
+		// other assisting executors steal from top.
+		EventExecutable executable = this.buffer.pop();
 		while (executable != null) {
 			// If executable is cyclic, retain the reference for
 			// executor termination.
@@ -127,49 +360,28 @@ public class AssistExecutor extends Executor implements IAssistExecutor {
 				this.currentCyclicExecutable = (CyclicExecutable)executable;
 			}
 			// Execute.
-			executable.execute();
+			this.execute(executable);
 			// Reset cyclic executable reference.
 			this.currentCyclicExecutable = null;
-			// Poll next task.
-			executable = this.buffer.pollFirst();
+			// Pop next task.
+			executable = this.buffer.pop();
 		}
 		// Reach group to assist other executors
-		// until all executor buffers are empty.
-		this.group.assist();
-		// Eager idling.
-		this.lock.lock();
-		try {
-			// Check for termination before entering idling while holding lock.
-			if (this.hasRequestedTermination()) return;
-			// Do not go into idling if there are tasks.
-			else if (!this.buffer.isEmpty()) return;
-			// Idle otherwise. Eager wake up to recover other
-			// executors from dead-lock.
-			else {
-				this.idle.await(this.idletime, this.idleunit);
-			}
-		} finally {
-			this.lock.unlock();
-		}
-	}
-
-	/**
-	 * Signal idling to wake up.
-	 */
-	private void wakeup() {
-		this.lock.lock();
-		try {
-			this.idle.signalAll();
-		} finally {
-			this.lock.unlock();
+		// according to the group steal strategy.
+		boolean assisted = this.group.assist(this);
+		// When draining, keep assisting until there are no tasks
+		// left to steal, so the buffers are drained in parallel.
+		while (assisted && this.hasRequestedDrain()) {
+			assisted = this.group.assist(this);
 		}
+		// Eager idling. Eager wake up to recover other
+		// executors from dead-lock.
+		this.idle(this.idletime, this.idleunit);
 	}
 
 	@Override
-	public final void requestTerminate() {
-		super.requestTerminate();
-		// Wake up idling.
-		this.wakeup();
+	protected final boolean hasPendingTask() {
+		return !this.buffer.isEmpty();
 	}
 
 	@Override
@@ -181,7 +393,7 @@ public class AssistExecutor extends Executor implements IAssistExecutor {
 
 	@Override
 	protected ICyclicTaskHandle doAssign(final ICyclicTask task) {
-		final CyclicExecutable executable = new CyclicExecutable(task, this.handler);
+		final CyclicExecutable executable = new CyclicExecutable(task, this.handler, this.getEventStream());
 		this.doAssign(executable);
 		return executable;
 	}
@@ -193,6 +405,16 @@ public class AssistExecutor extends Executor implements IAssistExecutor {
 		return executable;
 	}
 
+	@Override
+	protected void doAssignAll(final EventExecutable[] executables, final int offset, final int length) {
+		final int end = offset + length;
+		for (int i = offset; i < end; i++) {
+			this.push(executables[i]);
+		}
+		// Wake up idling once for the entire batch.
+		this.wakeup();
+	}
+
 	/**
 	 * Perform the assignment of given executable.
 	 * @param <E> The <code>EventExecutable</code>
@@ -201,26 +423,121 @@ public class AssistExecutor extends Executor implements IAssistExecutor {
 	 * assigned.
 	 */
 	private final <E extends EventExecutable> void doAssign(final E executable) {
-		// Insert to the head since only local thread
-		// is operating on the head where other assist
-		// executors operate on the tail, thus lowering
-		// thread contention.
-		// First try to use non-blocking insertion to
-		// allow detection of capacity reached event.
-		final boolean succeeded = this.buffer.offerFirst(executable);
-		if (!succeeded) {
+		this.push(executable);
+		// Wake up idling.
+		this.wakeup();
+	}
+
+	/**
+	 * Push the given executable onto the buffer, and
+	 * back off until the buffer has capacity if it is
+	 * full.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be pushed.
+	 */
+	private void push(final EventExecutable executable) {
+		// The push is lock-free, the executor moves the
+		// executable onto the bottom where only it operates,
+		// while other assist executors steal from the top,
+		// thus lowering thread contention.
+		// The push is non-blocking to allow detection
+		// of capacity reached event.
+		if (!this.buffer.push(executable)) {
 			this.listener.capacityReached();
-			// Use blocking insertion to wait until an
-			// existing task completes.
-			try {
-				this.buffer.putFirst(executable);
-			} catch (final InterruptedException e) {
-				this.handler.handle(e);
-				this.doAssign(executable);
-			}
+			// The executor may not have been woken up yet
+			// for the executables pushed so far.
+			this.wakeup();
+			// Back off and retry until an existing task
+			// completes.
+			do {
+				LockSupport.parkNanos(this, AssistExecutor.fullBackoff);
+				if (Thread.interrupted()) {
+					this.handler.handle(new InterruptedException("Interrupted while waiting for buffer capacity: " + this.getName()));
+				}
+				// The buffer is never emptied once the executor exits.
+				if (this.closed) {
+					executable.cancel();
+					return;
+				}
+			} while (!this.buffer.push(executable));
 		}
+		this.checkClosed(executable);
+	}
+
+	/**
+	 * Cancel the given pushed executable if the executor
+	 * has exited, since it may have been pushed after the
+	 * remaining tasks were cancelled.
+	 * @param executable The <code>EventExecutable</code>
+	 * that has been pushed.
+	 */
+	private void checkClosed(final EventExecutable executable) {
+		if (this.closed) executable.cancel();
+	}
+
+	@Override
+	protected void onExit() {
+		// Close first, so an executable pushed concurrently is
+		// either cancelled below or by its pushing thread.
+		this.closed = true;
+		// A cancelling service takes over the remaining tasks.
+		if (!this.hasRequestedDrain()) return;
+		EventExecutable executable = this.buffer.steal();
+		while (executable != null) {
+			executable.cancel();
+			executable = this.buffer.steal();
+		}
+	}
+
+	/**
+	 * Try to push the given executable onto the buffer
+	 * without blocking.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be pushed.
+	 * @return <code>true</code> if the executable has
+	 * been pushed. <code>false</code> if the buffer is
+	 * full.
+	 * @throws IllegalStateException If the executor has
+	 * been requested to terminate.
+	 */
+	boolean offer(final EventExecutable executable) {
+		if (this.hasRequestedTermination()) {
+			throw new IllegalStateException("Executor has been requested to terminate: " + this.getName());
+		}
+		if (!this.buffer.push(executable)) return false;
+		this.checkClosed(executable);
 		// Wake up idling.
 		this.wakeup();
+		return true;
+	}
+
+	/**
+	 * Remove the oldest executable of the lowest priority
+	 * from the buffer, that has not yet been taken for
+	 * execution.
+	 * @return The <code>EventExecutable</code>.
+	 * <code>null</code> if the buffer is empty.
+	 */
+	EventExecutable evict() {
+		return this.buffer.evict();
+	}
+
+	/**
+	 * Remove all the executables from the buffer that
+	 * have not yet been taken for execution.
+	 * <p>
+	 * The executables are stolen from the top of the
+	 * buffer, so this method can be safely invoked while
+	 * the executor is still popping from the bottom.
+	 * @param executables The <code>List</code> to add
+	 * the removed <code>EventExecutable</code> to.
+	 */
+	void drainTo(final List<EventExecutable> executables) {
+		EventExecutable executable = this.buffer.steal();
+		while (executable != null) {
+			executables.add(executable);
+			executable = this.buffer.steal();
+		}
 	}
 
 	@Override
@@ -228,6 +545,11 @@ public class AssistExecutor extends Executor implements IAssistExecutor {
 		return this.buffer.size();
 	}
 
+	@Override
+	public int getNode() {
+		return this.node;
+	}
+
 	/**
 	 * Check if this executor is currently executing a
 	 * cyclic task.
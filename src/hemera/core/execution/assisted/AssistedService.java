@@ -1,29 +1,46 @@
 package hemera.core.execution.assisted;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import hemera.core.execution.AbstractServiceListener;
 import hemera.core.execution.ExecutionService;
 import hemera.core.execution.Executor;
+import hemera.core.execution.executable.EventExecutable;
+import hemera.core.execution.idle.BlockIdleStrategy;
 import hemera.core.execution.interfaces.IExceptionHandler;
+import hemera.core.execution.interfaces.IIdleStrategy;
+import hemera.core.execution.interfaces.affinity.IAffinityProvider;
 import hemera.core.execution.interfaces.assisted.IAssistExecutor;
 import hemera.core.execution.interfaces.assisted.IAssistedService;
-import hemera.core.execution.interfaces.task.ICyclicTask;
-import hemera.core.execution.interfaces.task.IEventTask;
-import hemera.core.execution.interfaces.task.IResultTask;
-import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
-import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
-import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.interfaces.assisted.IStealStrategy;
+import hemera.core.execution.interfaces.task.TaskPriority;
+import hemera.core.execution.steal.NodeAwareStealStrategy;
+import hemera.core.execution.steal.SequentialStealStrategy;
 import hemera.core.utility.data.AtomicCyclicInteger;
 
 /**
  * <code>AssistedService</code> defines a execution
  * service implementation that confirms with defined
  * interface <code>IAssistedService</code>.
+ * <p>
+ * Tasks carrying a <code>TaskPriority</code> are
+ * buffered by priority level, and assisting executors
+ * take high priority tasks from the other executors
+ * before applying the steal strategy. The executors
+ * share a count of pending high priority tasks, so
+ * the other executors are only visited while there
+ * are high priority tasks to take, starting after
+ * the assisting executor to spread the thieves.
+ * <p>
+ * With an <code>IAffinityProvider</code>, executors
+ * are bound to processors across the NUMA nodes, and
+ * prefer stealing from executors of their own node.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.2
+ * @version 1.0.6
  */
 public class AssistedService extends ExecutionService implements IAssistedService {
 	/**
@@ -44,11 +61,38 @@ public class AssistedService extends ExecutionService implements IAssistedServic
 	 * unit.
 	 */
 	private final TimeUnit idleunit;
+	/**
+	 * The <code>IStealStrategy</code> used by idle
+	 * executors to assist other executors.
+	 */
+	private final IStealStrategy strategy;
+	/**
+	 * The <code>IIdleStrategy</code> used by executors
+	 * when there are no tasks to execute.
+	 */
+	private final IIdleStrategy idleStrategy;
+	/**
+	 * The <code>int</code> number of higher priority
+	 * tasks an executor may execute while a lower
+	 * priority task is waiting.
+	 */
+	private final int agingLimit;
+	/**
+	 * The <code>IAffinityProvider</code> used to place
+	 * the executors. <code>null</code> if the executors
+	 * are not placed.
+	 */
+	private final IAffinityProvider affinity;
 	/**
 	 * The <code>AtomicCyclicInteger</code> used to
 	 * track the next executor index.
 	 */
 	private final AtomicCyclicInteger index;
+	/**
+	 * The <code>AtomicInteger</code> number of pending
+	 * high priority tasks in the executor buffers.
+	 */
+	private final AtomicInteger urgent;
 
 	/**
 	 * Constructor of <code>AssistedService</code>.
@@ -67,12 +111,141 @@ public class AssistedService extends ExecutionService implements IAssistedServic
 	 */
 	public AssistedService(final IExceptionHandler handler, final AbstractServiceListener listener, final int count,
 			final int maxBufferSize, final long idletime, final TimeUnit idleunit) {
+		this(handler, listener, count, maxBufferSize, idletime, idleunit, new SequentialStealStrategy());
+	}
+
+	/**
+	 * Constructor of <code>AssistedService</code>.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 * @param listener The <code>AbstractServiceListener</code>
+	 * instance.
+	 * @param count The <code>int</code> number of
+	 * executors this service should create.
+	 * @param maxBufferSize The <code>int</code> maximum
+	 * task buffer size for the executors.
+	 * @param idletime The <code>long</code> eager-
+	 * idling waiting time value.
+	 * @param idleunit The <code>TimeUnit</code> eager-
+	 * idling waiting time unit.
+	 * @param strategy The <code>IStealStrategy</code>
+	 * used by idle executors to assist other executors.
+	 */
+	public AssistedService(final IExceptionHandler handler, final AbstractServiceListener listener, final int count,
+			final int maxBufferSize, final long idletime, final TimeUnit idleunit, final IStealStrategy strategy) {
+		this(handler, listener, count, maxBufferSize, idletime, idleunit, strategy, new BlockIdleStrategy());
+	}
+
+	/**
+	 * Constructor of <code>AssistedService</code>.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 * @param listener The <code>AbstractServiceListener</code>
+	 * instance.
+	 * @param count The <code>int</code> number of
+	 * executors this service should create.
+	 * @param maxBufferSize The <code>int</code> maximum
+	 * task buffer size for the executors.
+	 * @param idletime The <code>long</code> eager-
+	 * idling waiting time value.
+	 * @param idleunit The <code>TimeUnit</code> eager-
+	 * idling waiting time unit.
+	 * @param strategy The <code>IStealStrategy</code>
+	 * used by idle executors to assist other executors.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used by executors when there are no tasks to
+	 * execute.
+	 */
+	public AssistedService(final IExceptionHandler handler, final AbstractServiceListener listener, final int count,
+			final int maxBufferSize, final long idletime, final TimeUnit idleunit, final IStealStrategy strategy,
+			final IIdleStrategy idleStrategy) {
+		this(handler, listener, count, maxBufferSize, idletime, idleunit, strategy, idleStrategy, PriorityBuffer.defaultAgingLimit);
+	}
+
+	/**
+	 * Constructor of <code>AssistedService</code>.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 * @param listener The <code>AbstractServiceListener</code>
+	 * instance.
+	 * @param count The <code>int</code> number of
+	 * executors this service should create.
+	 * @param maxBufferSize The <code>int</code> maximum
+	 * task buffer size of each priority level for the
+	 * executors.
+	 * @param idletime The <code>long</code> eager-
+	 * idling waiting time value.
+	 * @param idleunit The <code>TimeUnit</code> eager-
+	 * idling waiting time unit.
+	 * @param strategy The <code>IStealStrategy</code>
+	 * used by idle executors to assist other executors.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used by executors when there are no tasks to
+	 * execute.
+	 * @param agingLimit The <code>int</code> number of
+	 * higher priority tasks an executor may execute
+	 * while a lower priority task is waiting, before
+	 * the lower priority task is executed.
+	 */
+	public AssistedService(final IExceptionHandler handler, final AbstractServiceListener listener, final int count,
+			final int maxBufferSize, final long idletime, final TimeUnit idleunit, final IStealStrategy strategy,
+			final IIdleStrategy idleStrategy, final int agingLimit) {
+		this(handler, listener, count, maxBufferSize, idletime, idleunit, strategy, idleStrategy, agingLimit, null);
+	}
+
+	/**
+	 * Constructor of <code>AssistedService</code>.
+	 * <p>
+	 * If an affinity provider is given, the executors
+	 * are spread evenly across the NUMA nodes, and each
+	 * executor thread is bound to a processor of its
+	 * node. The steal strategy is then applied to the
+	 * executors of the same node first, before the
+	 * executors of the other nodes.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 * @param listener The <code>AbstractServiceListener</code>
+	 * instance.
+	 * @param count The <code>int</code> number of
+	 * executors this service should create.
+	 * @param maxBufferSize The <code>int</code> maximum
+	 * task buffer size of each priority level for the
+	 * executors.
+	 * @param idletime The <code>long</code> eager-
+	 * idling waiting time value.
+	 * @param idleunit The <code>TimeUnit</code> eager-
+	 * idling waiting time unit.
+	 * @param strategy The <code>IStealStrategy</code>
+	 * used by idle executors to assist other executors.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used by executors when there are no tasks to
+	 * execute.
+	 * @param agingLimit The <code>int</code> number of
+	 * higher priority tasks an executor may execute
+	 * while a lower priority task is waiting, before
+	 * the lower priority task is executed.
+	 * @param affinity The <code>IAffinityProvider</code>
+	 * used to place the executors. <code>null</code> to
+	 * leave the placement to the operating system.
+	 */
+	public AssistedService(final IExceptionHandler handler, final AbstractServiceListener listener, final int count,
+			final int maxBufferSize, final long idletime, final TimeUnit idleunit, final IStealStrategy strategy,
+			final IIdleStrategy idleStrategy, final int agingLimit, final IAffinityProvider affinity) {
 		super(handler, listener);
+		if (strategy == null) throw new IllegalArgumentException("Steal strategy cannot be null.");
+		else if (idleStrategy == null) throw new IllegalArgumentException("Idle strategy cannot be null.");
+		else if (agingLimit <= 0) throw new IllegalArgumentException("Aging limit must be greater than 0.");
 		this.executors = new IAssistExecutor[count];
 		this.maxBufferSize = maxBufferSize;
 		this.idletime = idletime;
 		this.idleunit = idleunit;
+		if (affinity == null || strategy instanceof NodeAwareStealStrategy) this.strategy = strategy;
+		else this.strategy = new NodeAwareStealStrategy(strategy);
+		this.idleStrategy = idleStrategy;
+		this.agingLimit = agingLimit;
+		this.affinity = affinity;
 		this.index = new AtomicCyclicInteger(0, this.executors.length-1);
+		this.urgent = new AtomicInteger(0);
 	}
 
 	@Override
@@ -80,15 +253,25 @@ public class AssistedService extends ExecutionService implements IAssistedServic
 		// Create executors first before activation, since once an
 		// executor is activated, it'll start assisting but not all
 		// executors are created yet.
+		final int nodeCount = (this.affinity == null) ? 1 : this.affinity.getNodeCount();
+		final int[][] cpus = new int[nodeCount][];
+		for (int i = 0; i < nodeCount; i++) {
+			cpus[i] = (this.affinity == null) ? null : this.affinity.getCpus(i);
+		}
 		for (int i = 0; i < this.executors.length; i++) {
 			final String name = "AssistExecutor-" + i;
+			// Interleave the executors across the nodes, and rotate
+			// through the processors of each node.
+			final int node = i % nodeCount;
+			final int cpu = (cpus[node] == null) ? -1 : cpus[node][(i/nodeCount)%cpus[node].length];
 			final AssistExecutor executor = new AssistExecutor(name, this.handler, this, this.listener,
-					this.maxBufferSize, this.idletime, this.idleunit);
+					this.maxBufferSize, this.idletime, this.idleunit, this.idleStrategy, this.metrics, this.agingLimit,
+					this.affinity, cpu, node, this.urgent);
 			this.executors[i] = executor;
 		}
 		// Activate executors.
 		for (int i = 0; i < this.executors.length; i++) {
-			this.executors[i].start();
+			this.start((AssistExecutor)this.executors[i]);
 		}
 	}
 
@@ -101,14 +284,21 @@ public class AssistedService extends ExecutionService implements IAssistedServic
 	}
 
 	@Override
-	protected void doShutdownAndWait() throws InterruptedException {
+	protected void doDrain() {
 		for (int i = 0; i < this.executors.length; i++) {
 			final IAssistExecutor executor = this.executors[i];
-			executor.requestTerminate();
-			// Wait for executor thread to terminate.
-			while (!executor.hasTerminated()) {
-				TimeUnit.MILLISECONDS.sleep(5);
-			}
+			executor.requestDrain();
+		}
+	}
+
+	@Override
+	protected void doCancel(final List<EventExecutable> pending) {
+		// Request termination first, so the executors stop taking
+		// tasks off their buffers.
+		this.doShutdown();
+		for (int i = 0; i < this.executors.length; i++) {
+			final AssistExecutor executor = (AssistExecutor)this.executors[i];
+			executor.drainTo(pending);
 		}
 	}
 
@@ -121,30 +311,60 @@ public class AssistedService extends ExecutionService implements IAssistedServic
 	}
 
 	@Override
-	protected void doForceShutdown(final long time, final TimeUnit unit) throws InterruptedException {
-		// Gracefully terminate all executors.
-		this.doShutdown();
-		// Wait for expiration.
-		unit.sleep(time);
-		// Forcefully terminate and remove all active executors.
-		this.doForceShutdown();
+	protected boolean offer(final EventExecutable executable) {
+		// Try each executor once in the round-robin rotation,
+		// skipping the ones occupied by cyclic tasks.
+		for (int i = 0; i < this.executors.length; i++) {
+			final AssistExecutor executor = (AssistExecutor)this.executors[this.index.incrementAndGet()];
+			if (executor.isExecutingCyclicTask()) continue;
+			if (executor.offer(executable)) return true;
+		}
+		return false;
 	}
 
 	@Override
-	protected IEventTaskHandle doSubmit(final IEventTask task) {
-		return this.nextAssistExecutor().assign(task);
+	protected EventExecutable evict() {
+		final int start = this.index.get();
+		for (int i = 0; i < this.executors.length; i++) {
+			final AssistExecutor executor = (AssistExecutor)this.executors[(start+i)%this.executors.length];
+			final EventExecutable executable = executor.evict();
+			if (executable != null) return executable;
+		}
+		return null;
 	}
 	
 	@Override
-	protected ICyclicTaskHandle doSubmit(final ICyclicTask task) {
-		return this.nextAssistExecutor().assign(task);
+	protected void doSubmitAll(final EventExecutable[] executables) {
+		// Collect the executors that are not occupied by cyclic
+		// tasks in a single rotation from the round-robin index.
+		final int count = this.executors.length;
+		final int start = this.index.incrementAndGet();
+		final AssistExecutor[] targets = new AssistExecutor[count];
+		int targetCount = 0;
+		for (int i = 0; i < count; i++) {
+			final AssistExecutor executor = (AssistExecutor)this.executors[(start+i)%count];
+			if (!executor.isExecutingCyclicTask()) {
+				targets[targetCount] = executor;
+				targetCount++;
+			}
+		}
+		// All executors are occupied by cyclic tasks, wait for one.
+		if (targetCount == 0) {
+			targets[0] = (AssistExecutor)this.nextAssistExecutor();
+			targetCount = 1;
+		}
+		// Distribute the batch evenly as contiguous ranges, so each
+		// executor is only woken up once.
+		final int share = executables.length / targetCount;
+		final int extra = executables.length % targetCount;
+		int offset = 0;
+		for (int i = 0; i < targetCount && offset < executables.length; i++) {
+			final int length = (i < extra) ? share+1 : share;
+			targets[i].assignAll(executables, offset, length);
+			offset += length;
+		}
 	}
 
-	@Override
-	protected <V> IResultTaskHandle<V> doSubmit(final IResultTask<V> task) {
-		return this.nextAssistExecutor().assign(task);
-	}
-	
 	/**
 	 * Retrieve the next assist executor using a round-
 	 * robin rotation.
@@ -179,15 +399,31 @@ public class AssistedService extends ExecutionService implements IAssistedServic
 
 	@Override
 	public boolean assist() {
-		boolean assisted = false;
-		for (int i = 0; i < this.executors.length; i++) {
-			final IAssistExecutor executor = this.executors[i];
-			// Assist a single executor until all of its tasks are finished.
-			while (executor.assist()) {
-				if (!assisted) assisted = true;
+		return this.assist(null);
+	}
+
+	@Override
+	public boolean assist(final IAssistExecutor thief) {
+		// High priority tasks are taken from the other executors
+		// first, so they are not left behind the steal strategy
+		// ordering. The executors are only visited while there
+		// are high priority tasks pending.
+		boolean urgent = false;
+		if (this.urgent.get() > 0) {
+			// Start after the thief, so the thieves do not all
+			// contend on the lowest index executors.
+			final int count = this.executors.length;
+			int start = 0;
+			while (start < count && this.executors[start] != thief) start++;
+			for (int i = 1; i <= count && this.urgent.get() > 0; i++) {
+				final IAssistExecutor executor = this.executors[(start+i)%count];
+				if (executor == thief) continue;
+				while (((AssistExecutor)executor).assist(TaskPriority.HIGH)) {
+					urgent = true;
+				}
 			}
 		}
-		return assisted;
+		return (this.strategy.assist(this.executors, thief) || urgent);
 	}
 	
 	@Override
@@ -0,0 +1,241 @@
+package hemera.core.execution.assisted;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hemera.core.execution.executable.EventExecutable;
+import hemera.core.execution.interfaces.task.TaskPriority;
+
+/**
+ * <code>PriorityBuffer</code> defines the task buffer
+ * of an assist executor, which keeps a separate work-
+ * stealing deque for each task priority level.
+ * <p>
+ * Both the owning executor and the thieves take tasks
+ * from the highest priority level that is not empty.
+ * To prevent lower priority tasks from starving under
+ * a constant stream of higher priority tasks, the owner
+ * counts how many times each non-empty lower level has
+ * been passed over. Once the count reaches the aging
+ * limit, the oldest task of that level is taken next.
+ * The aging counters are only accessed by the owning
+ * executor thread and require no synchronization.
+ * <p>
+ * The buffers of a service share a counter of pending
+ * high priority tasks, so thieves can tell if there is
+ * any high priority task to look for without visiting
+ * every buffer. The counter is incremented before a
+ * high priority task is pushed, so it never falls
+ * below the number of buffered high priority tasks.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.2
+ */
+final class PriorityBuffer {
+	/**
+	 * The <code>int</code> default aging limit.
+	 */
+	final static int defaultAgingLimit = 32;
+	/**
+	 * The <code>TaskPriority</code> levels.
+	 */
+	private final static TaskPriority[] levels = TaskPriority.values();
+	/**
+	 * The <code>WorkStealingDeque</code> array indexed
+	 * by the priority level.
+	 */
+	private final WorkStealingDeque<EventExecutable>[] deques;
+	/**
+	 * The <code>int</code> number of times a lower level
+	 * can be passed over before its oldest task is taken.
+	 */
+	private final int agingLimit;
+	/**
+	 * The <code>int</code> array of the number of times
+	 * each level has been passed over.
+	 */
+	private final int[] skipped;
+	/**
+	 * The <code>AtomicInteger</code> number of pending
+	 * high priority tasks, shared by the buffers of the
+	 * same service.
+	 */
+	private final AtomicInteger urgent;
+
+	/**
+	 * Constructor of <code>PriorityBuffer</code>.
+	 * @param capacity The <code>int</code> maximum
+	 * number of tasks of each priority level.
+	 * @param agingLimit The <code>int</code> number of
+	 * times a lower level can be passed over before its
+	 * oldest task is taken.
+	 */
+	PriorityBuffer(final int capacity, final int agingLimit) {
+		this(capacity, agingLimit, new AtomicInteger(0));
+	}
+
+	/**
+	 * Constructor of <code>PriorityBuffer</code>.
+	 * @param capacity The <code>int</code> maximum
+	 * number of tasks of each priority level.
+	 * @param agingLimit The <code>int</code> number of
+	 * times a lower level can be passed over before its
+	 * oldest task is taken.
+	 * @param urgent The <code>AtomicInteger</code>
+	 * number of pending high priority tasks shared by
+	 * the buffers of the same service.
+	 */
+	@SuppressWarnings("unchecked")
+	PriorityBuffer(final int capacity, final int agingLimit, final AtomicInteger urgent) {
+		if (agingLimit <= 0) throw new IllegalArgumentException("Aging limit must be greater than 0.");
+		else if (urgent == null) throw new IllegalArgumentException("Urgent counter cannot be null.");
+		this.deques = new WorkStealingDeque[PriorityBuffer.levels.length];
+		for (int i = 0; i < this.deques.length; i++) {
+			this.deques[i] = new WorkStealingDeque<EventExecutable>(capacity);
+		}
+		this.agingLimit = agingLimit;
+		this.skipped = new int[this.deques.length];
+		this.urgent = urgent;
+	}
+
+	/**
+	 * Push the given executable onto the level of its
+	 * priority.
+	 * <p>
+	 * This method may be invoked by any thread.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be pushed.
+	 * @return <code>true</code> if the executable has
+	 * been pushed. <code>false</code> if the level is
+	 * full.
+	 */
+	boolean push(final EventExecutable executable) {
+		final int level = executable.getPriority().ordinal();
+		if (level != 0) return this.deques[level].push(executable);
+		this.urgent.incrementAndGet();
+		if (this.deques[0].push(executable)) return true;
+		this.urgent.decrementAndGet();
+		return false;
+	}
+
+	/**
+	 * Pop the next executable to be executed by the
+	 * owning executor.
+	 * <p>
+	 * This method should only be invoked by the owning
+	 * executor thread.
+	 * @return The <code>EventExecutable</code>.
+	 * <code>null</code> if the buffer is empty.
+	 */
+	EventExecutable pop() {
+		// Serve the lowest starving level first.
+		for (int i = this.deques.length-1; i > 0; i--) {
+			if (this.skipped[i] < this.agingLimit) continue;
+			this.skipped[i] = 0;
+			// The oldest task of the level is at the top.
+			final EventExecutable executable = this.deques[i].steal();
+			if (executable != null) return executable;
+		}
+		for (int i = 0; i < this.deques.length; i++) {
+			final EventExecutable executable = this.deques[i].pop();
+			if (executable != null) {
+				this.age(i);
+				return this.taken(i, executable);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Record the given executable has been taken from
+	 * the given level.
+	 * @param level The <code>int</code> level the
+	 * executable was taken from.
+	 * @param executable The <code>EventExecutable</code>
+	 * that has been taken.
+	 * @return The given <code>EventExecutable</code>.
+	 */
+	private EventExecutable taken(final int level, final EventExecutable executable) {
+		if (level == 0) this.urgent.decrementAndGet();
+		return executable;
+	}
+
+	/**
+	 * Increment the skipped counts of the non-empty
+	 * levels below the given level.
+	 * @param level The <code>int</code> level that
+	 * has been served.
+	 */
+	private void age(final int level) {
+		this.skipped[level] = 0;
+		for (int i = level+1; i < this.deques.length; i++) {
+			if (this.deques[i].isEmpty()) this.skipped[i] = 0;
+			else this.skipped[i]++;
+		}
+	}
+
+	/**
+	 * Steal an executable from the highest priority
+	 * level that is not empty.
+	 * @return The <code>EventExecutable</code>.
+	 * <code>null</code> if the buffer is empty.
+	 */
+	EventExecutable steal() {
+		for (int i = 0; i < this.deques.length; i++) {
+			final EventExecutable executable = this.deques[i].steal();
+			if (executable != null) return this.taken(i, executable);
+		}
+		return null;
+	}
+
+	/**
+	 * Steal the oldest executable from the lowest
+	 * priority level that is not empty.
+	 * @return The <code>EventExecutable</code>.
+	 * <code>null</code> if the buffer is empty.
+	 */
+	EventExecutable evict() {
+		for (int i = this.deques.length-1; i >= 0; i--) {
+			final EventExecutable executable = this.deques[i].steal();
+			if (executable != null) return this.taken(i, executable);
+		}
+		return null;
+	}
+
+	/**
+	 * Steal an executable of the given priority.
+	 * @param priority The <code>TaskPriority</code>
+	 * level to steal from.
+	 * @return The <code>EventExecutable</code>.
+	 * <code>null</code> if the level is empty.
+	 */
+	EventExecutable steal(final TaskPriority priority) {
+		final int level = priority.ordinal();
+		final EventExecutable executable = this.deques[level].steal();
+		if (executable == null) return null;
+		return this.taken(level, executable);
+	}
+
+	/**
+	 * Retrieve the number of buffered executables.
+	 * @return The <code>int</code> size.
+	 */
+	int size() {
+		int size = 0;
+		for (int i = 0; i < this.deques.length; i++) {
+			size += this.deques[i].size();
+		}
+		return size;
+	}
+
+	/**
+	 * Check if the buffer is empty.
+	 * @return <code>true</code> if all levels are
+	 * empty. <code>false</code> otherwise.
+	 */
+	boolean isEmpty() {
+		for (int i = 0; i < this.deques.length; i++) {
+			if (!this.deques[i].isEmpty()) return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,251 @@
+package hemera.core.execution.assisted;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <code>WorkStealingDeque</code> defines a bounded,
+ * array-backed and lock-free work-stealing deque based
+ * on the Chase-Lev algorithm. The single owner thread
+ * pops elements from the bottom end, while any number
+ * of thieves steal elements from the top end.
+ * <p>
+ * The thieves never contend with the owner on a shared
+ * lock. A steal only performs a single atomic compare
+ * and set operation on the top index, and the owner
+ * only needs to perform an atomic compare and set
+ * operation when it competes with thieves for the very
+ * last element.
+ * <p>
+ * The algorithm requires that only the owner operates
+ * on the bottom end. Since elements are pushed by any
+ * thread, they are first added to a lock-free inbox
+ * queue, which the owner moves onto the bottom end
+ * before popping. Thieves take from the inbox once the
+ * deque itself is empty, so elements pushed while the
+ * owner is busy can still be stolen.
+ * <p>
+ * The deque has a fixed capacity. Pushing onto a full
+ * deque fails immediately instead of blocking, so the
+ * caller can decide how to handle the capacity reached
+ * event.
+ *
+ * @param <E> The element type.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.1
+ */
+public class WorkStealingDeque<E> {
+	/**
+	 * The <code>int</code> maximum number of elements
+	 * the deque can hold.
+	 */
+	private final int capacity;
+	/**
+	 * The <code>int</code> mask used to map an index
+	 * onto the element array.
+	 */
+	private final int mask;
+	/**
+	 * The <code>AtomicReferenceArray</code> of elements.
+	 * <p>
+	 * The length of the array is a power of two that is
+	 * greater than or equal to the capacity.
+	 */
+	private final AtomicReferenceArray<E> elements;
+	/**
+	 * The <code>AtomicLong</code> top index, where the
+	 * thieves steal elements from.
+	 */
+	private final AtomicLong top;
+	/**
+	 * The <code>long</code> bottom index, where the
+	 * owner moves and pops elements.
+	 * <p>
+	 * This value is only written by the owner, but its
+	 * memory visibility needs to be guaranteed for the
+	 * thieves.
+	 */
+	private volatile long bottom;
+	/**
+	 * The <code>Queue</code> of pushed elements that
+	 * have not yet been moved onto the deque.
+	 */
+	private final Queue<E> inbox;
+	/**
+	 * The <code>AtomicInteger</code> number of reserved
+	 * inbox slots.
+	 * <p>
+	 * A slot is reserved before an element is added to
+	 * the inbox and released after the element has been
+	 * taken out of it, so the capacity is never exceeded.
+	 */
+	private final AtomicInteger pending;
+
+	/**
+	 * Constructor of <code>WorkStealingDeque</code>.
+	 * @param capacity The <code>int</code> maximum
+	 * number of elements the deque can hold.
+	 */
+	public WorkStealingDeque(final int capacity) {
+		if (capacity <= 0) throw new IllegalArgumentException("Deque capacity must be greater than 0.");
+		else if (capacity > (1 << 30)) throw new IllegalArgumentException("Deque capacity is too large: " + capacity);
+		this.capacity = capacity;
+		int length = 1;
+		while (length < capacity) length <<= 1;
+		this.mask = length - 1;
+		this.elements = new AtomicReferenceArray<E>(length);
+		this.top = new AtomicLong(0);
+		this.bottom = 0;
+		this.inbox = new ConcurrentLinkedQueue<E>();
+		this.pending = new AtomicInteger(0);
+	}
+
+	/**
+	 * Push the given element onto the deque.
+	 * <p>
+	 * This method is lock-free and may be invoked by
+	 * any number of threads concurrently. The element
+	 * reaches the bottom end once the owner pops.
+	 * @param element The <code>E</code> to be pushed.
+	 * @return <code>true</code> if the element has been
+	 * pushed. <code>false</code> if the deque is full.
+	 */
+	public boolean push(final E element) {
+		if (element == null) throw new IllegalArgumentException("Element cannot be null.");
+		// Reserve a slot first to bound the deque without locking.
+		// A stale top index only over-estimates the size.
+		if (this.pending.incrementAndGet() + (this.bottom - this.top.get()) > this.capacity) {
+			this.pending.decrementAndGet();
+			return false;
+		}
+		this.inbox.offer(element);
+		return true;
+	}
+
+	/**
+	 * Pop the most recently pushed element from the
+	 * bottom end.
+	 * <p>
+	 * This method must only be invoked by the owner.
+	 * @return The <code>E</code> element. <code>null</code>
+	 * if the deque is empty.
+	 */
+	public E pop() {
+		this.transfer();
+		final long b = this.bottom - 1;
+		// The volatile write of bottom followed by the read of
+		// top guarantees that either this pop or a concurrent
+		// steal observes the other.
+		this.bottom = b;
+		final long t = this.top.get();
+		if (t > b) {
+			// Empty, restore the bottom index. An element may have
+			// been pushed after the transfer.
+			this.bottom = t;
+			return this.pollInbox();
+		}
+		final int index = (int)b & this.mask;
+		E element = this.elements.get(index);
+		if (t == b) {
+			// Last element, compete with the thieves. The winning
+			// thief releases the reference itself.
+			if (this.top.compareAndSet(t, t + 1)) this.elements.compareAndSet(index, element, null);
+			else element = this.pollInbox();
+			this.bottom = t + 1;
+		} else {
+			// Thieves cannot reach this slot, release the reference.
+			this.elements.lazySet(index, null);
+		}
+		return element;
+	}
+
+	/**
+	 * Move the pushed elements from the inbox onto the
+	 * bottom end.
+	 * <p>
+	 * This method must only be invoked by the owner.
+	 */
+	private void transfer() {
+		while (this.pending.get() > 0) {
+			final long b = this.bottom;
+			if (b - this.top.get() >= this.capacity) return;
+			final E element = this.inbox.poll();
+			if (element == null) return;
+			this.elements.set((int)b & this.mask, element);
+			// Publish the element to the thieves before releasing
+			// its slot, so the size is never under-estimated.
+			this.bottom = b + 1;
+			this.pending.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Take the oldest element out of the inbox.
+	 * @return The <code>E</code> element. <code>null</code>
+	 * if the inbox is empty.
+	 */
+	private E pollInbox() {
+		if (this.pending.get() <= 0) return null;
+		final E element = this.inbox.poll();
+		if (element != null) this.pending.decrementAndGet();
+		return element;
+	}
+
+	/**
+	 * Steal the least recently pushed element from the
+	 * top end, or from the inbox if the deque is empty.
+	 * <p>
+	 * This method is lock-free and may be invoked by
+	 * any number of threads concurrently.
+	 * @return The <code>E</code> element. <code>null</code>
+	 * if the deque is empty or the steal lost the race
+	 * with another thief or the owner.
+	 */
+	public E steal() {
+		final long t = this.top.get();
+		final long b = this.bottom;
+		if (t >= b) return this.pollInbox();
+		final int index = (int)t & this.mask;
+		final E element = this.elements.get(index);
+		if (element == null || !this.top.compareAndSet(t, t + 1)) return null;
+		// Release the reference unless the slot has already been reused.
+		this.elements.compareAndSet(index, element, null);
+		return element;
+	}
+
+	/**
+	 * Retrieve the current number of elements.
+	 * <p>
+	 * The returned value is an estimate since the deque
+	 * may be concurrently modified.
+	 * @return The <code>int</code> number of elements.
+	 */
+	public int size() {
+		final long size = this.bottom - this.top.get() + this.pending.get();
+		if (size <= 0) return 0;
+		else if (size > this.capacity) return this.capacity;
+		else return (int)size;
+	}
+
+	/**
+	 * Check if the deque is currently empty.
+	 * @return <code>true</code> if the deque is empty.
+	 * <code>false</code> otherwise.
+	 */
+	public boolean isEmpty() {
+		return (this.bottom <= this.top.get() && this.pending.get() <= 0);
+	}
+
+	/**
+	 * Retrieve the maximum number of elements the deque
+	 * can hold.
+	 * @return The <code>int</code> capacity.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+}
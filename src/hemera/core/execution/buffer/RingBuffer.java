@@ -0,0 +1,146 @@
+package hemera.core.execution.buffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <code>RingBuffer</code> defines a bounded, array-
+ * backed and lock-free queue that supports any number
+ * of producer threads and a single consumer thread.
+ * <p>
+ * Each slot carries a sequence number that tells the
+ * producers whether the slot is free and the consumer
+ * whether the slot has been published. A producer only
+ * performs a single atomic compare and set operation on
+ * the tail index to claim a slot, and the consumer does
+ * not perform any atomic read-modify-write operations.
+ * <p>
+ * Offering onto a full buffer fails immediately instead
+ * of blocking, so the producers are never held back by
+ * a slow consumer. The caller decides how to handle the
+ * rejected element.
+ *
+ * @param <E> The element type.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class RingBuffer<E> {
+	/**
+	 * The <code>int</code> mask used to map an index
+	 * onto the slot arrays.
+	 */
+	private final int mask;
+	/**
+	 * The <code>AtomicReferenceArray</code> of elements.
+	 */
+	private final AtomicReferenceArray<E> elements;
+	/**
+	 * The <code>AtomicLongArray</code> of slot sequence
+	 * numbers. A slot is free for the producer claiming
+	 * index <code>i</code> when its sequence is equal to
+	 * <code>i</code>, and is published to the consumer
+	 * when its sequence is equal to <code>i+1</code>.
+	 */
+	private final AtomicLongArray sequences;
+	/**
+	 * The <code>AtomicLong</code> tail index, where the
+	 * producers claim slots.
+	 */
+	private final AtomicLong tail;
+	/**
+	 * The <code>long</code> head index, where the single
+	 * consumer polls elements.
+	 */
+	private volatile long head;
+
+	/**
+	 * Constructor of <code>RingBuffer</code>.
+	 * @param capacity The <code>int</code> minimum number
+	 * of elements the buffer can hold. It is rounded up
+	 * to the next power of two.
+	 */
+	public RingBuffer(final int capacity) {
+		if (capacity <= 0) throw new IllegalArgumentException("Capacity must be greater than 0.");
+		else if (capacity > (1 << 30)) throw new IllegalArgumentException("Capacity is too large.");
+		int length = 1;
+		while (length < capacity) length <<= 1;
+		this.mask = length-1;
+		this.elements = new AtomicReferenceArray<E>(length);
+		this.sequences = new AtomicLongArray(length);
+		for (int i = 0; i < length; i++) {
+			this.sequences.set(i, i);
+		}
+		this.tail = new AtomicLong(0);
+		this.head = 0;
+	}
+
+	/**
+	 * Offer the given element onto the tail of the buffer.
+	 * <p>
+	 * This method may be invoked by any thread.
+	 * @param element The <code>E</code> element to offer.
+	 * @return <code>true</code> if the element has been
+	 * added. <code>false</code> if the buffer is full.
+	 */
+	public boolean offer(final E element) {
+		if (element == null) throw new IllegalArgumentException("Element cannot be null.");
+		while (true) {
+			final long index = this.tail.get();
+			final int slot = (int)(index & this.mask);
+			final long sequence = this.sequences.get(slot);
+			if (sequence == index) {
+				if (this.tail.compareAndSet(index, index+1)) {
+					this.elements.lazySet(slot, element);
+					// Publish the element to the consumer.
+					this.sequences.set(slot, index+1);
+					return true;
+				}
+			} else if (sequence < index) {
+				// The slot still holds an element from the previous lap.
+				return false;
+			}
+			// Another producer claimed the index, retry with the new tail.
+		}
+	}
+
+	/**
+	 * Poll the element at the head of the buffer.
+	 * <p>
+	 * This method must only be invoked by the single
+	 * consumer thread.
+	 * @return The <code>E</code> element. <code>null</code>
+	 * if the buffer is empty, or the element at the head
+	 * has been claimed but not yet published.
+	 */
+	public E poll() {
+		final long index = this.head;
+		final int slot = (int)(index & this.mask);
+		if (this.sequences.get(slot) != index+1) return null;
+		final E element = this.elements.get(slot);
+		this.elements.lazySet(slot, null);
+		// Free the slot for the producers of the next lap.
+		this.sequences.set(slot, index+this.mask+1);
+		this.head = index+1;
+		return element;
+	}
+
+	/**
+	 * Check if the buffer is empty.
+	 * @return <code>true</code> if there are no claimed
+	 * slots. <code>false</code> otherwise.
+	 */
+	public boolean isEmpty() {
+		return (this.tail.get() == this.head);
+	}
+
+	/**
+	 * Retrieve the capacity of the buffer.
+	 * @return The <code>int</code> maximum number of
+	 * elements the buffer can hold.
+	 */
+	public int capacity() {
+		return this.mask+1;
+	}
+}
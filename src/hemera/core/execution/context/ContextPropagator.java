@@ -0,0 +1,112 @@
+package hemera.core.execution.context;
+
+import hemera.core.execution.interfaces.context.IContextCarrier;
+
+/**
+ * <code>ContextPropagator</code> defines the registry
+ * of the context carriers of an execution service, and
+ * captures the context snapshots of submitted tasks.
+ * <p>
+ * Capturing is designed to be allocation-free in the
+ * common cases. Without any registered carriers, no
+ * capturing is performed at all. Otherwise the last
+ * snapshot captured by each submitting thread is kept,
+ * and reused as long as the carriers return the same
+ * context instances. A thread without any context does
+ * not produce a snapshot, so its tasks are executed
+ * without installing anything.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class ContextPropagator {
+	/**
+	 * The <code>IContextCarrier</code> array. The array
+	 * is replaced as a whole when the carriers change.
+	 */
+	private volatile IContextCarrier<?>[] carriers;
+	/**
+	 * The <code>ThreadLocal</code> last captured
+	 * <code>ContextSnapshot</code> of each thread.
+	 */
+	private final ThreadLocal<ContextSnapshot> last;
+
+	/**
+	 * Constructor of <code>ContextPropagator</code>.
+	 */
+	public ContextPropagator() {
+		this.carriers = new IContextCarrier<?>[0];
+		this.last = new ThreadLocal<ContextSnapshot>();
+	}
+
+	/**
+	 * Register the given context carrier. The carrier is
+	 * only applied to the tasks submitted afterwards.
+	 * @param carrier The <code>IContextCarrier</code>.
+	 */
+	public synchronized void add(final IContextCarrier<?> carrier) {
+		if (carrier == null) throw new IllegalArgumentException("Context carrier cannot be null.");
+		final IContextCarrier<?>[] current = this.carriers;
+		for (final IContextCarrier<?> c : current) {
+			if (c == carrier) return;
+		}
+		final IContextCarrier<?>[] updated = new IContextCarrier<?>[current.length+1];
+		System.arraycopy(current, 0, updated, 0, current.length);
+		updated[current.length] = carrier;
+		this.carriers = updated;
+	}
+
+	/**
+	 * Unregister the given context carrier. Tasks that
+	 * have already been submitted still install the
+	 * context captured by the carrier.
+	 * @param carrier The <code>IContextCarrier</code>.
+	 * @return <code>true</code> if the carrier has been
+	 * removed. <code>false</code> if it was not registered.
+	 */
+	public synchronized boolean remove(final IContextCarrier<?> carrier) {
+		final IContextCarrier<?>[] current = this.carriers;
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] != carrier) continue;
+			final IContextCarrier<?>[] updated = new IContextCarrier<?>[current.length-1];
+			System.arraycopy(current, 0, updated, 0, i);
+			System.arraycopy(current, i+1, updated, i, updated.length-i);
+			this.carriers = updated;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Capture the context of the current thread with all
+	 * the registered carriers.
+	 * @return The <code>ContextSnapshot</code>. <code>null</code>
+	 * if there are no registered carriers, or none of them
+	 * has a context on the current thread.
+	 */
+	public ContextSnapshot capture() {
+		final IContextCarrier<?>[] carriers = this.carriers;
+		if (carriers.length == 0) return null;
+		final ContextSnapshot last = this.last.get();
+		final boolean reusable = (last != null && last.carriers == carriers);
+		Object[] values = null;
+		for (int i = 0; i < carriers.length; i++) {
+			final Object value = carriers[i].capture();
+			if (values == null) {
+				// Only allocate once a value differs from the last snapshot.
+				if (reusable && last.values[i] == value) continue;
+				values = new Object[carriers.length];
+				if (reusable) System.arraycopy(last.values, 0, values, 0, i);
+			}
+			values[i] = value;
+		}
+		final ContextSnapshot snapshot;
+		if (values == null) {
+			snapshot = last;
+		} else {
+			snapshot = new ContextSnapshot(carriers, values);
+			this.last.set(snapshot);
+		}
+		return snapshot.empty ? null : snapshot;
+	}
+}
@@ -0,0 +1,88 @@
+package hemera.core.execution.context;
+
+import hemera.core.execution.interfaces.context.IContextCarrier;
+
+/**
+ * <code>ContextSnapshot</code> defines the immutable
+ * unit of the context values captured by a set of
+ * context carriers on the submitting thread.
+ * <p>
+ * A snapshot can be shared by any number of tasks and
+ * installed by any number of threads concurrently. The
+ * previous context values of the installing thread are
+ * only allocated for if the thread had any, which is
+ * not the case for executor threads in between tasks.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public final class ContextSnapshot {
+	/**
+	 * The <code>IContextCarrier</code> array that the
+	 * values were captured by.
+	 */
+	final IContextCarrier<?>[] carriers;
+	/**
+	 * The captured context value <code>Object</code>
+	 * array, with the same indices as the carriers.
+	 */
+	final Object[] values;
+	/**
+	 * The <code>boolean</code> flag indicating if all
+	 * the captured values are <code>null</code>.
+	 */
+	final boolean empty;
+
+	/**
+	 * Constructor of <code>ContextSnapshot</code>.
+	 * @param carriers The <code>IContextCarrier</code>
+	 * array.
+	 * @param values The captured context value
+	 * <code>Object</code> array.
+	 */
+	ContextSnapshot(final IContextCarrier<?>[] carriers, final Object[] values) {
+		this.carriers = carriers;
+		this.values = values;
+		boolean empty = true;
+		for (final Object value : values) {
+			if (value != null) empty = false;
+		}
+		this.empty = empty;
+	}
+
+	/**
+	 * Install the captured context values onto the
+	 * current thread.
+	 * @return The <code>Object</code> array of the
+	 * previous context values of the current thread.
+	 * <code>null</code> if it did not have any.
+	 */
+	@SuppressWarnings("unchecked")
+	public Object[] install() {
+		Object[] previous = null;
+		for (int i = 0; i < this.carriers.length; i++) {
+			final Object value = this.values[i];
+			if (value == null) continue;
+			final Object replaced = ((IContextCarrier<Object>)this.carriers[i]).install(value);
+			if (replaced != null) {
+				if (previous == null) previous = new Object[this.carriers.length];
+				previous[i] = replaced;
+			}
+		}
+		return previous;
+	}
+
+	/**
+	 * Restore the previous context values of the current
+	 * thread, in the reverse order of the installation.
+	 * @param previous The <code>Object</code> array
+	 * returned by <code>install</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	public void restore(final Object[] previous) {
+		for (int i = this.carriers.length-1; i >= 0; i--) {
+			if (this.values[i] == null) continue;
+			((IContextCarrier<Object>)this.carriers[i]).restore((previous == null) ? null : previous[i]);
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package hemera.core.execution.cyclic;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.executable.CycleSchedule;
+import hemera.core.execution.executable.EventExecutable;
+import hemera.core.execution.interfaces.IExceptionHandler;
+import hemera.core.execution.interfaces.task.ICyclicTask;
+import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
+
+/**
+ * <code>ScheduledCyclicExecutable</code> defines the
+ * container unit of a cyclic task that is scheduled by
+ * the <code>TimerWheelScheduler</code>, as well as
+ * being the task handle for the contained task.
+ * <p>
+ * Each invocation of <code>runCycle</code> executes a
+ * single cycle of the task, then either schedules the
+ * next cycle on the timer wheel or terminates the task.
+ * Since the next cycle is only scheduled after the
+ * current one completes, cycles never overlap, and
+ * the fields only accessed by the cycle execution do
+ * not require any synchronization. Their memory
+ * visibility is guaranteed by the queues that hand
+ * the executable from one thread to another.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+final class ScheduledCyclicExecutable extends EventExecutable implements ICyclicTaskHandle {
+	/**
+	 * The <code>ICyclicTask</code> instance.
+	 */
+	private final ICyclicTask task;
+	/**
+	 * The <code>IExceptionHandler</code> used by the
+	 * scheduler.
+	 */
+	private final IExceptionHandler handler;
+	/**
+	 * The <code>TimerWheelScheduler</code> instance.
+	 */
+	private final TimerWheelScheduler scheduler;
+	/**
+	 * The <code>boolean</code> flag indicating if the
+	 * cyclic execution has started.
+	 */
+	private boolean started;
+	/**
+	 * The <code>CycleSchedule</code> of the task.
+	 * <code>null</code> if the cyclic execution has
+	 * not yet started.
+	 */
+	private volatile CycleSchedule schedule;
+	/**
+	 * The <code>int</code> number of cycles that have
+	 * been executed.
+	 */
+	private int count;
+	/**
+	 * The <code>TimerWheelScheduler.Timeout</code> of
+	 * the next cycle. <code>null</code> if the next
+	 * cycle has not been scheduled on the timer wheel.
+	 */
+	private volatile TimerWheelScheduler.Timeout timeout;
+	/**
+	 * The <code>boolean</code> terminated flag.
+	 * <p>
+	 * The memory visibility of this flag needs to be
+	 * guaranteed since it can be read and written in
+	 * different threads.
+	 */
+	private volatile boolean terminated;
+
+	/**
+	 * Constructor of <code>ScheduledCyclicExecutable</code>.
+	 * @param task The <code>ICyclicTask</code> to be
+	 * executed.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used by the scheduler.
+	 * @param scheduler The <code>TimerWheelScheduler</code>
+	 * instance.
+	 */
+	ScheduledCyclicExecutable(final ICyclicTask task, final IExceptionHandler handler, final TimerWheelScheduler scheduler) {
+		super();
+		this.task = task;
+		this.handler = handler;
+		this.scheduler = scheduler;
+		this.started = false;
+		this.count = 0;
+		this.terminated = false;
+	}
+
+	/**
+	 * Execute a single cycle of the task, and schedule
+	 * the next cycle or terminate the task.
+	 */
+	void runCycle() {
+		if (!this.started) {
+			// The executable has been cancelled before starting.
+			if (!this.begin()) {
+				this.scheduler.remove(this);
+				return;
+			}
+			this.started = true;
+			final long period = this.task.getCycleLimit(TimeUnit.NANOSECONDS);
+			this.schedule = new CycleSchedule(this.task.getCycleMode(), period, this.task.getCatchUpLimit(), System.nanoTime());
+		}
+		if (!this.terminated) {
+			final long start = System.nanoTime();
+			try {
+				final boolean shouldContinue = this.task.execute();
+				if (!shouldContinue) this.terminate();
+			} catch (final Exception e) {
+				this.handler.handle(e);
+			}
+			this.count++;
+			if (!this.shouldTerminate()) {
+				this.scheduleNext(this.schedule.next(start, System.nanoTime()));
+				return;
+			}
+		}
+		this.finish();
+	}
+
+	/**
+	 * Schedule the next cycle to be executed at the
+	 * given deadline.
+	 * @param deadline The <code>long</code> time in
+	 * nanoseconds the next cycle should start at.
+	 */
+	private void scheduleNext(final long deadline) {
+		if (deadline - System.nanoTime() <= 0) {
+			this.scheduler.dispatch(this);
+			return;
+		}
+		final TimerWheelScheduler.Timeout timeout = new TimerWheelScheduler.Timeout(this, deadline);
+		this.timeout = timeout;
+		// The terminate method reads the timeout after setting the
+		// flag, so either it claims the timeout or the flag is seen.
+		if (this.terminated) {
+			if (timeout.claim()) this.scheduler.dispatch(this);
+		} else {
+			this.scheduler.schedule(timeout);
+		}
+	}
+
+	/**
+	 * Check if the task cyclic execution should be
+	 * terminated.
+	 * @return <code>true</code> if the execution
+	 * should be terminated. <code>false</code> if
+	 * the execution should move onto the next
+	 * cycle.
+	 */
+	private boolean shouldTerminate() {
+		final int cycleCount = this.task.getCycleCount();
+		if (cycleCount <= 0) return this.terminated;
+		else return (this.terminated || (this.count >= cycleCount));
+	}
+
+	/**
+	 * Clean up the task and complete the executable.
+	 */
+	private void finish() {
+		this.timeout = null;
+		try {
+			this.task.cleanup();
+		} catch (final Exception e) {
+			this.handler.handle(e);
+		} finally {
+			this.scheduler.remove(this);
+			this.complete();
+		}
+	}
+
+	@Override
+	public void terminate() {
+		this.terminated = true;
+		try {
+			this.task.signalTerminate();
+		} catch (final Exception e) {
+			this.handler.handle(e);
+		}
+		// Pull the pending cycle off the wheel, so the task is
+		// cleaned up without waiting for the cycle deadline.
+		final TimerWheelScheduler.Timeout timeout = this.timeout;
+		if (timeout != null && timeout.claim()) this.scheduler.dispatch(this);
+	}
+
+	@Override
+	public long getOverrunCount() {
+		final CycleSchedule schedule = this.schedule;
+		return (schedule == null) ? 0 : schedule.getOverrunCount();
+	}
+
+	@Override
+	public long getSkippedCount() {
+		final CycleSchedule schedule = this.schedule;
+		return (schedule == null) ? 0 : schedule.getSkippedCount();
+	}
+
+	@Override
+	public long getTotalLateness(final TimeUnit unit) {
+		final CycleSchedule schedule = this.schedule;
+		return (schedule == null) ? 0 : schedule.getTotalLateness(unit);
+	}
+
+	@Override
+	public long getMaxLateness(final TimeUnit unit) {
+		final CycleSchedule schedule = this.schedule;
+		return (schedule == null) ? 0 : schedule.getMaxLateness(unit);
+	}
+}
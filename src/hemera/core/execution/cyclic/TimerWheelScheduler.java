@@ -0,0 +1,421 @@
+package hemera.core.execution.cyclic;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import hemera.core.execution.interfaces.IExceptionHandler;
+import hemera.core.execution.interfaces.cyclic.ICyclicScheduler;
+import hemera.core.execution.interfaces.task.ICyclicTask;
+import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
+
+/**
+ * <code>TimerWheelScheduler</code> defines the cyclic
+ * scheduler implementation based on a hashed timing
+ * wheel. A single ticker thread advances the wheel at
+ * a fixed tick duration, and hands the cycles that are
+ * due to a small fixed number of worker threads.
+ * <p>
+ * The wheel is an array of buckets, each holding the
+ * cycles whose deadlines fall onto the bucket modulo
+ * the wheel length. A cycle that is due further than
+ * a full wheel rotation away carries the number of
+ * remaining rotations. Scheduling a cycle is a single
+ * non-blocking enqueue, and the buckets are only ever
+ * accessed by the ticker thread, therefore they do not
+ * require any synchronization.
+ * <p>
+ * A cycle is never executed before its deadline, but
+ * it may be executed up to a tick duration after it.
+ * The tick duration should therefore be small compared
+ * to the cycle limits of the scheduled tasks.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class TimerWheelScheduler implements ICyclicScheduler {
+	/**
+	 * The <code>long</code> time in milliseconds a
+	 * worker waits for a cycle before it checks if
+	 * the scheduler has been shut down.
+	 */
+	private final static long workerPollTime = 100;
+	/**
+	 * The <code>IExceptionHandler</code> instance.
+	 */
+	private final IExceptionHandler handler;
+	/**
+	 * The <code>long</code> tick duration in nanoseconds.
+	 */
+	private final long tickDuration;
+	/**
+	 * The <code>int</code> mask used to map a tick onto
+	 * the wheel buckets.
+	 */
+	private final int mask;
+	/**
+	 * The wheel array of head <code>Timeout</code> of
+	 * each bucket. Only accessed by the ticker thread.
+	 */
+	private final Timeout[] wheel;
+	/**
+	 * The <code>ConcurrentLinkedQueue</code> of newly
+	 * scheduled <code>Timeout</code> that have not yet
+	 * been placed onto the wheel.
+	 */
+	private final ConcurrentLinkedQueue<Timeout> pending;
+	/**
+	 * The <code>BlockingQueue</code> of cycles that are
+	 * due for execution.
+	 */
+	private final BlockingQueue<ScheduledCyclicExecutable> ready;
+	/**
+	 * The <code>Set</code> of currently scheduled
+	 * <code>ScheduledCyclicExecutable</code>.
+	 */
+	private final Set<ScheduledCyclicExecutable> tasks;
+	/**
+	 * The ticker <code>Thread</code>.
+	 */
+	private final Thread ticker;
+	/**
+	 * The worker <code>Thread</code> array.
+	 */
+	private final Thread[] workers;
+	/**
+	 * The <code>AtomicBoolean</code> activated flag.
+	 */
+	private final AtomicBoolean activated;
+	/**
+	 * The <code>AtomicBoolean</code> shutdown flag.
+	 */
+	private final AtomicBoolean shutdown;
+	/**
+	 * The <code>long</code> time in nanoseconds the
+	 * wheel started ticking at. Written before the
+	 * ticker thread is started.
+	 */
+	private long startTime;
+
+	/**
+	 * Constructor of <code>TimerWheelScheduler</code>.
+	 * <p>
+	 * This constructor uses two worker threads, a one
+	 * millisecond tick duration and a wheel of 512
+	 * buckets.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 */
+	public TimerWheelScheduler(final IExceptionHandler handler) {
+		this(handler, 2, 1, TimeUnit.MILLISECONDS, 512);
+	}
+
+	/**
+	 * Constructor of <code>TimerWheelScheduler</code>.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 * @param workerCount The <code>int</code> number of
+	 * worker threads executing the cycles.
+	 * @param tickDuration The <code>long</code> duration
+	 * of a single wheel tick.
+	 * @param tickUnit The <code>TimeUnit</code> of the
+	 * tick duration.
+	 * @param wheelSize The <code>int</code> number of
+	 * wheel buckets. Rounded up to a power of two.
+	 */
+	public TimerWheelScheduler(final IExceptionHandler handler, final int workerCount, final long tickDuration, final TimeUnit tickUnit,
+			final int wheelSize) {
+		if (handler == null) throw new IllegalArgumentException("Exception handler cannot be null.");
+		else if (workerCount <= 0) throw new IllegalArgumentException("Worker count must be greater than 0.");
+		else if (tickDuration <= 0) throw new IllegalArgumentException("Tick duration must be greater than 0.");
+		else if (tickUnit == null) throw new IllegalArgumentException("Tick unit cannot be null.");
+		else if (wheelSize <= 0) throw new IllegalArgumentException("Wheel size must be greater than 0.");
+		else if (wheelSize > (1 << 30)) throw new IllegalArgumentException("Wheel size is too large: " + wheelSize);
+		this.handler = handler;
+		this.tickDuration = tickUnit.toNanos(tickDuration);
+		int length = 1;
+		while (length < wheelSize) length <<= 1;
+		this.mask = length - 1;
+		this.wheel = new Timeout[length];
+		this.pending = new ConcurrentLinkedQueue<Timeout>();
+		this.ready = new LinkedBlockingQueue<ScheduledCyclicExecutable>();
+		this.tasks = Collections.newSetFromMap(new ConcurrentHashMap<ScheduledCyclicExecutable, Boolean>());
+		this.ticker = new Thread(new Ticker());
+		this.ticker.setName("TimerWheelScheduler-Ticker");
+		this.workers = new Thread[workerCount];
+		for (int i = 0; i < workerCount; i++) {
+			this.workers[i] = new Thread(new Worker());
+			this.workers[i].setName("TimerWheelScheduler-Worker-" + i);
+		}
+		this.activated = new AtomicBoolean(false);
+		this.shutdown = new AtomicBoolean(false);
+	}
+
+	@Override
+	public void activate() {
+		if (!this.activated.compareAndSet(false, true)) return;
+		this.startTime = System.nanoTime();
+		this.ticker.start();
+		for (int i = 0; i < this.workers.length; i++) {
+			this.workers[i].start();
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		if (!this.shutdown.compareAndSet(false, true)) return;
+		for (final ScheduledCyclicExecutable executable : this.tasks) {
+			executable.terminate();
+		}
+		LockSupport.unpark(this.ticker);
+	}
+
+	@Override
+	public void shutdownAndWait() throws InterruptedException {
+		this.shutdown();
+		if (!this.activated.get()) return;
+		this.ticker.join();
+		for (int i = 0; i < this.workers.length; i++) {
+			this.workers[i].join();
+		}
+	}
+
+	@Override
+	public ICyclicTaskHandle submit(final ICyclicTask task) {
+		if (task == null) throw new IllegalArgumentException("Task cannot be null.");
+		else if (!this.activated.get()) throw new IllegalStateException("Scheduler has not been activated.");
+		else if (this.shutdown.get()) throw new IllegalStateException("Scheduler has already been shutdown.");
+		final ScheduledCyclicExecutable executable = new ScheduledCyclicExecutable(task, this.handler, this);
+		this.tasks.add(executable);
+		// Shutdown may have missed the newly added task.
+		if (this.shutdown.get()) executable.terminate();
+		this.dispatch(executable);
+		return executable;
+	}
+
+	/**
+	 * Place the given timeout onto the wheel.
+	 * @param timeout The <code>Timeout</code> to be
+	 * scheduled.
+	 */
+	void schedule(final Timeout timeout) {
+		this.pending.offer(timeout);
+	}
+
+	/**
+	 * Hand the given executable to the worker threads
+	 * for its next cycle to be executed.
+	 * @param executable The <code>ScheduledCyclicExecutable</code>
+	 * to be executed.
+	 */
+	void dispatch(final ScheduledCyclicExecutable executable) {
+		this.ready.offer(executable);
+	}
+
+	/**
+	 * Remove the given terminated executable.
+	 * @param executable The <code>ScheduledCyclicExecutable</code>
+	 * to be removed.
+	 */
+	void remove(final ScheduledCyclicExecutable executable) {
+		this.tasks.remove(executable);
+	}
+
+	/**
+	 * Place all the newly scheduled timeouts onto the
+	 * wheel buckets.
+	 * @param tick The <code>long</code> current tick.
+	 */
+	private void transfer(final long tick) {
+		Timeout timeout = this.pending.poll();
+		while (timeout != null) {
+			if (!timeout.isClaimed()) {
+				final long calculated = (timeout.deadline - this.startTime) / this.tickDuration;
+				timeout.rounds = (calculated - tick) / this.wheel.length;
+				// Deadlines that have already passed go onto the current bucket.
+				final int index = (int)(Math.max(calculated, tick) & this.mask);
+				timeout.next = this.wheel[index];
+				this.wheel[index] = timeout;
+			}
+			timeout = this.pending.poll();
+		}
+	}
+
+	/**
+	 * Expire the timeouts in the bucket of the given tick
+	 * that have no remaining rotations, and dispatch the
+	 * corresponding cycles.
+	 * @param tick The <code>long</code> current tick.
+	 */
+	private void expire(final long tick) {
+		final int index = (int)(tick & this.mask);
+		Timeout previous = null;
+		Timeout timeout = this.wheel[index];
+		while (timeout != null) {
+			final Timeout next = timeout.next;
+			if (timeout.rounds <= 0 || timeout.isClaimed()) {
+				if (previous == null) this.wheel[index] = next;
+				else previous.next = next;
+				timeout.next = null;
+				if (timeout.claim()) this.dispatch(timeout.executable);
+			} else {
+				timeout.rounds--;
+				previous = timeout;
+			}
+			timeout = next;
+		}
+	}
+
+	@Override
+	public int getTaskCount() {
+		return this.tasks.size();
+	}
+
+	/**
+	 * <code>Timeout</code> defines the wheel entry of a
+	 * single scheduled cycle.
+	 * <p>
+	 * A timeout is claimed exactly once, either by the
+	 * ticker thread when it expires, or by the task
+	 * termination, and only the claiming side dispatches
+	 * the cycle.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	static final class Timeout {
+		/**
+		 * The <code>AtomicIntegerFieldUpdater</code> used
+		 * to claim the timeout.
+		 */
+		private final static AtomicIntegerFieldUpdater<Timeout> claimedUpdater =
+				AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "claimed");
+		/**
+		 * The <code>ScheduledCyclicExecutable</code> whose
+		 * cycle is scheduled.
+		 */
+		private final ScheduledCyclicExecutable executable;
+		/**
+		 * The <code>long</code> deadline in nanoseconds.
+		 */
+		private final long deadline;
+		/**
+		 * The <code>long</code> number of remaining wheel
+		 * rotations. Only accessed by the ticker thread.
+		 */
+		private long rounds;
+		/**
+		 * The next <code>Timeout</code> in the bucket.
+		 * Only accessed by the ticker thread.
+		 */
+		private Timeout next;
+		/**
+		 * The <code>int</code> claimed flag.
+		 */
+		private volatile int claimed;
+
+		/**
+		 * Constructor of <code>Timeout</code>.
+		 * @param executable The <code>ScheduledCyclicExecutable</code>
+		 * whose cycle is scheduled.
+		 * @param deadline The <code>long</code> deadline
+		 * in nanoseconds.
+		 */
+		Timeout(final ScheduledCyclicExecutable executable, final long deadline) {
+			this.executable = executable;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Claim the timeout.
+		 * @return <code>true</code> if the invoking side
+		 * claimed the timeout. <code>false</code> if it
+		 * has already been claimed.
+		 */
+		boolean claim() {
+			return Timeout.claimedUpdater.compareAndSet(this, 0, 1);
+		}
+
+		/**
+		 * Check if the timeout has been claimed.
+		 * @return <code>true</code> if the timeout has
+		 * been claimed. <code>false</code> otherwise.
+		 */
+		boolean isClaimed() {
+			return (this.claimed != 0);
+		}
+	}
+
+	/**
+	 * <code>Ticker</code> defines the logic of the ticker
+	 * thread that advances the wheel.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final class Ticker implements Runnable {
+
+		@Override
+		public void run() {
+			final TimerWheelScheduler scheduler = TimerWheelScheduler.this;
+			long tick = 0;
+			while (!scheduler.shutdown.get()) {
+				// Wait until the end of the current tick.
+				final long tickEnd = scheduler.startTime + scheduler.tickDuration * (tick + 1);
+				long remaining = tickEnd - System.nanoTime();
+				while (remaining > 0 && !scheduler.shutdown.get()) {
+					LockSupport.parkNanos(this, remaining);
+					remaining = tickEnd - System.nanoTime();
+				}
+				if (scheduler.shutdown.get()) break;
+				try {
+					scheduler.transfer(tick);
+					scheduler.expire(tick);
+				} catch (final Exception e) {
+					scheduler.handler.handle(e);
+				}
+				tick++;
+			}
+		}
+	}
+
+	/**
+	 * <code>Worker</code> defines the logic of a worker
+	 * thread that executes the cycles that are due.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final class Worker implements Runnable {
+
+		@Override
+		public void run() {
+			final TimerWheelScheduler scheduler = TimerWheelScheduler.this;
+			while (true) {
+				final ScheduledCyclicExecutable executable;
+				try {
+					executable = scheduler.ready.poll(TimerWheelScheduler.workerPollTime, TimeUnit.MILLISECONDS);
+				} catch (final InterruptedException e) {
+					scheduler.handler.handle(e);
+					return;
+				}
+				if (executable != null) {
+					try {
+						executable.runCycle();
+					} catch (final Exception e) {
+						scheduler.handler.handle(e);
+					}
+				} else if (scheduler.shutdown.get() && scheduler.tasks.isEmpty()) {
+					return;
+				}
+			}
+		}
+	}
+}
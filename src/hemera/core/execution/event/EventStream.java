@@ -0,0 +1,350 @@
+package hemera.core.execution.event;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.executable.EventExecutable;
+import hemera.core.execution.interfaces.IExceptionHandler;
+import hemera.core.execution.interfaces.event.ExecutionEventType;
+import hemera.core.execution.interfaces.event.IEventSubscriber;
+import hemera.core.execution.interfaces.event.IExecutionEvent;
+import hemera.core.execution.throttle.EventDispatcher;
+
+/**
+ * <code>EventStream</code> defines the unit that
+ * publishes the lifecycle events of an execution
+ * service to its subscribers.
+ * <p>
+ * Each subscriber is registered with the set of event
+ * types it is interested in. The union of the types of
+ * all subscribers is maintained as a single mask, which
+ * the executors check before constructing an event. An
+ * event type that no subscriber is interested in only
+ * costs a single volatile read on the publishing thread.
+ * <p>
+ * Published events are placed onto the lock-free ring
+ * buffer of an event dispatcher, and are delivered to
+ * the subscribers by the dispatcher thread. Events that
+ * do not fit in the buffer are discarded, so publishing
+ * never blocks.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class EventStream {
+	/**
+	 * The <code>int</code> number of events that may be
+	 * pending delivery before new events are discarded.
+	 */
+	private final static int pendingCapacity = 4096;
+	/**
+	 * The <code>IExceptionHandler</code> used to handle
+	 * exceptions thrown by the subscribers.
+	 */
+	private final IExceptionHandler handler;
+	/**
+	 * The <code>EventDispatcher</code> that delivers the
+	 * events.
+	 */
+	private final EventDispatcher dispatcher;
+	/**
+	 * The <code>Subscription</code> array. The array is
+	 * replaced as a whole when the subscriptions change,
+	 * so the dispatcher thread can iterate it without
+	 * synchronization.
+	 */
+	private volatile Subscription[] subscriptions;
+	/**
+	 * The <code>int</code> union of the masks of all the
+	 * subscriptions.
+	 */
+	private volatile int mask;
+
+	/**
+	 * Constructor of <code>EventStream</code>.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used to handle exceptions thrown by the subscribers.
+	 */
+	public EventStream(final IExceptionHandler handler) {
+		if (handler == null) throw new IllegalArgumentException("Exception handler cannot be null.");
+		this.handler = handler;
+		this.dispatcher = new EventDispatcher("EventStream-Dispatcher", handler, null, EventStream.pendingCapacity);
+		this.subscriptions = new Subscription[0];
+		this.mask = 0;
+	}
+
+	/**
+	 * Subscribe the given subscriber to the given types
+	 * of events. If the subscriber is already subscribed,
+	 * its types are replaced.
+	 * @param subscriber The <code>IEventSubscriber</code>.
+	 * @param types The <code>ExecutionEventType</code>
+	 * values. No values to subscribe to all the types.
+	 */
+	public synchronized void subscribe(final IEventSubscriber subscriber, final ExecutionEventType... types) {
+		if (subscriber == null) throw new IllegalArgumentException("Event subscriber cannot be null.");
+		final int mask = ExecutionEventType.maskOf(types);
+		final Subscription[] current = this.subscriptions;
+		final int index = this.indexOf(current, subscriber);
+		final Subscription[] updated;
+		if (index < 0) {
+			updated = new Subscription[current.length+1];
+			System.arraycopy(current, 0, updated, 0, current.length);
+			updated[current.length] = new Subscription(subscriber, mask);
+		} else {
+			updated = current.clone();
+			updated[index] = new Subscription(subscriber, mask);
+		}
+		this.update(updated);
+	}
+
+	/**
+	 * Unsubscribe the given subscriber from all events.
+	 * Events that have already been published may still
+	 * be delivered to the subscriber.
+	 * @param subscriber The <code>IEventSubscriber</code>.
+	 * @return <code>true</code> if the subscriber has
+	 * been unsubscribed. <code>false</code> if it was
+	 * not subscribed.
+	 */
+	public synchronized boolean unsubscribe(final IEventSubscriber subscriber) {
+		final Subscription[] current = this.subscriptions;
+		final int index = this.indexOf(current, subscriber);
+		if (index < 0) return false;
+		final Subscription[] updated = new Subscription[current.length-1];
+		System.arraycopy(current, 0, updated, 0, index);
+		System.arraycopy(current, index+1, updated, index, updated.length-index);
+		this.update(updated);
+		return true;
+	}
+
+	/**
+	 * Retrieve the index of the given subscriber.
+	 * @param subscriptions The <code>Subscription</code>
+	 * array.
+	 * @param subscriber The <code>IEventSubscriber</code>.
+	 * @return The <code>int</code> index. <code>-1</code>
+	 * if the subscriber is not found.
+	 */
+	private int indexOf(final Subscription[] subscriptions, final IEventSubscriber subscriber) {
+		for (int i = 0; i < subscriptions.length; i++) {
+			if (subscriptions[i].subscriber == subscriber) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Replace the subscriptions with the given ones.
+	 * @param subscriptions The <code>Subscription</code>
+	 * array.
+	 */
+	private void update(final Subscription[] subscriptions) {
+		int mask = 0;
+		for (final Subscription subscription : subscriptions) {
+			mask |= subscription.mask;
+		}
+		this.subscriptions = subscriptions;
+		this.mask = mask;
+	}
+
+	/**
+	 * Check if any subscriber is interested in the given
+	 * type of events.
+	 * <p>
+	 * Publishers should invoke this method before they
+	 * gather the values of an event, so events that are
+	 * not subscribed to cost nothing more than this check.
+	 * @param type The <code>ExecutionEventType</code>.
+	 * @return <code>true</code> if the type is subscribed
+	 * to. <code>false</code> otherwise.
+	 */
+	public boolean isEnabled(final ExecutionEventType type) {
+		return (this.mask & type.getMask()) != 0;
+	}
+
+	/**
+	 * Publish an event of the given type that is not
+	 * about a task.
+	 * @param type The <code>ExecutionEventType</code>.
+	 * @param executorName The <code>String</code> name
+	 * of the executor the event occurred on.
+	 * <code>null</code> if not on an executor.
+	 */
+	public void publish(final ExecutionEventType type, final String executorName) {
+		this.publish(type, executorName, null, 0, null);
+	}
+
+	/**
+	 * Publish an event of the given type.
+	 * @param type The <code>ExecutionEventType</code>.
+	 * @param executorName The <code>String</code> name
+	 * of the executor the event occurred on.
+	 * <code>null</code> if not on an executor.
+	 * @param executable The <code>EventExecutable</code>
+	 * the event is about. <code>null</code> if the event
+	 * is not about a task.
+	 * @param duration The <code>long</code> duration in
+	 * nanoseconds associated with the event.
+	 * @param cause The <code>Exception</code> the task
+	 * failed with. <code>null</code> if not a failure.
+	 */
+	public void publish(final ExecutionEventType type, final String executorName, final EventExecutable executable, final long duration,
+			final Exception cause) {
+		if (!this.isEnabled(type)) return;
+		this.dispatcher.dispatch(new Event(type, System.nanoTime(), executorName, executable, duration, cause));
+	}
+
+	/**
+	 * Retrieve the number of events that have been
+	 * discarded since they did not fit in the buffer.
+	 * @return The <code>long</code> number of events.
+	 */
+	public long getDiscardedCount() {
+		return this.dispatcher.getDiscardedCount();
+	}
+
+	/**
+	 * <code>Subscription</code> defines the immutable
+	 * pairing of a subscriber and its event type mask.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final static class Subscription {
+		/**
+		 * The <code>IEventSubscriber</code>.
+		 */
+		private final IEventSubscriber subscriber;
+		/**
+		 * The <code>int</code> event type mask.
+		 */
+		private final int mask;
+
+		/**
+		 * Constructor of <code>Subscription</code>.
+		 * @param subscriber The <code>IEventSubscriber</code>.
+		 * @param mask The <code>int</code> event type mask.
+		 */
+		private Subscription(final IEventSubscriber subscriber, final int mask) {
+			this.subscriber = subscriber;
+			this.mask = mask;
+		}
+	}
+
+	/**
+	 * <code>Event</code> defines the immutable event
+	 * implementation, which also delivers itself to the
+	 * interested subscribers on the dispatcher thread.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final class Event implements IExecutionEvent, Runnable {
+		/**
+		 * The <code>ExecutionEventType</code>.
+		 */
+		private final ExecutionEventType type;
+		/**
+		 * The <code>long</code> time in nanoseconds.
+		 */
+		private final long timestamp;
+		/**
+		 * The <code>String</code> executor name.
+		 */
+		private final String executorName;
+		/**
+		 * The <code>EventExecutable</code> the event is
+		 * about.
+		 */
+		private final EventExecutable executable;
+		/**
+		 * The <code>long</code> duration in nanoseconds.
+		 */
+		private final long duration;
+		/**
+		 * The <code>Exception</code> cause.
+		 */
+		private final Exception cause;
+
+		/**
+		 * Constructor of <code>Event</code>.
+		 * @param type The <code>ExecutionEventType</code>.
+		 * @param timestamp The <code>long</code> time in
+		 * nanoseconds.
+		 * @param executorName The <code>String</code>
+		 * executor name.
+		 * @param executable The <code>EventExecutable</code>.
+		 * @param duration The <code>long</code> duration
+		 * in nanoseconds.
+		 * @param cause The <code>Exception</code> cause.
+		 */
+		private Event(final ExecutionEventType type, final long timestamp, final String executorName, final EventExecutable executable,
+				final long duration, final Exception cause) {
+			this.type = type;
+			this.timestamp = timestamp;
+			this.executorName = executorName;
+			this.executable = executable;
+			this.duration = duration;
+			this.cause = cause;
+		}
+
+		@Override
+		public void run() {
+			final int bit = this.type.getMask();
+			for (final Subscription subscription : EventStream.this.subscriptions) {
+				if ((subscription.mask & bit) == 0) continue;
+				try {
+					subscription.subscriber.onEvent(this);
+				} catch (final Exception e) {
+					EventStream.this.handler.handle(e);
+				}
+			}
+		}
+
+		@Override
+		public ExecutionEventType getType() {
+			return this.type;
+		}
+
+		@Override
+		public long getTimestamp() {
+			return this.timestamp;
+		}
+
+		@Override
+		public String getExecutorName() {
+			return this.executorName;
+		}
+
+		@Override
+		public EventExecutable getHandle() {
+			return this.executable;
+		}
+
+		@Override
+		public Object getTask() {
+			return (this.executable == null) ? null : this.executable.getTask();
+		}
+
+		@Override
+		public long getDuration(final TimeUnit unit) {
+			return unit.convert(this.duration, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public Exception getCause() {
+			return this.cause;
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder builder = new StringBuilder();
+			builder.append(this.type);
+			if (this.executorName != null) builder.append(" executor=").append(this.executorName);
+			final Object task = this.getTask();
+			if (task != null) builder.append(" task=").append(task.getClass().getName());
+			if (this.duration > 0) builder.append(" duration=").append(this.duration).append("ns");
+			if (this.cause != null) builder.append(" cause=").append(this.cause);
+			return builder.toString();
+		}
+	}
+}
@@ -0,0 +1,402 @@
+package hemera.core.execution.exception;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+import hemera.core.execution.buffer.RingBuffer;
+import hemera.core.execution.interfaces.IExceptionHandler;
+
+/**
+ * <code>AsyncExceptionHandler</code> defines the
+ * implementation of an exception handler that moves
+ * the handling of exceptions off the executor threads
+ * onto a single background writer thread.
+ * <p>
+ * Handled exceptions are offered onto a bounded ring
+ * buffer without blocking or formatting anything. The
+ * writer thread drains the buffer and forwards the
+ * exceptions to the delegate handler, which performs
+ * the actual formatting and logging. If the buffer is
+ * full, the exception is dropped and counted.
+ * <p>
+ * Exceptions are identified by a fingerprint of their
+ * type and stack-trace, including the causes, but not
+ * the messages. Only a limited number of exceptions of
+ * the same fingerprint are forwarded within each rate
+ * window. The rest are counted, and a single summary
+ * of the suppressed and dropped exceptions is logged at
+ * the end of the window. This keeps a storm of identical
+ * failures from turning into a storm of log I/O.
+ * <p>
+ * When executed as the shutdown hook, the handler stops
+ * the writer thread, forwards the remaining exceptions,
+ * logs the final summary and runs the delegate handler.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class AsyncExceptionHandler implements IExceptionHandler {
+	/**
+	 * The <code>int</code> maximum number of tracked
+	 * fingerprints. Idle fingerprints are discarded at
+	 * the end of a window once this limit is exceeded.
+	 */
+	private final static int maxFingerprints = 1024;
+	/**
+	 * The <code>Logger</code> used for the summaries.
+	 */
+	private final Logger logger;
+	/**
+	 * The <code>IExceptionHandler</code> the exceptions
+	 * are forwarded to.
+	 */
+	private final IExceptionHandler delegate;
+	/**
+	 * The <code>RingBuffer</code> of the exceptions
+	 * waiting to be forwarded.
+	 */
+	private final RingBuffer<Exception> buffer;
+	/**
+	 * The <code>int</code> maximum number of exceptions
+	 * of the same fingerprint forwarded in a window.
+	 */
+	private final int limit;
+	/**
+	 * The <code>long</code> length of the rate window
+	 * in nanoseconds.
+	 */
+	private final long window;
+	/**
+	 * The <code>AtomicLong</code> number of exceptions
+	 * dropped since the buffer was full.
+	 */
+	private final AtomicLong dropped;
+	/**
+	 * The <code>AtomicBoolean</code> flag indicating if
+	 * the writer thread is parked waiting for exceptions.
+	 */
+	private final AtomicBoolean parked;
+	/**
+	 * The <code>Map</code> of <code>Fingerprint</code>
+	 * to its <code>Occurrence</code>. Only accessed by
+	 * the thread forwarding the exceptions.
+	 */
+	private final Map<Fingerprint, Occurrence> occurrences;
+	/**
+	 * The writer <code>Thread</code>.
+	 */
+	private final Thread writer;
+	/**
+	 * The <code>boolean</code> flag indicating if the
+	 * handler has been shut down.
+	 */
+	private volatile boolean shutdown;
+	/**
+	 * The <code>long</code> start time of the current
+	 * window in nanoseconds.
+	 */
+	private long windowStart;
+
+	/**
+	 * Constructor of <code>AsyncExceptionHandler</code>.
+	 * <p>
+	 * This constructor buffers up to 1024 exceptions,
+	 * and forwards up to 10 exceptions of the same
+	 * fingerprint every second.
+	 * @param delegate The <code>IExceptionHandler</code>
+	 * the exceptions are forwarded to.
+	 */
+	public AsyncExceptionHandler(final IExceptionHandler delegate) {
+		this(delegate, 1024, 10, 1, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Constructor of <code>AsyncExceptionHandler</code>.
+	 * @param delegate The <code>IExceptionHandler</code>
+	 * the exceptions are forwarded to.
+	 * @param capacity The <code>int</code> number of
+	 * exceptions buffered before new ones are dropped.
+	 * @param limit The <code>int</code> maximum number
+	 * of exceptions of the same fingerprint forwarded
+	 * in each window.
+	 * @param window The <code>long</code> length of the
+	 * rate window.
+	 * @param unit The <code>TimeUnit</code> the window
+	 * is in.
+	 */
+	public AsyncExceptionHandler(final IExceptionHandler delegate, final int capacity, final int limit, final long window,
+			final TimeUnit unit) {
+		if (delegate == null) throw new IllegalArgumentException("Delegate exception handler cannot be null.");
+		else if (limit <= 0) throw new IllegalArgumentException("Rate limit must be greater than 0.");
+		else if (window <= 0 || unit == null) throw new IllegalArgumentException("Rate window must be greater than 0.");
+		this.logger = Logger.getLogger(AsyncExceptionHandler.class.getName());
+		this.delegate = delegate;
+		this.buffer = new RingBuffer<Exception>(capacity);
+		this.limit = limit;
+		this.window = unit.toNanos(window);
+		this.dropped = new AtomicLong(0);
+		this.parked = new AtomicBoolean(false);
+		this.occurrences = new HashMap<Fingerprint, Occurrence>();
+		this.windowStart = System.nanoTime();
+		this.writer = new Thread(new Writer());
+		this.writer.setName("AsyncExceptionHandler-Writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	@Override
+	public void handle(final Exception e) {
+		if (e == null) return;
+		if (this.shutdown || !this.buffer.offer(e)) {
+			this.dropped.incrementAndGet();
+			return;
+		}
+		if (this.parked.get() && this.parked.compareAndSet(true, false)) {
+			LockSupport.unpark(this.writer);
+		}
+	}
+
+	@Override
+	public void run() {
+		this.shutdown = true;
+		LockSupport.unpark(this.writer);
+		try {
+			this.writer.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		// Forward what the writer could not, unless it is still
+		// running, in which case it owns the buffer.
+		if (!this.writer.isAlive()) {
+			this.drain();
+			this.summarize(true);
+		}
+		this.delegate.run();
+	}
+
+	/**
+	 * Forward all the buffered exceptions.
+	 * <p>
+	 * This method must only be invoked by the thread
+	 * that owns the buffer consumer side.
+	 * @return <code>true</code> if any exceptions have
+	 * been polled. <code>false</code> otherwise.
+	 */
+	private boolean drain() {
+		boolean polled = false;
+		Exception exception = this.buffer.poll();
+		while (exception != null) {
+			polled = true;
+			this.forward(exception);
+			exception = this.buffer.poll();
+		}
+		return polled;
+	}
+
+	/**
+	 * Forward the given exception to the delegate unless
+	 * its fingerprint has reached the rate limit.
+	 * @param exception The <code>Exception</code> to
+	 * forward.
+	 */
+	private void forward(final Exception exception) {
+		final Fingerprint fingerprint = new Fingerprint(exception);
+		Occurrence occurrence = this.occurrences.get(fingerprint);
+		if (occurrence == null) {
+			occurrence = new Occurrence(exception);
+			this.occurrences.put(fingerprint, occurrence);
+		}
+		occurrence.count++;
+		if (occurrence.count > this.limit) {
+			occurrence.suppressed++;
+			return;
+		}
+		try {
+			this.delegate.handle(exception);
+		} catch (final RuntimeException e) {
+			this.logger.severe("Exception handler failed: " + e);
+		}
+	}
+
+	/**
+	 * Log a summary of the suppressed and dropped
+	 * exceptions, and start a new window.
+	 * @param force <code>true</code> to summarize even
+	 * if the current window has not ended.
+	 */
+	private void summarize(final boolean force) {
+		final long now = System.nanoTime();
+		if (!force && now-this.windowStart < this.window) return;
+		this.windowStart = now;
+		final Iterator<Occurrence> iterator = this.occurrences.values().iterator();
+		final boolean evict = (this.occurrences.size() > AsyncExceptionHandler.maxFingerprints);
+		while (iterator.hasNext()) {
+			final Occurrence occurrence = iterator.next();
+			if (occurrence.suppressed > 0) {
+				this.logger.warning("Suppressed " + occurrence.suppressed + " of " + occurrence.count + " occurrences of: " +
+						occurrence.sample + " at " + occurrence.origin);
+			} else if (occurrence.count == 0 && evict) {
+				iterator.remove();
+				continue;
+			}
+			occurrence.count = 0;
+			occurrence.suppressed = 0;
+		}
+		final long dropped = this.dropped.getAndSet(0);
+		if (dropped > 0) {
+			this.logger.warning("Dropped " + dropped + " exceptions since the exception buffer was full.");
+		}
+	}
+
+	/**
+	 * Retrieve the number of exceptions dropped since
+	 * the last summary.
+	 * @return The <code>long</code> number of dropped
+	 * exceptions.
+	 */
+	public long getDroppedCount() {
+		return this.dropped.get();
+	}
+
+	/**
+	 * <code>Writer</code> defines the background logic
+	 * that drains the buffer and summarizes the windows.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final class Writer implements Runnable {
+
+		@Override
+		public void run() {
+			final AsyncExceptionHandler handler = AsyncExceptionHandler.this;
+			while (!handler.shutdown) {
+				final boolean polled = handler.drain();
+				handler.summarize(false);
+				if (polled) continue;
+				// Publish the parked state before checking the buffer
+				// again, so a concurrent offer is not missed.
+				handler.parked.set(true);
+				if (handler.buffer.isEmpty() && !handler.shutdown) {
+					LockSupport.parkNanos(handler, handler.window);
+				}
+				handler.parked.set(false);
+			}
+			handler.drain();
+			handler.summarize(true);
+		}
+	}
+
+	/**
+	 * <code>Fingerprint</code> defines the identity of
+	 * an exception, based on the types and stack-traces
+	 * of the exception and its causes.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final static class Fingerprint {
+		/**
+		 * The <code>int</code> maximum number of causes
+		 * included in the fingerprint.
+		 */
+		private final static int maxDepth = 8;
+		/**
+		 * The <code>Object</code> array of the types and
+		 * stack-trace elements.
+		 */
+		private final Object[] elements;
+		/**
+		 * The <code>int</code> hash code.
+		 */
+		private final int hash;
+
+		/**
+		 * Constructor of <code>Fingerprint</code>.
+		 * @param exception The <code>Throwable</code>
+		 * to identify.
+		 */
+		private Fingerprint(final Throwable exception) {
+			// Bound the cause chain, which may be cyclic.
+			final StackTraceElement[][] traces = new StackTraceElement[Fingerprint.maxDepth][];
+			final Class<?>[] types = new Class<?>[Fingerprint.maxDepth];
+			int depth = 0;
+			int length = 0;
+			for (Throwable cause = exception; cause != null && depth < Fingerprint.maxDepth; cause = cause.getCause()) {
+				types[depth] = cause.getClass();
+				traces[depth] = cause.getStackTrace();
+				length += traces[depth].length + 1;
+				depth++;
+			}
+			this.elements = new Object[length];
+			int index = 0;
+			for (int i = 0; i < depth; i++) {
+				this.elements[index] = types[i];
+				System.arraycopy(traces[i], 0, this.elements, index+1, traces[i].length);
+				index += traces[i].length + 1;
+			}
+			this.hash = Arrays.hashCode(this.elements);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (this == object) return true;
+			else if (!(object instanceof Fingerprint)) return false;
+			final Fingerprint other = (Fingerprint)object;
+			return (this.hash == other.hash && Arrays.equals(this.elements, other.elements));
+		}
+	}
+
+	/**
+	 * <code>Occurrence</code> defines the counters of a
+	 * fingerprint within the current window.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final static class Occurrence {
+		/**
+		 * The <code>String</code> description of the
+		 * first exception of the fingerprint.
+		 */
+		private final String sample;
+		/**
+		 * The <code>String</code> top stack-trace element
+		 * of the first exception of the fingerprint.
+		 */
+		private final String origin;
+		/**
+		 * The <code>int</code> number of occurrences in
+		 * the current window.
+		 */
+		private int count;
+		/**
+		 * The <code>int</code> number of occurrences not
+		 * forwarded in the current window.
+		 */
+		private int suppressed;
+
+		/**
+		 * Constructor of <code>Occurrence</code>.
+		 * @param exception The first <code>Exception</code>
+		 * of the fingerprint.
+		 */
+		private Occurrence(final Exception exception) {
+			final StackTraceElement[] trace = exception.getStackTrace();
+			this.sample = exception.toString();
+			this.origin = (trace.length > 0) ? trace[0].toString() : "unknown";
+		}
+	}
+}
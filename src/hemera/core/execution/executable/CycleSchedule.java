@@ -0,0 +1,173 @@
+package hemera.core.execution.executable;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.interfaces.task.CycleMode;
+
+/**
+ * <code>CycleSchedule</code> defines the deadline
+ * calculation of the cycles of a cyclic task based on
+ * its cycle mode, and maintains the counters of the
+ * cycles that overran, were late or were skipped.
+ * <p>
+ * The schedule is only updated by the thread that
+ * executes the current cycle. Since cycles of a task
+ * never overlap, no synchronization is required for
+ * the updates. The counters are volatile so they can
+ * be read by any thread.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class CycleSchedule {
+	/**
+	 * The <code>CycleMode</code> of the task.
+	 */
+	private final CycleMode mode;
+	/**
+	 * The <code>long</code> cycle limit in nanoseconds.
+	 */
+	private final long period;
+	/**
+	 * The <code>int</code> maximum number of missed
+	 * cycles to catch up in the fixed rate mode. A
+	 * negative value means unlimited.
+	 */
+	private final int catchUpLimit;
+	/**
+	 * The <code>long</code> deadline in nanoseconds of
+	 * the current cycle.
+	 */
+	private long deadline;
+	/**
+	 * The <code>long</code> number of cycles that took
+	 * longer than the cycle limit.
+	 */
+	private volatile long overrunCount;
+	/**
+	 * The <code>long</code> number of cycles that were
+	 * skipped.
+	 */
+	private volatile long skippedCount;
+	/**
+	 * The <code>long</code> total number of nanoseconds
+	 * the cycles started after their deadlines.
+	 */
+	private volatile long totalLateness;
+	/**
+	 * The <code>long</code> maximum number of nanoseconds
+	 * a cycle started after its deadline.
+	 */
+	private volatile long maxLateness;
+
+	/**
+	 * Constructor of <code>CycleSchedule</code>.
+	 * @param mode The <code>CycleMode</code> of the task.
+	 * @param period The <code>long</code> cycle limit in
+	 * nanoseconds. If the value is less than or equal to
+	 * 0, every cycle is due immediately.
+	 * @param catchUpLimit The <code>int</code> maximum
+	 * number of missed cycles to catch up in the fixed
+	 * rate mode. A negative value means unlimited.
+	 * @param start The <code>long</code> time in
+	 * nanoseconds the first cycle is due.
+	 */
+	public CycleSchedule(final CycleMode mode, final long period, final int catchUpLimit, final long start) {
+		if (mode == null) throw new IllegalArgumentException("Cycle mode cannot be null.");
+		this.mode = mode;
+		this.period = period;
+		this.catchUpLimit = catchUpLimit;
+		this.deadline = start;
+	}
+
+	/**
+	 * Record the completion of the current cycle and
+	 * calculate the deadline of the next cycle.
+	 * @param cycleStart The <code>long</code> time in
+	 * nanoseconds the current cycle started at.
+	 * @param cycleEnd The <code>long</code> time in
+	 * nanoseconds the current cycle completed at.
+	 * @return The <code>long</code> deadline of the
+	 * next cycle in nanoseconds.
+	 */
+	public long next(final long cycleStart, final long cycleEnd) {
+		final long lateness = cycleStart - this.deadline;
+		if (lateness > 0) {
+			this.totalLateness += lateness;
+			if (lateness > this.maxLateness) this.maxLateness = lateness;
+		}
+		if (this.period <= 0) {
+			this.deadline = cycleEnd;
+			return this.deadline;
+		}
+		if (cycleEnd - cycleStart > this.period) this.overrunCount++;
+		switch (this.mode) {
+		case FIXED_DELAY:
+			this.deadline = cycleEnd + this.period;
+			break;
+		case FIXED_RATE:
+			this.deadline += this.period;
+			final long behind = cycleEnd - this.deadline;
+			if (behind > 0 && this.catchUpLimit >= 0) {
+				final long missed = behind / this.period;
+				if (missed > this.catchUpLimit) this.skip(missed - this.catchUpLimit);
+			}
+			break;
+		case SKIP_MISSED:
+			this.deadline += this.period;
+			final long passed = cycleEnd - this.deadline;
+			if (passed > 0) this.skip((passed + this.period - 1) / this.period);
+			break;
+		}
+		return this.deadline;
+	}
+
+	/**
+	 * Skip the given number of cycles.
+	 * @param count The <code>long</code> number of
+	 * cycles to skip.
+	 */
+	private void skip(final long count) {
+		this.deadline += count * this.period;
+		this.skippedCount += count;
+	}
+
+	/**
+	 * Retrieve the number of cycles that took longer
+	 * than the cycle limit.
+	 * @return The <code>long</code> overrun count.
+	 */
+	public long getOverrunCount() {
+		return this.overrunCount;
+	}
+
+	/**
+	 * Retrieve the number of cycles that were skipped.
+	 * @return The <code>long</code> skipped count.
+	 */
+	public long getSkippedCount() {
+		return this.skippedCount;
+	}
+
+	/**
+	 * Retrieve the total amount of time the cycles
+	 * started after their deadlines.
+	 * @param unit The <code>TimeUnit</code> returned
+	 * value is in.
+	 * @return The <code>long</code> total lateness.
+	 */
+	public long getTotalLateness(final TimeUnit unit) {
+		return unit.convert(this.totalLateness, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Retrieve the maximum amount of time a cycle
+	 * started after its deadline.
+	 * @param unit The <code>TimeUnit</code> returned
+	 * value is in.
+	 * @return The <code>long</code> maximum lateness.
+	 */
+	public long getMaxLateness(final TimeUnit unit) {
+		return unit.convert(this.maxLateness, TimeUnit.NANOSECONDS);
+	}
+}
@@ -1,11 +1,11 @@
 package hemera.core.execution.executable;
 
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.LockSupport;
 
+import hemera.core.execution.event.EventStream;
 import hemera.core.execution.interfaces.IExceptionHandler;
+import hemera.core.execution.interfaces.event.ExecutionEventType;
 import hemera.core.execution.interfaces.task.ICyclicTask;
 import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
 
@@ -13,9 +13,14 @@ import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
  * <code>CyclicExecutable</code> defines a composite
  * container unit of a cyclic task, as well as being
  * the task handle for the contained task.
+ * <p>
+ * The deadline of each cycle is calculated by the
+ * <code>CycleSchedule</code> based on the cycle mode
+ * of the task. Cycles that take longer than the cycle
+ * limit are published as overrun events.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.2
+ * @version 1.0.4
  */
 public class CyclicExecutable extends EventExecutable implements ICyclicTaskHandle {
 	/**
@@ -28,13 +33,23 @@ public class CyclicExecutable extends EventExecutable implements ICyclicTaskHand
 	 */
 	private final IExceptionHandler handler;
 	/**
-	 * The execution cycle waiting <code>Lock</code>.
+	 * The <code>EventStream</code> to publish the cycle
+	 * overruns to. <code>null</code> if the overruns are
+	 * not published.
 	 */
-	private final Lock waitLock;
+	private final EventStream events;
 	/**
-	 * The execution cycle waiting <code>Condition</code>.
+	 * The executing <code>Thread</code> that waits in
+	 * between cycles. <code>null</code> if the cyclic
+	 * execution has not yet started.
 	 */
-	private final Condition waitCondition;
+	private volatile Thread runner;
+	/**
+	 * The <code>CycleSchedule</code> of the task.
+	 * <code>null</code> if the cyclic execution has
+	 * not yet started.
+	 */
+	private volatile CycleSchedule schedule;
 	/**
 	 * The <code>boolean</code> terminated flag.
 	 * <p>
@@ -52,21 +67,37 @@ public class CyclicExecutable extends EventExecutable implements ICyclicTaskHand
 	 * used by the execution service.
 	 */
 	public CyclicExecutable(final ICyclicTask task, final IExceptionHandler handler) {
-		super();
+		this(task, handler, null);
+	}
+	
+	/**
+	 * Constructor of <code>CyclicExecutable</code>.
+	 * @param task The <code>ICyclicTask</code> to be
+	 * executed.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used by the execution service.
+	 * @param events The <code>EventStream</code> to
+	 * publish the cycle overruns to. <code>null</code>
+	 * if the overruns are not published.
+	 */
+	public CyclicExecutable(final ICyclicTask task, final IExceptionHandler handler, final EventStream events) {
+		super(EventExecutable.priorityOf(task));
 		this.task = task;
 		this.handler = handler;
-		this.waitLock = new ReentrantLock();
-		this.waitCondition = this.waitLock.newCondition();
+		this.events = events;
 		this.terminated = false;
 	}
 	
 	@Override
 	protected void executeTask() throws Exception {
-		final long maxDuration = this.task.getCycleLimit(TimeUnit.NANOSECONDS);
+		final long period = this.task.getCycleLimit(TimeUnit.NANOSECONDS);
+		final CycleSchedule schedule = new CycleSchedule(this.task.getCycleMode(), period, this.task.getCatchUpLimit(), System.nanoTime());
+		this.schedule = schedule;
+		this.runner = Thread.currentThread();
 		// Execute until it should terminate.
 		int count = 0;
 		while (!this.terminated) {
-			// Record execution duration.
+			// Record execution start.
 			final long start = System.nanoTime();
 			// Execute.
 			try {
@@ -80,29 +111,49 @@ public class CyclicExecutable extends EventExecutable implements ICyclicTaskHand
 			// Check if we should terminate.
 			final boolean shouldTerminate = this.shouldTerminate(count);
 			if (shouldTerminate) break;
-			// Otherwise try to wait for the remaining of the cycle.
+			// Otherwise try to wait until the next cycle is due.
 			else {
 				final long end = System.nanoTime();
-				final long remaining = maxDuration - (end-start);
-				if (remaining > 0) {
-					this.waitLock.lock();
-					try {
-						// Double check terminated status before entering wait while holding lock.
-						if (!this.terminated) {
-							this.waitCondition.awaitNanos(remaining);
-						}
-					} catch (final InterruptedException e) {
-						this.handler.handle(e);
-					} finally {
-						this.waitLock.unlock();
-					}
-				}
+				if (period > 0 && end-start > period) this.publishOverrun(end-start);
+				this.waitUntil(schedule.next(start, end));
 			}
 		}
+		this.runner = null;
 		// Clean up.
 		this.task.cleanup();
 	}
 	
+	/**
+	 * Publish an overrun event of the current cycle if
+	 * any subscriber is interested in it.
+	 * @param elapsed The <code>long</code> execution
+	 * time of the cycle in nanoseconds.
+	 */
+	private void publishOverrun(final long elapsed) {
+		if (this.events == null || !this.events.isEnabled(ExecutionEventType.CYCLE_OVERRUN)) return;
+		this.events.publish(ExecutionEventType.CYCLE_OVERRUN, Thread.currentThread().getName(), this, elapsed, null);
+	}
+	
+	/**
+	 * Park the executing thread until the given time
+	 * or until the execution is terminated.
+	 * @param deadline The <code>long</code> time to
+	 * wait until in nanoseconds.
+	 */
+	private void waitUntil(final long deadline) {
+		long remaining = deadline - System.nanoTime();
+		// The terminated flag is written before the termination
+		// unparks this thread, so the signal cannot be missed.
+		while (remaining > 0 && !this.terminated) {
+			LockSupport.parkNanos(this, remaining);
+			if (Thread.interrupted()) {
+				this.handler.handle(new InterruptedException("Cyclic task waiting interrupted: " + this.task));
+				return;
+			}
+			remaining = deadline - System.nanoTime();
+		}
+	}
+	
 	/**
 	 * Check if the task cyclic execution should be
 	 * terminated.
@@ -127,19 +178,36 @@ public class CyclicExecutable extends EventExecutable implements ICyclicTaskHand
 		} catch (final Exception e) {
 			this.handler.handle(e);
 		}
-		// Signal waiting.
-		this.waitLock.lock();
-		try {
-			this.waitCondition.signalAll();
-		} finally {
-			this.waitLock.unlock();
-		}
+		// Wake up waiting.
+		final Thread runner = this.runner;
+		if (runner != null) LockSupport.unpark(runner);
 	}
 
-	/**
-	 * Retrieve the cyclic task this executable contains.
-	 * @return The <code>ICyclicTask</code> instance.
-	 */
+	@Override
+	public long getOverrunCount() {
+		final CycleSchedule schedule = this.schedule;
+		return (schedule == null) ? 0 : schedule.getOverrunCount();
+	}
+
+	@Override
+	public long getSkippedCount() {
+		final CycleSchedule schedule = this.schedule;
+		return (schedule == null) ? 0 : schedule.getSkippedCount();
+	}
+
+	@Override
+	public long getTotalLateness(final TimeUnit unit) {
+		final CycleSchedule schedule = this.schedule;
+		return (schedule == null) ? 0 : schedule.getTotalLateness(unit);
+	}
+
+	@Override
+	public long getMaxLateness(final TimeUnit unit) {
+		final CycleSchedule schedule = this.schedule;
+		return (schedule == null) ? 0 : schedule.getMaxLateness(unit);
+	}
+
+	@Override
 	public ICyclicTask getTask() {
 		return this.task;
 	}
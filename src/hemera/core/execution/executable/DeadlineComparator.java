@@ -0,0 +1,29 @@
+package hemera.core.execution.executable;
+
+import java.util.Comparator;
+
+/**
+ * <code>DeadlineComparator</code> defines the ordering
+ * of executables by the earliest deadline first.
+ * <p>
+ * Executables with deadlines are ordered before the
+ * ones without, and executables without deadlines are
+ * ordered by their creation time, so they are kept in
+ * the submission order. Time values are compared by
+ * their difference, since values from <code>System
+ * .nanoTime</code> may overflow.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public final class DeadlineComparator implements Comparator<EventExecutable> {
+
+	@Override
+	public int compare(final EventExecutable a, final EventExecutable b) {
+		if (a.hasDeadline() != b.hasDeadline()) return a.hasDeadline() ? -1 : 1;
+		final long difference = a.hasDeadline() ? a.getDeadline() - b.getDeadline() : a.getCreationTime() - b.getCreationTime();
+		if (difference < 0) return -1;
+		else if (difference > 0) return 1;
+		else return 0;
+	}
+}
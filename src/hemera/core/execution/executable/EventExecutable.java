@@ -1,68 +1,188 @@
 package hemera.core.execution.executable;
 
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 
+import hemera.core.execution.context.ContextSnapshot;
+import hemera.core.execution.interfaces.task.IDeadlineTask;
 import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.IPrioritizedTask;
+import hemera.core.execution.interfaces.task.TaskPriority;
 import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
 
 /**
  * <code>EventExecutable</code> defines a composite
  * container unit of an event task, as well as being
  * the task handle for the contained task.
+ * <p>
+ * The life cycle of the executable is maintained by
+ * a single atomic state value. An executable starts
+ * in the new state, and moves onto the running state
+ * when its execution begins, or onto the cancelled
+ * state if it is cancelled before that, or onto the
+ * expired state if its deadline has passed when the
+ * execution is about to begin. A running
+ * executable moves onto either the completed or the
+ * failed state depending on the outcome of the task
+ * execution. None of the transitions require locking.
+ * <p>
+ * Threads waiting on the completion of the task, as
+ * well as completion callbacks, are kept in a single
+ * lock-free stack. Waiting threads are only parked when
+ * the task has not yet reached a final state. When the
+ * task reaches a final state, waiting threads are
+ * released and callbacks are run within the thread
+ * that moved the executable onto the final state.
+ * Threads that stop waiting before then unlink their
+ * nodes, so repeated timed waiting does not grow the
+ * stack.
+ * <p>
+ * If a context snapshot was captured when the task was
+ * submitted, it is installed on the executing thread
+ * for the execution of the task and its completion
+ * callbacks.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.0
+ * @version 1.0.5
  */
 public class EventExecutable implements IEventTaskHandle {
+	/**
+	 * The <code>int</code> state of an executable that
+	 * has not yet been executed nor cancelled.
+	 */
+	protected final static int stateNew = 0;
+	/**
+	 * The <code>int</code> state of an executable that
+	 * is being executed.
+	 */
+	protected final static int stateRunning = 1;
+	/**
+	 * The <code>int</code> state of an executable whose
+	 * task execution has completed.
+	 */
+	protected final static int stateCompleted = 2;
+	/**
+	 * The <code>int</code> state of an executable that
+	 * has been cancelled before its execution began.
+	 */
+	protected final static int stateCancelled = 3;
+	/**
+	 * The <code>int</code> state of an executable whose
+	 * task execution has failed with an exception.
+	 */
+	protected final static int stateFailed = 4;
+	/**
+	 * The <code>int</code> state of an executable that
+	 * has been dropped because its deadline passed
+	 * before its execution began.
+	 */
+	protected final static int stateExpired = 5;
+	/**
+	 * The <code>AtomicIntegerFieldUpdater</code> used
+	 * to perform atomic state transitions.
+	 */
+	private final static AtomicIntegerFieldUpdater<EventExecutable> stateUpdater =
+			AtomicIntegerFieldUpdater.newUpdater(EventExecutable.class, "state");
+	/**
+	 * The <code>AtomicReferenceFieldUpdater</code> used
+	 * to maintain the completion stack.
+	 */
+	private final static AtomicReferenceFieldUpdater<EventExecutable, Completion> completionsUpdater =
+			AtomicReferenceFieldUpdater.newUpdater(EventExecutable.class, Completion.class, "completions");
 	/**
 	 * The <code>IEventTask</code> to be executed.
 	 */
 	private final IEventTask task;
 	/**
-	 * The execution <code>Lock</code>.
+	 * The <code>int</code> current life cycle state.
 	 * <p>
-	 * The locking sequence is first lock execution
-	 * lock, then lock completion lock.
+	 * This value is only modified via atomic compare
+	 * and set operations, except for the transition
+	 * out of the running state, which is only performed
+	 * by the executing thread.
 	 */
-	private final Lock executionLock;
+	private volatile int state;
 	/**
-	 * The completion <code>Lock</code>.
+	 * The <code>Exception</code> the task execution
+	 * failed with. <code>null</code> if the execution
+	 * has not failed.
 	 * <p>
-	 * The locking sequence is first lock execution
-	 * lock, then lock completion lock.
+	 * This value is written before the executable moves
+	 * onto the failed state, therefore its memory
+	 * visibility is guaranteed by the state transition.
 	 */
-	private final Lock completionLock;
+	private Exception failure;
 	/**
-	 * The completion waiting <code>Condition</code>.
+	 * The head <code>Completion</code> of the completion
+	 * stack. <code>null</code> if there are no waiting
+	 * threads nor callbacks.
 	 */
-	private final Condition completionCondition;
+	private volatile Completion completions;
 	/**
-	 * The <code>boolean</code> indicating if the
-	 * task execution has been canceled.
-	 * <p>
-	 * This value is guarded by the execution lock.
+	 * The <code>long</code> time in nanoseconds the
+	 * executable was created at.
+	 */
+	private final long creationTime;
+	/**
+	 * The <code>TaskPriority</code> of the task.
+	 */
+	private final TaskPriority priority;
+	/**
+	 * The <code>boolean</code> flag indicating if the
+	 * task has a deadline.
+	 */
+	private final boolean timed;
+	/**
+	 * The <code>long</code> time in nanoseconds the
+	 * execution of the task has to start by. Only valid
+	 * if the task has a deadline.
 	 */
-	private boolean canceled;
+	private final long deadline;
 	/**
-	 * The <code>boolean</code> indicating if the
-	 * task execution has been completed.
+	 * The <code>ContextSnapshot</code> captured when the
+	 * task was submitted. <code>null</code> if there is
+	 * no context to install.
 	 * <p>
-	 * This value is guarded by both the execution lock
-	 * and the completion lock.
+	 * This value is written before the executable is
+	 * placed for execution, therefore its memory
+	 * visibility is guaranteed by the placement.
 	 */
-	private boolean completed;
+	private ContextSnapshot context;
 
 	/**
 	 * Constructor of <code>EventExecutable</code>.
 	 */
 	protected EventExecutable() {
+		this(TaskPriority.NORMAL);
+	}
+
+	/**
+	 * Constructor of <code>EventExecutable</code>.
+	 * @param priority The <code>TaskPriority</code> of
+	 * the task.
+	 */
+	protected EventExecutable(final TaskPriority priority) {
+		this(priority, 0);
+	}
+
+	/**
+	 * Constructor of <code>EventExecutable</code>.
+	 * @param priority The <code>TaskPriority</code> of
+	 * the task.
+	 * @param timeout The <code>long</code> time in
+	 * nanoseconds the execution has to start within.
+	 * Less than or equal to 0 if the task does not
+	 * have a deadline.
+	 */
+	protected EventExecutable(final TaskPriority priority, final long timeout) {
 		this.task = null;
-		this.executionLock = new ReentrantLock();
-		this.completionLock = new ReentrantLock();
-		this.completionCondition = this.completionLock.newCondition();
+		this.state = EventExecutable.stateNew;
+		this.creationTime = System.nanoTime();
+		this.priority = priority;
+		this.timed = (timeout > 0);
+		this.deadline = this.timed ? this.creationTime + timeout : 0;
 	}
 
 	/**
@@ -72,38 +192,84 @@ public class EventExecutable implements IEventTaskHandle {
 	 */
 	public EventExecutable(final IEventTask task) {
 		this.task = task;
-		this.executionLock = new ReentrantLock();
-		this.completionLock = new ReentrantLock();
-		this.completionCondition = this.completionLock.newCondition();
+		this.state = EventExecutable.stateNew;
+		this.creationTime = System.nanoTime();
+		this.priority = EventExecutable.priorityOf(task);
+		final long timeout = EventExecutable.timeoutOf(task);
+		this.timed = (timeout > 0);
+		this.deadline = this.timed ? this.creationTime + timeout : 0;
+	}
+
+	/**
+	 * Retrieve the priority of the given task.
+	 * @param task The task <code>Object</code>.
+	 * @return The <code>TaskPriority</code> specified
+	 * by the task, or the normal priority if it does
+	 * not specify one.
+	 */
+	protected static TaskPriority priorityOf(final Object task) {
+		if (!(task instanceof IPrioritizedTask)) return TaskPriority.NORMAL;
+		final TaskPriority priority = ((IPrioritizedTask)task).getPriority();
+		return (priority == null) ? TaskPriority.NORMAL : priority;
+	}
+
+	/**
+	 * Retrieve the timeout of the given task.
+	 * @param task The task <code>Object</code>.
+	 * @return The <code>long</code> timeout in
+	 * nanoseconds specified by the task, or 0 if it
+	 * does not have a deadline.
+	 */
+	protected static long timeoutOf(final Object task) {
+		if (!(task instanceof IDeadlineTask)) return 0;
+		return ((IDeadlineTask)task).getTimeout(TimeUnit.NANOSECONDS);
 	}
 
 	/**
 	 * Execute the contained task.
+	 * <p>
+	 * The task is only executed if the executable is
+	 * still in the new state. This guarantees that the
+	 * task is executed once and once only, and never
+	 * after it has been cancelled. If the deadline of
+	 * the task has passed, the executable is moved onto
+	 * the expired state instead.
 	 * @throws Exception If any processing failed.
 	 */
 	public final void execute() throws Exception {
-		// Acquire execution lock.
-		this.executionLock.lock();
+		if (this.expire()) return;
+		if (!this.begin()) return;
+		final ContextSnapshot context = this.context;
+		final Object[] previous = (context == null) ? null : context.install();
+		boolean succeeded = false;
 		try {
-			// Check cancelled status while holding the execution lock,
-			// since cancellation can only set this status after acquiring
-			// this lock.
-			if (this.canceled) return;
-			// Execute task.
 			this.executeTask();
-			// Signal completion.
-			this.completionLock.lock();
-			this.completed = true;
+			succeeded = true;
+		} catch (final Exception e) {
+			this.failure = e;
+			throw e;
+		} finally {
 			try {
-				this.completionCondition.signalAll();
+				this.finish(succeeded ? EventExecutable.stateCompleted : EventExecutable.stateFailed);
 			} finally {
-				this.completionLock.unlock();
+				if (context != null) context.restore(previous);
 			}
-		} finally {
-			this.executionLock.unlock();
 		}
 	}
-	
+
+	/**
+	 * Set the context snapshot to be installed when the
+	 * task is executed.
+	 * <p>
+	 * This method should be invoked before the executable
+	 * is placed for execution.
+	 * @param context The <code>ContextSnapshot</code>.
+	 * <code>null</code> if there is no context.
+	 */
+	public final void setContext(final ContextSnapshot context) {
+		this.context = context;
+	}
+
 	/**
 	 * Execute the contained task.
 	 * @throws Exception If task execution failed.
@@ -112,6 +278,281 @@ public class EventExecutable implements IEventTaskHandle {
 		this.task.execute();
 	}
 
+	/**
+	 * Try to move the executable from the new state onto
+	 * the running state.
+	 * <p>
+	 * This method allows subclasses that are completed
+	 * outside of the <code>execute</code> method to claim
+	 * the execution.
+	 * @return <code>true</code> if the executable is now
+	 * running. <code>false</code> if it has already been
+	 * started or cancelled.
+	 */
+	protected final boolean begin() {
+		return EventExecutable.stateUpdater.compareAndSet(this, EventExecutable.stateNew, EventExecutable.stateRunning);
+	}
+
+	/**
+	 * Try to move the executable from the new state onto
+	 * the expired state if its deadline has passed.
+	 * @return <code>true</code> if the executable has
+	 * expired. <code>false</code> if it does not have a
+	 * deadline, the deadline has not passed or it has
+	 * already been started or cancelled.
+	 */
+	private boolean expire() {
+		if (!this.timed || System.nanoTime() - this.deadline < 0) return false;
+		if (!EventExecutable.stateUpdater.compareAndSet(this, EventExecutable.stateNew, EventExecutable.stateExpired)) return false;
+		this.release();
+		return true;
+	}
+
+	/**
+	 * Move a running executable onto the completed state.
+	 * <p>
+	 * This method should only be invoked by the thread
+	 * that successfully invoked <code>begin</code>.
+	 */
+	protected final void complete() {
+		this.finish(EventExecutable.stateCompleted);
+	}
+
+	/**
+	 * Move a running executable onto the failed state.
+	 * <p>
+	 * This method should only be invoked by the thread
+	 * that successfully invoked <code>begin</code>.
+	 * @param exception The <code>Exception</code> the
+	 * execution failed with.
+	 */
+	protected final void fail(final Exception exception) {
+		this.failure = exception;
+		this.finish(EventExecutable.stateFailed);
+	}
+
+	/**
+	 * Move the executable from the running state onto
+	 * the given final state and release all completions.
+	 * @param state The <code>int</code> final state.
+	 */
+	private void finish(final int state) {
+		this.state = state;
+		this.release();
+	}
+
+	/**
+	 * Release all the completions currently in the stack,
+	 * waking up waiting threads and running callbacks.
+	 * <p>
+	 * Each completion is only taken off the stack once,
+	 * so concurrent invocations never release the same
+	 * completion twice. A completion that throws does not
+	 * prevent the subsequent ones from being released, its
+	 * exception is passed onto the uncaught exception
+	 * handler of the releasing thread instead.
+	 */
+	private void release() {
+		Completion completion = EventExecutable.completionsUpdater.getAndSet(this, null);
+		while (completion != null) {
+			final Completion next = completion.next;
+			completion.next = null;
+			try {
+				completion.run(this);
+			} catch (final RuntimeException e) {
+				final Thread thread = Thread.currentThread();
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+			}
+			completion = next;
+		}
+	}
+
+	/**
+	 * Unlink the obsolete completions from the stack,
+	 * such as the nodes of threads that stopped waiting
+	 * due to a timeout or an interruption.
+	 * <p>
+	 * The traversal restarts whenever it races with a
+	 * concurrent push, release or unlinking that would
+	 * otherwise cause a completion to be lost.
+	 */
+	private void unlinkObsolete() {
+		retry:
+		while (true) {
+			Completion previous = null;
+			Completion completion = this.completions;
+			while (completion != null) {
+				final Completion next = completion.next;
+				if (!completion.isObsolete()) {
+					previous = completion;
+				} else if (previous != null) {
+					previous.next = next;
+					// The predecessor may have become obsolete itself.
+					if (previous.isObsolete()) continue retry;
+				} else if (!EventExecutable.completionsUpdater.compareAndSet(this, completion, next)) {
+					continue retry;
+				}
+				completion = next;
+			}
+			return;
+		}
+	}
+
+	/**
+	 * Retrieve the number of completions that are
+	 * currently in the stack waiting to be released.
+	 * <p>
+	 * This method is intended for diagnostics only,
+	 * since it traverses the entire stack.
+	 * @return The <code>int</code> number of pending
+	 * completions.
+	 */
+	protected final int getPendingCompletionCount() {
+		int count = 0;
+		for (Completion completion = this.completions; completion != null; completion = completion.next) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Add the given completion to be run when the
+	 * executable reaches a final state. If the final
+	 * state has already been reached, the completion
+	 * is run immediately within the invoking thread.
+	 * @param completion The <code>Completion</code>
+	 * to be added.
+	 */
+	protected final void onCompletion(final Completion completion) {
+		this.push(completion);
+		// If the final state has been reached, the releasing thread
+		// may have missed the completion, release it here.
+		if (this.isDone()) this.release();
+	}
+
+	/**
+	 * Run the given callback once the executable reaches
+	 * a final state. If the final state has already been
+	 * reached, the callback is run immediately within the
+	 * invoking thread.
+	 * <p>
+	 * The callback is run within the thread that moved
+	 * the executable onto the final state, therefore it
+	 * should be short and never throw exceptions. An
+	 * exception thrown by the callback is passed onto
+	 * the uncaught exception handler of that thread.
+	 * @param callback The <code>Runnable</code> to be
+	 * run.
+	 */
+	public final void onDone(final Runnable callback) {
+		if (callback == null) throw new IllegalArgumentException("Callback cannot be null.");
+		this.onCompletion(new CallbackNode(callback));
+	}
+
+	/**
+	 * Push the given completion onto the stack.
+	 * @param completion The <code>Completion</code>
+	 * to be pushed.
+	 */
+	private void push(final Completion completion) {
+		do {
+			completion.next = this.completions;
+		} while (!EventExecutable.completionsUpdater.compareAndSet(this, completion.next, completion));
+	}
+
+	/**
+	 * Check if the executable has reached a final state.
+	 * @return <code>true</code> if the task execution
+	 * has completed, failed, has been cancelled or has
+	 * expired.
+	 * <code>false</code> otherwise.
+	 */
+	public final boolean isDone() {
+		return (this.state > EventExecutable.stateRunning);
+	}
+
+	/**
+	 * Check if the executable has been cancelled.
+	 * @return <code>true</code> if the executable has
+	 * been cancelled. <code>false</code> otherwise.
+	 */
+	public final boolean isCancelled() {
+		return (this.state == EventExecutable.stateCancelled);
+	}
+
+	@Override
+	public final boolean isExpired() {
+		return (this.state == EventExecutable.stateExpired);
+	}
+
+	/**
+	 * Retrieve the current life cycle state.
+	 * @return The <code>int</code> state.
+	 */
+	protected final int getState() {
+		return this.state;
+	}
+
+	/**
+	 * Retrieve the exception the task execution failed
+	 * with.
+	 * @return The <code>Exception</code>. <code>null</code>
+	 * if the execution has not failed, or failed with an
+	 * <code>Error</code>.
+	 */
+	protected final Exception getFailure() {
+		return (this.state == EventExecutable.stateFailed) ? this.failure : null;
+	}
+
+	/**
+	 * Retrieve the task of this executable.
+	 * @return The task <code>Object</code>.
+	 * <code>null</code> if the executable does not
+	 * execute a submitted task.
+	 */
+	public Object getTask() {
+		return this.task;
+	}
+
+	/**
+	 * Retrieve the time the executable was created at,
+	 * which marks the submission of the task.
+	 * @return The <code>long</code> time in nanoseconds
+	 * from <code>System.nanoTime</code>.
+	 */
+	public final long getCreationTime() {
+		return this.creationTime;
+	}
+
+	/**
+	 * Retrieve the priority of the task.
+	 * @return The <code>TaskPriority</code> of the
+	 * task.
+	 */
+	public final TaskPriority getPriority() {
+		return this.priority;
+	}
+
+	/**
+	 * Check if the task has a deadline.
+	 * @return <code>true</code> if the task has a
+	 * deadline. <code>false</code> otherwise.
+	 */
+	public final boolean hasDeadline() {
+		return this.timed;
+	}
+
+	/**
+	 * Retrieve the time the execution of the task has
+	 * to start by.
+	 * @return The <code>long</code> time in nanoseconds
+	 * from <code>System.nanoTime</code>. Only valid if
+	 * the task has a deadline.
+	 */
+	public final long getDeadline() {
+		return this.deadline;
+	}
+
 	@Override
 	public boolean await() throws InterruptedException {
 		return this.await(-1, null);
@@ -119,65 +560,150 @@ public class EventExecutable implements IEventTaskHandle {
 
 	@Override
 	public boolean await(final long value, final TimeUnit unit) throws InterruptedException {
-		// Wait to acquire the execution lock. This will only go through
-		// if the execution has not yet started or has completed.
-		this.executionLock.lock();
+		int state = this.state;
+		if (state > EventExecutable.stateRunning) return (state == EventExecutable.stateCompleted);
+		if (Thread.interrupted()) throw new InterruptedException();
+		final boolean timed = (value >= 0 && unit != null);
+		final long deadline = timed ? System.nanoTime() + unit.toNanos(value) : 0;
+		// Push onto the completion stack before checking the state
+		// again, so either the state is observed or this thread is
+		// released.
+		final WaitNode node = new WaitNode(Thread.currentThread());
+		this.push(node);
+		boolean released = false;
 		try {
-			// This will catch the case where the execution has completed.
-			if (this.completed) return true;
-			this.completionLock.lock();
-			try {
-				// Must release execution lock before go into waiting to
-				// allow executor to acquire the lock and execute task.
-				// Here we still hold the completion lock, so the executor
-				// cannot signal completion before we go into waiting, so
-				// that we won't miss the signal.
-				this.executionLock.unlock();
-				// Perform wait.
-				if (value < 0 || unit == null) {
-					this.completionCondition.await();
+			while (true) {
+				state = this.state;
+				if (state > EventExecutable.stateRunning) {
+					released = true;
+					return (state == EventExecutable.stateCompleted);
+				}
+				if (timed) {
+					final long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) return false;
+					LockSupport.parkNanos(this, remaining);
 				} else {
-					this.completionCondition.await(value, unit);
+					LockSupport.park(this);
 				}
-			} finally {
-				this.completionLock.unlock();
+				if (Thread.interrupted()) throw new InterruptedException();
 			}
-			// When reaches here, re-acquire the execution lock, so either
-			// the task has been completed or it has not yet been started,
-			// or it has been cancelled.
-			this.executionLock.lock();
-			if (this.completed) return true;
-			else return false;
 		} finally {
-			this.executionLock.unlock();
+			// Prevent the releasing thread from unparking this
+			// thread after it is no longer waiting.
+			node.thread = null;
+			// A node of a thread that gave up waiting is never taken
+			// off the stack by a release, unlink it instead.
+			if (!released) this.unlinkObsolete();
 		}
 	}
 
 	@Override
 	public boolean cancel() {
-		// Try to acquire execution lock to set the cancelled status.
-		// The acquiring will only succeed if the execution has not
-		// yet began or has completed.
-		final boolean succeeded = this.executionLock.tryLock();
-		// If cannot lock, then execution has began.
-		if (!succeeded) return false;
-		else {
-			try {
-				// Acquire completion lock to check for completion status.
-				this.completionLock.lock();
-				try {
-					if (this.completed) return false;
-					// Otherwise, we can cancel.
-					this.canceled = true;
-					// Signal completion waiting.
-					this.completionCondition.signalAll();
-					return true;
-				} finally {
-					this.completionLock.unlock();
-				}
-			} finally {
-				this.executionLock.unlock();
+		// Cancellation only succeeds if the execution has not yet began.
+		if (!EventExecutable.stateUpdater.compareAndSet(this, EventExecutable.stateNew, EventExecutable.stateCancelled)) return false;
+		this.release();
+		return true;
+	}
+
+	/**
+	 * <code>Completion</code> defines the abstraction of
+	 * a node in the completion stack, that is run when
+	 * the executable reaches a final state.
+	 * <p>
+	 * Implementations should never throw exceptions,
+	 * since they are run within the thread that moved
+	 * the executable onto the final state.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	protected abstract static class Completion {
+		/**
+		 * The next <code>Completion</code> in the stack.
+		 */
+		private Completion next;
+
+		/**
+		 * Run the completion logic.
+		 * @param source The <code>EventExecutable</code>
+		 * that has reached a final state.
+		 */
+		protected abstract void run(final EventExecutable source);
+
+		/**
+		 * Check if the completion no longer needs to be
+		 * run, and can be unlinked from the stack. The
+		 * default implementation always needs to be run.
+		 * @return <code>true</code> if the completion is
+		 * obsolete. <code>false</code> otherwise.
+		 */
+		protected boolean isObsolete() {
+			return false;
+		}
+	}
+
+	/**
+	 * <code>CallbackNode</code> defines the completion
+	 * that runs a callback.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final static class CallbackNode extends Completion {
+		/**
+		 * The <code>Runnable</code> callback.
+		 */
+		private final Runnable callback;
+
+		/**
+		 * Constructor of <code>CallbackNode</code>.
+		 * @param callback The <code>Runnable</code>
+		 * callback.
+		 */
+		private CallbackNode(final Runnable callback) {
+			this.callback = callback;
+		}
+
+		@Override
+		protected void run(final EventExecutable source) {
+			this.callback.run();
+		}
+	}
+
+	/**
+	 * <code>WaitNode</code> defines the completion that
+	 * wakes up a waiting thread.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final static class WaitNode extends Completion {
+		/**
+		 * The waiting <code>Thread</code>. <code>null</code>
+		 * if the thread is no longer waiting.
+		 */
+		private volatile Thread thread;
+
+		/**
+		 * Constructor of <code>WaitNode</code>.
+		 * @param thread The waiting <code>Thread</code>.
+		 */
+		private WaitNode(final Thread thread) {
+			this.thread = thread;
+		}
+
+		@Override
+		protected void run(final EventExecutable source) {
+			final Thread thread = this.thread;
+			if (thread != null) {
+				this.thread = null;
+				LockSupport.unpark(thread);
 			}
 		}
+
+		@Override
+		protected boolean isObsolete() {
+			return (this.thread == null);
+		}
 	}
 }
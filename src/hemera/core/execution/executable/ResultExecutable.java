@@ -1,9 +1,21 @@
 package hemera.core.execution.executable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import hemera.core.execution.interfaces.IExecutionService;
+import hemera.core.execution.interfaces.task.IEventTask;
 import hemera.core.execution.interfaces.task.IResultTask;
+import hemera.core.execution.interfaces.task.handle.IResultCallback;
+import hemera.core.execution.interfaces.task.handle.IResultFunction;
 import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
 
 /**
@@ -14,10 +26,16 @@ import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
  * implementation of <code>EventExecutable</code> to
  * provide the result task type specific handling.
  * <p>
+ * Continuations are registered as completions of the
+ * executable, therefore chaining never blocks a thread.
+ * A dependent computation is itself represented by a
+ * <code>ResultExecutable</code>, which is either
+ * executed or completed directly by the continuation.
+ * <p>
  * @param <R> The result executable result return type.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.0
+ * @version 1.0.2
  */
 public class ResultExecutable<R> extends EventExecutable implements IResultTaskHandle<R> {
 	/**
@@ -25,35 +43,364 @@ public class ResultExecutable<R> extends EventExecutable implements IResultTaskH
 	 */
 	private final IResultTask<R> task;
 	/**
-	 * The <code>AtomicReference</code> of the task
-	 * result.
+	 * The <code>R</code> task result.
+	 * <p>
+	 * This value is written by the executing thread
+	 * before the executable moves onto the completed
+	 * state, and only read after the completed state
+	 * is observed, therefore its memory visibility is
+	 * guaranteed by the state transition.
+	 */
+	private R result;
+
+	/**
+	 * Constructor of <code>ResultExecutable</code>.
+	 * <p>
+	 * This constructor creates an executable without
+	 * a task, which can only be completed directly via
+	 * <code>succeed</code> or <code>fail</code>.
 	 */
-	private final AtomicReference<R> result;
+	private ResultExecutable() {
+		super();
+		this.task = null;
+	}
 
 	/**
 	 * Constructor of <code>ResultExecutable</code>.
 	 * @param task The <code>IResultTask</code> to be executed.
 	 */
 	public ResultExecutable(final IResultTask<R> task) {
-		super();
+		super(EventExecutable.priorityOf(task), EventExecutable.timeoutOf(task));
 		this.task = task;
-		this.result = new AtomicReference<R>(null);
+	}
+
+	/**
+	 * Create a handle that completes with the list of
+	 * results of all the given handles once they have
+	 * all completed. The results are in the iteration
+	 * order of the given collection. If any of the
+	 * given handles fails or is cancelled, the returned
+	 * handle fails with the corresponding exception.
+	 * @param <V> The result type.
+	 * @param handles The <code>Collection</code> of
+	 * <code>IResultTaskHandle</code> to combine.
+	 * @return The <code>IResultTaskHandle</code> of the
+	 * result <code>List</code>.
+	 */
+	public static <V> IResultTaskHandle<List<V>> allOf(final Collection<? extends IResultTaskHandle<? extends V>> handles) {
+		if (handles == null) throw new IllegalArgumentException("Handles cannot be null.");
+		final ResultExecutable<List<V>> combined = new ResultExecutable<List<V>>();
+		final int count = handles.size();
+		if (count <= 0) {
+			combined.begin();
+			combined.succeed(new ArrayList<V>(0));
+			return combined;
+		}
+		final AtomicReferenceArray<V> results = new AtomicReferenceArray<V>(count);
+		final AtomicInteger remaining = new AtomicInteger(count);
+		int index = 0;
+		for (final IResultTaskHandle<? extends V> handle : handles) {
+			final int slot = index;
+			index++;
+			handle.whenComplete(new IResultCallback<V>() {
+				@Override
+				public void completed(final V result, final Exception exception) {
+					if (exception != null) {
+						if (combined.begin()) combined.fail(exception);
+						return;
+					}
+					results.set(slot, result);
+					if (remaining.decrementAndGet() == 0 && combined.begin()) {
+						final List<V> list = new ArrayList<V>(count);
+						for (int i = 0; i < count; i++) {
+							list.add(results.get(i));
+						}
+						combined.succeed(list);
+					}
+				}
+			});
+		}
+		return combined;
+	}
+
+	/**
+	 * Create a handle that reaches the same outcome as
+	 * the first of the given handles that reaches a
+	 * final state. A cancelled handle is considered to
+	 * have failed with a <code>CancellationException</code>.
+	 * @param <V> The result type.
+	 * @param handles The <code>Collection</code> of
+	 * <code>IResultTaskHandle</code> to combine.
+	 * @return The <code>IResultTaskHandle</code> of the
+	 * first result.
+	 */
+	public static <V> IResultTaskHandle<V> anyOf(final Collection<? extends IResultTaskHandle<? extends V>> handles) {
+		if (handles == null) throw new IllegalArgumentException("Handles cannot be null.");
+		else if (handles.isEmpty()) throw new IllegalArgumentException("Handles cannot be empty.");
+		final ResultExecutable<V> combined = new ResultExecutable<V>();
+		for (final IResultTaskHandle<? extends V> handle : handles) {
+			handle.whenComplete(new IResultCallback<V>() {
+				@Override
+				public void completed(final V result, final Exception exception) {
+					if (!combined.begin()) return;
+					if (exception == null) combined.succeed(result);
+					else combined.fail(exception);
+				}
+			});
+		}
+		return combined;
 	}
 
 	@Override
 	protected void executeTask() throws Exception {
-		final R result = this.task.execute();
-		this.result.compareAndSet(null, result);
+		this.result = this.task.execute();
+	}
+
+	/**
+	 * Complete a running executable with the given result.
+	 * <p>
+	 * This method should only be invoked by the thread
+	 * that successfully invoked <code>begin</code>.
+	 * @param result The <code>R</code> result.
+	 */
+	private void succeed(final R result) {
+		this.result = result;
+		this.complete();
 	}
-	
+
+	/**
+	 * Retrieve the exception that describes why this
+	 * executable did not complete successfully.
+	 * <p>
+	 * This method should only be invoked after the
+	 * executable has reached a final state.
+	 * @return The <code>Exception</code>. <code>null</code>
+	 * if the execution has completed successfully.
+	 */
+	private Exception getException() {
+		switch (this.getState()) {
+		case EventExecutable.stateCompleted:
+			return null;
+		case EventExecutable.stateCancelled:
+			return new CancellationException("Task has been cancelled.");
+		case EventExecutable.stateExpired:
+			return new TimeoutException("Task deadline has passed before its execution started.");
+		default:
+			final Exception failure = this.getFailure();
+			if (failure != null) return failure;
+			else return new IllegalStateException("Task execution failed with an error.");
+		}
+	}
+
 	@Override
 	public R getAndWait() throws InterruptedException {
 		return this.getAndWait(-1, null);
 	}
-	
+
 	@Override
 	public R getAndWait(final long value, final TimeUnit unit) throws InterruptedException {
-		if (super.await(value, unit)) return this.result.get();
+		if (super.await(value, unit)) return this.result;
 		else return null;
 	}
+
+	@Override
+	public <V> IResultTaskHandle<V> thenApply(final IResultFunction<? super R, ? extends V> function) {
+		return this.thenApply(function, null);
+	}
+
+	@Override
+	public <V> IResultTaskHandle<V> thenApply(final IResultFunction<? super R, ? extends V> function, final IExecutionService service) {
+		if (function == null) throw new IllegalArgumentException("Function cannot be null.");
+		final ResultExecutable<V> dependent = new ResultExecutable<V>(new IResultTask<V>() {
+			@Override
+			public V execute() throws Exception {
+				return function.apply(ResultExecutable.this.result);
+			}
+		});
+		this.onCompletion(new ApplyCompletion(dependent, service));
+		return dependent;
+	}
+
+	@Override
+	public <V> IResultTaskHandle<V> thenCompose(final IResultFunction<? super R, ? extends IResultTaskHandle<V>> function) {
+		if (function == null) throw new IllegalArgumentException("Function cannot be null.");
+		final ResultExecutable<V> dependent = new ResultExecutable<V>();
+		this.onCompletion(new Completion() {
+			@Override
+			protected void run(final EventExecutable source) {
+				if (source.isCancelled()) {
+					dependent.cancel();
+					return;
+				}
+				if (!dependent.begin()) return;
+				final Exception exception = ResultExecutable.this.getException();
+				if (exception != null) {
+					dependent.fail(exception);
+					return;
+				}
+				try {
+					final IResultTaskHandle<V> next = function.apply(ResultExecutable.this.result);
+					if (next == null) throw new IllegalStateException("Composed handle cannot be null.");
+					next.whenComplete(new IResultCallback<V>() {
+						@Override
+						public void completed(final V result, final Exception exception) {
+							if (exception == null) dependent.succeed(result);
+							else dependent.fail(exception);
+						}
+					});
+				} catch (final Exception e) {
+					dependent.fail(e);
+				}
+			}
+		});
+		return dependent;
+	}
+
+	@Override
+	public IResultTaskHandle<R> whenComplete(final IResultCallback<? super R> callback) {
+		if (callback == null) throw new IllegalArgumentException("Callback cannot be null.");
+		final ResultExecutable<R> dependent = new ResultExecutable<R>();
+		this.onCompletion(new Completion() {
+			@Override
+			protected void run(final EventExecutable source) {
+				final Exception exception = ResultExecutable.this.getException();
+				final R result = (exception == null) ? ResultExecutable.this.result : null;
+				try {
+					callback.completed(result, exception);
+				} catch (final Exception e) {
+					if (dependent.begin()) dependent.fail(e);
+					return;
+				}
+				// The returned handle may have been cancelled.
+				if (!dependent.begin()) return;
+				else if (exception == null) dependent.succeed(result);
+				else dependent.fail(exception);
+			}
+		});
+		return dependent;
+	}
+
+	@Override
+	public Future<R> toFuture() {
+		return new FutureView();
+	}
+
+	@Override
+	public IResultTask<R> getTask() {
+		return this.task;
+	}
+
+	/**
+	 * <code>ApplyCompletion</code> defines the completion
+	 * that executes a dependent executable once the task
+	 * has completed, or propagates the failure or the
+	 * cancellation of the task to the dependent.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final class ApplyCompletion extends Completion {
+		/**
+		 * The dependent <code>EventExecutable</code>.
+		 */
+		private final EventExecutable dependent;
+		/**
+		 * The <code>IExecutionService</code> to execute
+		 * the dependent. <code>null</code> if the dependent
+		 * is executed within the completing thread.
+		 */
+		private final IExecutionService service;
+
+		/**
+		 * Constructor of <code>ApplyCompletion</code>.
+		 * @param dependent The dependent <code>EventExecutable</code>.
+		 * @param service The <code>IExecutionService</code>
+		 * to execute the dependent.
+		 */
+		private ApplyCompletion(final EventExecutable dependent, final IExecutionService service) {
+			this.dependent = dependent;
+			this.service = service;
+		}
+
+		@Override
+		protected void run(final EventExecutable source) {
+			if (source.isCancelled()) {
+				this.dependent.cancel();
+				return;
+			}
+			final Exception exception = ResultExecutable.this.getException();
+			if (exception != null) {
+				if (this.dependent.begin()) this.dependent.fail(exception);
+			} else if (this.service == null) {
+				try {
+					this.dependent.execute();
+				} catch (final Exception e) {
+					// The failure is recorded by the dependent.
+				}
+			} else {
+				try {
+					final EventExecutable dependent = this.dependent;
+					this.service.submit(new IEventTask() {
+						@Override
+						public void execute() throws Exception {
+							dependent.execute();
+						}
+					});
+				} catch (final RuntimeException e) {
+					if (this.dependent.begin()) this.dependent.fail(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * <code>FutureView</code> defines the adapter that
+	 * exposes the executable as a <code>Future</code>.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final class FutureView implements Future<R> {
+
+		@Override
+		public boolean cancel(final boolean mayInterruptIfRunning) {
+			return ResultExecutable.this.cancel();
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return ResultExecutable.this.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return ResultExecutable.this.isDone();
+		}
+
+		@Override
+		public R get() throws InterruptedException, ExecutionException {
+			ResultExecutable.this.await();
+			return this.report();
+		}
+
+		@Override
+		public R get(final long timeout, final TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			if (unit == null) throw new IllegalArgumentException("Time unit cannot be null.");
+			ResultExecutable.this.await(Math.max(0, timeout), unit);
+			if (!ResultExecutable.this.isDone()) throw new TimeoutException();
+			return this.report();
+		}
+
+		/**
+		 * Report the outcome of the completed executable.
+		 * @return The <code>R</code> result.
+		 * @throws ExecutionException If the execution failed.
+		 */
+		private R report() throws ExecutionException {
+			final Exception exception = ResultExecutable.this.getException();
+			if (exception == null) return ResultExecutable.this.result;
+			else if (exception instanceof CancellationException) throw (CancellationException)exception;
+			else throw new ExecutionException(exception);
+		}
+	}
 }
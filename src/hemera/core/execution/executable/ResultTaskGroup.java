@@ -0,0 +1,69 @@
+package hemera.core.execution.executable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.interfaces.task.handle.IResultGroupHandle;
+import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+
+/**
+ * <code>ResultTaskGroup</code> defines the extension
+ * of <code>TaskGroup</code> for a batch of result
+ * executables.
+ * <p>
+ * @param <R> The result return type.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class ResultTaskGroup<R> extends TaskGroup implements IResultGroupHandle<R> {
+	/**
+	 * The <code>ResultExecutable</code> array of the
+	 * batch.
+	 */
+	private final ResultExecutable<R>[] executables;
+
+	/**
+	 * Constructor of <code>ResultTaskGroup</code>.
+	 * @param executables The <code>ResultExecutable</code>
+	 * array of the batch.
+	 */
+	public ResultTaskGroup(final ResultExecutable<R>[] executables) {
+		super(executables);
+		this.executables = executables;
+	}
+
+	@Override
+	public List<R> getAndWait() throws InterruptedException {
+		this.await();
+		return this.getResults();
+	}
+
+	@Override
+	public List<R> getAndWait(final long value, final TimeUnit unit) throws InterruptedException {
+		this.await(value, unit);
+		return this.getResults();
+	}
+
+	/**
+	 * Retrieve the results of the executables that have
+	 * completed without waiting.
+	 * @return The <code>List</code> of <code>R</code>
+	 * results.
+	 * @throws InterruptedException Never, since the
+	 * retrieval does not wait.
+	 */
+	private List<R> getResults() throws InterruptedException {
+		final List<R> results = new ArrayList<R>(this.executables.length);
+		for (int i = 0; i < this.executables.length; i++) {
+			results.add(this.executables[i].getAndWait(0, TimeUnit.NANOSECONDS));
+		}
+		return results;
+	}
+
+	@Override
+	public IResultTaskHandle<R> getHandle(final int index) {
+		return this.executables[index];
+	}
+}
@@ -0,0 +1,74 @@
+package hemera.core.execution.executable;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IGroupTaskHandle;
+
+/**
+ * <code>TaskGroup</code> defines the implementation of
+ * the group handle of a batch of executables. It does
+ * not maintain any state of its own, all operations are
+ * performed directly on the executables in the batch.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class TaskGroup implements IGroupTaskHandle {
+	/**
+	 * The <code>EventExecutable</code> array of the
+	 * batch.
+	 */
+	private final EventExecutable[] executables;
+
+	/**
+	 * Constructor of <code>TaskGroup</code>.
+	 * @param executables The <code>EventExecutable</code>
+	 * array of the batch.
+	 */
+	public TaskGroup(final EventExecutable[] executables) {
+		if (executables == null) throw new IllegalArgumentException("Executables cannot be null.");
+		this.executables = executables;
+	}
+
+	@Override
+	public boolean await() throws InterruptedException {
+		boolean completed = true;
+		for (int i = 0; i < this.executables.length; i++) {
+			if (!this.executables[i].await()) completed = false;
+		}
+		return completed;
+	}
+
+	@Override
+	public boolean await(final long value, final TimeUnit unit) throws InterruptedException {
+		if (value < 0 || unit == null) return this.await();
+		final long deadline = System.nanoTime() + unit.toNanos(value);
+		boolean completed = true;
+		for (int i = 0; i < this.executables.length; i++) {
+			// Once the time is up, only check the remaining executables.
+			final long remaining = Math.max(0, deadline - System.nanoTime());
+			if (!this.executables[i].await(remaining, TimeUnit.NANOSECONDS)) completed = false;
+		}
+		return completed;
+	}
+
+	@Override
+	public int cancel() {
+		int count = 0;
+		for (int i = 0; i < this.executables.length; i++) {
+			if (this.executables[i].cancel()) count++;
+		}
+		return count;
+	}
+
+	@Override
+	public IEventTaskHandle getHandle(final int index) {
+		return this.executables[index];
+	}
+
+	@Override
+	public int size() {
+		return this.executables.length;
+	}
+}
@@ -0,0 +1,65 @@
+package hemera.core.execution.idle;
+
+import hemera.core.execution.interfaces.IIdleStrategy;
+
+/**
+ * <code>BackoffIdleStrategy</code> defines the idle
+ * strategy implementation that first busy spins, then
+ * yields and finally parks the executor.
+ * <p>
+ * This strategy allows tasks that arrive shortly after
+ * the executor runs out of work to be picked up without
+ * any signaling cost, while still releasing the processor
+ * when the executor stays idle for a longer period.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class BackoffIdleStrategy implements IIdleStrategy {
+	/**
+	 * The <code>int</code> number of busy spinning
+	 * steps.
+	 */
+	private final int spins;
+	/**
+	 * The <code>int</code> number of yielding steps
+	 * after spinning.
+	 */
+	private final int yields;
+
+	/**
+	 * Constructor of <code>BackoffIdleStrategy</code>.
+	 * <p>
+	 * This constructor spins for 100 steps and yields
+	 * for 10 steps before parking.
+	 */
+	public BackoffIdleStrategy() {
+		this(100, 10);
+	}
+
+	/**
+	 * Constructor of <code>BackoffIdleStrategy</code>.
+	 * @param spins The <code>int</code> number of busy
+	 * spinning steps.
+	 * @param yields The <code>int</code> number of
+	 * yielding steps after spinning.
+	 */
+	public BackoffIdleStrategy(final int spins, final int yields) {
+		if (spins < 0) throw new IllegalArgumentException("Spin count cannot be negative.");
+		else if (yields < 0) throw new IllegalArgumentException("Yield count cannot be negative.");
+		this.spins = spins;
+		this.yields = yields;
+	}
+
+	@Override
+	public boolean idle(final int iteration) {
+		if (iteration < this.spins) {
+			return true;
+		} else if (iteration < this.spins + this.yields) {
+			Thread.yield();
+			return true;
+		} else {
+			return false;
+		}
+	}
+}
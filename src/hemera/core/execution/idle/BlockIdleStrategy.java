@@ -0,0 +1,24 @@
+package hemera.core.execution.idle;
+
+import hemera.core.execution.interfaces.IIdleStrategy;
+
+/**
+ * <code>BlockIdleStrategy</code> defines the idle
+ * strategy implementation that parks the executor as
+ * soon as it runs out of tasks.
+ * <p>
+ * This strategy consumes no processor time while the
+ * executor is idling, at the cost of a wake up signal
+ * for every task assigned to a parked executor. This
+ * is the default strategy of the execution services.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class BlockIdleStrategy implements IIdleStrategy {
+
+	@Override
+	public boolean idle(final int iteration) {
+		return false;
+	}
+}
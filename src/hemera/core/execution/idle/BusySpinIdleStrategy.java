@@ -0,0 +1,26 @@
+package hemera.core.execution.idle;
+
+import hemera.core.execution.interfaces.IIdleStrategy;
+
+/**
+ * <code>BusySpinIdleStrategy</code> defines the idle
+ * strategy implementation that keeps the executor
+ * spinning on its processor and never parks it.
+ * <p>
+ * This strategy provides the lowest possible latency
+ * between task assignment and execution, since the
+ * executor is never signaled. However, every idling
+ * executor fully occupies a processor. It should only
+ * be used when the number of executors is lower than
+ * the number of available processors.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class BusySpinIdleStrategy implements IIdleStrategy {
+
+	@Override
+	public boolean idle(final int iteration) {
+		return true;
+	}
+}
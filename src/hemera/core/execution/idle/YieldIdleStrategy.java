@@ -0,0 +1,26 @@
+package hemera.core.execution.idle;
+
+import hemera.core.execution.interfaces.IIdleStrategy;
+
+/**
+ * <code>YieldIdleStrategy</code> defines the idle
+ * strategy implementation that yields the executor
+ * thread on every idling step and never parks it.
+ * <p>
+ * This strategy allows other threads to use the
+ * processor while still picking up new tasks without
+ * being signaled. Idling executors still consume
+ * processor time when there are no other runnable
+ * threads.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class YieldIdleStrategy implements IIdleStrategy {
+
+	@Override
+	public boolean idle(final int iteration) {
+		Thread.yield();
+		return true;
+	}
+}
@@ -1,12 +1,24 @@
 package hemera.core.execution.interfaces;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
+import hemera.core.execution.interfaces.admission.IConcurrencyLimit;
+import hemera.core.execution.interfaces.admission.IRejectionPolicy;
+import hemera.core.execution.interfaces.context.IContextCarrier;
+import hemera.core.execution.interfaces.event.ExecutionEventType;
+import hemera.core.execution.interfaces.event.IEventSubscriber;
+import hemera.core.execution.interfaces.metrics.IExecutorSnapshot;
+import hemera.core.execution.interfaces.metrics.IServiceMetrics;
 import hemera.core.execution.interfaces.task.ICyclicTask;
 import hemera.core.execution.interfaces.task.IEventTask;
 import hemera.core.execution.interfaces.task.IResultTask;
 import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
 import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IGroupTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IResultGroupHandle;
 import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
 
 /**
@@ -38,9 +50,23 @@ import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
  * to all executors allowing them to gracefully handle
  * exceptions at runtime. The exception handler unit is
  * automatically registered as a system shutdown hook.
+ * <p>
+ * Event and result tasks submitted individually pass
+ * through admission control. When the service cannot
+ * admit a task, because it is saturated or its optional
+ * concurrency limit has been reached, the task is handed
+ * to the rejection policy of the service, which blocks
+ * the submitting thread by default.
+ * <p>
+ * The lifecycle events of the executors and tasks of
+ * the service can be subscribed to, which allows the
+ * executions to be traced without wrapping the tasks.
+ * Thread-bound context can be propagated from the
+ * submitting threads to the executing threads with
+ * context carriers.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.0
+ * @version 1.0.4
  */
 public interface IExecutionService {
 
@@ -106,9 +132,12 @@ public interface IExecutionService {
 	
 	/**
 	 * First attempt to gracefully shutdown the service
-	 * and all executors. Then after the given time has
-	 * elapsed, forcefully shutdown the execution service
-	 * and all its executors.
+	 * and all executors. Then if the executors have not
+	 * all terminated after the given time has elapsed,
+	 * forcefully shutdown the execution service and all
+	 * its remaining executors. This method returns as
+	 * soon as all executors have terminated, without
+	 * waiting for the full time.
 	 * <p>
 	 * This method provides the necessary thread-safety
 	 * to only allow the very first invocation to pass
@@ -120,6 +149,69 @@ public interface IExecutionService {
 	 * interrupted.
 	 */
 	public void forceShutdown(final long time, final TimeUnit unit) throws InterruptedException;
+
+	/**
+	 * Block until the service has been shut down and
+	 * all executor threads have terminated, or the given
+	 * time has elapsed, whichever happens first.
+	 * <p>
+	 * This method returns as soon as the last executor
+	 * thread terminates.
+	 * @param time The <code>long</code> time value.
+	 * @param unit The <code>TimeUnit</code> of the value.
+	 * @return <code>true</code> if the service has
+	 * terminated. <code>false</code> if the time has
+	 * elapsed before termination.
+	 * @throws InterruptedException If waiting process
+	 * is interrupted.
+	 */
+	public boolean awaitTermination(final long time, final TimeUnit unit) throws InterruptedException;
+
+	/**
+	 * Gracefully shutdown the execution service after
+	 * all the submitted tasks have been executed.
+	 * <p>
+	 * New submissions are rejected immediately, while
+	 * the executors keep executing the tasks that have
+	 * already been submitted in parallel, and terminate
+	 * once there are none left. Cyclic tasks are signaled
+	 * to terminate. This method returns without waiting,
+	 * use <code>awaitTermination</code> to wait for the
+	 * executors to terminate.
+	 * <p>
+	 * This method provides the necessary thread-safety
+	 * to only allow the very first invocation to pass
+	 * by and perform the shutdown process. Subsequent
+	 * invocations are directly returned.
+	 */
+	public void shutdownAndDrain();
+
+	/**
+	 * Gracefully shutdown the execution service and
+	 * cancel all the submitted tasks that have not yet
+	 * started execution.
+	 * <p>
+	 * Tasks that are being executed are completed, and
+	 * the executors terminate after that. The handles of
+	 * the cancelled tasks are completed as cancelled, so
+	 * threads waiting on them are released.
+	 * <p>
+	 * This method provides the necessary thread-safety
+	 * to only allow the very first invocation to pass
+	 * by and perform the shutdown process. Subsequent
+	 * invocations return an empty list.
+	 * @return The <code>List</code> of the cancelled
+	 * <code>IEventTaskHandle</code>.
+	 */
+	public List<IEventTaskHandle> shutdownAndCancel();
+
+	/**
+	 * Check if the service has been shut down and all
+	 * executor threads have terminated.
+	 * @return <code>true</code> if the service has
+	 * terminated. <code>false</code> otherwise.
+	 */
+	public boolean isTerminated();
 	
 	/**
 	 * Submit the given event task for execution.
@@ -130,8 +222,11 @@ public interface IExecutionService {
 	 * submitted.
 	 * @return The <code>IEventTaskHandle</code> of
 	 * the submitted task.
+	 * @throws RejectedExecutionException If the task
+	 * cannot be admitted and the rejection policy
+	 * rejected it.
 	 */
-	public IEventTaskHandle submit(final IEventTask task);
+	public IEventTaskHandle submit(final IEventTask task) throws RejectedExecutionException;
 	
 	/**
 	 * Submit the given cyclic task for repeated task
@@ -156,9 +251,59 @@ public interface IExecutionService {
 	 * submitted.
 	 * @return The <code>IResultTaskHandle</code> of
 	 * the submitted task.
+	 * @throws RejectedExecutionException If the task
+	 * cannot be admitted and the rejection policy
+	 * rejected it.
+	 */
+	public <V> IResultTaskHandle<V> submit(final IResultTask<V> task) throws RejectedExecutionException;
+
+	/**
+	 * Submit the given batch of event tasks for execution.
+	 * <p>
+	 * The batch is distributed across the executors in a
+	 * single pass, and each executor that receives tasks
+	 * is only woken up once for the entire batch.
+	 * @param tasks The <code>Collection</code> of
+	 * <code>IEventTask</code> to be submitted.
+	 * @return The <code>IGroupTaskHandle</code> of the
+	 * submitted batch.
 	 */
-	public <V> IResultTaskHandle<V> submit(final IResultTask<V> task);
+	public IGroupTaskHandle submitAll(final Collection<? extends IEventTask> tasks);
+
+	/**
+	 * Submit the given batch of result tasks for execution.
+	 * <p>
+	 * The batch is distributed across the executors in a
+	 * single pass, and each executor that receives tasks
+	 * is only woken up once for the entire batch.
+	 * @param <V> The result task result return type.
+	 * @param tasks The <code>IResultTask</code> array
+	 * to be submitted.
+	 * @return The <code>IResultGroupHandle</code> of the
+	 * submitted batch.
+	 */
+	public <V> IResultGroupHandle<V> submitAll(final IResultTask<V>[] tasks);
 	
+	/**
+	 * Set the rejection policy used to handle the tasks
+	 * that cannot be admitted.
+	 * @param policy The <code>IRejectionPolicy</code>
+	 * instance.
+	 */
+	public void setRejectionPolicy(final IRejectionPolicy policy);
+
+	/**
+	 * Set the concurrency limit on the number of tasks
+	 * admitted at the same time.
+	 * <p>
+	 * Tasks admitted before the limit is changed release
+	 * their slots to the limit they were admitted with.
+	 * Cyclic tasks and batches are not limited.
+	 * @param limit The <code>IConcurrencyLimit</code>
+	 * instance. <code>null</code> to remove the limit.
+	 */
+	public void setConcurrencyLimit(final IConcurrencyLimit limit);
+
 	/**
 	 * Retrieve the current number of executors in the
 	 * service.
@@ -173,4 +318,75 @@ public interface IExecutionService {
 	 * @return The <code>IExceptionHandler</code>.
 	 */
 	public IExceptionHandler getExceptionHandler();
+
+	/**
+	 * Retrieve the runtime metrics of the execution
+	 * service, including the aggregate values of all
+	 * executors and the values of each currently active
+	 * executor.
+	 * @return The <code>IServiceMetrics</code> instance.
+	 */
+	public IServiceMetrics getMetrics();
+
+	/**
+	 * Capture a diagnostic snapshot of each currently
+	 * active executor.
+	 * <p>
+	 * The snapshots are captured from the state fields
+	 * the executors maintain, without inspecting their
+	 * threads, so this method is cheap enough to be
+	 * invoked while the service is saturated.
+	 * @return The <code>List</code> of
+	 * <code>IExecutorSnapshot</code>.
+	 */
+	public List<IExecutorSnapshot> getExecutorSnapshots();
+
+	/**
+	 * Subscribe the given subscriber to the given types
+	 * of lifecycle events of the executors and tasks of
+	 * this service. If the subscriber is already
+	 * subscribed, its types are replaced.
+	 * <p>
+	 * The events are delivered asynchronously by a
+	 * single dispatcher thread. Event types that no
+	 * subscriber is interested in are not published.
+	 * @param subscriber The <code>IEventSubscriber</code>.
+	 * @param types The <code>ExecutionEventType</code>
+	 * values. No values to subscribe to all the types.
+	 */
+	public void subscribe(final IEventSubscriber subscriber, final ExecutionEventType... types);
+
+	/**
+	 * Unsubscribe the given subscriber from all events
+	 * of this service.
+	 * @param subscriber The <code>IEventSubscriber</code>.
+	 * @return <code>true</code> if the subscriber has
+	 * been unsubscribed. <code>false</code> if it was
+	 * not subscribed.
+	 */
+	public boolean unsubscribe(final IEventSubscriber subscriber);
+
+	/**
+	 * Register the given context carrier with this
+	 * service. The context of the carrier is captured
+	 * by the threads submitting tasks to this service,
+	 * and installed on the threads executing the tasks
+	 * for the duration of the execution.
+	 * <p>
+	 * Without any registered carriers, no context is
+	 * captured or installed. Tasks assigned directly to
+	 * an executor do not carry any context.
+	 * @param carrier The <code>IContextCarrier</code>.
+	 */
+	public void addContextCarrier(final IContextCarrier<?> carrier);
+
+	/**
+	 * Unregister the given context carrier from this
+	 * service. Tasks that have already been submitted
+	 * still install their captured context.
+	 * @param carrier The <code>IContextCarrier</code>.
+	 * @return <code>true</code> if the carrier has been
+	 * removed. <code>false</code> if it was not registered.
+	 */
+	public boolean removeContextCarrier(final IContextCarrier<?> carrier);
 }
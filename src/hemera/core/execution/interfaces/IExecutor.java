@@ -1,5 +1,6 @@
 package hemera.core.execution.interfaces;
 
+import hemera.core.execution.interfaces.metrics.IExecutorMetrics;
 import hemera.core.execution.interfaces.task.ICyclicTask;
 import hemera.core.execution.interfaces.task.IEventTask;
 import hemera.core.execution.interfaces.task.IResultTask;
@@ -28,7 +29,7 @@ import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
  * guaranteed to be executed once and once only.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.0
+ * @version 1.0.1
  */
 public interface IExecutor extends Runnable {
 
@@ -61,6 +62,17 @@ public interface IExecutor extends Runnable {
 	 */
 	public void requestTerminate();
 
+	/**
+	 * Gracefully terminate this executor after all of
+	 * its assigned tasks have been executed.
+	 * <p>
+	 * The executor stops idling and terminates as soon
+	 * as it runs out of pending tasks. Cyclic tasks are
+	 * terminated, since they would otherwise never let
+	 * the executor run out of tasks.
+	 */
+	public void requestDrain();
+
 	/**
 	 * Assign the given event task to this executor.
 	 * <p>
@@ -124,6 +136,12 @@ public interface IExecutor extends Runnable {
 	 * @return The <code>String</code> name.
 	 */
 	public String getName();
+
+	/**
+	 * Retrieve the runtime metrics of this executor.
+	 * @return The <code>IExecutorMetrics</code> instance.
+	 */
+	public IExecutorMetrics getMetrics();
 	
 	/**
 	 * Check if the executor has been started.
@@ -159,4 +177,14 @@ public interface IExecutor extends Runnable {
 	 * <code>false</code> otherwise.
 	 */
 	public boolean hasRequestedTermination();
+
+	/**
+	 * Check if the executor has been requested to
+	 * terminate after executing all of its pending
+	 * tasks.
+	 * @return <code>true</code> if the executor has
+	 * been requested to drain. <code>false</code>
+	 * otherwise.
+	 */
+	public boolean hasRequestedDrain();
 }
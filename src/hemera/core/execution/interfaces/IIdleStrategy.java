@@ -0,0 +1,37 @@
+package hemera.core.execution.interfaces;
+
+/**
+ * <code>IIdleStrategy</code> defines the interface of
+ * a strategy unit that determines how an executor idles
+ * when it has no tasks to execute. An executor repeatedly
+ * performs idling steps, checking for new tasks between
+ * the steps, until either a task is assigned or the
+ * strategy decides that the executor should park.
+ * <p>
+ * Spinning or yielding before parking trades processor
+ * time for wake up latency. A parked executor has to be
+ * explicitly woken up by the next task assignment, while
+ * an executor that is still spinning picks up the task
+ * without any signaling cost.
+ * <p>
+ * <code>IIdleStrategy</code> may be shared by multiple
+ * executors. Implementations should be stateless or
+ * provide the necessary thread safety guarantees.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IIdleStrategy {
+
+	/**
+	 * Perform a single idling step without blocking.
+	 * @param iteration The <code>int</code> number of
+	 * idling steps that have already been performed in
+	 * the current idle period.
+	 * @return <code>true</code> if the step has been
+	 * performed and the executor should check for new
+	 * tasks again. <code>false</code> if the executor
+	 * should park until it is woken up.
+	 */
+	public boolean idle(final int iteration);
+}
@@ -0,0 +1,72 @@
+package hemera.core.execution.interfaces.admission;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>IConcurrencyLimit</code> defines the interface
+ * of a limit on the number of tasks an execution service
+ * admits at the same time, which are either waiting for
+ * execution or being executed.
+ * <p>
+ * Adaptive implementations adjust the limit based on the
+ * latency and the outcome of the completed tasks, so the
+ * service sheds load with its rejection policy before
+ * its queues saturate and the latency grows unbounded.
+ * <p>
+ * A slot is acquired when a task is admitted, and it is
+ * released exactly once when the task reaches a final
+ * state. Implementations must be thread-safe, and should
+ * not block, since they are invoked by the submitting
+ * threads and the executor threads.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IConcurrencyLimit {
+
+	/**
+	 * Try to acquire a slot for a new task.
+	 * @return <code>true</code> if the slot has been
+	 * acquired. <code>false</code> if the limit has
+	 * been reached.
+	 */
+	public boolean tryAcquire();
+
+	/**
+	 * Release the slot of a task that has been executed,
+	 * and sample its latency.
+	 * @param latency The <code>long</code> time from the
+	 * task submission until its execution completed.
+	 * @param unit The <code>TimeUnit</code> the latency
+	 * is in.
+	 */
+	public void release(final long latency, final TimeUnit unit);
+
+	/**
+	 * Release the slot of a task that has been dropped
+	 * due to overload without being executed, such as
+	 * an expired task. This is a congestion signal.
+	 */
+	public void releaseDropped();
+
+	/**
+	 * Release the slot of a task that did not provide
+	 * any information about the load, such as a task
+	 * that has been cancelled.
+	 */
+	public void releaseIgnored();
+
+	/**
+	 * Retrieve the current limit.
+	 * @return The <code>int</code> maximum number of
+	 * tasks admitted at the same time.
+	 */
+	public int getLimit();
+
+	/**
+	 * Retrieve the number of acquired slots.
+	 * @return The <code>int</code> number of tasks
+	 * currently admitted.
+	 */
+	public int getInFlight();
+}
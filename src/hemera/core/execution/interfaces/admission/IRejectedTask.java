@@ -0,0 +1,76 @@
+package hemera.core.execution.interfaces.admission;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+
+/**
+ * <code>IRejectedTask</code> defines the interface of
+ * a submitted task that the execution service could
+ * not admit. It provides the operations a rejection
+ * policy can perform on the service to handle the
+ * task.
+ * <p>
+ * Instances are only valid within the invocation of
+ * the rejection policy, and should only be accessed
+ * by the submitting thread.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IRejectedTask {
+
+	/**
+	 * Try to admit the task again without blocking.
+	 * @return <code>true</code> if the task has been
+	 * admitted. <code>false</code> if the service is
+	 * still saturated.
+	 */
+	public boolean retry();
+
+	/**
+	 * Wait until the service may have capacity for the
+	 * task, or the given time elapses. This method may
+	 * return before capacity is available, callers
+	 * should retry the admission afterwards.
+	 * <p>
+	 * If given time value is less than 0 or given time
+	 * unit is <code>null</code>, then the waiting is
+	 * only bound by the service.
+	 * @param value The <code>long</code> time value.
+	 * @param unit The <code>TimeUnit</code> the value
+	 * is in.
+	 * @throws InterruptedException If the waiting is
+	 * interrupted.
+	 */
+	public void await(final long value, final TimeUnit unit) throws InterruptedException;
+
+	/**
+	 * Remove the oldest pending task from the service,
+	 * that has not yet started executing, and cancel it.
+	 * @return <code>true</code> if a task has been
+	 * removed. <code>false</code> if there are no
+	 * pending tasks that can be removed.
+	 */
+	public boolean evictOldest();
+
+	/**
+	 * Execute the task within the invoking thread.
+	 * Exceptions thrown by the task are handled by the
+	 * exception handler of the service.
+	 */
+	public void runInCaller();
+
+	/**
+	 * Drop the task without executing it. The task is
+	 * cancelled.
+	 */
+	public void drop();
+
+	/**
+	 * Retrieve the handle of the rejected task.
+	 * @return The <code>IEventTaskHandle</code> of the
+	 * task.
+	 */
+	public IEventTaskHandle getHandle();
+}
@@ -0,0 +1,33 @@
+package hemera.core.execution.interfaces.admission;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <code>IRejectionPolicy</code> defines the interface
+ * of the strategy an execution service uses to handle
+ * a submitted task it cannot admit, either because all
+ * of its executors and buffers are full, or because
+ * its concurrency limit has been reached.
+ * <p>
+ * The policy is invoked within the submitting thread.
+ * When it returns, the task has either been admitted,
+ * executed or dropped. A dropped task is cancelled.
+ * <p>
+ * The policy only applies to event and result tasks
+ * submitted individually. Cyclic tasks and batches
+ * always wait for capacity.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IRejectionPolicy {
+
+	/**
+	 * Handle the given task that cannot be admitted.
+	 * @param task The <code>IRejectedTask</code> that
+	 * could not be admitted.
+	 * @throws RejectedExecutionException If the task
+	 * is rejected and should not be executed.
+	 */
+	public void reject(final IRejectedTask task) throws RejectedExecutionException;
+}
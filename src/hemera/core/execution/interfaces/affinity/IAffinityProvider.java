@@ -0,0 +1,49 @@
+package hemera.core.execution.interfaces.affinity;
+
+/**
+ * <code>IAffinityProvider</code> defines the interface
+ * of a unit that describes the processor topology of
+ * the host, and binds threads to processors.
+ * <p>
+ * The processors are grouped into NUMA nodes, where
+ * the processors of the same node share the memory
+ * controller and usually the last level cache. An
+ * execution service uses the topology to place its
+ * executors across the nodes, and to prefer moving
+ * tasks between executors of the same node.
+ * <p>
+ * Implementations must be thread-safe, since threads
+ * are bound by the executor threads themselves.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IAffinityProvider {
+
+	/**
+	 * Bind the invoking thread to the given processor.
+	 * @param cpu The <code>int</code> identifier of
+	 * the processor, as returned by <code>getCpus</code>.
+	 * @return <code>true</code> if the thread has been
+	 * bound. <code>false</code> if binding is not
+	 * supported or failed, in which case the thread
+	 * remains free to run on any processor.
+	 */
+	public boolean pin(final int cpu);
+
+	/**
+	 * Retrieve the number of NUMA nodes.
+	 * @return The <code>int</code> number of nodes,
+	 * which is at least 1.
+	 */
+	public int getNodeCount();
+
+	/**
+	 * Retrieve the processors of the given node.
+	 * @param node The <code>int</code> index of the
+	 * node, from 0 to the node count exclusive.
+	 * @return The <code>int</code> array of processor
+	 * identifiers, which has at least one element.
+	 */
+	public int[] getCpus(final int node);
+}
@@ -66,14 +66,14 @@ import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
  * Assist executors in a group follows the execution
  * pattern:
  * 1. Execute local task buffer until empty.
- * 2. Reach group to assist other executors until
- * all executor buffers are empty.
+ * 2. Reach group to assist other executors as
+ * determined by the group steal strategy.
  * 3. Block until a new task is assigned to the local
  * buffer or eager-idling time expires.
  * 4. Go to step 1.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.0
+ * @version 1.0.1
  */
 public interface IAssistExecutor extends IExecutor {
 	
@@ -87,6 +87,21 @@ public interface IAssistExecutor extends IExecutor {
 	 */
 	public boolean assist();
 	
+	/**
+	 * Assist this executor by executing up to the given
+	 * number of tasks from its internal task buffer
+	 * within the invoking thread.
+	 * <p>
+	 * This allows a thief to take a batch of tasks from
+	 * a single victim before selecting another victim.
+	 * @param limit The <code>int</code> maximum number
+	 * of tasks to execute.
+	 * @return The <code>int</code> number of tasks that
+	 * have been executed. <code>0</code> if this executor
+	 * has no more tasks in its internal buffer.
+	 */
+	public int assist(final int limit);
+	
 	/**
 	 * Assign the given event task to this executor.
 	 * <p>
@@ -155,4 +170,12 @@ public interface IAssistExecutor extends IExecutor {
 	 * state to be executed.
 	 */
 	public int getQueueLength();
+	
+	/**
+	 * Retrieve the NUMA node this executor is placed on.
+	 * @return The <code>int</code> index of the node.
+	 * <code>0</code> if the executor is not placed with
+	 * an affinity provider.
+	 */
+	public int getNode();
 }
@@ -44,8 +44,9 @@ public interface IAssistedService extends IExecutionService {
 
 	/**
 	 * Try to assist other executors with their left
-	 * over tasks. This method returns only when all
-	 * executors task buffers are empty.
+	 * over tasks. The victims and the amount of tasks
+	 * taken from each victim are determined by the
+	 * steal strategy the service is constructed with.
 	 * @return <code>true</code> if one or more tasks
 	 * have been executed. <code>false</code> if all
 	 * other executors local buffers are empty at the
@@ -53,6 +54,23 @@ public interface IAssistedService extends IExecutionService {
 	 */
 	public boolean assist();
 	
+	/**
+	 * Try to assist other executors with their left
+	 * over tasks on behalf of the given executor.
+	 * <p>
+	 * High priority tasks are taken from all other
+	 * executors first. The victims and the amount of
+	 * the remaining tasks taken from each victim are
+	 * determined by the steal strategy the service is
+	 * constructed with.
+	 * @param thief The <code>IAssistExecutor</code>
+	 * that is performing the assist.
+	 * @return <code>true</code> if one or more tasks
+	 * have been executed. <code>false</code> if no
+	 * tasks were stolen.
+	 */
+	public boolean assist(final IAssistExecutor thief);
+	
 	/**
 	 * Submit the given event task for execution.
 	 * <p>
@@ -69,9 +87,10 @@ public interface IAssistedService extends IExecutionService {
 	 * task buffers are full, the task is assigned and
 	 * the invocation returns immediately.
 	 * 2. If the service capacity has been reached,
-	 * this invocation blocks until an assigned task
-	 * completes, at which time the given new task is
-	 * assigned and this invocation returns.
+	 * the task is handed to the rejection policy of
+	 * the service, which by default blocks until an
+	 * assigned task completes, at which time the given
+	 * new task is assigned and this invocation returns.
 	 * @param task The <code>IEventTask</code> to be
 	 * submitted.
 	 * @return The <code>IEventTaskHandle</code> of
@@ -122,9 +141,10 @@ public interface IAssistedService extends IExecutionService {
 	 * task buffers are full, the task is assigned and
 	 * the invocation returns immediately.
 	 * 2. If the service capacity has been reached,
-	 * this invocation blocks until an assigned task
-	 * completes, at which time the given new task is
-	 * assigned and this invocation returns.
+	 * the task is handed to the rejection policy of
+	 * the service, which by default blocks until an
+	 * assigned task completes, at which time the given
+	 * new task is assigned and this invocation returns.
 	 * @param <V> The result task result return type.
 	 * @param task The <code>IResultTask</code> to be
 	 * submitted.
@@ -0,0 +1,34 @@
+package hemera.core.execution.interfaces.assisted;
+
+/**
+ * <code>IStealStrategy</code> defines the interface of
+ * a work-stealing strategy used by an assisted service
+ * to determine how an idle executor assists the other
+ * executors in the group. It determines the order in
+ * which victims are selected, how many tasks are taken
+ * from each victim and when the assisting gives up.
+ * <p>
+ * <code>IStealStrategy</code> is shared by all the
+ * executors in the service, therefore implementations
+ * are required to provide the necessary thread safety
+ * guarantees.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IStealStrategy {
+
+	/**
+	 * Assist the given group of executors by executing
+	 * their buffered tasks within the invoking thread.
+	 * @param executors The array of all the
+	 * <code>IAssistExecutor</code> in the group.
+	 * @param thief The <code>IAssistExecutor</code>
+	 * that is performing the assist. <code>null</code>
+	 * if the invoking thread is not an executor of the
+	 * group.
+	 * @return <code>true</code> if one or more tasks
+	 * have been executed. <code>false</code> otherwise.
+	 */
+	public boolean assist(final IAssistExecutor[] executors, final IAssistExecutor thief);
+}
@@ -0,0 +1,57 @@
+package hemera.core.execution.interfaces.context;
+
+/**
+ * <code>IContextCarrier</code> defines the interface
+ * of a unit that carries a piece of thread-bound
+ * context, such as a request identifier or a logging
+ * diagnostic context, from the thread that submits a
+ * task to the thread that executes it.
+ * <p>
+ * The context is captured on the submitting thread
+ * when the task is submitted, installed on the
+ * executing thread right before the task executes,
+ * and the previous context of the executing thread is
+ * restored right after the task completes.
+ * <p>
+ * Captured context values are shared between all the
+ * tasks submitted with the same value, therefore they
+ * should be immutable. Returning the same instance for
+ * an unchanged context allows the service to reuse the
+ * captured snapshot instead of creating a new one.
+ *
+ * @param <C> The context type.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IContextCarrier<C> {
+
+	/**
+	 * Capture the context of the current thread.
+	 * @return The <code>C</code> context.
+	 * <code>null</code> if the current thread does
+	 * not have a context.
+	 */
+	public C capture();
+
+	/**
+	 * Install the given context onto the current
+	 * thread.
+	 * @param context The <code>C</code> context that
+	 * was captured. Never <code>null</code>.
+	 * @return The <code>C</code> context the current
+	 * thread had before. <code>null</code> if it did
+	 * not have a context.
+	 */
+	public C install(final C context);
+
+	/**
+	 * Restore the given context of the current thread
+	 * after a task has executed.
+	 * @param previous The <code>C</code> context that
+	 * was returned by <code>install</code>. <code>null</code>
+	 * if the context of the current thread should be
+	 * cleared.
+	 */
+	public void restore(final C previous);
+}
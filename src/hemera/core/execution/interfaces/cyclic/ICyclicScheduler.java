@@ -0,0 +1,77 @@
+package hemera.core.execution.interfaces.cyclic;
+
+import hemera.core.execution.interfaces.task.ICyclicTask;
+import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
+
+/**
+ * <code>ICyclicScheduler</code> defines the interface
+ * of a scheduler that multiplexes the cycles of many
+ * cyclic tasks onto a small fixed number of threads.
+ * <p>
+ * Unlike the execution services, which dedicate an
+ * executor thread to a cyclic task for the entire
+ * life time of the task, a scheduler only occupies a
+ * thread while a cycle is being executed. In between
+ * cycles, the task does not consume any thread. This
+ * allows a large number of periodic tasks, such as
+ * heartbeats and polling tasks, to be executed with a
+ * small number of threads.
+ * <p>
+ * The cycles of a single cyclic task never overlap,
+ * though consecutive cycles may be executed by
+ * different threads. The cycle limit, cycle count,
+ * termination signal and cleanup semantics defined
+ * by <code>ICyclicTask</code> are all honored.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface ICyclicScheduler {
+
+	/**
+	 * Activate the scheduler to start scheduling the
+	 * submitted cyclic tasks.
+	 * <p>
+	 * This method guarantees its thread safety by
+	 * ignoring all invocations after the first one.
+	 */
+	public void activate();
+
+	/**
+	 * Shutdown the scheduler by terminating all the
+	 * scheduled cyclic tasks. The threads are stopped
+	 * once all the tasks have been cleaned up.
+	 * <p>
+	 * This method does not wait for the termination
+	 * to complete.
+	 */
+	public void shutdown();
+
+	/**
+	 * Shutdown the scheduler and wait for all the
+	 * scheduled cyclic tasks to be cleaned up and all
+	 * the threads to be stopped.
+	 * @throws InterruptedException If waiting process
+	 * is interrupted.
+	 */
+	public void shutdownAndWait() throws InterruptedException;
+
+	/**
+	 * Submit the given cyclic task to be scheduled. The
+	 * first cycle of the task is executed immediately.
+	 * @param task The <code>ICyclicTask</code> to be
+	 * scheduled.
+	 * @return The <code>ICyclicTaskHandle</code> of the
+	 * task.
+	 * @throws IllegalStateException If the scheduler
+	 * has not been activated or has been shut down.
+	 */
+	public ICyclicTaskHandle submit(final ICyclicTask task);
+
+	/**
+	 * Retrieve the number of cyclic tasks that are
+	 * currently scheduled.
+	 * @return The <code>int</code> number of tasks.
+	 */
+	public int getTaskCount();
+}
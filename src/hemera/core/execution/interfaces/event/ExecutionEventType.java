@@ -0,0 +1,108 @@
+package hemera.core.execution.interfaces.event;
+
+/**
+ * <code>ExecutionEventType</code> defines the enumeration
+ * of the lifecycle events of the executors and tasks of
+ * an execution service.
+ * <p>
+ * Each type is represented by a single bit, so a set
+ * of types can be tested with a single mask operation.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public enum ExecutionEventType {
+	/**
+	 * The executor thread has started.
+	 */
+	EXECUTOR_STARTED,
+	/**
+	 * The executor thread has no tasks to execute and
+	 * is about to park.
+	 */
+	EXECUTOR_IDLE,
+	/**
+	 * The parked executor thread has woken up.
+	 */
+	EXECUTOR_WOKE,
+	/**
+	 * The executor thread has exited.
+	 */
+	EXECUTOR_RETIRED,
+	/**
+	 * An on-demand executor has been created to handle
+	 * an increased load.
+	 */
+	EXECUTOR_CREATED,
+	/**
+	 * The service has reached its maximum capacity.
+	 */
+	CAPACITY_REACHED,
+	/**
+	 * A task has been admitted by the service.
+	 */
+	TASK_SUBMITTED,
+	/**
+	 * A task has started executing.
+	 */
+	TASK_STARTED,
+	/**
+	 * A task has completed successfully.
+	 */
+	TASK_COMPLETED,
+	/**
+	 * A task has been cancelled before or while being
+	 * executed.
+	 */
+	TASK_CANCELLED,
+	/**
+	 * A task has been dropped since its deadline passed
+	 * before it was executed.
+	 */
+	TASK_EXPIRED,
+	/**
+	 * A task has failed with an exception.
+	 */
+	TASK_FAILED,
+	/**
+	 * A cycle of a cyclic task took longer than the
+	 * cycle limit of the task.
+	 */
+	CYCLE_OVERRUN;
+
+	/**
+	 * The <code>int</code> bit of the type.
+	 */
+	private final int mask;
+
+	/**
+	 * Constructor of <code>ExecutionEventType</code>.
+	 */
+	private ExecutionEventType() {
+		this.mask = 1 << this.ordinal();
+	}
+
+	/**
+	 * Retrieve the bit mask of the given types.
+	 * @param types The <code>ExecutionEventType</code>
+	 * values. No values for all the types.
+	 * @return The <code>int</code> mask.
+	 */
+	public static int maskOf(final ExecutionEventType... types) {
+		if (types == null || types.length == 0) return (1 << ExecutionEventType.values().length) - 1;
+		int mask = 0;
+		for (final ExecutionEventType type : types) {
+			if (type == null) throw new IllegalArgumentException("Event type cannot be null.");
+			mask |= type.mask;
+		}
+		return mask;
+	}
+
+	/**
+	 * Retrieve the bit of this type.
+	 * @return The <code>int</code> mask.
+	 */
+	public int getMask() {
+		return this.mask;
+	}
+}
@@ -0,0 +1,26 @@
+package hemera.core.execution.interfaces.event;
+
+/**
+ * <code>IEventSubscriber</code> defines the interface
+ * of a unit that receives the lifecycle events of an
+ * execution service it has subscribed to.
+ * <p>
+ * Events are delivered by a single dispatcher thread
+ * of the service in the order they were published,
+ * never by the executor or submitting threads. The
+ * subscriber should return quickly, since it delays
+ * the delivery of the subsequent events. If the events
+ * are published faster than they are delivered, the
+ * excess events are discarded.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IEventSubscriber {
+
+	/**
+	 * Notify the subscriber of the given event.
+	 * @param event The <code>IExecutionEvent</code>.
+	 */
+	public void onEvent(final IExecutionEvent event);
+}
@@ -0,0 +1,80 @@
+package hemera.core.execution.interfaces.event;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+
+/**
+ * <code>IExecutionEvent</code> defines the interface
+ * of a single lifecycle event of an executor or a task
+ * of an execution service.
+ * <p>
+ * Events are immutable, and are delivered after they
+ * occurred. The handle of a task can be used to match
+ * the events of the same task, such as its submission
+ * and its completion.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IExecutionEvent {
+
+	/**
+	 * Retrieve the type of the event.
+	 * @return The <code>ExecutionEventType</code>.
+	 */
+	public ExecutionEventType getType();
+
+	/**
+	 * Retrieve the time the event occurred at, as
+	 * measured by <code>System.nanoTime</code>.
+	 * @return The <code>long</code> time in nanoseconds.
+	 */
+	public long getTimestamp();
+
+	/**
+	 * Retrieve the name of the executor the event
+	 * occurred on.
+	 * @return The <code>String</code> name.
+	 * <code>null</code> if the event did not occur
+	 * on an executor, such as a task submission.
+	 */
+	public String getExecutorName();
+
+	/**
+	 * Retrieve the handle of the task the event is
+	 * about.
+	 * @return The <code>IEventTaskHandle</code>.
+	 * <code>null</code> if the event is not about
+	 * a task.
+	 */
+	public IEventTaskHandle getHandle();
+
+	/**
+	 * Retrieve the task the event is about.
+	 * @return The task <code>Object</code>.
+	 * <code>null</code> if the event is not about
+	 * a task.
+	 */
+	public Object getTask();
+
+	/**
+	 * Retrieve the duration associated with the event.
+	 * This is the execution time for completed and
+	 * failed tasks, and the cycle execution time for
+	 * cycle overruns.
+	 * @param unit The <code>TimeUnit</code> the return
+	 * value is in.
+	 * @return The <code>long</code> duration.
+	 * <code>0</code> if the event has no duration.
+	 */
+	public long getDuration(final TimeUnit unit);
+
+	/**
+	 * Retrieve the exception a task failed with.
+	 * @return The <code>Exception</code>.
+	 * <code>null</code> if the event is not a
+	 * task failure.
+	 */
+	public Exception getCause();
+}
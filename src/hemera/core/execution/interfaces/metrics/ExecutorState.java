@@ -0,0 +1,35 @@
+package hemera.core.execution.interfaces.metrics;
+
+/**
+ * <code>ExecutorState</code> defines the enumeration
+ * of the states of an executor thread, as captured by
+ * a diagnostic snapshot.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public enum ExecutorState {
+	/**
+	 * The executor thread has not been started.
+	 */
+	NEW,
+	/**
+	 * The executor thread is executing a task that
+	 * was assigned to the executor.
+	 */
+	EXECUTING,
+	/**
+	 * The executor thread is running its cycle without
+	 * executing an own task, such as assisting other
+	 * executors or performing idling steps.
+	 */
+	ACTIVE,
+	/**
+	 * The executor thread is parked waiting for tasks.
+	 */
+	PARKED,
+	/**
+	 * The executor thread has terminated.
+	 */
+	TERMINATED
+}
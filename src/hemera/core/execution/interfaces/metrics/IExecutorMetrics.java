@@ -0,0 +1,85 @@
+package hemera.core.execution.interfaces.metrics;
+
+/**
+ * <code>IExecutorMetrics</code> defines the interface
+ * of the runtime metrics of a single executor.
+ * <p>
+ * Tasks are attributed to the executor they were
+ * assigned to, even if they were executed by another
+ * executor through work-stealing.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.1
+ */
+public interface IExecutorMetrics {
+
+	/**
+	 * Retrieve the name of the executor.
+	 * @return The <code>String</code> name.
+	 */
+	public String getName();
+
+	/**
+	 * Retrieve the number of tasks that completed
+	 * successfully.
+	 * @return The <code>long</code> count.
+	 */
+	public long getCompletedCount();
+
+	/**
+	 * Retrieve the number of tasks whose execution
+	 * failed with an exception.
+	 * @return The <code>long</code> count.
+	 */
+	public long getFailedCount();
+
+	/**
+	 * Retrieve the number of tasks that were cancelled
+	 * before their execution started.
+	 * @return The <code>long</code> count.
+	 */
+	public long getCancelledCount();
+
+	/**
+	 * Retrieve the number of tasks that were dropped
+	 * without being executed, because their deadlines
+	 * had passed.
+	 * @return The <code>long</code> count.
+	 */
+	public long getExpiredCount();
+
+	/**
+	 * Retrieve the number of tasks that were stolen
+	 * by other executors.
+	 * @return The <code>long</code> count.
+	 */
+	public long getStolenCount();
+
+	/**
+	 * Retrieve the number of times the executor went
+	 * idle because there were no tasks to execute.
+	 * @return The <code>long</code> count.
+	 */
+	public long getIdleCount();
+
+	/**
+	 * Retrieve the number of times the executor thread
+	 * was parked while idling.
+	 * @return The <code>long</code> count.
+	 */
+	public long getParkCount();
+
+	/**
+	 * Retrieve the histogram of the time tasks waited
+	 * between submission and the start of execution.
+	 * @return The <code>IHistogram</code> instance.
+	 */
+	public IHistogram getQueueWait();
+
+	/**
+	 * Retrieve the histogram of the task execution
+	 * times. Cyclic tasks are not recorded.
+	 * @return The <code>IHistogram</code> instance.
+	 */
+	public IHistogram getExecutionTime();
+}
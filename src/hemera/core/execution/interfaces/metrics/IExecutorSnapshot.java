@@ -0,0 +1,66 @@
+package hemera.core.execution.interfaces.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>IExecutorSnapshot</code> defines the interface
+ * of a diagnostic snapshot of a single executor.
+ * <p>
+ * A snapshot is captured from the fields the executor
+ * maintains during its execution cycle, without pausing
+ * or inspecting the executor thread. It is cheap enough
+ * to be captured while the service is saturated, at the
+ * cost of the values of different fields possibly being
+ * captured at slightly different times.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IExecutorSnapshot {
+
+	/**
+	 * Retrieve the name of the executor.
+	 * @return The <code>String</code> name.
+	 */
+	public String getName();
+
+	/**
+	 * Retrieve the state of the executor thread.
+	 * @return The <code>ExecutorState</code>.
+	 */
+	public ExecutorState getState();
+
+	/**
+	 * Retrieve the class name of the task being executed.
+	 * @return The <code>String</code> class name.
+	 * <code>null</code> if the executor is not executing
+	 * a task.
+	 */
+	public String getTaskClass();
+
+	/**
+	 * Retrieve the time the current task has been
+	 * executing for.
+	 * @param unit The <code>TimeUnit</code> the return
+	 * value is in.
+	 * @return The <code>long</code> time in the given
+	 * unit. <code>0</code> if the executor is not
+	 * executing a task.
+	 */
+	public long getTimeInTask(final TimeUnit unit);
+
+	/**
+	 * Retrieve the number of tasks waiting in the buffer
+	 * of the executor.
+	 * @return The <code>int</code> number of tasks.
+	 */
+	public int getQueueLength();
+
+	/**
+	 * Check if the task being executed is a cyclic task.
+	 * @return <code>true</code> if the executor is
+	 * executing a cyclic task. <code>false</code>
+	 * otherwise.
+	 */
+	public boolean isCyclic();
+}
@@ -0,0 +1,45 @@
+package hemera.core.execution.interfaces.metrics;
+
+/**
+ * <code>IHistogram</code> defines the interface of a
+ * histogram of recorded durations in nanoseconds.
+ * <p>
+ * The recorded values are grouped into buckets of
+ * powers of two, so percentiles are reported as the
+ * upper bound of the bucket the percentile falls in,
+ * which is at most twice the actual value.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IHistogram {
+
+	/**
+	 * Retrieve the number of recorded values.
+	 * @return The <code>long</code> count.
+	 */
+	public long getCount();
+
+	/**
+	 * Retrieve the sum of all the recorded values.
+	 * @return The <code>long</code> sum in nanoseconds.
+	 */
+	public long getSum();
+
+	/**
+	 * Retrieve the maximum recorded value.
+	 * @return The <code>long</code> maximum value in
+	 * nanoseconds.
+	 */
+	public long getMax();
+
+	/**
+	 * Retrieve the value at the given percentile.
+	 * @param percentile The <code>double</code> percentile
+	 * between 0 and 100.
+	 * @return The <code>long</code> upper bound of the
+	 * value at the given percentile in nanoseconds.
+	 * 0 if there are no recorded values.
+	 */
+	public long getPercentile(final double percentile);
+}
@@ -0,0 +1,117 @@
+package hemera.core.execution.interfaces.metrics;
+
+import java.util.List;
+
+/**
+ * <code>IServiceMetrics</code> defines the interface
+ * of the runtime metrics of an execution service.
+ * <p>
+ * The aggregate values cover the entire life time of
+ * the service, including the executors that have been
+ * retired, while the per-executor metrics are only
+ * available for the executors that are currently
+ * active.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.2
+ */
+public interface IServiceMetrics {
+
+	/**
+	 * Retrieve the number of tasks submitted.
+	 * @return The <code>long</code> count.
+	 */
+	public long getSubmittedCount();
+
+	/**
+	 * Retrieve the number of tasks that completed
+	 * successfully.
+	 * @return The <code>long</code> count.
+	 */
+	public long getCompletedCount();
+
+	/**
+	 * Retrieve the number of tasks whose execution
+	 * failed with an exception.
+	 * @return The <code>long</code> count.
+	 */
+	public long getFailedCount();
+
+	/**
+	 * Retrieve the number of tasks that were cancelled
+	 * before their execution started.
+	 * @return The <code>long</code> count.
+	 */
+	public long getCancelledCount();
+
+	/**
+	 * Retrieve the number of tasks that were dropped
+	 * without being executed, because their deadlines
+	 * had passed.
+	 * @return The <code>long</code> count.
+	 */
+	public long getExpiredCount();
+
+	/**
+	 * Retrieve the number of tasks that were rejected
+	 * or evicted at submission by the rejection policy,
+	 * because the service was saturated.
+	 * @return The <code>long</code> count.
+	 */
+	public long getRejectedCount();
+
+	/**
+	 * Retrieve the number of tasks that were executed
+	 * through work-stealing.
+	 * @return The <code>long</code> count.
+	 */
+	public long getStolenCount();
+
+	/**
+	 * Retrieve the number of times executors went idle.
+	 * @return The <code>long</code> count.
+	 */
+	public long getIdleCount();
+
+	/**
+	 * Retrieve the number of times executor threads
+	 * were parked.
+	 * @return The <code>long</code> count.
+	 */
+	public long getParkCount();
+
+	/**
+	 * Retrieve the number of executors created.
+	 * @return The <code>long</code> count.
+	 */
+	public long getExecutorCreatedCount();
+
+	/**
+	 * Retrieve the number of executors retired.
+	 * @return The <code>long</code> count.
+	 */
+	public long getExecutorRetiredCount();
+
+	/**
+	 * Retrieve the aggregate histogram of the time
+	 * tasks waited between submission and the start
+	 * of execution.
+	 * @return The <code>IHistogram</code> instance.
+	 */
+	public IHistogram getQueueWait();
+
+	/**
+	 * Retrieve the aggregate histogram of the task
+	 * execution times. Cyclic tasks are not recorded.
+	 * @return The <code>IHistogram</code> instance.
+	 */
+	public IHistogram getExecutionTime();
+
+	/**
+	 * Retrieve the metrics of the currently active
+	 * executors.
+	 * @return The <code>List</code> of
+	 * <code>IExecutorMetrics</code>.
+	 */
+	public List<IExecutorMetrics> getExecutorMetrics();
+}
@@ -43,10 +43,12 @@ import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
  * completes the execution of the currently assigned
  * task. Since the pool has a defined upper bound for
  * the number of executors, the service will block new
- * task submissions once the upper limit is reached.
+ * task submissions once the upper limit is reached,
+ * unless the tasks can be buffered in the optional
+ * bounded overflow queue.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.0
+ * @version 1.0.2
  */
 public interface IScalableService extends IExecutionService {
 	
@@ -77,10 +79,10 @@ public interface IScalableService extends IExecutionService {
 	/**
 	 * Submit the given event task for execution.
 	 * <p>
-	 * This method uses a basic round-robin assignment
-	 * strategy to provide load-balancing.
+	 * Tasks are handed off directly to idle executors
+	 * without any locking.
 	 * <p>
-	 * Invocations of this method has three possible
+	 * Invocations of this method has four possible
 	 * outcomes:
 	 * 1. If there is an available executor to handle
 	 * the task, the task is assigned to the executor
@@ -91,10 +93,13 @@ public interface IScalableService extends IExecutionService {
 	 * task is assigned to the executor. Then the
 	 * invocation returns without blocking.
 	 * 3. If there are no executors available and the
-	 * maximum executor count has been reached, this
-	 * invocation blocks until an executor becomes
-	 * available to accept the task, at which time,
-	 * the invocation returns.
+	 * maximum executor count has been reached, the task
+	 * is buffered in the overflow queue if there is
+	 * room, and the invocation returns without blocking.
+	 * 4. Otherwise the task is handed to the rejection
+	 * policy of the service, which by default blocks
+	 * until an executor becomes available to accept the
+	 * task, at which time, the invocation returns.
 	 * @param task The <code>IEventTask</code> to be
 	 * submitted.
 	 * @return The <code>IEventTaskHandle</code> of
@@ -106,10 +111,10 @@ public interface IScalableService extends IExecutionService {
 	 * Submit the given cyclic task for repeated task
 	 * execution.
 	 * <p>
-	 * This method uses a basic round-robin assignment
-	 * strategy to provide load-balancing.
+	 * Tasks are handed off directly to idle executors
+	 * without any locking.
 	 * <p>
-	 * Invocations of this method has three possible
+	 * Invocations of this method has four possible
 	 * outcomes:
 	 * 1. If there is an available executor to handle
 	 * the task, the task is assigned to the executor
@@ -120,10 +125,12 @@ public interface IScalableService extends IExecutionService {
 	 * task is assigned to the executor. Then the
 	 * invocation returns without blocking.
 	 * 3. If there are no executors available and the
-	 * maximum executor count has been reached, this
-	 * invocation blocks until an executor becomes
-	 * available to accept the task, at which time,
-	 * the invocation returns.
+	 * maximum executor count has been reached, the task
+	 * is buffered in the overflow queue if there is
+	 * room, and the invocation returns without blocking.
+	 * 4. Otherwise this invocation blocks until an
+	 * executor becomes available to accept the task,
+	 * at which time, the invocation returns.
 	 * @param task The <code>ICyclicTask</code> to be
 	 * submitted.
 	 * @return The <code>ICyclicTaskHandle</code> of
@@ -134,10 +141,10 @@ public interface IScalableService extends IExecutionService {
 	/**
 	 * Submit the given result task for execution.
 	 * <p>
-	 * This method uses a basic round-robin assignment
-	 * strategy to provide load-balancing.
+	 * Tasks are handed off directly to idle executors
+	 * without any locking.
 	 * <p>
-	 * Invocations of this method has three possible
+	 * Invocations of this method has four possible
 	 * outcomes:
 	 * 1. If there is an available executor to handle
 	 * the task, the task is assigned to the executor
@@ -148,10 +155,13 @@ public interface IScalableService extends IExecutionService {
 	 * task is assigned to the executor. Then the
 	 * invocation returns without blocking.
 	 * 3. If there are no executors available and the
-	 * maximum executor count has been reached, this
-	 * invocation blocks until an executor becomes
-	 * available to accept the task, at which time,
-	 * the invocation returns.
+	 * maximum executor count has been reached, the task
+	 * is buffered in the overflow queue if there is
+	 * room, and the invocation returns without blocking.
+	 * 4. Otherwise the task is handed to the rejection
+	 * policy of the service, which by default blocks
+	 * until an executor becomes available to accept the
+	 * task, at which time, the invocation returns.
 	 * @param <V> The result task result return type.
 	 * @param task The <code>IResultTask</code> to be
 	 * submitted.
@@ -167,4 +177,54 @@ public interface IScalableService extends IExecutionService {
 	 * executors.
 	 */
 	public int getAvailableCount();
+
+	/**
+	 * Set the minimum number of executors the service
+	 * can shrink down to.
+	 * <p>
+	 * If the current number of executors is below the
+	 * new minimum, executors are started immediately.
+	 * Executors created at activation are never retired,
+	 * even if the minimum is lowered below their count.
+	 * @param min The <code>int</code> minimum count.
+	 * @throws IllegalArgumentException If the minimum
+	 * is negative or greater than the maximum count.
+	 */
+	public void setMinCount(final int min);
+
+	/**
+	 * Set the maximum number of executors the service
+	 * can grow up to.
+	 * <p>
+	 * If the current number of executors is above the
+	 * new maximum, the surplus on-demand executors are
+	 * retired once they idle for the on-demand timeout.
+	 * @param max The <code>int</code> maximum count.
+	 * @throws IllegalArgumentException If the maximum
+	 * is less than the minimum count or not positive.
+	 */
+	public void setMaxCount(final int max);
+
+	/**
+	 * Retrieve the minimum number of executors.
+	 * @return The <code>int</code> minimum count.
+	 */
+	public int getMinCount();
+
+	/**
+	 * Retrieve the maximum number of executors.
+	 * @return The <code>int</code> maximum count.
+	 */
+	public int getMaxCount();
+
+	/**
+	 * Retrieve the number of executors the service
+	 * currently keeps alive, which is the target count
+	 * of the sizing controller bounded by the minimum
+	 * and maximum counts, or the minimum count if there
+	 * is no sizing controller.
+	 * @return The <code>int</code> effective minimum
+	 * count.
+	 */
+	public int getTargetCount();
 }
@@ -0,0 +1,46 @@
+package hemera.core.execution.interfaces.scalable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>ISizingController</code> defines the interface
+ * of a controller that adapts the size of the executor
+ * pool of a scalable service to its load at runtime.
+ * <p>
+ * The service samples its load once every period of
+ * the controller, and asks the controller for a target
+ * executor count. The target is bounded by the minimum
+ * and maximum counts of the service, and acts as the
+ * effective minimum count. The service starts executors
+ * up to the target ahead of the demand, and on-demand
+ * executors above the target retire once they idle for
+ * the on-demand timeout. Bursts beyond the target are
+ * still handled by on-demand executors up to the
+ * maximum count.
+ * <p>
+ * The controller is only invoked by a single sampling
+ * thread, therefore implementations do not need to be
+ * thread-safe.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface ISizingController {
+
+	/**
+	 * Compute the target executor count for the given
+	 * load sample.
+	 * @param sample The <code>ISizingSample</code> of
+	 * the last sampling period.
+	 * @return The <code>int</code> target executor count.
+	 */
+	public int getTargetCount(final ISizingSample sample);
+
+	/**
+	 * Retrieve the sampling period of the controller.
+	 * @param unit The <code>TimeUnit</code> of the
+	 * return value.
+	 * @return The <code>long</code> sampling period.
+	 */
+	public long getPeriod(final TimeUnit unit);
+}
@@ -0,0 +1,77 @@
+package hemera.core.execution.interfaces.scalable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>ISizingSample</code> defines the interface of
+ * a single sample of the load of a scalable service,
+ * which is taken by the service once every sampling
+ * period of its sizing controller.
+ * <p>
+ * The rates and the average times cover the period
+ * since the previous sample, while the counts reflect
+ * the state of the service at the time the sample is
+ * taken.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface ISizingSample {
+
+	/**
+	 * Retrieve the task arrival rate.
+	 * @return The <code>double</code> number of tasks
+	 * submitted per second.
+	 */
+	public double getArrivalRate();
+
+	/**
+	 * Retrieve the task completion rate.
+	 * @return The <code>double</code> number of tasks
+	 * completed or failed per second.
+	 */
+	public double getCompletionRate();
+
+	/**
+	 * Retrieve the average time tasks waited between
+	 * submission and the start of execution.
+	 * @param unit The <code>TimeUnit</code> of the
+	 * return value.
+	 * @return The <code>long</code> average time.
+	 */
+	public long getQueueWait(final TimeUnit unit);
+
+	/**
+	 * Retrieve the average task execution time.
+	 * @param unit The <code>TimeUnit</code> of the
+	 * return value.
+	 * @return The <code>long</code> average time.
+	 */
+	public long getServiceTime(final TimeUnit unit);
+
+	/**
+	 * Retrieve the current number of executors.
+	 * @return The <code>int</code> number of executors.
+	 */
+	public int getExecutorCount();
+
+	/**
+	 * Retrieve the number of executors that are busy
+	 * executing tasks.
+	 * @return The <code>int</code> number of busy
+	 * executors.
+	 */
+	public int getBusyCount();
+
+	/**
+	 * Retrieve the minimum executor count of the service.
+	 * @return The <code>int</code> minimum count.
+	 */
+	public int getMinCount();
+
+	/**
+	 * Retrieve the maximum executor count of the service.
+	 * @return The <code>int</code> maximum count.
+	 */
+	public int getMaxCount();
+}
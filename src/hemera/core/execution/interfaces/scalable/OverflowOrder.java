@@ -0,0 +1,25 @@
+package hemera.core.execution.interfaces.scalable;
+
+/**
+ * <code>OverflowOrder</code> defines the enumeration of
+ * the orders in which a scalable service executes the
+ * tasks buffered in its overflow queue.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public enum OverflowOrder {
+	/**
+	 * The buffered tasks are executed in the order they
+	 * were submitted in.
+	 */
+	FIFO,
+	/**
+	 * The buffered task with the earliest deadline is
+	 * executed first, so tasks close to expiring are not
+	 * dropped behind tasks that can still wait. Tasks
+	 * without deadlines are executed after the ones with
+	 * deadlines, in the order they were submitted in.
+	 */
+	DEADLINE
+}
@@ -0,0 +1,32 @@
+package hemera.core.execution.interfaces.scalable;
+
+/**
+ * <code>ReusePolicy</code> defines the enumeration of
+ * the orders in which a scalable service reuses its
+ * idle executors for new task assignments.
+ * <p>
+ * The policy determines whether surplus on-demand
+ * executors can ever time out. Reusing the executors
+ * in rotation keeps every executor warm, so the pool
+ * never shrinks as long as tasks keep arriving faster
+ * than the on-demand timeout.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public enum ReusePolicy {
+	/**
+	 * The most recently recycled executor is reused
+	 * first. Tasks concentrate on a small set of hot
+	 * executors that keep their caches warm, while the
+	 * surplus executors idle long enough to time out
+	 * and retire.
+	 */
+	LIFO,
+	/**
+	 * The least recently recycled executor is reused
+	 * first. Tasks are spread across all the executors
+	 * in a round-robin rotation.
+	 */
+	FIFO
+}
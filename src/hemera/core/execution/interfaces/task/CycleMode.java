@@ -0,0 +1,42 @@
+package hemera.core.execution.interfaces.task;
+
+/**
+ * <code>CycleMode</code> defines the enumeration of
+ * the scheduling modes of a cyclic task, which
+ * determine how the start time of the next cycle is
+ * derived from the cycle limit of the task.
+ * <p>
+ * All modes except the fixed delay mode are anchored
+ * on absolute deadlines, i.e. the deadline of a cycle
+ * is the deadline of the previous cycle plus the cycle
+ * limit. This prevents the cycle rhythm from drifting
+ * due to the execution and scheduling latencies.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public enum CycleMode {
+	/**
+	 * The next cycle is due a cycle limit after the
+	 * deadline of the previous cycle. Cycles that are
+	 * missed due to a slow cycle are executed back to
+	 * back to catch up, up to the catch up limit of the
+	 * task. The cycles beyond the limit are skipped.
+	 */
+	FIXED_RATE,
+	/**
+	 * The next cycle is due a cycle limit after the
+	 * previous cycle completes. The rhythm of the task
+	 * is relative to the completion of each cycle, and
+	 * missed cycles are never caught up.
+	 */
+	FIXED_DELAY,
+	/**
+	 * The next cycle is due a cycle limit after the
+	 * deadline of the previous cycle. Cycles that are
+	 * missed due to a slow cycle are skipped, and the
+	 * next cycle is due at the next deadline that has
+	 * not yet passed.
+	 */
+	SKIP_MISSED
+}
@@ -36,6 +36,13 @@ import java.util.concurrent.TimeUnit;
  * cycle consumes more time, then the next cycle will
  * start immediately after the previous completes.
  * <p>
+ * How the start time of the next cycle is derived is
+ * determined by the <code>CycleMode</code> of the task.
+ * The fixed rate and skip missed modes are anchored on
+ * absolute deadlines so the rhythm does not drift over
+ * time, while the fixed delay mode waits the cycle
+ * limit after each cycle completes.
+ * <p>
  * <code>ICyclicTask</code> may define a cycle count,
  * which determines how many times the task should be
  * executed before terminating. This is provided as an
@@ -68,7 +75,7 @@ import java.util.concurrent.TimeUnit;
  * self-terminating task.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.0
+ * @version 1.0.1
  */
 public interface ICyclicTask {
 	
@@ -140,4 +147,22 @@ public interface ICyclicTask {
 	 * in the given time unit.
 	 */
 	public long getCycleLimit(final TimeUnit unit);
+
+	/**
+	 * Retrieve the scheduling mode of the task.
+	 * @return The <code>CycleMode</code> enumeration.
+	 */
+	public CycleMode getCycleMode();
+
+	/**
+	 * Retrieve the maximum number of missed cycles that
+	 * are executed back to back to catch up with the
+	 * schedule. This value is only used by the fixed
+	 * rate mode. Missed cycles beyond this limit are
+	 * skipped.
+	 * @return The <code>int</code> catch up limit. If
+	 * the returned value is negative, all missed cycles
+	 * are caught up.
+	 */
+	public int getCatchUpLimit();
 }
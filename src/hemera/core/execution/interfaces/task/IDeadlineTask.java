@@ -0,0 +1,35 @@
+package hemera.core.execution.interfaces.task;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>IDeadlineTask</code> defines the interface of
+ * a task that is only useful if its execution starts
+ * within a limited time after submission. It can be
+ * implemented by any event or result task in addition
+ * to the task interface.
+ * <p>
+ * The timeout is retrieved once when the task is
+ * submitted, and the deadline is measured from the
+ * submission. A task whose deadline has passed before
+ * its execution started is dropped without being
+ * executed, and its handle is completed in the expired
+ * state. A task that has already started executing is
+ * never interrupted by its deadline.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IDeadlineTask {
+
+	/**
+	 * Retrieve the maximum time the task may wait for
+	 * its execution to start after submission.
+	 * @param unit The <code>TimeUnit</code> the value
+	 * should be returned in.
+	 * @return The <code>long</code> timeout value.
+	 * Less than or equal to 0 if the task does not
+	 * have a deadline.
+	 */
+	public long getTimeout(final TimeUnit unit);
+}
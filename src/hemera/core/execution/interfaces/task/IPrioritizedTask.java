@@ -0,0 +1,23 @@
+package hemera.core.execution.interfaces.task;
+
+/**
+ * <code>IPrioritizedTask</code> defines the interface
+ * of a task that specifies its own priority. It can be
+ * implemented by any event, result or cyclic task in
+ * addition to the task interface.
+ * <p>
+ * The priority is retrieved once when the task is
+ * submitted, changing it afterwards has no effect.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IPrioritizedTask {
+
+	/**
+	 * Retrieve the priority of the task.
+	 * @return The <code>TaskPriority</code> of the
+	 * task. <code>null</code> for the normal priority.
+	 */
+	public TaskPriority getPriority();
+}
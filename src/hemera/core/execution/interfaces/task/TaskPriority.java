@@ -0,0 +1,32 @@
+package hemera.core.execution.interfaces.task;
+
+/**
+ * <code>TaskPriority</code> defines the enumeration of
+ * the priority levels of a submitted task.
+ * <p>
+ * Services that support priorities execute tasks of a
+ * higher priority ahead of the ones of a lower priority
+ * that have been submitted earlier. Lower priority tasks
+ * are aged, so they are still executed eventually when
+ * there is a constant stream of higher priority tasks.
+ * Tasks that do not specify a priority have the normal
+ * priority.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public enum TaskPriority {
+	/**
+	 * The priority of latency critical tasks.
+	 */
+	HIGH,
+	/**
+	 * The default priority.
+	 */
+	NORMAL,
+	/**
+	 * The priority of background tasks that are not
+	 * sensitive to latency.
+	 */
+	LOW
+}
@@ -1,5 +1,7 @@
 package hemera.core.execution.interfaces.task.handle;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * <code>ICyclicTaskHandle</code> defines an extension
  * to the <code>IEventTaskHandle</code> to provide the
@@ -15,9 +17,14 @@ package hemera.core.execution.interfaces.task.handle;
  * <code>ICyclicTaskHandle</code> is automatically
  * invoked to terminate the corresponding cyclic task
  * during execution service shutdown.
+ * <p>
+ * <code>ICyclicTaskHandle</code> also exposes the
+ * scheduling counters of the task, which describe how
+ * closely the cyclic execution follows the schedule
+ * defined by the cycle mode of the task.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.0
+ * @version 1.0.1
  */
 public interface ICyclicTaskHandle extends IEventTaskHandle {
 	
@@ -26,4 +33,36 @@ public interface ICyclicTaskHandle extends IEventTaskHandle {
 	 * task to gracefully terminate.
 	 */
 	public void terminate();
+
+	/**
+	 * Retrieve the number of cycles that took longer
+	 * than the cycle limit of the task.
+	 * @return The <code>long</code> overrun count.
+	 */
+	public long getOverrunCount();
+
+	/**
+	 * Retrieve the number of cycles that were skipped
+	 * to keep up with the schedule.
+	 * @return The <code>long</code> skipped count.
+	 */
+	public long getSkippedCount();
+
+	/**
+	 * Retrieve the total amount of time the cycles
+	 * started after their deadlines.
+	 * @param unit The <code>TimeUnit</code> returned
+	 * value is in.
+	 * @return The <code>long</code> total lateness.
+	 */
+	public long getTotalLateness(final TimeUnit unit);
+
+	/**
+	 * Retrieve the maximum amount of time a cycle
+	 * started after its deadline.
+	 * @param unit The <code>TimeUnit</code> returned
+	 * value is in.
+	 * @return The <code>long</code> maximum lateness.
+	 */
+	public long getMaxLateness(final TimeUnit unit);
 }
@@ -17,9 +17,13 @@ import java.util.concurrent.TimeUnit;
  * <code>IEventTaskHandle</code> also allows an other
  * thread to wait on task execution completion, either
  * indefinitely or with a specified time period.
+ * <p>
+ * Tasks with a deadline that has passed before their
+ * execution started are dropped, and their handles are
+ * completed in the expired state.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.0
+ * @version 1.0.1
  */
 public interface IEventTaskHandle {
 	
@@ -37,7 +41,8 @@ public interface IEventTaskHandle {
 	 * immediately.
 	 * @return <code>true</code> if the task execution
 	 * is completed. <code>false</code> if the task is
-	 * canceled.
+	 * canceled, expired or its execution failed with an
+	 * exception.
 	 * @throws InterruptedException If waiting process
 	 * is interrupted.
 	 */
@@ -65,8 +70,9 @@ public interface IEventTaskHandle {
 	 * given value is in.
 	 * @return <code>true</code> if the task execution
 	 * is completed. <code>false</code> if the task is
-	 * canceled or the specified time elapsed but the
-	 * execution has not yet completed.
+	 * canceled, expired, its execution failed with an
+	 * exception or the specified time elapsed but the execution
+	 * has not yet completed.
 	 * @throws InterruptedException If waiting process
 	 * is interrupted.
 	 */
@@ -79,4 +85,12 @@ public interface IEventTaskHandle {
 	 * has already began or completed.
 	 */
 	public boolean cancel();
+
+	/**
+	 * Check if the task has been dropped because its
+	 * deadline passed before its execution started.
+	 * @return <code>true</code> if the task has expired.
+	 * <code>false</code> otherwise.
+	 */
+	public boolean isExpired();
 }
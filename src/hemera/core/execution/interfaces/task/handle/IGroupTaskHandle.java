@@ -0,0 +1,67 @@
+package hemera.core.execution.interfaces.task.handle;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>IGroupTaskHandle</code> defines the interface
+ * of a single handle for a group of tasks that were
+ * submitted together as a batch.
+ * <p>
+ * <code>IGroupTaskHandle</code> allows a thread to
+ * wait for the entire batch to complete, or cancel all
+ * the tasks in the batch that have not yet started,
+ * without keeping track of individual task handles.
+ * The individual handles are still available by their
+ * index in the submitted batch.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IGroupTaskHandle {
+
+	/**
+	 * Wait for all the tasks in the group to reach a
+	 * final state.
+	 * @return <code>true</code> if all the tasks have
+	 * completed successfully. <code>false</code> if any
+	 * of the tasks failed or has been cancelled.
+	 * @throws InterruptedException If waiting process
+	 * is interrupted.
+	 */
+	public boolean await() throws InterruptedException;
+
+	/**
+	 * Wait for all the tasks in the group to reach a
+	 * final state within the given amount of time.
+	 * @param value The <code>long</code> time amount.
+	 * @param unit The <code>TimeUnit</code> enumeration.
+	 * @return <code>true</code> if all the tasks have
+	 * completed successfully within the given time.
+	 * <code>false</code> otherwise.
+	 * @throws InterruptedException If waiting process
+	 * is interrupted.
+	 */
+	public boolean await(final long value, final TimeUnit unit) throws InterruptedException;
+
+	/**
+	 * Cancel all the tasks in the group that have not
+	 * yet started execution.
+	 * @return The <code>int</code> number of tasks that
+	 * have been cancelled.
+	 */
+	public int cancel();
+
+	/**
+	 * Retrieve the handle of the task at the given index
+	 * in the submitted batch.
+	 * @param index The <code>int</code> index.
+	 * @return The <code>IEventTaskHandle</code> instance.
+	 */
+	public IEventTaskHandle getHandle(final int index);
+
+	/**
+	 * Retrieve the number of tasks in the group.
+	 * @return The <code>int</code> number of tasks.
+	 */
+	public int size();
+}
@@ -0,0 +1,29 @@
+package hemera.core.execution.interfaces.task.handle;
+
+/**
+ * <code>IResultCallback</code> defines the interface
+ * of a callback that is notified when a result task
+ * reaches a final state, regardless of the outcome.
+ * <p>
+ * @param <R> The result type.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IResultCallback<R> {
+
+	/**
+	 * Notify the callback that the task has reached a
+	 * final state.
+	 * @param result The <code>R</code> task result.
+	 * <code>null</code> if the task has failed or has
+	 * been cancelled.
+	 * @param exception The <code>Exception</code> the
+	 * task execution failed with. The exception is a
+	 * <code>CancellationException</code> if the task
+	 * has been cancelled. <code>null</code> if the task
+	 * has completed successfully.
+	 * @throws Exception If any processing failed.
+	 */
+	public void completed(final R result, final Exception exception) throws Exception;
+}
@@ -0,0 +1,29 @@
+package hemera.core.execution.interfaces.task.handle;
+
+/**
+ * <code>IResultFunction</code> defines the interface
+ * of a continuation function that transforms the
+ * result of a completed result task into a value of
+ * another type.
+ * <p>
+ * <code>IResultFunction</code> is used to chain result
+ * task handles without blocking any threads waiting
+ * for the intermediate results.
+ * <p>
+ * @param <T> The input result type.
+ * @param <R> The function return type.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IResultFunction<T, R> {
+
+	/**
+	 * Apply the function on the given result.
+	 * @param result The <code>T</code> result of the
+	 * completed task.
+	 * @return The <code>R</code> function value.
+	 * @throws Exception If any processing failed.
+	 */
+	public R apply(final T result) throws Exception;
+}
@@ -0,0 +1,48 @@
+package hemera.core.execution.interfaces.task.handle;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>IResultGroupHandle</code> defines an extension
+ * to the <code>IGroupTaskHandle</code> to provide the
+ * additional support related to a group of result
+ * tasks.
+ * <p>
+ * @param <R> The result task result return type.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IResultGroupHandle<R> extends IGroupTaskHandle {
+
+	/**
+	 * Wait for all the tasks in the group to reach a
+	 * final state and retrieve their results.
+	 * @return The <code>List</code> of <code>R</code>
+	 * results in the order of the submitted batch. The
+	 * result of a task that failed or was cancelled is
+	 * <code>null</code>.
+	 * @throws InterruptedException If waiting process
+	 * is interrupted.
+	 */
+	public List<R> getAndWait() throws InterruptedException;
+
+	/**
+	 * Wait for the given amount of time for all the tasks
+	 * in the group to reach a final state and retrieve
+	 * their results.
+	 * @param value The <code>long</code> time amount.
+	 * @param unit The <code>TimeUnit</code> enumeration.
+	 * @return The <code>List</code> of <code>R</code>
+	 * results in the order of the submitted batch. The
+	 * result of a task that failed, was cancelled or did
+	 * not complete within the given time is <code>null</code>.
+	 * @throws InterruptedException If waiting process
+	 * is interrupted.
+	 */
+	public List<R> getAndWait(final long value, final TimeUnit unit) throws InterruptedException;
+
+	@Override
+	public IResultTaskHandle<R> getHandle(final int index);
+}
@@ -1,7 +1,10 @@
 package hemera.core.execution.interfaces.task.handle;
 
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import hemera.core.execution.interfaces.IExecutionService;
+
 /**
  * <code>IResultTaskHandle</code> defines an extension
  * to the <code>IEventTaskHandle</code> to provide the
@@ -12,6 +15,18 @@ import java.util.concurrent.TimeUnit;
  * the result produced by the task, in addition to the
  * just waiting for task completion.
  * <p>
+ * <code>IResultTaskHandle</code> also allows dependent
+ * computations to be chained onto the task without
+ * blocking any threads. A continuation is either run
+ * within the thread that completes the task, or it is
+ * submitted to a given execution service. Chaining a
+ * continuation returns the handle of the dependent
+ * computation, which is completed once the
+ * continuation has been executed. If the task fails
+ * or is cancelled, the dependent computation fails or
+ * is cancelled accordingly without executing the
+ * continuation.
+ * <p>
  * @param <R> The result task result return type.
  *
  * @author Yi Wang (Neakor)
@@ -71,4 +86,78 @@ public interface IResultTaskHandle<R> extends IEventTaskHandle {
 	 * is interrupted.
 	 */
 	public R getAndWait(final long value, final TimeUnit unit) throws InterruptedException;
+
+	/**
+	 * Chain the given function to be applied on the task
+	 * result when the task completes. The function is
+	 * executed within the thread that completes the task,
+	 * or within the invoking thread if the task has
+	 * already completed.
+	 * @param <V> The function return type.
+	 * @param function The <code>IResultFunction</code>
+	 * to be applied.
+	 * @return The <code>IResultTaskHandle</code> of the
+	 * function value.
+	 */
+	public <V> IResultTaskHandle<V> thenApply(final IResultFunction<? super R, ? extends V> function);
+
+	/**
+	 * Chain the given function to be applied on the task
+	 * result when the task completes. The function is
+	 * submitted to the given execution service as a new
+	 * task once the task completes.
+	 * <p>
+	 * If the given service is <code>null</code>, this
+	 * method is equivalent to <code>thenApply(function)</code>.
+	 * If the service rejects the submission, the returned
+	 * handle fails with the rejection exception.
+	 * @param <V> The function return type.
+	 * @param function The <code>IResultFunction</code>
+	 * to be applied.
+	 * @param service The <code>IExecutionService</code>
+	 * to execute the function.
+	 * @return The <code>IResultTaskHandle</code> of the
+	 * function value.
+	 */
+	public <V> IResultTaskHandle<V> thenApply(final IResultFunction<? super R, ? extends V> function, final IExecutionService service);
+
+	/**
+	 * Chain the given function that produces another
+	 * result task handle when the task completes. The
+	 * returned handle completes with the result of the
+	 * produced handle, without blocking any threads.
+	 * The function is executed within the thread that
+	 * completes the task.
+	 * @param <V> The produced handle result type.
+	 * @param function The <code>IResultFunction</code>
+	 * that produces the next handle.
+	 * @return The <code>IResultTaskHandle</code> of the
+	 * produced handle result.
+	 */
+	public <V> IResultTaskHandle<V> thenCompose(final IResultFunction<? super R, ? extends IResultTaskHandle<V>> function);
+
+	/**
+	 * Register the given callback to be notified when
+	 * the task reaches any final state. The callback
+	 * is executed within the thread that moves the task
+	 * onto the final state, or within the invoking thread
+	 * if the task has already reached a final state.
+	 * @param callback The <code>IResultCallback</code>
+	 * to be notified.
+	 * @return The <code>IResultTaskHandle</code> that
+	 * completes with the task result, or fails with the
+	 * same exception as the callback receives, once the
+	 * callback has been executed. If the callback throws
+	 * an exception, the returned handle fails with the
+	 * exception instead.
+	 */
+	public IResultTaskHandle<R> whenComplete(final IResultCallback<? super R> callback);
+
+	/**
+	 * Retrieve a <code>Future</code> view of this handle
+	 * for interoperability with code written against
+	 * the standard concurrency library.
+	 * @return The <code>Future</code> view.
+	 */
+	public Future<R> toFuture();
 }
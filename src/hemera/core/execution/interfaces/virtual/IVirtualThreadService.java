@@ -0,0 +1,60 @@
+package hemera.core.execution.interfaces.virtual;
+
+import hemera.core.execution.interfaces.IExecutionService;
+
+/**
+ * <code>IVirtualThreadService</code> is an extension of
+ * <code>IExecutionService</code> that executes every
+ * submitted task on its own short lived executor, whose
+ * thread is a virtual thread when the runtime supports
+ * them, or a platform thread otherwise.
+ * <p>
+ * Instead of limiting the number of executor threads,
+ * the service bounds the number of tasks that execute
+ * concurrently with a fixed number of permits. Each
+ * submission acquires a permit, which is released when
+ * the task execution completes. When all the permits
+ * are in use, the service listener is notified that
+ * the capacity has been reached, and the submission
+ * is handed to the rejection policy, which by default
+ * blocks until a permit becomes available.
+ * <p>
+ * This design is best suited for a large number of
+ * tasks that are blocked by I/O operations most of
+ * the time. Since virtual threads do not reserve a
+ * platform thread stack, tens of thousands of tasks
+ * can be blocked concurrently at a small memory cost.
+ * CPU bound tasks do not benefit from this design.
+ * <p>
+ * Task handles have the same semantics as the ones
+ * returned by other types of services. Cyclic tasks
+ * occupy a permit for as long as they are running.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public interface IVirtualThreadService extends IExecutionService {
+
+	/**
+	 * Retrieve the maximum number of tasks that can be
+	 * executed concurrently.
+	 * @return The <code>int</code> concurrency limit.
+	 */
+	public int getConcurrencyLimit();
+
+	/**
+	 * Retrieve the number of tasks that can currently
+	 * be submitted without blocking.
+	 * @return The <code>int</code> number of available
+	 * permits.
+	 */
+	public int getAvailableCount();
+
+	/**
+	 * Check if the tasks are executed on virtual threads.
+	 * @return <code>true</code> if the runtime supports
+	 * virtual threads. <code>false</code> if platform
+	 * threads are used instead.
+	 */
+	public boolean isVirtual();
+}
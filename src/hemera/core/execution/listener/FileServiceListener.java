@@ -13,7 +13,7 @@ import hemera.core.utility.logging.FileLogger;
  * at the warning logging level.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.1
+ * @version 1.0.2
  */
 public class FileServiceListener extends AbstractServiceListener {
 	/**
@@ -23,14 +23,36 @@ public class FileServiceListener extends AbstractServiceListener {
 	
 	/**
 	 * Constructor of <code>FileServiceListener</code>.
+	 * <p>
+	 * This constructor disables stack sampling.
 	 */
 	public FileServiceListener() {
+		this(0, 0);
+	}
+
+	/**
+	 * Constructor of <code>FileServiceListener</code>.
+	 * @param sampledCount The <code>int</code> maximum
+	 * number of executors whose stack-traces are sampled
+	 * when the capacity is reached. <code>0</code> to
+	 * disable stack sampling.
+	 * @param sampledDepth The <code>int</code> maximum
+	 * number of frames of each sampled stack-trace.
+	 */
+	public FileServiceListener(final int sampledCount, final int sampledDepth) {
+		super(sampledCount, sampledDepth);
 		this.logger = FileLogger.getLogger(this.getClass());
 	}
 
 	@Override
-	protected void capacityReached(final String stacktrace) {
+	protected void capacityReached(final String report) {
 		this.logger.warning("Execution service maximum processing capacity reached!");
+		this.logger.warning(report);
+	}
+
+	@Override
+	protected void stacksSampled(final String stacktrace) {
+		this.logger.warning("Longest running executor stack-traces:");
 		this.logger.warning(stacktrace);
 	}
 
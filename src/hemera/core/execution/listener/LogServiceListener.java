@@ -14,7 +14,7 @@ import hemera.core.execution.exception.LogExceptionHandler;
  * every 10 seconds at the warning logging level.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.1
+ * @version 1.0.2
  */
 public class LogServiceListener extends AbstractServiceListener {
 	/**
@@ -24,14 +24,36 @@ public class LogServiceListener extends AbstractServiceListener {
 	
 	/**
 	 * Constructor of <code>LogServiceListener</code>.
+	 * <p>
+	 * This constructor disables stack sampling.
 	 */
 	public LogServiceListener() {
+		this(0, 0);
+	}
+
+	/**
+	 * Constructor of <code>LogServiceListener</code>.
+	 * @param sampledCount The <code>int</code> maximum
+	 * number of executors whose stack-traces are sampled
+	 * when the capacity is reached. <code>0</code> to
+	 * disable stack sampling.
+	 * @param sampledDepth The <code>int</code> maximum
+	 * number of frames of each sampled stack-trace.
+	 */
+	public LogServiceListener(final int sampledCount, final int sampledDepth) {
+		super(sampledCount, sampledDepth);
 		this.logger = Logger.getLogger(LogExceptionHandler.class.getName());
 	}
 
 	@Override
-	protected void capacityReached(final String stacktrace) {
+	protected void capacityReached(final String report) {
 		this.logger.warning("Execution service maximum processing capacity reached!");
+		this.logger.warning(report);
+	}
+
+	@Override
+	protected void stacksSampled(final String stacktrace) {
+		this.logger.warning("Longest running executor stack-traces:");
 		this.logger.warning(stacktrace);
 	}
 
@@ -0,0 +1,241 @@
+package hemera.core.execution.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import hemera.core.execution.interfaces.metrics.IExecutorMetrics;
+import hemera.core.execution.interfaces.metrics.IHistogram;
+
+/**
+ * <code>ExecutorMetrics</code> defines the implementation
+ * of the runtime metrics of a single executor.
+ * <p>
+ * Every recorded value is also recorded into the
+ * aggregate metrics of the owning service, if there
+ * is one, so the aggregate values are preserved after
+ * the executor is retired.
+ * <p>
+ * The values are mostly updated by the executor thread,
+ * except for the ones of stolen tasks, which are updated
+ * by the stealing executors. Therefore the counters are
+ * atomic but not striped.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.1
+ */
+public class ExecutorMetrics implements IExecutorMetrics {
+	/**
+	 * The <code>String</code> name of the executor.
+	 */
+	private final String name;
+	/**
+	 * The owning <code>ServiceMetrics</code>.
+	 * <code>null</code> if the executor is not owned
+	 * by a service.
+	 */
+	private final ServiceMetrics service;
+	/**
+	 * The <code>AtomicLong</code> completed count.
+	 */
+	private final AtomicLong completed;
+	/**
+	 * The <code>AtomicLong</code> failed count.
+	 */
+	private final AtomicLong failed;
+	/**
+	 * The <code>AtomicLong</code> cancelled count.
+	 */
+	private final AtomicLong cancelled;
+	/**
+	 * The <code>AtomicLong</code> expired count.
+	 */
+	private final AtomicLong expired;
+	/**
+	 * The <code>AtomicLong</code> stolen count.
+	 */
+	private final AtomicLong stolen;
+	/**
+	 * The <code>AtomicLong</code> idle count.
+	 */
+	private final AtomicLong idle;
+	/**
+	 * The <code>AtomicLong</code> park count.
+	 */
+	private final AtomicLong park;
+	/**
+	 * The <code>Histogram</code> of queue wait times.
+	 */
+	private final Histogram queueWait;
+	/**
+	 * The <code>Histogram</code> of execution times.
+	 */
+	private final Histogram executionTime;
+
+	/**
+	 * Constructor of <code>ExecutorMetrics</code>.
+	 * @param name The <code>String</code> name of the
+	 * executor.
+	 * @param service The owning <code>ServiceMetrics</code>.
+	 * <code>null</code> if the executor is not owned by
+	 * a service.
+	 */
+	ExecutorMetrics(final String name, final ServiceMetrics service) {
+		this.name = name;
+		this.service = service;
+		this.completed = new AtomicLong();
+		this.failed = new AtomicLong();
+		this.cancelled = new AtomicLong();
+		this.expired = new AtomicLong();
+		this.stolen = new AtomicLong();
+		this.idle = new AtomicLong();
+		this.park = new AtomicLong();
+		this.queueWait = new Histogram(false);
+		this.executionTime = new Histogram(false);
+	}
+
+	/**
+	 * Constructor of <code>ExecutorMetrics</code> for an
+	 * executor that is not owned by a service.
+	 * @param name The <code>String</code> name of the
+	 * executor.
+	 */
+	public ExecutorMetrics(final String name) {
+		this(name, null);
+	}
+
+	/**
+	 * Record the execution of a task.
+	 * @param wait The <code>long</code> time in nanoseconds
+	 * the task waited before its execution started.
+	 * @param duration The <code>long</code> execution time
+	 * in nanoseconds. Negative if the execution time should
+	 * not be recorded, such as for cyclic tasks.
+	 * @param succeeded <code>true</code> if the execution
+	 * completed successfully. <code>false</code> if it
+	 * failed with an exception.
+	 */
+	public void recordExecution(final long wait, final long duration, final boolean succeeded) {
+		if (succeeded) this.completed.incrementAndGet();
+		else this.failed.incrementAndGet();
+		this.queueWait.record(wait);
+		if (duration >= 0) this.executionTime.record(duration);
+		if (this.service != null) this.service.recordExecution(wait, duration, succeeded);
+	}
+
+	/**
+	 * Record a task that was cancelled before its
+	 * execution started.
+	 */
+	public void recordCancelled() {
+		this.cancelled.incrementAndGet();
+		if (this.service != null) this.service.cancelled.increment();
+	}
+
+	/**
+	 * Record a task that was dropped because its
+	 * deadline had passed before its execution started.
+	 */
+	public void recordExpired() {
+		this.expired.incrementAndGet();
+		if (this.service != null) this.service.expired.increment();
+	}
+
+	/**
+	 * Record the given number of tasks stolen from the
+	 * executor.
+	 * @param count The <code>int</code> number of tasks.
+	 */
+	public void recordStolen(final int count) {
+		this.stolen.addAndGet(count);
+		if (this.service != null) this.service.stolen.add(count);
+	}
+
+	/**
+	 * Record the executor going idle.
+	 */
+	public void recordIdle() {
+		this.idle.incrementAndGet();
+		if (this.service != null) this.service.idle.increment();
+	}
+
+	/**
+	 * Record the executor thread being parked.
+	 */
+	public void recordPark() {
+		this.park.incrementAndGet();
+		if (this.service != null) this.service.park.increment();
+	}
+
+	/**
+	 * Retire the metrics when the executor terminates,
+	 * removing it from the owning service.
+	 */
+	public void retire() {
+		if (this.service != null) this.service.retire(this);
+	}
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	@Override
+	public long getCompletedCount() {
+		return this.completed.get();
+	}
+
+	@Override
+	public long getFailedCount() {
+		return this.failed.get();
+	}
+
+	@Override
+	public long getCancelledCount() {
+		return this.cancelled.get();
+	}
+
+	@Override
+	public long getExpiredCount() {
+		return this.expired.get();
+	}
+
+	@Override
+	public long getStolenCount() {
+		return this.stolen.get();
+	}
+
+	@Override
+	public long getIdleCount() {
+		return this.idle.get();
+	}
+
+	@Override
+	public long getParkCount() {
+		return this.park.get();
+	}
+
+	@Override
+	public IHistogram getQueueWait() {
+		return this.queueWait;
+	}
+
+	@Override
+	public IHistogram getExecutionTime() {
+		return this.executionTime;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(this.name);
+		builder.append(": completed=").append(this.getCompletedCount());
+		builder.append(", failed=").append(this.getFailedCount());
+		builder.append(", cancelled=").append(this.getCancelledCount());
+		builder.append(", expired=").append(this.getExpiredCount());
+		builder.append(", stolen=").append(this.getStolenCount());
+		builder.append(", idle=").append(this.getIdleCount());
+		builder.append(", park=").append(this.getParkCount());
+		builder.append(", p99Wait=").append(this.queueWait.getPercentile(99)).append("ns");
+		builder.append(", p99Execution=").append(this.executionTime.getPercentile(99)).append("ns");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,108 @@
+package hemera.core.execution.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.interfaces.metrics.ExecutorState;
+import hemera.core.execution.interfaces.metrics.IExecutorSnapshot;
+
+/**
+ * <code>ExecutorSnapshot</code> defines the immutable
+ * implementation of a diagnostic snapshot of a single
+ * executor.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class ExecutorSnapshot implements IExecutorSnapshot {
+	/**
+	 * The <code>String</code> name of the executor.
+	 */
+	private final String name;
+	/**
+	 * The <code>ExecutorState</code>.
+	 */
+	private final ExecutorState state;
+	/**
+	 * The <code>String</code> class name of the task.
+	 */
+	private final String taskClass;
+	/**
+	 * The <code>long</code> time in task in nanoseconds.
+	 */
+	private final long timeInTask;
+	/**
+	 * The <code>int</code> queue length.
+	 */
+	private final int queueLength;
+	/**
+	 * The <code>boolean</code> cyclic task flag.
+	 */
+	private final boolean cyclic;
+
+	/**
+	 * Constructor of <code>ExecutorSnapshot</code>.
+	 * @param name The <code>String</code> name of the
+	 * executor.
+	 * @param state The <code>ExecutorState</code>.
+	 * @param taskClass The <code>String</code> class
+	 * name of the task being executed. <code>null</code>
+	 * if there is none.
+	 * @param timeInTask The <code>long</code> time the
+	 * task has been executing for in nanoseconds.
+	 * @param queueLength The <code>int</code> number
+	 * of tasks waiting in the buffer of the executor.
+	 * @param cyclic <code>true</code> if the task is a
+	 * cyclic task.
+	 */
+	public ExecutorSnapshot(final String name, final ExecutorState state, final String taskClass, final long timeInTask,
+			final int queueLength, final boolean cyclic) {
+		this.name = name;
+		this.state = state;
+		this.taskClass = taskClass;
+		this.timeInTask = timeInTask;
+		this.queueLength = queueLength;
+		this.cyclic = cyclic;
+	}
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	@Override
+	public ExecutorState getState() {
+		return this.state;
+	}
+
+	@Override
+	public String getTaskClass() {
+		return this.taskClass;
+	}
+
+	@Override
+	public long getTimeInTask(final TimeUnit unit) {
+		return unit.convert(this.timeInTask, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public int getQueueLength() {
+		return this.queueLength;
+	}
+
+	@Override
+	public boolean isCyclic() {
+		return this.cyclic;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(this.name).append(": ").append(this.state);
+		if (this.taskClass != null) {
+			builder.append(this.cyclic ? ", cyclicTask=" : ", task=").append(this.taskClass);
+			builder.append(", timeInTask=").append(TimeUnit.NANOSECONDS.toMillis(this.timeInTask)).append("ms");
+		}
+		builder.append(", queue=").append(this.queueLength);
+		return builder.toString();
+	}
+}
@@ -0,0 +1,138 @@
+package hemera.core.execution.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import hemera.core.execution.interfaces.metrics.IHistogram;
+
+/**
+ * <code>Histogram</code> defines the implementation of
+ * a lock-free histogram with power of two buckets.
+ * <p>
+ * A value is recorded into bucket <code>b</code> where
+ * <code>2^(b-1) <= value < 2^b</code>, with bucket 0
+ * holding the value 0. This gives a fixed number of
+ * 64 buckets covering the entire range of non-negative
+ * long values, so recording a value only requires
+ * a couple of atomic increments without allocation.
+ * <p>
+ * A striped histogram keeps a separate set of buckets
+ * for each stripe, so threads recording concurrently
+ * do not contend on the same cache lines. A histogram
+ * only updated by a single thread should not be striped
+ * to save memory.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class Histogram implements IHistogram {
+	/**
+	 * The <code>int</code> number of buckets.
+	 */
+	private final static int bucketCount = 64;
+	/**
+	 * The <code>int</code> index of the sum within a
+	 * stripe of totals.
+	 */
+	private final static int sumIndex = 0;
+	/**
+	 * The <code>int</code> index of the maximum within
+	 * a stripe of totals.
+	 */
+	private final static int maxIndex = 1;
+	/**
+	 * The <code>int</code> number of stripes.
+	 */
+	private final int stripeCount;
+	/**
+	 * The <code>AtomicLongArray</code> of bucket counts
+	 * of all the stripes.
+	 */
+	private final AtomicLongArray buckets;
+	/**
+	 * The <code>AtomicLongArray</code> of the sum and
+	 * maximum values of all the stripes.
+	 */
+	private final AtomicLongArray totals;
+
+	/**
+	 * Constructor of <code>Histogram</code>.
+	 * @param striped <code>true</code> if the histogram
+	 * is updated by multiple threads concurrently and
+	 * should be striped. <code>false</code> otherwise.
+	 */
+	public Histogram(final boolean striped) {
+		this.stripeCount = striped ? StripedCounter.stripeCount : 1;
+		this.buckets = new AtomicLongArray(this.stripeCount * Histogram.bucketCount);
+		this.totals = new AtomicLongArray(this.stripeCount * StripedCounter.stride);
+	}
+
+	/**
+	 * Record the given value.
+	 * @param value The <code>long</code> value to be
+	 * recorded. Negative values are recorded as 0.
+	 */
+	public void record(final long value) {
+		final long recorded = (value < 0) ? 0 : value;
+		final int stripe = (this.stripeCount == 1) ? 0 : StripedCounter.stripe();
+		final int bucket = Histogram.bucketCount - Long.numberOfLeadingZeros(recorded);
+		this.buckets.incrementAndGet(stripe * Histogram.bucketCount + bucket);
+		final int base = stripe * StripedCounter.stride;
+		this.totals.addAndGet(base + Histogram.sumIndex, recorded);
+		long max = this.totals.get(base + Histogram.maxIndex);
+		while (recorded > max) {
+			if (this.totals.compareAndSet(base + Histogram.maxIndex, max, recorded)) break;
+			max = this.totals.get(base + Histogram.maxIndex);
+		}
+	}
+
+	@Override
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < this.buckets.length(); i++) {
+			count += this.buckets.get(i);
+		}
+		return count;
+	}
+
+	@Override
+	public long getSum() {
+		long sum = 0;
+		for (int i = 0; i < this.stripeCount; i++) {
+			sum += this.totals.get(i * StripedCounter.stride + Histogram.sumIndex);
+		}
+		return sum;
+	}
+
+	@Override
+	public long getMax() {
+		long max = 0;
+		for (int i = 0; i < this.stripeCount; i++) {
+			max = Math.max(max, this.totals.get(i * StripedCounter.stride + Histogram.maxIndex));
+		}
+		return max;
+	}
+
+	@Override
+	public long getPercentile(final double percentile) {
+		if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+		// Merge the stripes into a single set of buckets.
+		final long[] merged = new long[Histogram.bucketCount];
+		long count = 0;
+		for (int i = 0; i < this.buckets.length(); i++) {
+			final long value = this.buckets.get(i);
+			merged[i % Histogram.bucketCount] += value;
+			count += value;
+		}
+		if (count == 0) return 0;
+		final long rank = Math.max(1, (long)Math.ceil(count * percentile / 100.0));
+		long seen = 0;
+		for (int i = 0; i < Histogram.bucketCount; i++) {
+			seen += merged[i];
+			if (seen >= rank) {
+				final long upper = (i == Histogram.bucketCount - 1) ? Long.MAX_VALUE : (1L << i) - 1;
+				return Math.min(upper, this.getMax());
+			}
+		}
+		return this.getMax();
+	}
+}
@@ -0,0 +1,237 @@
+package hemera.core.execution.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import hemera.core.execution.interfaces.metrics.IExecutorMetrics;
+import hemera.core.execution.interfaces.metrics.IHistogram;
+import hemera.core.execution.interfaces.metrics.IServiceMetrics;
+
+/**
+ * <code>ServiceMetrics</code> defines the implementation
+ * of the runtime metrics of an execution service.
+ * <p>
+ * The aggregate values are updated by all executor
+ * threads as well as the submitting threads, therefore
+ * they are kept in striped counters and histograms to
+ * avoid contention. The metrics of executors are only
+ * registered while the executors are active.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.2
+ */
+public class ServiceMetrics implements IServiceMetrics {
+	/**
+	 * The <code>StripedCounter</code> submitted count.
+	 */
+	private final StripedCounter submitted;
+	/**
+	 * The <code>StripedCounter</code> rejected count.
+	 */
+	private final StripedCounter rejected;
+	/**
+	 * The <code>StripedCounter</code> completed count.
+	 */
+	private final StripedCounter completed;
+	/**
+	 * The <code>StripedCounter</code> failed count.
+	 */
+	private final StripedCounter failed;
+	/**
+	 * The <code>StripedCounter</code> cancelled count.
+	 */
+	final StripedCounter cancelled;
+	/**
+	 * The <code>StripedCounter</code> expired count.
+	 */
+	final StripedCounter expired;
+	/**
+	 * The <code>StripedCounter</code> stolen count.
+	 */
+	final StripedCounter stolen;
+	/**
+	 * The <code>StripedCounter</code> idle count.
+	 */
+	final StripedCounter idle;
+	/**
+	 * The <code>StripedCounter</code> park count.
+	 */
+	final StripedCounter park;
+	/**
+	 * The <code>StripedCounter</code> executor created
+	 * count.
+	 */
+	private final StripedCounter created;
+	/**
+	 * The <code>StripedCounter</code> executor retired
+	 * count.
+	 */
+	private final StripedCounter retired;
+	/**
+	 * The <code>Histogram</code> of queue wait times.
+	 */
+	private final Histogram queueWait;
+	/**
+	 * The <code>Histogram</code> of execution times.
+	 */
+	private final Histogram executionTime;
+	/**
+	 * The <code>Set</code> of <code>ExecutorMetrics</code>
+	 * of the currently active executors.
+	 * <p>
+	 * Services running a short lived executor per task
+	 * create and retire executors at a high rate, so a
+	 * concurrent set is used to keep registration cheap.
+	 */
+	private final Set<ExecutorMetrics> executors;
+
+	/**
+	 * Constructor of <code>ServiceMetrics</code>.
+	 */
+	public ServiceMetrics() {
+		this.submitted = new StripedCounter();
+		this.rejected = new StripedCounter();
+		this.completed = new StripedCounter();
+		this.failed = new StripedCounter();
+		this.cancelled = new StripedCounter();
+		this.expired = new StripedCounter();
+		this.stolen = new StripedCounter();
+		this.idle = new StripedCounter();
+		this.park = new StripedCounter();
+		this.created = new StripedCounter();
+		this.retired = new StripedCounter();
+		this.queueWait = new Histogram(true);
+		this.executionTime = new Histogram(true);
+		this.executors = Collections.newSetFromMap(new ConcurrentHashMap<ExecutorMetrics, Boolean>());
+	}
+
+	/**
+	 * Create and register the metrics of a new executor.
+	 * @param name The <code>String</code> name of the
+	 * executor.
+	 * @return The <code>ExecutorMetrics</code> instance.
+	 */
+	public ExecutorMetrics newExecutorMetrics(final String name) {
+		final ExecutorMetrics metrics = new ExecutorMetrics(name, this);
+		this.executors.add(metrics);
+		this.created.increment();
+		return metrics;
+	}
+
+	/**
+	 * Unregister the given retired executor metrics.
+	 * @param metrics The <code>ExecutorMetrics</code>
+	 * to be retired.
+	 */
+	void retire(final ExecutorMetrics metrics) {
+		if (this.executors.remove(metrics)) this.retired.increment();
+	}
+
+	/**
+	 * Record the given number of submitted tasks.
+	 * @param count The <code>int</code> number of
+	 * submitted tasks.
+	 */
+	public void recordSubmitted(final int count) {
+		this.submitted.add(count);
+	}
+
+	/**
+	 * Record a task that was rejected or evicted by the
+	 * rejection policy without being executed.
+	 */
+	public void recordRejected() {
+		this.rejected.increment();
+	}
+
+	/**
+	 * Record the execution of a task.
+	 * @param wait The <code>long</code> time in nanoseconds
+	 * the task waited before its execution started.
+	 * @param duration The <code>long</code> execution time
+	 * in nanoseconds. Negative if the execution time should
+	 * not be recorded.
+	 * @param succeeded <code>true</code> if the execution
+	 * completed successfully. <code>false</code> if it
+	 * failed with an exception.
+	 */
+	void recordExecution(final long wait, final long duration, final boolean succeeded) {
+		if (succeeded) this.completed.increment();
+		else this.failed.increment();
+		this.queueWait.record(wait);
+		if (duration >= 0) this.executionTime.record(duration);
+	}
+
+	@Override
+	public long getSubmittedCount() {
+		return this.submitted.sum();
+	}
+
+	@Override
+	public long getCompletedCount() {
+		return this.completed.sum();
+	}
+
+	@Override
+	public long getFailedCount() {
+		return this.failed.sum();
+	}
+
+	@Override
+	public long getCancelledCount() {
+		return this.cancelled.sum();
+	}
+
+	@Override
+	public long getExpiredCount() {
+		return this.expired.sum();
+	}
+
+	@Override
+	public long getRejectedCount() {
+		return this.rejected.sum();
+	}
+
+	@Override
+	public long getStolenCount() {
+		return this.stolen.sum();
+	}
+
+	@Override
+	public long getIdleCount() {
+		return this.idle.sum();
+	}
+
+	@Override
+	public long getParkCount() {
+		return this.park.sum();
+	}
+
+	@Override
+	public long getExecutorCreatedCount() {
+		return this.created.sum();
+	}
+
+	@Override
+	public long getExecutorRetiredCount() {
+		return this.retired.sum();
+	}
+
+	@Override
+	public IHistogram getQueueWait() {
+		return this.queueWait;
+	}
+
+	@Override
+	public IHistogram getExecutionTime() {
+		return this.executionTime;
+	}
+
+	@Override
+	public List<IExecutorMetrics> getExecutorMetrics() {
+		return new ArrayList<IExecutorMetrics>(this.executors);
+	}
+}
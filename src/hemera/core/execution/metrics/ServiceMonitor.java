@@ -0,0 +1,179 @@
+package hemera.core.execution.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import hemera.core.execution.interfaces.metrics.IExecutorMetrics;
+import hemera.core.execution.interfaces.metrics.IServiceMetrics;
+
+/**
+ * <code>ServiceMonitor</code> defines the implementation
+ * of the JMX management bean that exposes the metrics
+ * of an execution service.
+ * <p>
+ * The monitor does not hold any state other than the
+ * metrics it exposes, and all values are read when the
+ * attributes are queried.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.2
+ */
+public class ServiceMonitor implements ServiceMonitorMBean {
+	/**
+	 * The <code>String</code> domain of the object names.
+	 */
+	private final static String domain = "hemera.core.execution";
+	/**
+	 * The <code>IServiceMetrics</code> to be exposed.
+	 */
+	private final IServiceMetrics metrics;
+	/**
+	 * The <code>ObjectName</code> the monitor is
+	 * registered with. <code>null</code> if the monitor
+	 * is not registered.
+	 */
+	private volatile ObjectName objectName;
+
+	/**
+	 * Constructor of <code>ServiceMonitor</code>.
+	 * @param metrics The <code>IServiceMetrics</code>
+	 * to be exposed.
+	 */
+	public ServiceMonitor(final IServiceMetrics metrics) {
+		if (metrics == null) throw new IllegalArgumentException("Metrics cannot be null.");
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Register the monitor with the platform MBean
+	 * server under the given name.
+	 * @param name The <code>String</code> name of the
+	 * monitored service.
+	 * @throws JMException If registration failed.
+	 */
+	public synchronized void register(final String name) throws JMException {
+		if (name == null) throw new IllegalArgumentException("Name cannot be null.");
+		else if (this.objectName != null) throw new IllegalStateException("Monitor has already been registered.");
+		final ObjectName objectName = new ObjectName(ServiceMonitor.domain + ":type=ExecutionService,name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		this.objectName = objectName;
+	}
+
+	/**
+	 * Unregister the monitor from the platform MBean
+	 * server. This method has no effect if the monitor
+	 * is not registered.
+	 * @throws JMException If unregistration failed.
+	 */
+	public synchronized void unregister() throws JMException {
+		if (this.objectName == null) return;
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		if (server.isRegistered(this.objectName)) server.unregisterMBean(this.objectName);
+		this.objectName = null;
+	}
+
+	@Override
+	public long getSubmittedCount() {
+		return this.metrics.getSubmittedCount();
+	}
+
+	@Override
+	public long getCompletedCount() {
+		return this.metrics.getCompletedCount();
+	}
+
+	@Override
+	public long getFailedCount() {
+		return this.metrics.getFailedCount();
+	}
+
+	@Override
+	public long getCancelledCount() {
+		return this.metrics.getCancelledCount();
+	}
+
+	@Override
+	public long getExpiredCount() {
+		return this.metrics.getExpiredCount();
+	}
+
+	@Override
+	public long getRejectedCount() {
+		return this.metrics.getRejectedCount();
+	}
+
+	@Override
+	public long getStolenCount() {
+		return this.metrics.getStolenCount();
+	}
+
+	@Override
+	public long getIdleCount() {
+		return this.metrics.getIdleCount();
+	}
+
+	@Override
+	public long getParkCount() {
+		return this.metrics.getParkCount();
+	}
+
+	@Override
+	public long getExecutorCreatedCount() {
+		return this.metrics.getExecutorCreatedCount();
+	}
+
+	@Override
+	public long getExecutorRetiredCount() {
+		return this.metrics.getExecutorRetiredCount();
+	}
+
+	@Override
+	public int getExecutorCount() {
+		return this.metrics.getExecutorMetrics().size();
+	}
+
+	@Override
+	public long getQueueWaitP50() {
+		return TimeUnit.NANOSECONDS.toMicros(this.metrics.getQueueWait().getPercentile(50));
+	}
+
+	@Override
+	public long getQueueWaitP99() {
+		return TimeUnit.NANOSECONDS.toMicros(this.metrics.getQueueWait().getPercentile(99));
+	}
+
+	@Override
+	public long getQueueWaitMax() {
+		return TimeUnit.NANOSECONDS.toMicros(this.metrics.getQueueWait().getMax());
+	}
+
+	@Override
+	public long getExecutionTimeP50() {
+		return TimeUnit.NANOSECONDS.toMicros(this.metrics.getExecutionTime().getPercentile(50));
+	}
+
+	@Override
+	public long getExecutionTimeP99() {
+		return TimeUnit.NANOSECONDS.toMicros(this.metrics.getExecutionTime().getPercentile(99));
+	}
+
+	@Override
+	public long getExecutionTimeMax() {
+		return TimeUnit.NANOSECONDS.toMicros(this.metrics.getExecutionTime().getMax());
+	}
+
+	@Override
+	public String[] getExecutorReports() {
+		final List<IExecutorMetrics> executors = this.metrics.getExecutorMetrics();
+		final String[] reports = new String[executors.size()];
+		for (int i = 0; i < reports.length; i++) {
+			reports[i] = executors.get(i).toString();
+		}
+		return reports;
+	}
+}
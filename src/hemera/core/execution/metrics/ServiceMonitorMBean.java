@@ -0,0 +1,129 @@
+package hemera.core.execution.metrics;
+
+/**
+ * <code>ServiceMonitorMBean</code> defines the standard
+ * management interface exposing the runtime metrics of
+ * an execution service through JMX.
+ * <p>
+ * All times are reported in microseconds.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.2
+ */
+public interface ServiceMonitorMBean {
+
+	/**
+	 * Retrieve the number of tasks submitted.
+	 * @return The <code>long</code> count.
+	 */
+	public long getSubmittedCount();
+
+	/**
+	 * Retrieve the number of tasks completed.
+	 * @return The <code>long</code> count.
+	 */
+	public long getCompletedCount();
+
+	/**
+	 * Retrieve the number of tasks failed.
+	 * @return The <code>long</code> count.
+	 */
+	public long getFailedCount();
+
+	/**
+	 * Retrieve the number of tasks cancelled.
+	 * @return The <code>long</code> count.
+	 */
+	public long getCancelledCount();
+
+	/**
+	 * Retrieve the number of tasks expired.
+	 * @return The <code>long</code> count.
+	 */
+	public long getExpiredCount();
+
+	/**
+	 * Retrieve the number of tasks rejected.
+	 * @return The <code>long</code> count.
+	 */
+	public long getRejectedCount();
+
+	/**
+	 * Retrieve the number of tasks stolen.
+	 * @return The <code>long</code> count.
+	 */
+	public long getStolenCount();
+
+	/**
+	 * Retrieve the number of times executors idled.
+	 * @return The <code>long</code> count.
+	 */
+	public long getIdleCount();
+
+	/**
+	 * Retrieve the number of times executors parked.
+	 * @return The <code>long</code> count.
+	 */
+	public long getParkCount();
+
+	/**
+	 * Retrieve the number of executors created.
+	 * @return The <code>long</code> count.
+	 */
+	public long getExecutorCreatedCount();
+
+	/**
+	 * Retrieve the number of executors retired.
+	 * @return The <code>long</code> count.
+	 */
+	public long getExecutorRetiredCount();
+
+	/**
+	 * Retrieve the number of active executors.
+	 * @return The <code>int</code> count.
+	 */
+	public int getExecutorCount();
+
+	/**
+	 * Retrieve the median queue wait time.
+	 * @return The <code>long</code> time in microseconds.
+	 */
+	public long getQueueWaitP50();
+
+	/**
+	 * Retrieve the 99th percentile queue wait time.
+	 * @return The <code>long</code> time in microseconds.
+	 */
+	public long getQueueWaitP99();
+
+	/**
+	 * Retrieve the maximum queue wait time.
+	 * @return The <code>long</code> time in microseconds.
+	 */
+	public long getQueueWaitMax();
+
+	/**
+	 * Retrieve the median execution time.
+	 * @return The <code>long</code> time in microseconds.
+	 */
+	public long getExecutionTimeP50();
+
+	/**
+	 * Retrieve the 99th percentile execution time.
+	 * @return The <code>long</code> time in microseconds.
+	 */
+	public long getExecutionTimeP99();
+
+	/**
+	 * Retrieve the maximum execution time.
+	 * @return The <code>long</code> time in microseconds.
+	 */
+	public long getExecutionTimeMax();
+
+	/**
+	 * Retrieve the reports of the active executors.
+	 * @return The <code>String</code> array of one
+	 * report line per executor.
+	 */
+	public String[] getExecutorReports();
+}
@@ -0,0 +1,79 @@
+package hemera.core.execution.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <code>StripedCounter</code> defines the implementation
+ * of a counter that is updated by many threads with very
+ * little contention.
+ * <p>
+ * The count is spread over a number of stripes, each
+ * of which occupies its own cache line, and a thread
+ * only updates the stripe selected by its thread ID.
+ * Reading the count sums up all the stripes, which is
+ * not an atomic snapshot, but never misses an update
+ * that happened before the read began. Updates do not
+ * allocate any memory.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class StripedCounter {
+	/**
+	 * The <code>int</code> number of long values in a
+	 * single stripe, which covers a cache line.
+	 */
+	final static int stride = 8;
+	/**
+	 * The <code>int</code> number of stripes, which is
+	 * the smallest power of two that is greater than or
+	 * equal to the number of available processors.
+	 */
+	final static int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+	/**
+	 * The <code>AtomicLongArray</code> of stripes.
+	 */
+	private final AtomicLongArray stripes;
+
+	/**
+	 * Constructor of <code>StripedCounter</code>.
+	 */
+	public StripedCounter() {
+		this.stripes = new AtomicLongArray(StripedCounter.stripeCount * StripedCounter.stride);
+	}
+
+	/**
+	 * Retrieve the stripe index of the invoking thread.
+	 * @return The <code>int</code> stripe index.
+	 */
+	static int stripe() {
+		return (int)Thread.currentThread().getId() & (StripedCounter.stripeCount - 1);
+	}
+
+	/**
+	 * Increment the count by one.
+	 */
+	public void increment() {
+		this.add(1);
+	}
+
+	/**
+	 * Add the given value to the count.
+	 * @param value The <code>long</code> value to add.
+	 */
+	public void add(final long value) {
+		this.stripes.addAndGet(StripedCounter.stripe() * StripedCounter.stride, value);
+	}
+
+	/**
+	 * Retrieve the current count.
+	 * @return The <code>long</code> sum of all stripes.
+	 */
+	public long sum() {
+		long sum = 0;
+		for (int i = 0; i < StripedCounter.stripeCount; i++) {
+			sum += this.stripes.get(i * StripedCounter.stride);
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,181 @@
+package hemera.core.execution.scalable;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import hemera.core.execution.interfaces.scalable.ReusePolicy;
+
+/**
+ * <code>IdleExecutorPool</code> defines the abstraction
+ * of the lock-free pool of idle scale executors that
+ * submitting threads hand tasks off to. The order in
+ * which idle executors are claimed is defined by the
+ * implementation.
+ * <p>
+ * An executor is added to the pool when it moves onto
+ * the idle state, and a submitting thread claims an
+ * executor by removing entries from the pool until it
+ * successfully moves one of the executors out of the
+ * idle state. Entries of executors that have retired
+ * while in the pool are simply discarded when they are
+ * removed. An executor only ever has a single entry in
+ * the pool while it is idle.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.1
+ */
+abstract class IdleExecutorPool {
+
+	/**
+	 * Create a new pool for the given reuse policy.
+	 * @param policy The <code>ReusePolicy</code>.
+	 * @return The <code>IdleExecutorPool</code> instance.
+	 */
+	static IdleExecutorPool newPool(final ReusePolicy policy) {
+		switch (policy) {
+		case FIFO: return new FifoPool();
+		default: return new LifoPool();
+		}
+	}
+
+	/**
+	 * Add the given idle executor to the pool.
+	 * @param executor The <code>ScaleExecutor</code>
+	 * that has moved onto the idle state.
+	 */
+	abstract void push(final ScaleExecutor executor);
+
+	/**
+	 * Claim an idle executor according to the reuse
+	 * order of the pool.
+	 * @return The claimed <code>ScaleExecutor</code>.
+	 * <code>null</code> if there are no idle executors.
+	 */
+	abstract ScaleExecutor claim();
+
+	/**
+	 * Check if the pool is empty. The pool may still
+	 * hold executors that have retired while idling.
+	 * @return <code>true</code> if there are no idle
+	 * executors. <code>false</code> otherwise.
+	 */
+	abstract boolean isEmpty();
+
+	/**
+	 * <code>LifoPool</code> defines the pool implementation
+	 * that reuses the most recently recycled executor
+	 * first, backed by a Treiber stack. Since a new node
+	 * is allocated for every push, the stack does not
+	 * suffer from the ABA problem.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final static class LifoPool extends IdleExecutorPool {
+		/**
+		 * The <code>AtomicReference</code> of the head
+		 * <code>Node</code>.
+		 */
+		private final AtomicReference<Node> head;
+
+		/**
+		 * Constructor of <code>LifoPool</code>.
+		 */
+		private LifoPool() {
+			this.head = new AtomicReference<Node>(null);
+		}
+
+		@Override
+		void push(final ScaleExecutor executor) {
+			final Node node = new Node(executor);
+			do {
+				node.next = this.head.get();
+			} while (!this.head.compareAndSet(node.next, node));
+		}
+
+		@Override
+		ScaleExecutor claim() {
+			while (true) {
+				final Node top = this.head.get();
+				if (top == null) return null;
+				else if (!this.head.compareAndSet(top, top.next)) continue;
+				// Discard executors that have retired while idling.
+				if (top.executor.claim()) return top.executor;
+			}
+		}
+
+		@Override
+		boolean isEmpty() {
+			return (this.head.get() == null);
+		}
+	}
+
+	/**
+	 * <code>Node</code> defines the stack node holding
+	 * a single idle executor.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final static class Node {
+		/**
+		 * The idle <code>ScaleExecutor</code>.
+		 */
+		private final ScaleExecutor executor;
+		/**
+		 * The next <code>Node</code> in the stack.
+		 */
+		private Node next;
+
+		/**
+		 * Constructor of <code>Node</code>.
+		 * @param executor The idle <code>ScaleExecutor</code>.
+		 */
+		private Node(final ScaleExecutor executor) {
+			this.executor = executor;
+		}
+	}
+
+	/**
+	 * <code>FifoPool</code> defines the pool implementation
+	 * that reuses the least recently recycled executor
+	 * first, backed by a lock-free linked queue.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final static class FifoPool extends IdleExecutorPool {
+		/**
+		 * The <code>ConcurrentLinkedQueue</code> of idle
+		 * <code>ScaleExecutor</code>.
+		 */
+		private final ConcurrentLinkedQueue<ScaleExecutor> executors;
+
+		/**
+		 * Constructor of <code>FifoPool</code>.
+		 */
+		private FifoPool() {
+			this.executors = new ConcurrentLinkedQueue<ScaleExecutor>();
+		}
+
+		@Override
+		void push(final ScaleExecutor executor) {
+			this.executors.offer(executor);
+		}
+
+		@Override
+		ScaleExecutor claim() {
+			while (true) {
+				final ScaleExecutor executor = this.executors.poll();
+				if (executor == null) return null;
+				// Discard executors that have retired while idling.
+				else if (executor.claim()) return executor;
+			}
+		}
+
+		@Override
+		boolean isEmpty() {
+			return this.executors.isEmpty();
+		}
+	}
+}
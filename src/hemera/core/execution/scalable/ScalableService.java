@@ -1,46 +1,76 @@
 package hemera.core.execution.scalable;
 
 import java.util.ArrayList;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import hemera.core.execution.AbstractServiceListener;
 import hemera.core.execution.ExecutionService;
 import hemera.core.execution.Executor;
+import hemera.core.execution.executable.DeadlineComparator;
+import hemera.core.execution.executable.EventExecutable;
+import hemera.core.execution.idle.BlockIdleStrategy;
 import hemera.core.execution.interfaces.IExceptionHandler;
 import hemera.core.execution.interfaces.IExecutor;
+import hemera.core.execution.interfaces.IIdleStrategy;
+import hemera.core.execution.interfaces.event.ExecutionEventType;
 import hemera.core.execution.interfaces.scalable.IScalableService;
 import hemera.core.execution.interfaces.scalable.IScaleExecutor;
-import hemera.core.execution.interfaces.task.ICyclicTask;
-import hemera.core.execution.interfaces.task.IEventTask;
-import hemera.core.execution.interfaces.task.IResultTask;
-import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
-import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
-import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.interfaces.scalable.ISizingController;
+import hemera.core.execution.interfaces.scalable.OverflowOrder;
+import hemera.core.execution.interfaces.scalable.ReusePolicy;
 
 /**
  * <code>ScalableService</code> defines a execution
  * service implementation that confirms with defined
  * interface <code>IScalableService</code>.
+ * <p>
+ * Idle executors are kept in a lock-free pool, and
+ * submitting threads hand tasks off to them directly
+ * without acquiring any locks. By default the most
+ * recently recycled executor is reused first, so that
+ * surplus on-demand executors time out and retire once
+ * the demand drops. When the maximum number
+ * of executors is reached and none of them are idle,
+ * tasks are buffered in an optional bounded overflow
+ * queue, which executors drain before going idle.
+ * The overflow queue can optionally be ordered by the
+ * earliest task deadline instead of the submission.
+ * Submitting threads only block when the overflow
+ * queue is full or disabled.
+ * <p>
+ * The minimum and maximum executor counts can be
+ * changed at runtime. An optional sizing controller
+ * samples the load of the service periodically, and
+ * adjusts the number of executors kept alive between
+ * the two bounds, so the pool follows the demand
+ * instead of relying on the on-demand timeout alone.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.1
+ * @version 1.0.8
  */
 public class ScalableService extends ExecutionService implements IScalableService {
 	/**
 	 * The <code>int</code> minimum number of executors
 	 * the service can shrink down to.
 	 */
-	private final int minCount;
+	private volatile int minCount;
 	/**
 	 * The <code>int</code> maximum number of executors
 	 * the service can grow up to.
 	 */
-	private final int maxCount;
+	private volatile int maxCount;
+	/**
+	 * The <code>int</code> target number of executors
+	 * set by the sizing controller. 0 if there is no
+	 * sizing controller.
+	 */
+	private volatile int targetCount;
 	/**
 	 * The <code>long</code> timeout value used to
 	 * terminate on-demand executors.
@@ -52,40 +82,111 @@ public class ScalableService extends ExecutionService implements IScalableServic
 	 */
 	private final TimeUnit timeoutUnit;
 	/**
-	 * The <code>BlockingQueue</code> of instances of
-	 * all <code>IScaleExecutor</code> created.
+	 * The <code>IIdleStrategy</code> used by executors
+	 * when there are no tasks to execute.
+	 */
+	private final IIdleStrategy idleStrategy;
+	/**
+	 * The <code>Queue</code> of instances of all
+	 * <code>IScaleExecutor</code> created.
 	 * <p>
 	 * This data structure guarantees thread-safety and
 	 * high concurrency to allow executors to be added
 	 * with minimum contention, since they may be added
-	 * from different submission threads. This structure
-	 * also provides blocking behavior where if the queue
-	 * is full, adding will block until one is removed.
+	 * from different submission threads.
 	 */
-	private final BlockingQueue<IScaleExecutor> executors;
+	private final Queue<IScaleExecutor> executors;
 	/**
-	 * The <code>BlockingDeque</code> of instances of
-	 * available <code>IScaleExecutor</code>.
+	 * The <code>AtomicInteger</code> number of executors.
 	 * <p>
-	 * This data structure guarantees thread-safety and
-	 * high concurrency to allow executors to be polled
-	 * and added with minimum contention, since they
-	 * may be added and polled from different submission
-	 * threads. This structure also provides blocking
-	 * behavior where if the deque is empty, polling
-	 * will block until one becomes available. Or if the
-	 * deque is full, adding will block until one is
-	 * polled.
+	 * A count is reserved before an executor is created
+	 * and released after it is retired, which bounds the
+	 * number of executors by the maximum count without
+	 * locking, while allowing the maximum to change.
+	 */
+	private final AtomicInteger executorCount;
+	/**
+	 * The <code>AtomicInteger</code> number of executor
+	 * removals in flight.
+	 * <p>
+	 * A removal releases the executor count before it
+	 * tries to retire the executor, and takes the count
+	 * back if the executor has been claimed meanwhile.
+	 * Reservations leave room for these removals, so the
+	 * temporarily released count is never reused.
+	 */
+	private final AtomicInteger removals;
+	/**
+	 * The <code>IdleExecutorPool</code> of executors
+	 * that are available for task handoff, ordered by
+	 * the reuse policy.
+	 */
+	private final IdleExecutorPool idles;
+	/**
+	 * The <code>int</code> maximum number of tasks the
+	 * overflow queue can buffer. 0 if the overflow queue
+	 * is disabled.
+	 */
+	private final int overflowCapacity;
+	/**
+	 * The <code>Queue</code> of <code>EventExecutable</code>
+	 * buffered when all executors are busy, ordered by
+	 * the overflow order.
+	 */
+	private final Queue<EventExecutable> overflow;
+	/**
+	 * The <code>AtomicInteger</code> number of reserved
+	 * overflow queue slots.
 	 * <p>
-	 * Available executors are inserted at the tail and
-	 * polled from the head in a round-robin rotation.
+	 * A slot is reserved before an executable is added
+	 * to the queue and released after it is polled, so
+	 * this value never under counts the queue size.
 	 */
-	private final BlockingDeque<IScaleExecutor> availables;
+	private final AtomicInteger overflowCount;
+	/**
+	 * The <code>AtomicInteger</code> number of threads
+	 * handing buffered executables off to executors.
+	 * <p>
+	 * Cancellation waits for these hand-offs to finish,
+	 * so an executable polled from the overflow queue
+	 * always reaches its executor before the executors
+	 * are swept for pending tasks.
+	 */
+	private final AtomicInteger handoffs;
+	/**
+	 * The <code>boolean</code> flag indicating if the
+	 * pending tasks have been requested to be cancelled.
+	 */
+	private volatile boolean cancelling;
+	/**
+	 * The <code>Queue</code> of submitting threads that
+	 * are blocked until an executor becomes available.
+	 */
+	private final Queue<Thread> waiters;
 	/**
 	 * The <code>AtomicInteger</code> of current on-
 	 * demand executor index.
 	 */
 	private final AtomicInteger ondemandIndex;
+	/**
+	 * The <code>ISizingController</code> instance.
+	 * <code>null</code> if the pool is not sized
+	 * adaptively.
+	 */
+	private final ISizingController controller;
+	/**
+	 * The sizer <code>Thread</code> that periodically
+	 * invokes the sizing controller. <code>null</code>
+	 * if there is no sizing controller.
+	 */
+	private final Thread sizer;
+	/**
+	 * The <code>boolean</code> flag indicating if the
+	 * service is active, which is set after activation
+	 * and cleared on shutdown. Executors are only started
+	 * by resizing while the service is active.
+	 */
+	private volatile boolean active;
 	
 	/**
 	 * Constructor of <code>ScalableService</code>.
@@ -104,17 +205,200 @@ public class ScalableService extends ExecutionService implements IScalableServic
 	 */
 	public ScalableService(final IExceptionHandler handler, final AbstractServiceListener listener,
 			final int min, final int max, final long timeoutValue, final TimeUnit timeoutUnit) {
+		this(handler, listener, min, max, timeoutValue, timeoutUnit, new BlockIdleStrategy());
+	}
+	
+	/**
+	 * Constructor of <code>ScalableService</code>.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 * @param listener The <code>AbstractServiceListener</code>
+	 * instance.
+	 * @param min The <code>int</code> minimum number
+	 * of executors the service can shrink down to.
+	 * @param max The <code>int</code> maximum number
+	 * of executors the service can grow up to.
+	 * @param timeoutValue The <code>long</code> time-
+	 * out value used to terminate on-demand executor.
+	 * @param timeoutUnit The <code>TimeUnit</code> the
+	 * timeout value is in.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used by executors when there are no tasks to
+	 * execute.
+	 */
+	public ScalableService(final IExceptionHandler handler, final AbstractServiceListener listener,
+			final int min, final int max, final long timeoutValue, final TimeUnit timeoutUnit,
+			final IIdleStrategy idleStrategy) {
+		this(handler, listener, min, max, timeoutValue, timeoutUnit, idleStrategy, 0);
+	}
+	
+	/**
+	 * Constructor of <code>ScalableService</code>.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 * @param listener The <code>AbstractServiceListener</code>
+	 * instance.
+	 * @param min The <code>int</code> minimum number
+	 * of executors the service can shrink down to.
+	 * @param max The <code>int</code> maximum number
+	 * of executors the service can grow up to.
+	 * @param timeoutValue The <code>long</code> time-
+	 * out value used to terminate on-demand executor.
+	 * @param timeoutUnit The <code>TimeUnit</code> the
+	 * timeout value is in.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used by executors when there are no tasks to
+	 * execute.
+	 * @param overflowCapacity The <code>int</code>
+	 * maximum number of tasks buffered when all the
+	 * executors are busy, before submissions are
+	 * handed to the rejection policy.
+	 * 0 to disable the overflow buffering.
+	 */
+	public ScalableService(final IExceptionHandler handler, final AbstractServiceListener listener,
+			final int min, final int max, final long timeoutValue, final TimeUnit timeoutUnit,
+			final IIdleStrategy idleStrategy, final int overflowCapacity) {
+		this(handler, listener, min, max, timeoutValue, timeoutUnit, idleStrategy, overflowCapacity, ReusePolicy.LIFO);
+	}
+	
+	/**
+	 * Constructor of <code>ScalableService</code>.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 * @param listener The <code>AbstractServiceListener</code>
+	 * instance.
+	 * @param min The <code>int</code> minimum number
+	 * of executors the service can shrink down to.
+	 * @param max The <code>int</code> maximum number
+	 * of executors the service can grow up to.
+	 * @param timeoutValue The <code>long</code> time-
+	 * out value used to terminate on-demand executor.
+	 * @param timeoutUnit The <code>TimeUnit</code> the
+	 * timeout value is in.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used by executors when there are no tasks to
+	 * execute.
+	 * @param overflowCapacity The <code>int</code>
+	 * maximum number of tasks buffered when all the
+	 * executors are busy, before submissions are
+	 * handed to the rejection policy.
+	 * 0 to disable the overflow buffering.
+	 * @param policy The <code>ReusePolicy</code> that
+	 * defines the order idle executors are reused in.
+	 */
+	public ScalableService(final IExceptionHandler handler, final AbstractServiceListener listener,
+			final int min, final int max, final long timeoutValue, final TimeUnit timeoutUnit,
+			final IIdleStrategy idleStrategy, final int overflowCapacity, final ReusePolicy policy) {
+		this(handler, listener, min, max, timeoutValue, timeoutUnit, idleStrategy, overflowCapacity, policy, null);
+	}
+	
+	/**
+	 * Constructor of <code>ScalableService</code>.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 * @param listener The <code>AbstractServiceListener</code>
+	 * instance.
+	 * @param min The <code>int</code> minimum number
+	 * of executors the service can shrink down to.
+	 * @param max The <code>int</code> maximum number
+	 * of executors the service can grow up to.
+	 * @param timeoutValue The <code>long</code> time-
+	 * out value used to terminate on-demand executor.
+	 * @param timeoutUnit The <code>TimeUnit</code> the
+	 * timeout value is in.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used by executors when there are no tasks to
+	 * execute.
+	 * @param overflowCapacity The <code>int</code>
+	 * maximum number of tasks buffered when all the
+	 * executors are busy, before submissions are
+	 * handed to the rejection policy.
+	 * 0 to disable the overflow buffering.
+	 * @param policy The <code>ReusePolicy</code> that
+	 * defines the order idle executors are reused in.
+	 * @param controller The <code>ISizingController</code>
+	 * that adjusts the number of executors to the load.
+	 * <code>null</code> to only scale on demand.
+	 */
+	public ScalableService(final IExceptionHandler handler, final AbstractServiceListener listener,
+			final int min, final int max, final long timeoutValue, final TimeUnit timeoutUnit,
+			final IIdleStrategy idleStrategy, final int overflowCapacity, final ReusePolicy policy,
+			final ISizingController controller) {
+		this(handler, listener, min, max, timeoutValue, timeoutUnit, idleStrategy, overflowCapacity, policy, controller, OverflowOrder.FIFO);
+	}
+
+	/**
+	 * Constructor of <code>ScalableService</code>.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 * @param listener The <code>AbstractServiceListener</code>
+	 * instance.
+	 * @param min The <code>int</code> minimum number
+	 * of executors the service can shrink down to.
+	 * @param max The <code>int</code> maximum number
+	 * of executors the service can grow up to.
+	 * @param timeoutValue The <code>long</code> time-
+	 * out value used to terminate on-demand executor.
+	 * @param timeoutUnit The <code>TimeUnit</code> the
+	 * timeout value is in.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used by executors when there are no tasks to
+	 * execute.
+	 * @param overflowCapacity The <code>int</code>
+	 * maximum number of tasks buffered when all the
+	 * executors are busy, before submissions are
+	 * handed to the rejection policy.
+	 * 0 to disable the overflow buffering.
+	 * @param policy The <code>ReusePolicy</code> that
+	 * defines the order idle executors are reused in.
+	 * @param controller The <code>ISizingController</code>
+	 * that adjusts the number of executors to the load.
+	 * <code>null</code> to only scale on demand.
+	 * @param order The <code>OverflowOrder</code> the
+	 * buffered tasks are executed in.
+	 */
+	public ScalableService(final IExceptionHandler handler, final AbstractServiceListener listener,
+			final int min, final int max, final long timeoutValue, final TimeUnit timeoutUnit,
+			final IIdleStrategy idleStrategy, final int overflowCapacity, final ReusePolicy policy,
+			final ISizingController controller, final OverflowOrder order) {
 		super(handler, listener);
+		if (idleStrategy == null) throw new IllegalArgumentException("Idle strategy cannot be null.");
+		else if (overflowCapacity < 0) throw new IllegalArgumentException("Overflow capacity cannot be negative.");
+		else if (policy == null) throw new IllegalArgumentException("Reuse policy cannot be null.");
+		else if (order == null) throw new IllegalArgumentException("Overflow order cannot be null.");
 		this.minCount = min;
 		this.maxCount = max;
 		this.timeoutValue = timeoutValue;
 		this.timeoutUnit = timeoutUnit;
+		this.idleStrategy = idleStrategy;
 		if (this.minCount > this.maxCount) {
 			throw new IllegalArgumentException("Maximum executor count must be greater than the minimum executor count.");
 		}
-		this.executors = new LinkedBlockingQueue<IScaleExecutor>(this.maxCount);
-		this.availables = new LinkedBlockingDeque<IScaleExecutor>(this.maxCount);
+		this.targetCount = 0;
+		this.executors = new ConcurrentLinkedQueue<IScaleExecutor>();
+		this.executorCount = new AtomicInteger(0);
+		this.removals = new AtomicInteger(0);
+		this.idles = IdleExecutorPool.newPool(policy);
+		this.overflowCapacity = overflowCapacity;
+		if (order == OverflowOrder.DEADLINE) {
+			this.overflow = new PriorityBlockingQueue<EventExecutable>(11, new DeadlineComparator());
+		} else {
+			this.overflow = new ConcurrentLinkedQueue<EventExecutable>();
+		}
+		this.overflowCount = new AtomicInteger(0);
+		this.handoffs = new AtomicInteger(0);
+		this.cancelling = false;
+		this.waiters = new ConcurrentLinkedQueue<Thread>();
 		this.ondemandIndex = new AtomicInteger(0);
+		this.controller = controller;
+		if (this.controller == null) {
+			this.sizer = null;
+		} else {
+			this.sizer = new Thread(new Sizer());
+			this.sizer.setName("ScalableService-Sizer");
+			this.sizer.setDaemon(true);
+		}
+		this.active = false;
 	}
 
 	@Override
@@ -122,176 +406,371 @@ public class ScalableService extends ExecutionService implements IScalableServic
 		// Create and start initial executors.
 		for (int i = 0; i < this.minCount; i++) {
 			final String name = "Initial-ScaleExecutor-" + i;
-			final ScaleExecutor executor = new ScaleExecutor(name, this.handler, this);
-			boolean succeeded = this.executors.offer(executor);
-			if (!succeeded) {
-				final StringBuilder builder = new StringBuilder();
-				builder.append("Creating initial scale executor failed on count ").append(i);
-				builder.append(" with maximum count ").append(this.maxCount);
-				builder.append(" with minimum count ").append(this.minCount).append(".");
-				throw new IllegalArgumentException(builder.toString());
-			} else {
-				executor.start();
-				succeeded = this.availables.offerLast(executor);
-				if (!succeeded) {
-					final StringBuilder builder = new StringBuilder();
-					builder.append("Offering initial scale executor failed on count ").append(i);
-					builder.append(" with maximum count ").append(this.maxCount);
-					builder.append(" with minimum count ").append(this.minCount).append(".");
-					throw new IllegalArgumentException(builder.toString());
-				}
-			}
+			final ScaleExecutor executor = new ScaleExecutor(name, this.handler, this, this.idleStrategy, this.metrics);
+			this.executorCount.incrementAndGet();
+			this.executors.offer(executor);
+			this.start(executor);
+			executor.markIdle();
+			this.idles.push(executor);
 		}
+		this.active = true;
+		if (this.sizer != null) this.sizer.start();
+		// The minimum count may have been raised concurrently.
+		this.grow();
 	}
 
 	@Override
 	protected void doShutdown() {
-		// Gracefully terminate and remove all active executors.
-		while (!this.executors.isEmpty()) {
-			final IExecutor executor = this.executors.poll();
+		this.stopSizer();
+		// Gracefully terminate all active executors. They are kept
+		// so a forced shutdown can still reach the remaining ones.
+		for (final IExecutor executor : this.executors) {
 			executor.requestTerminate();
 		}
 	}
 
 	@Override
-	protected void doShutdownAndWait() throws InterruptedException {
-		// Remove and wait for all executor threads to terminate.
-		while (!this.executors.isEmpty()) {
-			final IExecutor executor = this.executors.poll();
-			executor.requestTerminate();
-			while (!executor.hasTerminated()) {
-				TimeUnit.MILLISECONDS.sleep(5);
-			}
+	protected void doDrain() {
+		this.stopSizer();
+		// Let all active executors complete their tasks as well as
+		// the buffered ones.
+		for (final IExecutor executor : this.executors) {
+			executor.requestDrain();
+		}
+	}
+
+	@Override
+	protected void doCancel(final List<EventExecutable> pending) {
+		this.cancelling = true;
+		this.doShutdown();
+		// Wait for the buffered tasks being handed off to reach
+		// their executors, no new hand-offs can start.
+		while (this.handoffs.get() > 0) {
+			Thread.yield();
+		}
+		// Take over the assigned tasks that have not yet started.
+		for (final IScaleExecutor executor : this.executors) {
+			final EventExecutable executable = ((ScaleExecutor)executor).takePending();
+			if (executable != null) pending.add(executable);
+		}
+		EventExecutable executable = this.pollOverflow();
+		while (executable != null) {
+			pending.add(executable);
+			executable = this.pollOverflow();
 		}
 	}
 
 	@Override
 	protected void doForceShutdown() {
+		this.stopSizer();
 		// Forcefully terminate and remove all active executors.
 		while (!this.executors.isEmpty()) {
 			final IExecutor executor = this.executors.poll();
-			executor.forceTerminate();
+			if (executor != null) executor.forceTerminate();
 		}
 	}
 
+	/**
+	 * Stop the sizer thread and prevent any further
+	 * executors from being started by resizing.
+	 */
+	private void stopSizer() {
+		this.active = false;
+		if (this.sizer != null) LockSupport.unpark(this.sizer);
+	}
+
 	@Override
-	protected void doForceShutdown(final long time, final TimeUnit unit) throws InterruptedException {
-		// Gracefully terminate all active executors.
-		for (final IExecutor executor : this.executors) {
-			executor.requestTerminate();
-		}
-		// Wait for expiration.
-		unit.sleep(time);
-		// Forcefully terminate and remove all active executors.
-		while (!this.executors.isEmpty()) {
-			final IExecutor executor = this.executors.poll();
-			executor.forceTerminate();
+	protected boolean offer(final EventExecutable executable) {
+		if (this.handoff(executable)) return true;
+		else if (this.newOndemandExecutor(executable)) return true;
+		else if (this.offerOverflow(executable)) {
+			// An executor may have gone idle before the task was
+			// buffered, so it would not have seen the task.
+			this.drainOverflow();
+			return true;
 		}
+		return false;
 	}
 
 	@Override
-	protected IEventTaskHandle doSubmit(final IEventTask task) {
-		return this.nextScaleExecutor().assign(task);
+	protected EventExecutable evict() {
+		return this.pollOverflow();
 	}
-	
+
 	@Override
-	protected ICyclicTaskHandle doSubmit(final ICyclicTask task) {
-		return this.nextScaleExecutor().assign(task);
+	protected void awaitCapacity(final long timeout) throws InterruptedException {
+		final Thread current = Thread.currentThread();
+		this.waiters.offer(current);
+		try {
+			// Check again after publishing the waiter, so either the
+			// capacity is observed here, or the waiter is woken up by
+			// the recycling executor. Observed capacity may be held
+			// back by the concurrency limit, so back off instead.
+			if (this.hasCapacity()) super.awaitCapacity(timeout);
+			else if (timeout < 0) LockSupport.park(this);
+			else LockSupport.parkNanos(this, timeout);
+		} finally {
+			this.waiters.remove(current);
+		}
+		if (Thread.interrupted()) throw new InterruptedException("Submission interrupted while waiting for an executor.");
+	}
+
+	/**
+	 * Check if there may be capacity for a new task.
+	 * @return <code>true</code> if there may be an idle
+	 * executor, a new executor can be created or the
+	 * overflow queue has room. <code>false</code> if
+	 * the service is saturated.
+	 */
+	private boolean hasCapacity() {
+		if (!this.idles.isEmpty()) return true;
+		else if (this.executorCount.get() < this.maxCount) return true;
+		else return (this.overflowCount.get() < this.overflowCapacity);
 	}
 
 	@Override
-	protected <V> IResultTaskHandle<V> doSubmit(final IResultTask<V> task) {
-		return this.nextScaleExecutor().assign(task);
+	protected void doSubmitAll(final EventExecutable[] executables) {
+		// Each scale executor only holds a single task.
+		for (int i = 0; i < executables.length; i++) {
+			this.dispatch(executables[i]);
+		}
 	}
 
 	/**
-	 * Retrieve the next available scale executor.
-	 * <p>
-	 * Invocations of this method has three possible
-	 * outcomes:
-	 * 1. If there is an available executor then it
-	 * is returned immediately.
-	 * 2. If there are no executors available but the
-	 * maximum executor count has not been reached,
-	 * an on-demand executor is created and returned.
-	 * 3. If there are no executors available and the
-	 * maximum executor count has been reached, this
-	 * invocation blocks until an executor becomes
-	 * available, at which time, the executor is then
-	 * returned.
-	 * @return The <code>IScaleExecutor</code> for
-	 * task assignment.
-	 */
-	private IScaleExecutor nextScaleExecutor() {
-		// If there is an available executor then it is returned immediately.
-		final IScaleExecutor existing = this.availables.pollFirst();
-		if (existing != null) return existing;
-		// Try to create and add a new on-demand executor.
-		final IScaleExecutor newexecutor = this.newOndemandExecutor();
-		// New executor created, return the executor.
-		if (newexecutor != null) return newexecutor;
-		// Maximum amount has been reached, wait until an
-		// existing executor becomes available.
-		else {
+	 * Dispatch the given executable for execution,
+	 * blocking until an executor or an overflow slot
+	 * becomes available if the service is saturated.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be executed.
+	 */
+	private void dispatch(final EventExecutable executable) {
+		if (this.offer(executable)) return;
+		this.listener.capacityReached();
+		while (!this.offer(executable)) {
 			try {
-				return this.availables.takeFirst();
+				this.awaitCapacity(-1);
 			} catch (final InterruptedException e) {
 				this.handler.handle(e);
-				return this.nextScaleExecutor();
 			}
 		}
 	}
 
+	/**
+	 * Try to hand the given executable off to an idle
+	 * executor.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be executed.
+	 * @return <code>true</code> if the executable has
+	 * been handed off. <code>false</code> if there are
+	 * no idle executors.
+	 */
+	private boolean handoff(final EventExecutable executable) {
+		final ScaleExecutor executor = this.idles.claim();
+		if (executor == null) return false;
+		executor.handoff(executable);
+		return true;
+	}
+
 	/**
 	 * Try to create and insert a new on-demand executor
-	 * if the maximum amount has not been reached.
-	 * @return The <code>IScaleExecutor</code> created.
-	 * <code>null</code> if the maximum amount has been
-	 * reached.
+	 * with the given executable if the maximum amount
+	 * has not been reached.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be executed.
+	 * @return <code>true</code> if the executor has been
+	 * created. <code>false</code> if the maximum amount
+	 * has been reached.
+	 */
+	private boolean newOndemandExecutor(final EventExecutable executable) {
+		if (!this.reserve()) return false;
+		final ScaleExecutor executor = this.newOndemandExecutor();
+		executor.handoff(executable);
+		this.start(executor);
+		return true;
+	}
+
+	/**
+	 * Create and insert a new on-demand executor, whose
+	 * count has been reserved.
+	 * @return The <code>ScaleExecutor</code> instance
+	 * that has not yet been started.
 	 */
-	private IScaleExecutor newOndemandExecutor() {
+	private ScaleExecutor newOndemandExecutor() {
 		final String name = "Ondemand-ScaleExecutor-" + this.ondemandIndex.getAndIncrement();
-		final ScaleExecutor executor = new ScaleExecutor(name, this.handler, this, this.timeoutValue, this.timeoutUnit);
-		// Try to insert.
-		final boolean succeeded = this.executors.offer(executor);
-		// Maximum capacity reached, notify listener.
-		if (!succeeded) {
-			this.listener.capacityReached();
-			return null;
-		} else {
-			executor.start();
-			return executor;
+		final ScaleExecutor executor = new ScaleExecutor(name, this.handler, this, this.timeoutValue, this.timeoutUnit,
+				this.idleStrategy, this.metrics);
+		this.executors.offer(executor);
+		if (this.events.isEnabled(ExecutionEventType.EXECUTOR_CREATED)) this.events.publish(ExecutionEventType.EXECUTOR_CREATED, name);
+		return executor;
+	}
+
+	/**
+	 * Try to reserve the count of a new executor if the
+	 * maximum count has not been reached.
+	 * @return <code>true</code> if the count has been
+	 * reserved. <code>false</code> if the maximum count
+	 * has been reached.
+	 */
+	private boolean reserve() {
+		while (true) {
+			final int count = this.executorCount.get();
+			if (count + this.removals.get() >= this.maxCount) return false;
+			else if (this.executorCount.compareAndSet(count, count+1)) return true;
 		}
 	}
 
+	/**
+	 * Start idle on-demand executors until the number
+	 * of executors reaches the effective minimum count.
+	 */
+	private void grow() {
+		while (this.active && this.executorCount.get() < this.getTargetCount()) {
+			if (!this.reserve()) return;
+			final ScaleExecutor executor = this.newOndemandExecutor();
+			this.start(executor);
+			// The service may have been shut down concurrently,
+			// after the executors were terminated.
+			if (!this.active) {
+				executor.requestTerminate();
+				return;
+			}
+			executor.markIdle();
+			this.idles.push(executor);
+			// The new executor may pick up a buffered task or a
+			// blocked submission.
+			this.drainOverflow();
+			final Thread waiter = this.waiters.poll();
+			if (waiter != null) LockSupport.unpark(waiter);
+		}
+	}
+
+	/**
+	 * Try to buffer the given executable in the overflow
+	 * queue.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be buffered.
+	 * @return <code>true</code> if the executable has
+	 * been buffered. <code>false</code> if the queue is
+	 * full or disabled.
+	 */
+	private boolean offerOverflow(final EventExecutable executable) {
+		if (this.overflowCapacity <= 0) return false;
+		// Reserve a slot first to bound the queue without locking.
+		if (this.overflowCount.incrementAndGet() > this.overflowCapacity) {
+			this.overflowCount.decrementAndGet();
+			return false;
+		}
+		this.overflow.offer(executable);
+		return true;
+	}
+
+	/**
+	 * Poll the next buffered executable.
+	 * @return The <code>EventExecutable</code>.
+	 * <code>null</code> if there are none.
+	 */
+	private EventExecutable pollOverflow() {
+		if (this.overflowCount.get() <= 0) return null;
+		final EventExecutable executable = this.overflow.poll();
+		if (executable != null) this.overflowCount.decrementAndGet();
+		return executable;
+	}
+
+	/**
+	 * Hand the buffered executables off to the idle
+	 * executors until either runs out.
+	 */
+	private void drainOverflow() {
+		if (!this.beginHandoff()) return;
+		try {
+			while (this.overflowCount.get() > 0) {
+				final ScaleExecutor executor = this.idles.claim();
+				if (executor == null) return;
+				final EventExecutable executable = this.pollOverflow();
+				if (executable != null) {
+					executor.handoff(executable);
+				} else {
+					// Put the executor back and check again, since a task
+					// may have been buffered after the poll.
+					executor.markIdle();
+					this.idles.push(executor);
+				}
+			}
+		} finally {
+			this.handoffs.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Try to start handing buffered executables off to
+	 * the executors.
+	 * @return <code>true</code> if the hand-off may
+	 * proceed, in which case the hand-off count must be
+	 * decremented once it is done. <code>false</code>
+	 * if the pending tasks are being cancelled.
+	 */
+	private boolean beginHandoff() {
+		this.handoffs.incrementAndGet();
+		if (!this.cancelling) return true;
+		this.handoffs.decrementAndGet();
+		return false;
+	}
+
 	@Override
 	public void recycle(final IScaleExecutor executor) {
-		// Try to insert into the available pool.
-		final boolean succeeded = this.availables.offerLast(executor);
-		// If failed, then this executor is an excess one, and should not exist.
-		if (!succeeded) {
-			executor.requestTerminate();
-			this.availables.remove(executor);
-			this.executors.remove(executor);
-			// Report exception to exception handler.
-			final RuntimeException exception = new RuntimeException("Excess executor detected and terminated: " + executor.getName());
-			this.handler.handle(exception);
+		final ScaleExecutor scaleExecutor = (ScaleExecutor)executor;
+		// A terminating executor exits without taking another
+		// task, so the buffered tasks are left for cancellation.
+		if (!scaleExecutor.hasRequestedTermination() && this.beginHandoff()) {
+			try {
+				// Take over a buffered task directly without idling.
+				final EventExecutable buffered = this.pollOverflow();
+				if (buffered != null) {
+					scaleExecutor.handoff(buffered);
+				} else {
+					scaleExecutor.markIdle();
+					this.idles.push(scaleExecutor);
+					// A task may have been buffered after the poll.
+					this.drainOverflow();
+				}
+			} finally {
+				this.handoffs.decrementAndGet();
+			}
 		}
+		// Wake up a blocked submitting thread, since either an
+		// executor or an overflow slot has become available.
+		final Thread waiter = this.waiters.poll();
+		if (waiter != null) LockSupport.unpark(waiter);
 	}
 
 	@Override
 	public boolean remove(final IScaleExecutor executor) {
 		// Check on-demand.
 		if (!executor.isOndemand()) return false;
-		// Try to remove from available first to see if it
-		// has been polled for new task assignment already.
-		final boolean removed = this.availables.remove(executor);
-		// Remove from all executor pool as well.
-		if (removed) {
-			this.executors.remove(executor);
-			return true;
-		} else {
-			return false;
+		// Publish the removal before releasing the count, so it
+		// cannot be reserved until the executor is retired.
+		this.removals.incrementAndGet();
+		try {
+			// Release the count first so concurrent removals never
+			// shrink the pool below the effective minimum count.
+			while (true) {
+				final int count = this.executorCount.get();
+				if (count <= this.getTargetCount()) return false;
+				else if (this.executorCount.compareAndSet(count, count-1)) break;
+			}
+			// Only an idle executor can be retired, since it may
+			// have been claimed for a new task assignment already.
+			final boolean retired = ((ScaleExecutor)executor).retire();
+			// Remove from all executor pool as well.
+			if (retired) {
+				this.executors.remove(executor);
+				return true;
+			} else {
+				this.executorCount.incrementAndGet();
+				return false;
+			}
+		} finally {
+			this.removals.decrementAndGet();
 		}
 	}
 
@@ -307,11 +786,95 @@ public class ScalableService extends ExecutionService implements IScalableServic
 
 	@Override
 	public int getAvailableCount() {
-		return this.availables.size();
+		int count = 0;
+		for (final IScaleExecutor executor : this.executors) {
+			if (((ScaleExecutor)executor).isIdle()) count++;
+		}
+		return count;
 	}
 
 	@Override
 	public int getCurrentExecutorCount() {
-		return this.executors.size();
+		return this.executorCount.get();
+	}
+
+	@Override
+	public synchronized void setMinCount(final int min) {
+		if (min < 0) throw new IllegalArgumentException("Minimum executor count cannot be negative.");
+		else if (min > this.maxCount) {
+			throw new IllegalArgumentException("Maximum executor count must be greater than the minimum executor count.");
+		}
+		this.minCount = min;
+		this.grow();
+	}
+
+	@Override
+	public synchronized void setMaxCount(final int max) {
+		if (max <= 0) throw new IllegalArgumentException("Maximum executor count must be positive.");
+		else if (max < this.minCount) {
+			throw new IllegalArgumentException("Maximum executor count must be greater than the minimum executor count.");
+		}
+		this.maxCount = max;
+		// Blocked submissions may proceed with new executors.
+		Thread waiter = this.waiters.poll();
+		while (waiter != null) {
+			LockSupport.unpark(waiter);
+			waiter = this.waiters.poll();
+		}
+	}
+
+	@Override
+	public int getMinCount() {
+		return this.minCount;
+	}
+
+	@Override
+	public int getMaxCount() {
+		return this.maxCount;
+	}
+
+	@Override
+	public int getTargetCount() {
+		final int min = this.minCount;
+		final int max = this.maxCount;
+		final int target = this.targetCount;
+		if (target <= min) return min;
+		else if (target >= max) return max;
+		else return target;
+	}
+
+	/**
+	 * <code>Sizer</code> defines the logic of the sizer
+	 * thread that samples the load of the service and
+	 * applies the target count of the sizing controller.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final class Sizer implements Runnable {
+
+		@Override
+		public void run() {
+			final ScalableService service = ScalableService.this;
+			final SizingSampler sampler = new SizingSampler(service.metrics);
+			while (service.active) {
+				// Wait until the end of the current period.
+				final long end = System.nanoTime() + service.controller.getPeriod(TimeUnit.NANOSECONDS);
+				long remaining = end - System.nanoTime();
+				while (remaining > 0 && service.active) {
+					LockSupport.parkNanos(this, remaining);
+					remaining = end - System.nanoTime();
+				}
+				if (!service.active) break;
+				try {
+					final int count = service.getCurrentExecutorCount();
+					sampler.sample(count, count-service.getAvailableCount(), service.minCount, service.maxCount);
+					service.targetCount = service.controller.getTargetCount(sampler);
+					service.grow();
+				} catch (final Exception e) {
+					service.handler.handle(e);
+				}
+			}
+		}
 	}
 }
@@ -1,16 +1,15 @@
 package hemera.core.execution.scalable;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import hemera.core.execution.Executor;
 import hemera.core.execution.executable.CyclicExecutable;
 import hemera.core.execution.executable.EventExecutable;
 import hemera.core.execution.executable.ResultExecutable;
 import hemera.core.execution.interfaces.IExceptionHandler;
+import hemera.core.execution.interfaces.IIdleStrategy;
 import hemera.core.execution.interfaces.scalable.IScalableService;
 import hemera.core.execution.interfaces.scalable.IScaleExecutor;
 import hemera.core.execution.interfaces.task.ICyclicTask;
@@ -19,6 +18,7 @@ import hemera.core.execution.interfaces.task.IResultTask;
 import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
 import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
 import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.metrics.ServiceMetrics;
 
 /**
  * <code>ScaleExecutor</code> defines the executor
@@ -26,9 +26,24 @@ import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
  * <code>IScaleExecutor</code>.
  *
  * @author Yi Wang (Neakor)
- * @version 1.0.2
+ * @version 1.0.6
  */
 public class ScaleExecutor extends Executor implements IScaleExecutor {
+	/**
+	 * The <code>int</code> pool state of an executor
+	 * that is assigned with a task, or is about to be.
+	 */
+	private final static int stateAssigned = 0;
+	/**
+	 * The <code>int</code> pool state of an executor
+	 * that is idle and can be claimed for a task.
+	 */
+	private final static int stateIdle = 1;
+	/**
+	 * The <code>int</code> pool state of an on-demand
+	 * executor that has retired after timing out.
+	 */
+	private final static int stateRetired = 2;
 	/**
 	 * The <code>IScalableService</code> group.
 	 */
@@ -49,14 +64,6 @@ public class ScaleExecutor extends Executor implements IScaleExecutor {
 	 * is in.
 	 */
 	private final TimeUnit timeoutUnit;
-	/**
-	 * The timing-out <code>Lock</code>.
-	 */
-	private final Lock lock;
-	/**
-	 * The waiting <code>Condition</code>.
-	 */
-	private final Condition wait;
 	/**
 	 * The <code>AtomicReference</code> of assigned
 	 * <code>EventExecutable</code>.
@@ -68,6 +75,35 @@ public class ScaleExecutor extends Executor implements IScaleExecutor {
 	 * different threads.
 	 */
 	private final AtomicReference<EventExecutable> task;
+	/**
+	 * The <code>AtomicInteger</code> pool state.
+	 * <p>
+	 * Submitting threads claim an idle executor with
+	 * an atomic compare and set, which guarantees that
+	 * an idle executor is either claimed by a single
+	 * thread or retired, but never both.
+	 */
+	private final AtomicInteger state;
+
+	/**
+	 * Constructor of <code>ScaleExecutor</code>.
+	 * <p>
+	 * This constructor creates an initial executor that
+	 * is part of the initial minimum executor pool.
+	 * @param name The <code>String</code> name of this
+	 * executor thread.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used for task execution graceful exception
+	 * handling.
+	 * @param group The <code>IScalableService</code>
+	 * shared by all scale executors.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
+	 */
+	public ScaleExecutor(final String name, final IExceptionHandler handler, final IScalableService group,
+			final IIdleStrategy idleStrategy) {
+		this(name, handler, group, idleStrategy, (ServiceMetrics)null);
+	}
 
 	/**
 	 * Constructor of <code>ScaleExecutor</code>.
@@ -81,9 +117,15 @@ public class ScaleExecutor extends Executor implements IScaleExecutor {
 	 * handling.
 	 * @param group The <code>IScalableService</code>
 	 * shared by all scale executors.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
+	 * @param serviceMetrics The <code>ServiceMetrics</code>
+	 * of the owning service. <code>null</code> if the
+	 * executor is not owned by a service.
 	 */
-	public ScaleExecutor(final String name, final IExceptionHandler handler, final IScalableService group) {
-		this(name, handler, group, false, -1, null);
+	public ScaleExecutor(final String name, final IExceptionHandler handler, final IScalableService group,
+			final IIdleStrategy idleStrategy, final ServiceMetrics serviceMetrics) {
+		this(name, handler, group, idleStrategy, serviceMetrics, false, -1, null);
 	}
 
 	/**
@@ -105,14 +147,20 @@ public class ScaleExecutor extends Executor implements IScaleExecutor {
 	 * new task assignment.
 	 * @param timeoutUnit The <code>TimeUnit</code> the
 	 * timeout value is in.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
 	 */
 	public ScaleExecutor(final String name, final IExceptionHandler handler, final IScalableService group,
-			final long timeoutValue, final TimeUnit timeoutUnit) {
-		this(name, handler, group, true, timeoutValue, timeoutUnit);
+			final long timeoutValue, final TimeUnit timeoutUnit, final IIdleStrategy idleStrategy) {
+		this(name, handler, group, timeoutValue, timeoutUnit, idleStrategy, null);
 	}
 
 	/**
 	 * Constructor of <code>ScaleExecutor</code>.
+	 * <p>
+	 * This constructor creates an on-demand executor
+	 * that will terminate if there are no new tasks
+	 * assigned to it within the timeout period.
 	 * @param name The <code>String</code> name of this
 	 * executor thread.
 	 * @param handler The <code>IExceptionHandler</code>
@@ -120,6 +168,37 @@ public class ScaleExecutor extends Executor implements IScaleExecutor {
 	 * handling.
 	 * @param group The <code>IScalableService</code>
 	 * shared by all scale executors.
+	 * @param timeoutValue The <code>long</code> time-
+	 * out value used to terminate this on-demand
+	 * executor after task execution completion without
+	 * new task assignment.
+	 * @param timeoutUnit The <code>TimeUnit</code> the
+	 * timeout value is in.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
+	 * @param serviceMetrics The <code>ServiceMetrics</code>
+	 * of the owning service. <code>null</code> if the
+	 * executor is not owned by a service.
+	 */
+	public ScaleExecutor(final String name, final IExceptionHandler handler, final IScalableService group,
+			final long timeoutValue, final TimeUnit timeoutUnit, final IIdleStrategy idleStrategy, final ServiceMetrics serviceMetrics) {
+		this(name, handler, group, idleStrategy, serviceMetrics, true, timeoutValue, timeoutUnit);
+	}
+
+	/**
+	 * Constructor of <code>ScaleExecutor</code>.
+	 * @param name The <code>String</code> name of this
+	 * executor thread.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used for task execution graceful exception
+	 * handling.
+	 * @param group The <code>IScalableService</code>
+	 * shared by all scale executors.
+	 * @param idleStrategy The <code>IIdleStrategy</code>
+	 * used when there are no tasks to execute.
+	 * @param serviceMetrics The <code>ServiceMetrics</code>
+	 * of the owning service. <code>null</code> if the
+	 * executor is not owned by a service.
 	 * @param ondemand <code>true</code> if this instance
 	 * is created as an on-demand executor.
 	 * @param timeoutValue The <code>long</code> time-
@@ -129,16 +208,16 @@ public class ScaleExecutor extends Executor implements IScaleExecutor {
 	 * @param timeoutUnit The <code>TimeUnit</code> the
 	 * timeout value is in.
 	 */
-	private ScaleExecutor(final String name, final IExceptionHandler handler, final IScalableService group, final boolean ondemand,
-			final long timeoutValue, final TimeUnit timeoutUnit) {
-		super(name, handler);
+	private ScaleExecutor(final String name, final IExceptionHandler handler, final IScalableService group,
+			final IIdleStrategy idleStrategy, final ServiceMetrics serviceMetrics, final boolean ondemand, final long timeoutValue,
+			final TimeUnit timeoutUnit) {
+		super(name, handler, idleStrategy, serviceMetrics);
 		this.group = group;
 		this.ondemand = ondemand;
 		this.timeoutValue = timeoutValue;
 		this.timeoutUnit = timeoutUnit;
-		this.lock = new ReentrantLock();
-		this.wait = this.lock.newCondition();
 		this.task = new AtomicReference<EventExecutable>(null);
+		this.state = new AtomicInteger(ScaleExecutor.stateAssigned);
 	}
 
 	@Override
@@ -152,37 +231,25 @@ public class ScaleExecutor extends Executor implements IScaleExecutor {
 			if (executable instanceof CyclicExecutable) {
 				this.currentCyclicExecutable = (CyclicExecutable)executable;
 			}
-			// Execute.
-			executable.execute();
-			// Reset cyclic executable reference.
-			this.currentCyclicExecutable = null;
-			// Recycle for more tasks only after executing one task.
-			// This prevents the case where a new on-demand executor is
-			// created and will be assigned with the task that triggered
-			// the creation, but the initial run cycle can put the
-			// executor back into the pool causing it to be assigned
-			// with another task.
-			this.group.recycle(this);
-		}
-		// Go into waiting mode.
-		boolean signaled = true;
-		this.lock.lock();
-		try {
-			// Check for termination before entering idling while holding lock.
-			if (this.hasRequestedTermination()) return;
-			// Do not go into waiting if there is a task.
-			else if (this.task.get() != null) return;
-			// If this executor is on-demand, wait on timeout.
-			else if (this.ondemand) {
-				signaled = this.wait.await(this.timeoutValue, this.timeoutUnit);
+			try {
+				// Execute.
+				this.execute(executable);
+			} finally {
+				// Reset cyclic executable reference.
+				this.currentCyclicExecutable = null;
+				// Recycle for more tasks only after executing one task.
+				// This prevents the case where a new on-demand executor is
+				// created and will be assigned with the task that triggered
+				// the creation, but the initial run cycle can put the
+				// executor back into the pool causing it to be assigned
+				// with another task. A failed task must not prevent the
+				// executor from being recycled.
+				this.group.recycle(this);
 			}
-			// Otherwise just wait for next task.
-			else {
-				this.wait.await();
-			}
-		} finally {
-			this.lock.unlock();
 		}
+		// Go into waiting mode. If this executor is on-demand,
+		// wait on timeout. Otherwise just wait for next task.
+		final boolean signaled = this.ondemand ? this.idle(this.timeoutValue, this.timeoutUnit) : this.idle(-1, null);
 		// Terminate and remove from group if timed-out.
 		if (this.ondemand && !signaled) {
 			final boolean suceeded = this.group.remove(this);
@@ -192,23 +259,9 @@ public class ScaleExecutor extends Executor implements IScaleExecutor {
 		}
 	}
 
-	/**
-	 * Signal waiting to wake up.
-	 */
-	private void wakeup() {
-		this.lock.lock();
-		try {
-			this.wait.signalAll();
-		} finally {
-			this.lock.unlock();
-		}
-	}
-
 	@Override
-	public final void requestTerminate() {
-		super.requestTerminate();
-		// Wake up waiting.
-		this.wakeup();
+	protected final boolean hasPendingTask() {
+		return (this.task.get() != null);
 	}
 
 	@Override
@@ -219,7 +272,7 @@ public class ScaleExecutor extends Executor implements IScaleExecutor {
 	
 	@Override
 	protected ICyclicTaskHandle doAssign(final ICyclicTask task) {
-		final CyclicExecutable executable = new CyclicExecutable(task, this.handler);
+		final CyclicExecutable executable = new CyclicExecutable(task, this.handler, this.getEventStream());
 		this.doAssign(executable);
 		return executable;
 	}
@@ -230,6 +283,15 @@ public class ScaleExecutor extends Executor implements IScaleExecutor {
 		return this.doAssign(executable);
 	}
 
+	@Override
+	protected void doAssignAll(final EventExecutable[] executables, final int offset, final int length) throws IllegalStateException {
+		// A scale executor only holds a single task.
+		if (length != 1) {
+			throw new IllegalStateException("Scale executor can only be assigned a single task: " + this.getName());
+		}
+		this.doAssign(executables[offset]);
+	}
+
 	/**
 	 * Perform the assignment of given executable.
 	 * @param <E> The <code>EventExecutable</code>
@@ -256,6 +318,91 @@ public class ScaleExecutor extends Executor implements IScaleExecutor {
 		}
 	}
 
+	/**
+	 * Hand the given executable off to this executor,
+	 * which has been claimed by the invoking thread.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be executed.
+	 */
+	final void handoff(final EventExecutable executable) {
+		this.doAssign(executable);
+		// The executor may have exited before the assignment, in
+		// which case the task would never be taken for execution.
+		if (this.hasTerminated()) this.cancelPending();
+	}
+
+	@Override
+	protected void onExit() {
+		// Retire so the executor can no longer be claimed, and
+		// cancel a task handed off while it was terminating.
+		this.state.set(ScaleExecutor.stateRetired);
+		this.cancelPending();
+	}
+
+	/**
+	 * Cancel the assigned executable that has not yet
+	 * been taken for execution.
+	 */
+	private void cancelPending() {
+		final EventExecutable executable = this.takePending();
+		if (executable != null) executable.cancel();
+	}
+
+	/**
+	 * Move the executor onto the idle state, making it
+	 * available to be claimed.
+	 */
+	final void markIdle() {
+		this.state.set(ScaleExecutor.stateIdle);
+	}
+
+	/**
+	 * Claim the idle executor for a task assignment.
+	 * @return <code>true</code> if the executor has been
+	 * claimed. <code>false</code> if it is not idle.
+	 */
+	final boolean claim() {
+		return this.state.compareAndSet(ScaleExecutor.stateIdle, ScaleExecutor.stateAssigned);
+	}
+
+	/**
+	 * Retire the idle executor so it can no longer be
+	 * claimed.
+	 * @return <code>true</code> if the executor has been
+	 * retired. <code>false</code> if it has been claimed
+	 * already.
+	 */
+	final boolean retire() {
+		return this.state.compareAndSet(ScaleExecutor.stateIdle, ScaleExecutor.stateRetired);
+	}
+
+	/**
+	 * Check if the executor is idle.
+	 * @return <code>true</code> if the executor is idle.
+	 * <code>false</code> otherwise.
+	 */
+	final boolean isIdle() {
+		return (this.state.get() == ScaleExecutor.stateIdle);
+	}
+
+	@Override
+	protected final boolean isDrained() {
+		if (this.hasPendingTask()) return false;
+		// Retire first, so the executor can no longer be claimed
+		// for a new task after it terminates.
+		return (this.retire() || this.state.get() == ScaleExecutor.stateRetired);
+	}
+
+	/**
+	 * Remove the assigned executable that has not yet
+	 * been taken for execution.
+	 * @return The <code>EventExecutable</code>.
+	 * <code>null</code> if there is none.
+	 */
+	final EventExecutable takePending() {
+		return this.task.getAndSet(null);
+	}
+
 	@Override
 	public final boolean isOndemand() {
 		return this.ondemand;
@@ -0,0 +1,187 @@
+package hemera.core.execution.scalable;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.interfaces.metrics.IHistogram;
+import hemera.core.execution.interfaces.metrics.IServiceMetrics;
+import hemera.core.execution.interfaces.scalable.ISizingSample;
+
+/**
+ * <code>SizingSampler</code> defines the implementation
+ * of the sizing sample that is derived from the runtime
+ * metrics of the service.
+ * <p>
+ * The metrics are cumulative, so the sampler retains
+ * the values of the previous sample and computes the
+ * rates and the average times from the differences.
+ * The sampler is only updated by the sizing thread of
+ * the service, and is not thread-safe.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+final class SizingSampler implements ISizingSample {
+	/**
+	 * The <code>IServiceMetrics</code> to sample.
+	 */
+	private final IServiceMetrics metrics;
+	/**
+	 * The <code>long</code> time in nanoseconds of
+	 * the previous sample.
+	 */
+	private long time;
+	/**
+	 * The <code>long</code> submitted count of the
+	 * previous sample.
+	 */
+	private long submitted;
+	/**
+	 * The <code>long</code> completed and failed count
+	 * of the previous sample.
+	 */
+	private long completed;
+	/**
+	 * The <code>long</code> queue wait count of the
+	 * previous sample.
+	 */
+	private long waitCount;
+	/**
+	 * The <code>long</code> queue wait sum of the
+	 * previous sample.
+	 */
+	private long waitSum;
+	/**
+	 * The <code>long</code> execution time count of
+	 * the previous sample.
+	 */
+	private long serviceCount;
+	/**
+	 * The <code>long</code> execution time sum of the
+	 * previous sample.
+	 */
+	private long serviceSum;
+	/**
+	 * The <code>double</code> arrival rate.
+	 */
+	private double arrivalRate;
+	/**
+	 * The <code>double</code> completion rate.
+	 */
+	private double completionRate;
+	/**
+	 * The <code>long</code> average queue wait in
+	 * nanoseconds.
+	 */
+	private long queueWait;
+	/**
+	 * The <code>long</code> average service time in
+	 * nanoseconds.
+	 */
+	private long serviceTime;
+	/**
+	 * The <code>int</code> executor count.
+	 */
+	private int executorCount;
+	/**
+	 * The <code>int</code> busy executor count.
+	 */
+	private int busyCount;
+	/**
+	 * The <code>int</code> minimum count.
+	 */
+	private int minCount;
+	/**
+	 * The <code>int</code> maximum count.
+	 */
+	private int maxCount;
+
+	/**
+	 * Constructor of <code>SizingSampler</code>.
+	 * @param metrics The <code>IServiceMetrics</code>
+	 * to sample.
+	 */
+	SizingSampler(final IServiceMetrics metrics) {
+		this.metrics = metrics;
+		this.time = System.nanoTime();
+	}
+
+	/**
+	 * Take a new sample.
+	 * @param executorCount The <code>int</code> current
+	 * executor count.
+	 * @param busyCount The <code>int</code> current busy
+	 * executor count.
+	 * @param minCount The <code>int</code> minimum count.
+	 * @param maxCount The <code>int</code> maximum count.
+	 */
+	void sample(final int executorCount, final int busyCount, final int minCount, final int maxCount) {
+		final long time = System.nanoTime();
+		final double seconds = Math.max(time - this.time, 1) / 1000000000.0;
+		final long submitted = this.metrics.getSubmittedCount();
+		final long completed = this.metrics.getCompletedCount() + this.metrics.getFailedCount();
+		this.arrivalRate = (submitted - this.submitted) / seconds;
+		this.completionRate = (completed - this.completed) / seconds;
+		final IHistogram wait = this.metrics.getQueueWait();
+		final long waitCount = wait.getCount();
+		final long waitSum = wait.getSum();
+		if (waitCount > this.waitCount) this.queueWait = (waitSum - this.waitSum) / (waitCount - this.waitCount);
+		else this.queueWait = 0;
+		final IHistogram service = this.metrics.getExecutionTime();
+		final long serviceCount = service.getCount();
+		final long serviceSum = service.getSum();
+		// Retain the previous service time if no task completed,
+		// since the cost of the tasks has not changed.
+		if (serviceCount > this.serviceCount) this.serviceTime = (serviceSum - this.serviceSum) / (serviceCount - this.serviceCount);
+		this.time = time;
+		this.submitted = submitted;
+		this.completed = completed;
+		this.waitCount = waitCount;
+		this.waitSum = waitSum;
+		this.serviceCount = serviceCount;
+		this.serviceSum = serviceSum;
+		this.executorCount = executorCount;
+		this.busyCount = busyCount;
+		this.minCount = minCount;
+		this.maxCount = maxCount;
+	}
+
+	@Override
+	public double getArrivalRate() {
+		return this.arrivalRate;
+	}
+
+	@Override
+	public double getCompletionRate() {
+		return this.completionRate;
+	}
+
+	@Override
+	public long getQueueWait(final TimeUnit unit) {
+		return unit.convert(this.queueWait, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public long getServiceTime(final TimeUnit unit) {
+		return unit.convert(this.serviceTime, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public int getExecutorCount() {
+		return this.executorCount;
+	}
+
+	@Override
+	public int getBusyCount() {
+		return this.busyCount;
+	}
+
+	@Override
+	public int getMinCount() {
+		return this.minCount;
+	}
+
+	@Override
+	public int getMaxCount() {
+		return this.maxCount;
+	}
+}
@@ -0,0 +1,136 @@
+package hemera.core.execution.sizing;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.interfaces.scalable.ISizingController;
+import hemera.core.execution.interfaces.scalable.ISizingSample;
+
+/**
+ * <code>HillClimbingController</code> defines the sizing
+ * controller implementation that searches for the number
+ * of executors with the highest throughput by moving the
+ * target a step at a time.
+ * <p>
+ * After each move, the completion rate of the period is
+ * compared with the previous one. The search continues
+ * in the same direction if the throughput has improved
+ * beyond the threshold, reverses if it has degraded and
+ * holds otherwise. When the executors keep up with the
+ * arrivals and some of them are not busy, the target is
+ * lowered regardless, so the pool shrinks as the demand
+ * drops.
+ * <p>
+ * This controller suits workloads where the service
+ * time is not independent of the number of executors,
+ * such as tasks contending on shared resources, where
+ * more executors do not necessarily yield a higher
+ * throughput.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class HillClimbingController implements ISizingController {
+	/**
+	 * The <code>long</code> sampling period in
+	 * nanoseconds.
+	 */
+	private final long period;
+	/**
+	 * The <code>int</code> number of executors to move
+	 * the target by.
+	 */
+	private final int step;
+	/**
+	 * The <code>double</code> relative throughput change
+	 * that is considered significant.
+	 */
+	private final double threshold;
+	/**
+	 * The <code>int</code> current target. Negative if
+	 * no sample has been taken yet.
+	 */
+	private int target;
+	/**
+	 * The <code>int</code> current search direction,
+	 * 1 for up, -1 for down and 0 for holding.
+	 */
+	private int direction;
+	/**
+	 * The <code>double</code> throughput of the previous
+	 * period.
+	 */
+	private double throughput;
+
+	/**
+	 * Constructor of <code>HillClimbingController</code>.
+	 * <p>
+	 * This constructor samples every second, moves by a
+	 * single executor and considers throughput changes
+	 * of 5% significant.
+	 */
+	public HillClimbingController() {
+		this(1, TimeUnit.SECONDS, 1, 0.05);
+	}
+
+	/**
+	 * Constructor of <code>HillClimbingController</code>.
+	 * @param period The <code>long</code> sampling
+	 * period.
+	 * @param unit The <code>TimeUnit</code> the period
+	 * is in.
+	 * @param step The <code>int</code> number of
+	 * executors to move the target by.
+	 * @param threshold The <code>double</code> relative
+	 * throughput change that is considered significant.
+	 */
+	public HillClimbingController(final long period, final TimeUnit unit, final int step, final double threshold) {
+		if (period <= 0) throw new IllegalArgumentException("Sampling period must be positive.");
+		else if (unit == null) throw new IllegalArgumentException("Time unit cannot be null.");
+		else if (step <= 0) throw new IllegalArgumentException("Step must be positive.");
+		else if (threshold < 0) throw new IllegalArgumentException("Threshold cannot be negative.");
+		this.period = unit.toNanos(period);
+		this.step = step;
+		this.threshold = threshold;
+		this.target = -1;
+		this.direction = 1;
+		this.throughput = 0;
+	}
+
+	@Override
+	public int getTargetCount(final ISizingSample sample) {
+		final double current = sample.getCompletionRate();
+		if (this.target < 0) {
+			this.target = sample.getExecutorCount();
+		} else if (sample.getArrivalRate() <= current && sample.getBusyCount() + this.step <= this.target) {
+			// The demand is met with executors to spare.
+			this.direction = -1;
+			this.target -= this.step;
+		} else {
+			if (current < this.throughput * (1 - this.threshold)) {
+				this.direction = (this.direction == 0) ? -1 : -this.direction;
+			} else if (current <= this.throughput * (1 + this.threshold)) {
+				// Keep exploring upwards if the executors are not
+				// keeping up with the arrivals, hold otherwise.
+				this.direction = (sample.getArrivalRate() > current) ? 1 : 0;
+			} else if (this.direction == 0) {
+				this.direction = 1;
+			}
+			this.target += this.direction * this.step;
+		}
+		this.throughput = current;
+		// Turn around at the bounds.
+		if (this.target <= sample.getMinCount()) {
+			this.target = sample.getMinCount();
+			this.direction = 1;
+		} else if (this.target >= sample.getMaxCount()) {
+			this.target = sample.getMaxCount();
+			this.direction = -1;
+		}
+		return this.target;
+	}
+
+	@Override
+	public long getPeriod(final TimeUnit unit) {
+		return unit.convert(this.period, TimeUnit.NANOSECONDS);
+	}
+}
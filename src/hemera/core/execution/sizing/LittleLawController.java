@@ -0,0 +1,94 @@
+package hemera.core.execution.sizing;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.interfaces.scalable.ISizingController;
+import hemera.core.execution.interfaces.scalable.ISizingSample;
+
+/**
+ * <code>LittleLawController</code> defines the sizing
+ * controller implementation that targets the number of
+ * executors required by the observed load according to
+ * Little's law, which is the task arrival rate times
+ * the average task service time.
+ * <p>
+ * The demand is smoothed with an exponentially weighted
+ * moving average, so a single quiet or busy period does
+ * not cause the pool to oscillate. A headroom factor is
+ * applied on top of the demand to absorb arrival bursts
+ * within a sampling period.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class LittleLawController implements ISizingController {
+	/**
+	 * The <code>long</code> sampling period in
+	 * nanoseconds.
+	 */
+	private final long period;
+	/**
+	 * The <code>double</code> factor applied on top of
+	 * the demand.
+	 */
+	private final double headroom;
+	/**
+	 * The <code>double</code> weight of the latest
+	 * sample in the moving average.
+	 */
+	private final double smoothing;
+	/**
+	 * The <code>double</code> smoothed demand. Negative
+	 * if no sample has been taken yet.
+	 */
+	private double demand;
+
+	/**
+	 * Constructor of <code>LittleLawController</code>.
+	 * <p>
+	 * This constructor samples every second, with 20%
+	 * headroom and a smoothing weight of 0.5.
+	 */
+	public LittleLawController() {
+		this(1, TimeUnit.SECONDS, 1.2, 0.5);
+	}
+
+	/**
+	 * Constructor of <code>LittleLawController</code>.
+	 * @param period The <code>long</code> sampling
+	 * period.
+	 * @param unit The <code>TimeUnit</code> the period
+	 * is in.
+	 * @param headroom The <code>double</code> factor
+	 * applied on top of the demand. Must be at least 1.
+	 * @param smoothing The <code>double</code> weight of
+	 * the latest sample in the moving average, in the
+	 * range of (0, 1]. 1 disables the smoothing.
+	 */
+	public LittleLawController(final long period, final TimeUnit unit, final double headroom, final double smoothing) {
+		if (period <= 0) throw new IllegalArgumentException("Sampling period must be positive.");
+		else if (unit == null) throw new IllegalArgumentException("Time unit cannot be null.");
+		else if (headroom < 1) throw new IllegalArgumentException("Headroom cannot be less than 1.");
+		else if (smoothing <= 0 || smoothing > 1) throw new IllegalArgumentException("Smoothing must be in the range of (0, 1].");
+		this.period = unit.toNanos(period);
+		this.headroom = headroom;
+		this.smoothing = smoothing;
+		this.demand = -1;
+	}
+
+	@Override
+	public int getTargetCount(final ISizingSample sample) {
+		final double serviceTime = sample.getServiceTime(TimeUnit.NANOSECONDS) / 1000000000.0;
+		final double current = sample.getArrivalRate() * serviceTime;
+		if (this.demand < 0) this.demand = current;
+		else this.demand += this.smoothing * (current - this.demand);
+		final double target = Math.ceil(this.demand * this.headroom);
+		if (target >= sample.getMaxCount()) return sample.getMaxCount();
+		return Math.max(sample.getMinCount(), (int)target);
+	}
+
+	@Override
+	public long getPeriod(final TimeUnit unit) {
+		return unit.convert(this.period, TimeUnit.NANOSECONDS);
+	}
+}
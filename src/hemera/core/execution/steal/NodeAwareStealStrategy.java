@@ -0,0 +1,121 @@
+package hemera.core.execution.steal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import hemera.core.execution.interfaces.assisted.IAssistExecutor;
+import hemera.core.execution.interfaces.assisted.IStealStrategy;
+
+/**
+ * <code>NodeAwareStealStrategy</code> defines the
+ * implementation of a steal strategy that applies a
+ * delegate strategy to the executors on the NUMA node
+ * of the thief first, and then to the executors on
+ * the other nodes.
+ * <p>
+ * Stealing a task from an executor on another node
+ * moves the task data across the processor sockets,
+ * which costs considerably more than stealing from a
+ * neighbour that shares the same cache and memory
+ * controller. Remote executors are only assisted in
+ * an assisting cycle where none of the local ones had
+ * a task, so the load still remains balanced across
+ * the nodes.
+ * <p>
+ * The executors are grouped by node once for a given
+ * group of executors, since the group of a service
+ * does not change after activation.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.1
+ */
+public class NodeAwareStealStrategy implements IStealStrategy {
+	/**
+	 * The <code>IStealStrategy</code> applied to each
+	 * group of executors.
+	 */
+	private final IStealStrategy delegate;
+	/**
+	 * The <code>Topology</code> of the last group of
+	 * executors.
+	 */
+	private volatile Topology topology;
+
+	/**
+	 * Constructor of <code>NodeAwareStealStrategy</code>.
+	 * @param delegate The <code>IStealStrategy</code>
+	 * applied to the local executors first, and then
+	 * to the remote executors.
+	 */
+	public NodeAwareStealStrategy(final IStealStrategy delegate) {
+		if (delegate == null) throw new IllegalArgumentException("Delegate steal strategy cannot be null.");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public boolean assist(final IAssistExecutor[] executors, final IAssistExecutor thief) {
+		if (thief == null) return this.delegate.assist(executors, thief);
+		Topology topology = this.topology;
+		if (topology == null || topology.executors != executors) {
+			topology = new Topology(executors);
+			this.topology = topology;
+		}
+		// Single node, no preference.
+		if (topology.local.length == 1) return this.delegate.assist(executors, thief);
+		final IAssistExecutor[] local = topology.local[thief.getNode()];
+		final IAssistExecutor[] remote = topology.remote[thief.getNode()];
+		// Only cross the node boundary if no local executor had a task.
+		if (local.length > 0 && this.delegate.assist(local, thief)) return true;
+		return (remote.length > 0 && this.delegate.assist(remote, thief));
+	}
+
+	/**
+	 * <code>Topology</code> defines the grouping of an
+	 * array of executors by their nodes.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final static class Topology {
+		/**
+		 * The array of <code>IAssistExecutor</code> the
+		 * topology is built from.
+		 */
+		private final IAssistExecutor[] executors;
+		/**
+		 * The array of <code>IAssistExecutor</code> on
+		 * each node.
+		 */
+		private final IAssistExecutor[][] local;
+		/**
+		 * The array of <code>IAssistExecutor</code> not
+		 * on each node.
+		 */
+		private final IAssistExecutor[][] remote;
+
+		/**
+		 * Constructor of <code>Topology</code>.
+		 * @param executors The array of all the
+		 * <code>IAssistExecutor</code> in the group.
+		 */
+		private Topology(final IAssistExecutor[] executors) {
+			this.executors = executors;
+			int nodeCount = 1;
+			for (final IAssistExecutor executor : executors) {
+				nodeCount = Math.max(nodeCount, executor.getNode()+1);
+			}
+			this.local = new IAssistExecutor[nodeCount][];
+			this.remote = new IAssistExecutor[nodeCount][];
+			for (int node = 0; node < nodeCount; node++) {
+				final List<IAssistExecutor> local = new ArrayList<IAssistExecutor>();
+				final List<IAssistExecutor> remote = new ArrayList<IAssistExecutor>();
+				for (final IAssistExecutor executor : executors) {
+					if (executor.getNode() == node) local.add(executor);
+					else remote.add(executor);
+				}
+				this.local[node] = local.toArray(new IAssistExecutor[local.size()]);
+				this.remote[node] = remote.toArray(new IAssistExecutor[remote.size()]);
+			}
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package hemera.core.execution.steal;
+
+import java.util.Random;
+
+import hemera.core.execution.interfaces.assisted.IAssistExecutor;
+import hemera.core.execution.interfaces.assisted.IStealStrategy;
+
+/**
+ * <code>RandomStealStrategy</code> defines the
+ * implementation of a steal strategy that selects
+ * victims randomly with a bounded number of steal
+ * attempts.
+ * <p>
+ * For every steal attempt, a number of executors are
+ * randomly sampled and the one with the longest task
+ * queue is selected as the victim. Up to half of the
+ * victim's queued tasks are then executed before a new
+ * victim is selected. The assisting gives up after the
+ * defined number of consecutive attempts have failed
+ * to execute any task.
+ * <p>
+ * This strategy spreads idle executors over the group
+ * instead of having all of them drain the low-index
+ * executors first, and bounds the cost of an idle
+ * cycle regardless of the size of the group. It is
+ * best suited for large groups of executors.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class RandomStealStrategy implements IStealStrategy {
+	/**
+	 * The <code>ThreadLocal</code> of the invoking
+	 * thread's <code>Random</code> instance, to avoid
+	 * contention on a shared seed.
+	 */
+	private final ThreadLocal<Random> random;
+	/**
+	 * The <code>int</code> number of consecutive failed
+	 * steal attempts before giving up.
+	 */
+	private final int attempts;
+	/**
+	 * The <code>int</code> number of executors sampled
+	 * for each steal attempt.
+	 */
+	private final int samples;
+
+	/**
+	 * Constructor of <code>RandomStealStrategy</code>.
+	 * <p>
+	 * This constructor gives up after 4 consecutive
+	 * failed attempts and samples 2 executors for each
+	 * attempt.
+	 */
+	public RandomStealStrategy() {
+		this(4, 2);
+	}
+
+	/**
+	 * Constructor of <code>RandomStealStrategy</code>.
+	 * @param attempts The <code>int</code> number of
+	 * consecutive failed steal attempts before giving
+	 * up.
+	 * @param samples The <code>int</code> number of
+	 * executors sampled for each steal attempt, where
+	 * the most loaded one is selected as the victim.
+	 */
+	public RandomStealStrategy(final int attempts, final int samples) {
+		if (attempts <= 0) throw new IllegalArgumentException("Steal attempts must be greater than 0.");
+		else if (samples <= 0) throw new IllegalArgumentException("Steal samples must be greater than 0.");
+		this.attempts = attempts;
+		this.samples = samples;
+		this.random = new ThreadLocal<Random>() {
+			@Override
+			protected Random initialValue() {
+				return new Random();
+			}
+		};
+	}
+
+	@Override
+	public boolean assist(final IAssistExecutor[] executors, final IAssistExecutor thief) {
+		final Random random = this.random.get();
+		boolean assisted = false;
+		int failures = 0;
+		while (failures < this.attempts) {
+			final IAssistExecutor victim = this.select(executors, thief, random);
+			if (victim == null) {
+				failures++;
+				continue;
+			}
+			// Steal half of the victim's queued tasks, at least one.
+			final int limit = (victim.getQueueLength()+1) / 2;
+			final int executed = victim.assist((limit<1) ? 1 : limit);
+			if (executed > 0) {
+				assisted = true;
+				failures = 0;
+			} else {
+				failures++;
+			}
+		}
+		return assisted;
+	}
+
+	/**
+	 * Select the most loaded victim out of a number of
+	 * randomly sampled executors.
+	 * @param executors The array of all the
+	 * <code>IAssistExecutor</code> in the group.
+	 * @param thief The <code>IAssistExecutor</code>
+	 * performing the assist.
+	 * @param random The <code>Random</code> to use.
+	 * @return The <code>IAssistExecutor</code> victim.
+	 * <code>null</code> if none of the sampled executors
+	 * has any queued tasks.
+	 */
+	private IAssistExecutor select(final IAssistExecutor[] executors, final IAssistExecutor thief, final Random random) {
+		IAssistExecutor victim = null;
+		int maxLength = 0;
+		for (int i = 0; i < this.samples; i++) {
+			final IAssistExecutor executor = executors[random.nextInt(executors.length)];
+			if (executor == thief) continue;
+			final int length = executor.getQueueLength();
+			if (length > maxLength) {
+				maxLength = length;
+				victim = executor;
+			}
+		}
+		return victim;
+	}
+}
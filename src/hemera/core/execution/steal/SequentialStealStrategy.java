@@ -0,0 +1,37 @@
+package hemera.core.execution.steal;
+
+import hemera.core.execution.interfaces.assisted.IAssistExecutor;
+import hemera.core.execution.interfaces.assisted.IStealStrategy;
+
+/**
+ * <code>SequentialStealStrategy</code> defines the
+ * implementation of a steal strategy that walks the
+ * executors in the group in order and assists each
+ * executor until its buffer is empty before moving
+ * onto the next one. The assisting only returns when
+ * all executor buffers are empty.
+ * <p>
+ * This strategy provides the most aggressive load
+ * balancing, at the cost of scanning the entire group
+ * on every idle cycle. It is best suited for small
+ * groups of executors.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class SequentialStealStrategy implements IStealStrategy {
+
+	@Override
+	public boolean assist(final IAssistExecutor[] executors, final IAssistExecutor thief) {
+		boolean assisted = false;
+		for (int i = 0; i < executors.length; i++) {
+			final IAssistExecutor executor = executors[i];
+			if (executor == thief) continue;
+			// Assist a single executor until all of its tasks are finished.
+			while (executor.assist()) {
+				if (!assisted) assisted = true;
+			}
+		}
+		return assisted;
+	}
+}
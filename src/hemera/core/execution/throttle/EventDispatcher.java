@@ -0,0 +1,175 @@
+package hemera.core.execution.throttle;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import hemera.core.execution.buffer.RingBuffer;
+import hemera.core.execution.interfaces.IExceptionHandler;
+
+/**
+ * <code>EventDispatcher</code> defines a unit that runs
+ * event notifications on a background thread, so the
+ * threads raising the events never execute the listener
+ * logic themselves.
+ * <p>
+ * Notifications are offered onto a bounded ring buffer
+ * without blocking, and are executed one at a time in
+ * the order they were dispatched. When the buffer is
+ * full, the notification is discarded. Each dispatched
+ * notification first has to pass the throttle of the
+ * dispatcher, if it has one.
+ * <p>
+ * The dispatcher thread is started on demand and exits
+ * after being idle for a while, so an idle dispatcher
+ * does not hold on to a thread.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class EventDispatcher {
+	/**
+	 * The <code>long</code> time in nanoseconds the
+	 * dispatcher thread waits for notifications before
+	 * exiting.
+	 */
+	private final static long keepAlive = TimeUnit.SECONDS.toNanos(1);
+	/**
+	 * The <code>String</code> name of the dispatcher
+	 * thread.
+	 */
+	private final String name;
+	/**
+	 * The <code>IExceptionHandler</code> used to handle
+	 * exceptions thrown by the notifications.
+	 */
+	private final IExceptionHandler handler;
+	/**
+	 * The <code>EventThrottle</code> notifications have
+	 * to pass. <code>null</code> if not throttled.
+	 */
+	private final EventThrottle throttle;
+	/**
+	 * The <code>RingBuffer</code> of notifications.
+	 */
+	private final RingBuffer<Runnable> buffer;
+	/**
+	 * The <code>AtomicBoolean</code> flag indicating if
+	 * the dispatcher thread is running.
+	 */
+	private final AtomicBoolean running;
+	/**
+	 * The <code>AtomicLong</code> number of discarded
+	 * notifications since the buffer was full.
+	 */
+	private final AtomicLong discarded;
+	/**
+	 * The dispatcher <code>Thread</code>. It is written
+	 * before the thread is started, and cleared by the
+	 * thread itself before it exits.
+	 */
+	private volatile Thread thread;
+
+	/**
+	 * Constructor of <code>EventDispatcher</code>.
+	 * @param name The <code>String</code> name of the
+	 * dispatcher thread.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used to handle exceptions thrown by the
+	 * notifications.
+	 * @param throttle The <code>EventThrottle</code>
+	 * notifications have to pass. <code>null</code> to
+	 * not throttle the notifications.
+	 * @param capacity The <code>int</code> number of
+	 * pending notifications before new notifications are
+	 * discarded.
+	 */
+	public EventDispatcher(final String name, final IExceptionHandler handler, final EventThrottle throttle, final int capacity) {
+		if (name == null) throw new IllegalArgumentException("Name cannot be null.");
+		else if (handler == null) throw new IllegalArgumentException("Exception handler cannot be null.");
+		this.name = name;
+		this.handler = handler;
+		this.throttle = throttle;
+		this.buffer = new RingBuffer<Runnable>(capacity);
+		this.running = new AtomicBoolean(false);
+		this.discarded = new AtomicLong(0);
+	}
+
+	/**
+	 * Dispatch the given notification to be run on the
+	 * dispatcher thread.
+	 * <p>
+	 * This method never blocks, and may be invoked by
+	 * any thread.
+	 * @param notification The <code>Runnable</code>
+	 * notification.
+	 * @return <code>true</code> if the notification has
+	 * been dispatched. <code>false</code> if it has been
+	 * throttled or discarded.
+	 */
+	public boolean dispatch(final Runnable notification) {
+		if (this.throttle != null && !this.throttle.tryAcquire()) return false;
+		if (!this.buffer.offer(notification)) {
+			this.discarded.incrementAndGet();
+			return false;
+		}
+		if (!this.running.get() && this.running.compareAndSet(false, true)) {
+			final Thread thread = new Thread(new Worker());
+			thread.setName(this.name);
+			thread.setDaemon(true);
+			this.thread = thread;
+			thread.start();
+		} else {
+			final Thread thread = this.thread;
+			if (thread != null) LockSupport.unpark(thread);
+		}
+		return true;
+	}
+
+	/**
+	 * Retrieve the number of notifications discarded
+	 * since the buffer was full.
+	 * @return The <code>long</code> number of discarded
+	 * notifications.
+	 */
+	public long getDiscardedCount() {
+		return this.discarded.get();
+	}
+
+	/**
+	 * <code>Worker</code> defines the dispatcher thread
+	 * logic that runs the notifications until it has
+	 * been idle for the keep alive time.
+	 *
+	 * @author Yi Wang (Neakor)
+	 * @version 1.0.0
+	 */
+	private final class Worker implements Runnable {
+
+		@Override
+		public void run() {
+			final EventDispatcher dispatcher = EventDispatcher.this;
+			while (true) {
+				Runnable notification = dispatcher.buffer.poll();
+				while (notification != null) {
+					try {
+						notification.run();
+					} catch (final Exception e) {
+						dispatcher.handler.handle(e);
+					}
+					notification = dispatcher.buffer.poll();
+				}
+				LockSupport.parkNanos(dispatcher, EventDispatcher.keepAlive);
+				if (!dispatcher.buffer.isEmpty()) continue;
+				// Exit, unless a notification was offered before the
+				// running flag was cleared and its dispatching thread
+				// did not start a new worker.
+				dispatcher.thread = null;
+				dispatcher.running.set(false);
+				if (dispatcher.buffer.isEmpty() || !dispatcher.running.compareAndSet(false, true)) return;
+				dispatcher.thread = Thread.currentThread();
+			}
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package hemera.core.execution.throttle;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <code>EventThrottle</code> defines a lock-free unit
+ * that limits the rate at which an event is allowed to
+ * fire, which may be invoked by any number of threads
+ * concurrently.
+ * <p>
+ * The throttle behaves as a token bucket that holds up
+ * to the burst number of tokens and refills a token
+ * every interval. Firing an event takes a token, and
+ * is refused when the bucket is empty. With a burst of
+ * 1, an event fires at most once every interval.
+ * <p>
+ * Instead of maintaining a token count, the throttle
+ * tracks the time at which the bucket becomes full
+ * again, which is updated with a single atomic compare
+ * and set operation. A thread that is refused never
+ * writes to the shared state, so a stream of refused
+ * events does not cause any contention.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+public class EventThrottle {
+	/**
+	 * The <code>long</code> refill interval of a single
+	 * token in nanoseconds.
+	 */
+	private final long interval;
+	/**
+	 * The <code>long</code> time in nanoseconds it takes
+	 * to refill a full bucket.
+	 */
+	private final long capacity;
+	/**
+	 * The <code>AtomicLong</code> time in nanoseconds at
+	 * which the bucket becomes full.
+	 */
+	private final AtomicLong full;
+
+	/**
+	 * Constructor of <code>EventThrottle</code>.
+	 * <p>
+	 * This constructor allows an event to fire at most
+	 * once every interval.
+	 * @param interval The <code>long</code> minimum
+	 * time between two events. <code>0</code> to not
+	 * throttle the events.
+	 * @param unit The <code>TimeUnit</code> the interval
+	 * is in.
+	 */
+	public EventThrottle(final long interval, final TimeUnit unit) {
+		this(interval, unit, 1);
+	}
+
+	/**
+	 * Constructor of <code>EventThrottle</code>.
+	 * @param interval The <code>long</code> time it
+	 * takes to refill a single token. <code>0</code> to
+	 * not throttle the events.
+	 * @param unit The <code>TimeUnit</code> the interval
+	 * is in.
+	 * @param burst The <code>int</code> maximum number
+	 * of events that may fire at once after the bucket
+	 * has been refilled.
+	 */
+	public EventThrottle(final long interval, final TimeUnit unit, final int burst) {
+		if (interval < 0 || unit == null) throw new IllegalArgumentException("Throttle interval cannot be negative.");
+		else if (burst <= 0) throw new IllegalArgumentException("Throttle burst must be greater than 0.");
+		this.interval = unit.toNanos(interval);
+		this.capacity = (this.interval > Long.MAX_VALUE / burst) ? Long.MAX_VALUE : this.interval * burst;
+		// The bucket starts full.
+		this.full = new AtomicLong(System.nanoTime());
+	}
+
+	/**
+	 * Try to take a token for a single event.
+	 * @return <code>true</code> if the event should fire.
+	 * <code>false</code> if it should be discarded.
+	 */
+	public boolean tryAcquire() {
+		if (this.interval == 0) return true;
+		while (true) {
+			final long current = this.full.get();
+			final long now = System.nanoTime();
+			// A full bucket does not accumulate more tokens.
+			final long next = ((current-now > 0) ? current : now) + this.interval;
+			if (next-now > this.capacity) return false;
+			if (this.full.compareAndSet(current, next)) return true;
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package hemera.core.execution.virtual;
+
+import java.util.concurrent.ThreadFactory;
+
+import hemera.core.execution.Executor;
+import hemera.core.execution.executable.CyclicExecutable;
+import hemera.core.execution.executable.EventExecutable;
+import hemera.core.execution.idle.BlockIdleStrategy;
+import hemera.core.execution.interfaces.IExceptionHandler;
+import hemera.core.execution.interfaces.task.ICyclicTask;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.IResultTask;
+import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.metrics.ServiceMetrics;
+
+/**
+ * <code>VirtualExecutor</code> defines the short lived
+ * executor implementation used by the virtual thread
+ * service, which executes a single task within its
+ * own thread and then terminates.
+ * <p>
+ * The executor is constructed with its task, therefore
+ * it does not accept any further assignments. If the
+ * executor is requested to terminate before its task
+ * execution began, the task is cancelled. The execution
+ * permit is released once the executor thread exits,
+ * whether or not the task has been executed.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.2
+ */
+final class VirtualExecutor extends Executor {
+	/**
+	 * The <code>VirtualThreadService</code> that owns
+	 * this executor.
+	 */
+	private final VirtualThreadService service;
+	/**
+	 * The <code>EventExecutable</code> to be executed.
+	 */
+	private final EventExecutable executable;
+
+	/**
+	 * Constructor of <code>VirtualExecutor</code>.
+	 * @param name The <code>String</code> name of this
+	 * executor thread.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * used for task execution graceful exception
+	 * handling.
+	 * @param service The <code>VirtualThreadService</code>
+	 * that owns this executor.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be executed.
+	 * @param threadFactory The <code>ThreadFactory</code>
+	 * used to create the executor thread.
+	 * @param serviceMetrics The <code>ServiceMetrics</code>
+	 * of the owning service.
+	 */
+	VirtualExecutor(final String name, final IExceptionHandler handler, final VirtualThreadService service,
+			final EventExecutable executable, final ThreadFactory threadFactory, final ServiceMetrics serviceMetrics) {
+		super(name, handler, new BlockIdleStrategy(), serviceMetrics, threadFactory);
+		this.service = service;
+		this.executable = executable;
+	}
+
+	@Override
+	protected void doRun() throws Exception {
+		try {
+			// If executable is cyclic, retain the reference for
+			// executor termination.
+			if (this.executable instanceof CyclicExecutable) {
+				this.currentCyclicExecutable = (CyclicExecutable)this.executable;
+			}
+			this.execute(this.executable);
+		} finally {
+			this.currentCyclicExecutable = null;
+			super.requestTerminate();
+		}
+	}
+
+	@Override
+	protected void onExit() {
+		// The executor may have been requested to terminate before
+		// its run loop began, the permit is released regardless.
+		this.service.release(this);
+	}
+
+	@Override
+	public void requestTerminate() {
+		super.requestTerminate();
+		// Task execution has not begun, it never will.
+		this.executable.cancel();
+	}
+
+	/**
+	 * Request the executor to terminate without
+	 * cancelling its task, leaving the cancellation to
+	 * the cancelling service.
+	 */
+	void terminate() {
+		super.requestTerminate();
+	}
+
+	/**
+	 * Retrieve the executable of the executor.
+	 * @return The <code>EventExecutable</code>.
+	 */
+	EventExecutable getExecutable() {
+		return this.executable;
+	}
+
+	@Override
+	protected boolean hasPendingTask() {
+		return false;
+	}
+
+	@Override
+	protected IEventTaskHandle doAssign(final IEventTask task) {
+		throw new IllegalStateException("There is a task already assigned to executor: " + this.getName());
+	}
+
+	@Override
+	protected ICyclicTaskHandle doAssign(final ICyclicTask task) {
+		throw new IllegalStateException("There is a task already assigned to executor: " + this.getName());
+	}
+
+	@Override
+	protected <V> IResultTaskHandle<V> doAssign(final IResultTask<V> task) {
+		throw new IllegalStateException("There is a task already assigned to executor: " + this.getName());
+	}
+
+	@Override
+	protected void doAssignAll(final EventExecutable[] executables, final int offset, final int length) {
+		throw new IllegalStateException("There is a task already assigned to executor: " + this.getName());
+	}
+}
@@ -0,0 +1,60 @@
+package hemera.core.execution.virtual;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <code>VirtualThreadFactory</code> defines the thread
+ * factory that creates virtual threads when they are
+ * supported by the runtime.
+ * <p>
+ * Virtual threads are only available on newer runtimes,
+ * therefore the factory of the runtime is looked up via
+ * reflection once. If the lookup fails, the factory
+ * creates regular platform threads instead.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.0
+ */
+final class VirtualThreadFactory implements ThreadFactory {
+	/**
+	 * The <code>ThreadFactory</code> of the runtime that
+	 * creates virtual threads. <code>null</code> if the
+	 * runtime does not support virtual threads.
+	 */
+	private final static ThreadFactory runtimeFactory = VirtualThreadFactory.lookup();
+
+	/**
+	 * Look up the virtual thread factory of the runtime.
+	 * @return The <code>ThreadFactory</code> instance.
+	 * <code>null</code> if virtual threads are not
+	 * supported.
+	 */
+	private static ThreadFactory lookup() {
+		try {
+			final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			// Invoke through the public builder interface, since the
+			// builder implementation class is not accessible.
+			final Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+			return (ThreadFactory)factory.invoke(builder);
+		} catch (final Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Check if virtual threads are supported by the
+	 * runtime.
+	 * @return <code>true</code> if the created threads
+	 * are virtual. <code>false</code> otherwise.
+	 */
+	static boolean isSupported() {
+		return (VirtualThreadFactory.runtimeFactory != null);
+	}
+
+	@Override
+	public Thread newThread(final Runnable runnable) {
+		if (VirtualThreadFactory.runtimeFactory == null) return new Thread(runnable);
+		else return VirtualThreadFactory.runtimeFactory.newThread(runnable);
+	}
+}
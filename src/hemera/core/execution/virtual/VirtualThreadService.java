@@ -0,0 +1,226 @@
+package hemera.core.execution.virtual;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import hemera.core.execution.AbstractServiceListener;
+import hemera.core.execution.ExecutionService;
+import hemera.core.execution.Executor;
+import hemera.core.execution.executable.EventExecutable;
+import hemera.core.execution.interfaces.IExceptionHandler;
+import hemera.core.execution.interfaces.IExecutor;
+import hemera.core.execution.interfaces.virtual.IVirtualThreadService;
+
+/**
+ * <code>VirtualThreadService</code> defines a execution
+ * service implementation that confirms with defined
+ * interface <code>IVirtualThreadService</code>.
+ *
+ * @author Yi Wang (Neakor)
+ * @version 1.0.1
+ */
+public class VirtualThreadService extends ExecutionService implements IVirtualThreadService {
+	/**
+	 * The <code>int</code> maximum number of tasks
+	 * that can be executed concurrently.
+	 */
+	private final int concurrency;
+	/**
+	 * The <code>Semaphore</code> of execution permits.
+	 */
+	private final Semaphore permits;
+	/**
+	 * The <code>VirtualThreadFactory</code> used to
+	 * create executor threads.
+	 */
+	private final VirtualThreadFactory threadFactory;
+	/**
+	 * The <code>Set</code> of currently active
+	 * <code>VirtualExecutor</code>.
+	 * <p>
+	 * Executors are added by submission threads and
+	 * removed by their own threads once their task
+	 * execution completes, therefore a concurrent set
+	 * is used.
+	 */
+	private final Set<VirtualExecutor> executors;
+	/**
+	 * The <code>AtomicLong</code> of the next executor
+	 * index.
+	 */
+	private final AtomicLong index;
+
+	/**
+	 * Constructor of <code>VirtualThreadService</code>.
+	 * @param handler The <code>IExceptionHandler</code>
+	 * instance.
+	 * @param listener The <code>AbstractServiceListener</code>
+	 * instance.
+	 * @param concurrency The <code>int</code> maximum
+	 * number of tasks that can be executed concurrently.
+	 */
+	public VirtualThreadService(final IExceptionHandler handler, final AbstractServiceListener listener, final int concurrency) {
+		super(handler, listener);
+		if (concurrency <= 0) throw new IllegalArgumentException("Concurrency limit must be greater than 0.");
+		this.concurrency = concurrency;
+		this.permits = new Semaphore(concurrency);
+		this.threadFactory = new VirtualThreadFactory();
+		this.executors = Collections.newSetFromMap(new ConcurrentHashMap<VirtualExecutor, Boolean>());
+		this.index = new AtomicLong(0);
+	}
+
+	@Override
+	protected void doActivate() {
+		// Executors are created on submission.
+	}
+
+	@Override
+	protected void doShutdown() {
+		// Gracefully terminate all active executors.
+		for (final IExecutor executor : this.executors) {
+			executor.requestTerminate();
+		}
+	}
+
+	@Override
+	protected void doDrain() {
+		// Let all active executors complete their tasks.
+		for (final IExecutor executor : this.executors) {
+			executor.requestDrain();
+		}
+	}
+
+	@Override
+	protected void doCancel(final List<EventExecutable> pending) {
+		for (final VirtualExecutor executor : this.executors) {
+			pending.add(executor.getExecutable());
+			// The pending executables are cancelled by the caller.
+			executor.terminate();
+		}
+	}
+
+	@Override
+	protected void doForceShutdown() {
+		// Forcefully terminate all active executors.
+		for (final IExecutor executor : this.executors) {
+			executor.forceTerminate();
+		}
+	}
+
+	@Override
+	protected boolean offer(final EventExecutable executable) {
+		if (!this.permits.tryAcquire()) return false;
+		this.startExecutor(executable);
+		return true;
+	}
+
+	@Override
+	protected EventExecutable evict() {
+		// Tasks are never queued, every admitted task is started.
+		return null;
+	}
+
+	@Override
+	protected void awaitCapacity(final long timeout) throws InterruptedException {
+		// Available permits may be held back by the concurrency
+		// limit, so back off instead.
+		if (this.permits.availablePermits() > 0) {
+			super.awaitCapacity(timeout);
+			return;
+		}
+		// Wait for a permit without holding onto it, since the
+		// admission acquires it again.
+		if (timeout < 0) this.permits.acquire();
+		else if (!this.permits.tryAcquire(timeout, TimeUnit.NANOSECONDS)) return;
+		this.permits.release();
+	}
+
+	@Override
+	protected void doSubmitAll(final EventExecutable[] executables) {
+		// Each executable requires its own permit.
+		for (int i = 0; i < executables.length; i++) {
+			this.dispatch(executables[i]);
+		}
+	}
+
+	/**
+	 * Acquire an execution permit and start a new
+	 * executor for the given executable.
+	 * <p>
+	 * If there are no permits available, the listener
+	 * is notified and the invocation blocks until a
+	 * permit is released.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be executed.
+	 */
+	private void dispatch(final EventExecutable executable) {
+		if (!this.permits.tryAcquire()) {
+			// Maximum concurrency reached, notify listener.
+			this.listener.capacityReached();
+			boolean acquired = false;
+			while (!acquired) {
+				try {
+					this.permits.acquire();
+					acquired = true;
+				} catch (final InterruptedException e) {
+					this.handler.handle(e);
+				}
+			}
+		}
+		this.startExecutor(executable);
+	}
+
+	/**
+	 * Start a new executor for the given executable,
+	 * whose execution permit has been acquired.
+	 * @param executable The <code>EventExecutable</code>
+	 * to be executed.
+	 */
+	private void startExecutor(final EventExecutable executable) {
+		final String name = "VirtualExecutor-" + this.index.getAndIncrement();
+		final VirtualExecutor executor = new VirtualExecutor(name, this.handler, this, executable, this.threadFactory, this.metrics);
+		this.executors.add(executor);
+		this.start(executor);
+	}
+
+	/**
+	 * Release the execution permit held by the given
+	 * executor whose task execution has completed.
+	 * @param executor The <code>VirtualExecutor</code>
+	 * to be released.
+	 */
+	void release(final VirtualExecutor executor) {
+		if (this.executors.remove(executor)) this.permits.release();
+	}
+
+	@Override
+	protected Iterable<Executor> getExecutors() {
+		return new ArrayList<Executor>(this.executors);
+	}
+
+	@Override
+	public int getCurrentExecutorCount() {
+		return this.executors.size();
+	}
+
+	@Override
+	public int getConcurrencyLimit() {
+		return this.concurrency;
+	}
+
+	@Override
+	public int getAvailableCount() {
+		return this.permits.availablePermits();
+	}
+
+	@Override
+	public boolean isVirtual() {
+		return VirtualThreadFactory.isSupported();
+	}
+}
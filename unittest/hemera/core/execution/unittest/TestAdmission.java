@@ -0,0 +1,188 @@
+package hemera.core.execution.unittest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import hemera.core.execution.admission.AIMDLimit;
+import hemera.core.execution.admission.AbortPolicy;
+import hemera.core.execution.admission.BlockPolicy;
+import hemera.core.execution.admission.CallerRunsPolicy;
+import hemera.core.execution.admission.DropOldestPolicy;
+import hemera.core.execution.admission.VegasLimit;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.idle.BlockIdleStrategy;
+import hemera.core.execution.interfaces.IExecutionService;
+import hemera.core.execution.interfaces.admission.IConcurrencyLimit;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.scalable.ScalableService;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that the rejection policies handle submissions
+ * to a saturated service, and that the concurrency limits
+ * adapt to the outcome of the admitted tasks.
+ */
+public class TestAdmission extends TestCase {
+
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final AtomicReference<Thread> runner = new AtomicReference<Thread>();
+	private IExecutionService service;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.service = new ScalableService(new LogExceptionHandler(), new LogServiceListener(), 1, 1, 200, TimeUnit.MILLISECONDS,
+				new BlockIdleStrategy(), 1);
+		this.service.activate();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		this.release.countDown();
+		this.service.shutdownAndWait();
+	}
+
+	public void testAbort() throws Exception {
+		this.service.setRejectionPolicy(new AbortPolicy());
+		this.saturate();
+		try {
+			this.service.submit(new RecordTask());
+			fail("Submission to a saturated service should be rejected.");
+		} catch (final RejectedExecutionException e) {
+			// Expected.
+		}
+		assertEquals(1, this.service.getMetrics().getRejectedCount());
+	}
+
+	public void testTimedBlock() throws Exception {
+		this.service.setRejectionPolicy(new BlockPolicy(100, TimeUnit.MILLISECONDS));
+		this.saturate();
+		final long start = System.nanoTime();
+		try {
+			this.service.submit(new RecordTask());
+			fail("Submission should be rejected once the timeout elapses.");
+		} catch (final RejectedExecutionException e) {
+			// Expected.
+		}
+		assertTrue(System.nanoTime()-start >= TimeUnit.MILLISECONDS.toNanos(100));
+		assertEquals(1, this.service.getMetrics().getRejectedCount());
+	}
+
+	public void testCallerRuns() throws Exception {
+		this.service.setRejectionPolicy(new CallerRunsPolicy());
+		this.saturate();
+		final IEventTaskHandle handle = this.service.submit(new RecordTask());
+		assertTrue(handle.await(0, TimeUnit.MILLISECONDS));
+		assertSame(Thread.currentThread(), this.runner.get());
+	}
+
+	public void testDropOldest() throws Exception {
+		this.service.setRejectionPolicy(new DropOldestPolicy());
+		final IEventTaskHandle oldest = this.saturate();
+		final IEventTaskHandle handle = this.service.submit(new RecordTask());
+		this.release.countDown();
+		assertTrue(handle.await(5, TimeUnit.SECONDS));
+		assertFalse(oldest.await(5, TimeUnit.SECONDS));
+		assertFalse(oldest.cancel());
+		assertEquals(1, this.service.getMetrics().getRejectedCount());
+	}
+
+	public void testServiceLimit() throws Exception {
+		this.service.setRejectionPolicy(new AbortPolicy());
+		final IConcurrencyLimit limit = new AIMDLimit(1, 1, 1, 0.5, 5, TimeUnit.SECONDS);
+		this.service.setConcurrencyLimit(limit);
+		this.service.submit(new BlockTask());
+		assertTrue(this.started.await(5, TimeUnit.SECONDS));
+		assertEquals(1, limit.getInFlight());
+		// The overflow queue has room, but the limit does not.
+		try {
+			this.service.submit(new RecordTask());
+			fail("Submission beyond the concurrency limit should be rejected.");
+		} catch (final RejectedExecutionException e) {
+			// Expected.
+		}
+		this.release.countDown();
+		final long deadline = System.currentTimeMillis() + 5000;
+		while (limit.getInFlight() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, limit.getInFlight());
+		assertTrue(this.service.submit(new RecordTask()).await(5, TimeUnit.SECONDS));
+	}
+
+	public void testAIMDLimit() {
+		final IConcurrencyLimit limit = new AIMDLimit(4, 1, 10, 0.5, 100, TimeUnit.MILLISECONDS);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(limit.tryAcquire());
+		}
+		assertFalse(limit.tryAcquire());
+		limit.releaseDropped();
+		assertEquals(2, limit.getLimit());
+		assertFalse(limit.tryAcquire());
+		limit.release(1, TimeUnit.MILLISECONDS);
+		limit.release(1, TimeUnit.MILLISECONDS);
+		assertEquals(2, limit.getLimit());
+		assertTrue(limit.tryAcquire());
+		assertFalse(limit.tryAcquire());
+		limit.release(1, TimeUnit.MILLISECONDS);
+		limit.release(1, TimeUnit.MILLISECONDS);
+		assertEquals(3, limit.getLimit());
+		// A latency beyond the timeout backs off.
+		assertTrue(limit.tryAcquire());
+		limit.release(1, TimeUnit.SECONDS);
+		assertEquals(1, limit.getLimit());
+		assertEquals(0, limit.getInFlight());
+	}
+
+	public void testVegasLimit() {
+		final IConcurrencyLimit limit = new VegasLimit(10, 1, 20, 2, 4);
+		for (int i = 0; i < 10; i++) {
+			assertTrue(limit.tryAcquire());
+		}
+		assertFalse(limit.tryAcquire());
+		// No queueing at the lowest latency grows the limit.
+		limit.release(1, TimeUnit.MILLISECONDS);
+		assertEquals(11, limit.getLimit());
+		// A latency well above the lowest shrinks it.
+		limit.release(10, TimeUnit.MILLISECONDS);
+		assertEquals(10, limit.getLimit());
+		limit.releaseDropped();
+		assertEquals(9, limit.getLimit());
+		assertEquals(7, limit.getInFlight());
+	}
+
+	/**
+	 * Occupy the only executor and fill the overflow queue.
+	 * @return The <code>IEventTaskHandle</code> of the task
+	 * buffered in the overflow queue.
+	 */
+	private IEventTaskHandle saturate() throws Exception {
+		this.service.submit(new BlockTask());
+		assertTrue(this.started.await(5, TimeUnit.SECONDS));
+		return this.service.submit(new RecordTask());
+	}
+
+	private class BlockTask implements IEventTask {
+
+		@Override
+		public void execute() throws Exception {
+			started.countDown();
+			release.await();
+		}
+	}
+
+	private class RecordTask implements IEventTask {
+
+		@Override
+		public void execute() throws Exception {
+			runner.set(Thread.currentThread());
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package hemera.core.execution.unittest;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hemera.core.execution.assisted.AssistedService;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.idle.BlockIdleStrategy;
+import hemera.core.execution.interfaces.IExecutionService;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.scalable.ScalableService;
+import hemera.core.execution.virtual.VirtualThreadService;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that a draining shutdown executes all the
+ * submitted tasks before the executors terminate, and
+ * that a cancelling shutdown completes the handles of
+ * all the tasks that have not been executed.
+ */
+public class TestDrain extends TestCase {
+
+	private final int taskCount = 400;
+	private final AtomicInteger executed = new AtomicInteger();
+
+	public void testAssistedDrain() throws Exception {
+		this.drain(this.newAssistedService());
+	}
+
+	public void testAssistedCancel() throws Exception {
+		this.cancel(this.newAssistedService());
+	}
+
+	public void testAssistedDrainRace() throws Exception {
+		for (int i = 0; i < 100; i++) {
+			this.drainRace(this.newAssistedService());
+		}
+	}
+
+	public void testScalableDrain() throws Exception {
+		this.drain(this.newScalableService());
+	}
+
+	public void testScalableCancel() throws Exception {
+		this.cancel(this.newScalableService());
+	}
+
+	public void testVirtualDrain() throws Exception {
+		final IExecutionService service = new VirtualThreadService(new LogExceptionHandler(), new LogServiceListener(), this.taskCount);
+		service.activate();
+		this.drain(service);
+	}
+
+	private void drain(final IExecutionService service) throws Exception {
+		final IEventTaskHandle[] handles = this.submit(service);
+		service.shutdownAndDrain();
+		try {
+			service.submit(new SleepTask());
+			fail("Submission after shutdown should be rejected.");
+		} catch (final IllegalStateException e) {
+			// Expected.
+		}
+		assertTrue(service.awaitTermination(10, TimeUnit.SECONDS));
+		for (final IEventTaskHandle handle : handles) {
+			assertTrue(handle.await(1, TimeUnit.SECONDS));
+		}
+		assertEquals(this.taskCount, this.executed.get());
+	}
+
+	private void cancel(final IExecutionService service) throws Exception {
+		final IEventTaskHandle[] handles = this.submit(service);
+		final List<IEventTaskHandle> cancelled = service.shutdownAndCancel();
+		assertTrue(service.awaitTermination(10, TimeUnit.SECONDS));
+		assertFalse(cancelled.isEmpty());
+		// Every handle is released, either executed or cancelled.
+		int completed = 0;
+		for (final IEventTaskHandle handle : handles) {
+			if (handle.await(1, TimeUnit.SECONDS)) completed++;
+			else assertTrue(cancelled.contains(handle));
+		}
+		assertEquals(this.taskCount, completed + cancelled.size());
+		assertEquals(completed, this.executed.get());
+		assertTrue(service.shutdownAndCancel().isEmpty());
+	}
+
+	private void drainRace(final IExecutionService service) throws Exception {
+		final List<IEventTaskHandle> handles = new CopyOnWriteArrayList<IEventTaskHandle>();
+		final CountDownLatch submitting = new CountDownLatch(4);
+		final Thread[] submitters = new Thread[4];
+		for (int i = 0; i < submitters.length; i++) {
+			submitters[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					submitting.countDown();
+					try {
+						while (true) {
+							handles.add(service.submit(new NoopTask()));
+						}
+					} catch (final IllegalStateException e) {
+						// Shutdown.
+					}
+				}
+			});
+			submitters[i].start();
+		}
+		assertTrue(submitting.await(5, TimeUnit.SECONDS));
+		service.shutdownAndDrain();
+		for (final Thread submitter : submitters) {
+			submitter.join(5000);
+		}
+		assertTrue(service.awaitTermination(10, TimeUnit.SECONDS));
+		// Every accepted task is either executed or cancelled.
+		for (final IEventTaskHandle handle : handles) {
+			handle.await(1, TimeUnit.SECONDS);
+			assertFalse(handle.cancel());
+		}
+	}
+
+	private IEventTaskHandle[] submit(final IExecutionService service) {
+		final IEventTaskHandle[] handles = new IEventTaskHandle[this.taskCount];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = service.submit(new SleepTask());
+		}
+		return handles;
+	}
+
+	private IExecutionService newAssistedService() {
+		final IExecutionService service = new AssistedService(new LogExceptionHandler(), new LogServiceListener(), 4, 1000,
+				100, TimeUnit.MILLISECONDS);
+		service.activate();
+		return service;
+	}
+
+	private IExecutionService newScalableService() {
+		final IExecutionService service = new ScalableService(new LogExceptionHandler(), new LogServiceListener(), 1, 4,
+				1, TimeUnit.SECONDS, new BlockIdleStrategy(), this.taskCount);
+		service.activate();
+		return service;
+	}
+
+	private final class SleepTask implements IEventTask {
+
+		@Override
+		public void execute() throws Exception {
+			TimeUnit.MILLISECONDS.sleep(2);
+			executed.incrementAndGet();
+		}
+	}
+
+	private static final class NoopTask implements IEventTask {
+
+		@Override
+		public void execute() throws Exception {
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package hemera.core.execution.unittest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.assisted.AssistedService;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.interfaces.IExecutionService;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.scalable.ScalableService;
+import hemera.core.execution.unittest.task.IOResultTask;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that services terminate all executors in
+ * parallel, and that waiting for termination returns
+ * as soon as the last executor thread exits.
+ */
+public class TestTermination extends TestCase {
+
+	public void testShutdownAndWait() throws Exception {
+		final IExecutionService service = new AssistedService(new LogExceptionHandler(), new LogServiceListener(), 256, 100,
+				100, TimeUnit.MILLISECONDS);
+		service.activate();
+		assertFalse(service.isTerminated());
+		final long start = System.nanoTime();
+		service.shutdownAndWait();
+		assertTrue(service.isTerminated());
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+	}
+
+	public void testAwaitTermination() throws Exception {
+		final IExecutionService service = this.newScalableService();
+		service.submit(new IOResultTask(0, 300));
+		assertFalse(service.awaitTermination(10, TimeUnit.MILLISECONDS));
+		service.shutdown();
+		// The running task is completed before the executor exits.
+		assertFalse(service.awaitTermination(50, TimeUnit.MILLISECONDS));
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+		assertTrue(service.isTerminated());
+	}
+
+	public void testForceShutdownReturnsEarly() throws Exception {
+		final IExecutionService service = this.newScalableService();
+		service.submit(new IOResultTask(0, 10)).getAndWait();
+		final long start = System.nanoTime();
+		service.forceShutdown(10, TimeUnit.SECONDS);
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+		assertTrue(service.isTerminated());
+	}
+
+	public void testForceShutdownInterrupts() throws Exception {
+		final IExecutionService service = this.newScalableService();
+		final CountDownLatch started = new CountDownLatch(1);
+		service.submit(new IEventTask() {
+			@Override
+			public void execute() throws Exception {
+				started.countDown();
+				TimeUnit.SECONDS.sleep(10);
+			}
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		final long start = System.nanoTime();
+		service.forceShutdown(100, TimeUnit.MILLISECONDS);
+		final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(elapsed >= 100);
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+	}
+
+	private IExecutionService newScalableService() {
+		final IExecutionService service = new ScalableService(new LogExceptionHandler(), new LogServiceListener(), 4, 16,
+				1, TimeUnit.SECONDS);
+		service.activate();
+		return service;
+	}
+}
@@ -0,0 +1,159 @@
+package hemera.core.execution.unittest.assisted;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.affinity.LinuxAffinityProvider;
+import hemera.core.execution.assisted.AssistExecutor;
+import hemera.core.execution.assisted.AssistedService;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.idle.BlockIdleStrategy;
+import hemera.core.execution.interfaces.affinity.IAffinityProvider;
+import hemera.core.execution.interfaces.assisted.IAssistExecutor;
+import hemera.core.execution.interfaces.assisted.IAssistedService;
+import hemera.core.execution.interfaces.assisted.IStealStrategy;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.steal.NodeAwareStealStrategy;
+import hemera.core.execution.steal.SequentialStealStrategy;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that executors are spread across the NUMA
+ * nodes and bound to the processors of their nodes,
+ * and that stealing prefers executors of the same node.
+ */
+public class TestAffinity extends TestCase {
+
+	public void testPlacement() throws Exception {
+		final RecordProvider provider = new RecordProvider(4);
+		final IAssistedService service = new AssistedService(new LogExceptionHandler(), new LogServiceListener(), 4, 100,
+				100, TimeUnit.MILLISECONDS, new SequentialStealStrategy(), new BlockIdleStrategy(), 16, provider);
+		service.activate();
+		assertTrue(provider.pinned.await(5, TimeUnit.SECONDS));
+		service.shutdownAndWait();
+		// Executors alternate between the nodes.
+		assertEquals(Integer.valueOf(0), provider.cpus.get("AssistExecutor-0"));
+		assertEquals(Integer.valueOf(2), provider.cpus.get("AssistExecutor-1"));
+		assertEquals(Integer.valueOf(1), provider.cpus.get("AssistExecutor-2"));
+		assertEquals(Integer.valueOf(3), provider.cpus.get("AssistExecutor-3"));
+	}
+
+	public void testLocalFirst() {
+		final RecordStrategy delegate = new RecordStrategy();
+		final NodeAwareStealStrategy strategy = new NodeAwareStealStrategy(delegate);
+		final IAssistExecutor[] executors = new IAssistExecutor[4];
+		for (int i = 0; i < executors.length; i++) {
+			executors[i] = new AssistExecutor("AssistExecutor-" + i, new LogExceptionHandler(), null, null, 10, 100,
+					TimeUnit.MILLISECONDS, new BlockIdleStrategy(), null, 16, null, -1, i % 2);
+		}
+		strategy.assist(executors, executors[1]);
+		assertEquals(2, delegate.groups.size());
+		assertEquals(Arrays.asList(executors[1], executors[3]), delegate.groups.get(0));
+		assertEquals(Arrays.asList(executors[0], executors[2]), delegate.groups.get(1));
+		// Assisting from outside of the group is not grouped.
+		delegate.groups.clear();
+		strategy.assist(executors, null);
+		assertEquals(1, delegate.groups.size());
+		assertEquals(4, delegate.groups.get(0).size());
+	}
+
+	public void testNoRemoteWhileLocalWork() {
+		final RecordStrategy delegate = new RecordStrategy();
+		final NodeAwareStealStrategy strategy = new NodeAwareStealStrategy(delegate);
+		final IAssistExecutor[] executors = new IAssistExecutor[4];
+		for (int i = 0; i < executors.length; i++) {
+			executors[i] = new AssistExecutor("AssistExecutor-" + i, new LogExceptionHandler(), null, null, 10, 100,
+					TimeUnit.MILLISECONDS, new BlockIdleStrategy(), null, 16, null, -1, i % 2);
+		}
+		// The local executors have tasks, the remote ones are never visited.
+		delegate.assisted = true;
+		for (int i = 0; i < 10; i++) {
+			assertTrue(strategy.assist(executors, executors[0]));
+		}
+		assertEquals(10, delegate.groups.size());
+		for (final List<IAssistExecutor> group : delegate.groups) {
+			assertEquals(Arrays.asList(executors[0], executors[2]), group);
+		}
+	}
+
+	public void testLinuxTopology() throws Exception {
+		final File root = new File(System.getProperty("java.io.tmpdir"), "hemera-topology-" + System.nanoTime());
+		this.writeCpuList(new File(root, "node1"), "2-3,6");
+		this.writeCpuList(new File(root, "node0"), "0-1,4\n");
+		// Memory-only node.
+		this.writeCpuList(new File(root, "node2"), "\n");
+		try {
+			final IAffinityProvider provider = new LinuxAffinityProvider(root);
+			assertEquals(2, provider.getNodeCount());
+			assertTrue(Arrays.equals(new int[] {0, 1, 4}, provider.getCpus(0)));
+			assertTrue(Arrays.equals(new int[] {2, 3, 6}, provider.getCpus(1)));
+		} finally {
+			for (final File node : root.listFiles()) {
+				new File(node, "cpulist").delete();
+				node.delete();
+			}
+			root.delete();
+		}
+		// Without a topology, all processors form a single node.
+		final IAffinityProvider fallback = new LinuxAffinityProvider(root);
+		assertEquals(1, fallback.getNodeCount());
+		assertEquals(Runtime.getRuntime().availableProcessors(), fallback.getCpus(0).length);
+	}
+
+	private void writeCpuList(final File node, final String cpus) throws Exception {
+		assertTrue(node.mkdirs());
+		final FileWriter writer = new FileWriter(new File(node, "cpulist"));
+		try {
+			writer.write(cpus);
+		} finally {
+			writer.close();
+		}
+	}
+
+	private class RecordProvider implements IAffinityProvider {
+
+		private final Map<String, Integer> cpus = new ConcurrentHashMap<String, Integer>();
+		private final CountDownLatch pinned;
+
+		private RecordProvider(final int count) {
+			this.pinned = new CountDownLatch(count);
+		}
+
+		@Override
+		public boolean pin(final int cpu) {
+			this.cpus.put(Thread.currentThread().getName(), cpu);
+			this.pinned.countDown();
+			return true;
+		}
+
+		@Override
+		public int getNodeCount() {
+			return 2;
+		}
+
+		@Override
+		public int[] getCpus(final int node) {
+			return (node == 0) ? new int[] {0, 1} : new int[] {2, 3};
+		}
+	}
+
+	private class RecordStrategy implements IStealStrategy {
+
+		private final List<List<IAssistExecutor>> groups = new ArrayList<List<IAssistExecutor>>();
+		private boolean assisted;
+
+		@Override
+		public boolean assist(final IAssistExecutor[] executors, final IAssistExecutor thief) {
+			this.groups.add(Arrays.asList(executors));
+			return this.assisted;
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package hemera.core.execution.unittest.assisted;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.IResultTask;
+import hemera.core.execution.interfaces.task.handle.IGroupTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IResultGroupHandle;
+import hemera.core.execution.unittest.task.CPUResultTask;
+
+/**
+ * Verify that batches larger than the total buffer
+ * capacity are distributed and executed completely,
+ * and that the group handle cancels pending tasks.
+ */
+public class TestBatchSubmission extends AbstractAssistedTest {
+
+	private final int taskCount = 5000;
+
+	@SuppressWarnings("unchecked")
+	public void testResultBatch() throws Exception {
+		final IResultTask<Integer>[] tasks = new IResultTask[this.taskCount];
+		for (int i = 0; i < this.taskCount; i++) {
+			tasks[i] = new CPUResultTask(i, 0);
+		}
+		final IResultGroupHandle<Integer> group = this.service.submitAll(tasks);
+		assertEquals(this.taskCount, group.size());
+		final List<Integer> results = group.getAndWait(10, TimeUnit.SECONDS);
+		for (int i = 0; i < this.taskCount; i++) {
+			assertEquals(Integer.valueOf(i), results.get(i));
+		}
+	}
+
+	public void testEventBatch() throws Exception {
+		final AtomicInteger executions = new AtomicInteger();
+		final List<IEventTask> tasks = new ArrayList<IEventTask>(this.taskCount);
+		for (int i = 0; i < this.taskCount; i++) {
+			tasks.add(new IEventTask() {
+				@Override
+				public void execute() throws Exception {
+					executions.incrementAndGet();
+				}
+			});
+		}
+		final IGroupTaskHandle group = this.service.submitAll(tasks);
+		assertTrue(group.await(10, TimeUnit.SECONDS));
+		assertEquals(this.taskCount, executions.get());
+		assertEquals(0, group.cancel());
+	}
+
+	@SuppressWarnings("unchecked")
+	public void testCancellation() throws Exception {
+		final IResultTask<Integer>[] tasks = new IResultTask[100];
+		for (int i = 0; i < tasks.length; i++) {
+			tasks[i] = new CPUResultTask(i, 50);
+		}
+		final IResultGroupHandle<Integer> group = this.service.submitAll(tasks);
+		// Ten executors can start at most ten tasks.
+		assertTrue(group.cancel() >= tasks.length - 10);
+		assertFalse(group.await(5, TimeUnit.SECONDS));
+		// Cancelled tasks have no results.
+		int cancelled = 0;
+		for (final Integer result : group.getAndWait()) {
+			if (result == null) cancelled++;
+		}
+		assertTrue(cancelled >= tasks.length - 10);
+	}
+}
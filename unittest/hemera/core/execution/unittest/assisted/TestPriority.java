@@ -0,0 +1,150 @@
+package hemera.core.execution.unittest.assisted;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.assisted.AssistedService;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.idle.BlockIdleStrategy;
+import hemera.core.execution.interfaces.assisted.IAssistExecutor;
+import hemera.core.execution.interfaces.assisted.IAssistedService;
+import hemera.core.execution.interfaces.assisted.IStealStrategy;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.IPrioritizedTask;
+import hemera.core.execution.interfaces.task.TaskPriority;
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.steal.SequentialStealStrategy;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that buffered tasks are executed in the order
+ * of their priorities, and that low priority tasks are
+ * not starved by a stream of high priority tasks.
+ */
+public class TestPriority extends TestCase {
+
+	private final List<TaskPriority> order = Collections.synchronizedList(new ArrayList<TaskPriority>());
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	public void testOrder() throws Exception {
+		final IAssistedService service = this.newService(1000);
+		final List<IEventTaskHandle> handles = new ArrayList<IEventTaskHandle>();
+		handles.add(service.submit(new BlockTask()));
+		assertTrue(this.started.await(5, TimeUnit.SECONDS));
+		final TaskPriority[] priorities = {TaskPriority.LOW, TaskPriority.NORMAL, TaskPriority.HIGH};
+		for (int i = 0; i < 10; i++) {
+			for (final TaskPriority priority : priorities) {
+				handles.add(service.submit(new PriorityTask(priority)));
+			}
+		}
+		this.release.countDown();
+		for (final IEventTaskHandle handle : handles) {
+			assertTrue(handle.await(5, TimeUnit.SECONDS));
+		}
+		service.shutdownAndWait();
+		assertEquals(30, this.order.size());
+		for (int i = 1; i < this.order.size(); i++) {
+			assertTrue(this.order.get(i-1).ordinal() <= this.order.get(i).ordinal());
+		}
+	}
+
+	public void testAging() throws Exception {
+		final IAssistedService service = this.newService(4);
+		final List<IEventTaskHandle> handles = new ArrayList<IEventTaskHandle>();
+		handles.add(service.submit(new BlockTask()));
+		assertTrue(this.started.await(5, TimeUnit.SECONDS));
+		handles.add(service.submit(new PriorityTask(TaskPriority.LOW)));
+		for (int i = 0; i < 20; i++) {
+			handles.add(service.submit(new PriorityTask(TaskPriority.HIGH)));
+		}
+		this.release.countDown();
+		for (final IEventTaskHandle handle : handles) {
+			assertTrue(handle.await(5, TimeUnit.SECONDS));
+		}
+		service.shutdownAndWait();
+		assertEquals(21, this.order.size());
+		// The low priority task is executed once four high
+		// priority tasks have passed it over.
+		assertEquals(4, this.order.indexOf(TaskPriority.LOW));
+	}
+
+	public void testHighPriorityAssist() throws Exception {
+		// The strategy never steals, so only the high priority
+		// tasks can be taken by assisting.
+		final IAssistedService service = this.newService(new NoStealStrategy(), 1000);
+		final List<IEventTaskHandle> handles = new ArrayList<IEventTaskHandle>();
+		handles.add(service.submit(new BlockTask()));
+		assertTrue(this.started.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 3; i++) {
+			handles.add(service.submit(new PriorityTask(TaskPriority.LOW)));
+			handles.add(service.submit(new PriorityTask(TaskPriority.HIGH)));
+		}
+		assertTrue(service.assist());
+		assertEquals(3, this.order.size());
+		for (final TaskPriority priority : this.order) {
+			assertEquals(TaskPriority.HIGH, priority);
+		}
+		// No high priority tasks are pending anymore.
+		assertFalse(service.assist());
+		assertEquals(3, this.order.size());
+		this.release.countDown();
+		for (final IEventTaskHandle handle : handles) {
+			assertTrue(handle.await(5, TimeUnit.SECONDS));
+		}
+		service.shutdownAndWait();
+		assertEquals(6, this.order.size());
+	}
+
+	private IAssistedService newService(final int agingLimit) {
+		return this.newService(new SequentialStealStrategy(), agingLimit);
+	}
+
+	private IAssistedService newService(final IStealStrategy strategy, final int agingLimit) {
+		final IAssistedService service = new AssistedService(new LogExceptionHandler(), new LogServiceListener(), 1, 100,
+				100, TimeUnit.MILLISECONDS, strategy, new BlockIdleStrategy(), agingLimit);
+		service.activate();
+		return service;
+	}
+
+	private class NoStealStrategy implements IStealStrategy {
+
+		@Override
+		public boolean assist(final IAssistExecutor[] executors, final IAssistExecutor thief) {
+			return false;
+		}
+	}
+
+	private class BlockTask implements IEventTask {
+
+		@Override
+		public void execute() throws Exception {
+			started.countDown();
+			release.await();
+		}
+	}
+
+	private class PriorityTask implements IEventTask, IPrioritizedTask {
+
+		private final TaskPriority priority;
+
+		private PriorityTask(final TaskPriority priority) {
+			this.priority = priority;
+		}
+
+		@Override
+		public void execute() throws Exception {
+			order.add(this.priority);
+		}
+
+		@Override
+		public TaskPriority getPriority() {
+			return this.priority;
+		}
+	}
+}
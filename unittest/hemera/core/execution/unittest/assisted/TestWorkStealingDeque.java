@@ -0,0 +1,156 @@
+package hemera.core.execution.unittest.assisted;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import hemera.core.execution.assisted.WorkStealingDeque;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify the work-stealing deque capacity and ordering
+ * semantics, and that concurrent pushing, popping and
+ * stealing consumes every pushed element exactly once.
+ */
+public class TestWorkStealingDeque extends TestCase {
+
+	private final int elementCount = 1000000;
+	private final int pushedCount = 100000;
+	private final int thiefCount = 4;
+
+	public void testCapacity() {
+		final WorkStealingDeque<Integer> deque = new WorkStealingDeque<Integer>(3);
+		assertTrue(deque.push(0));
+		assertTrue(deque.push(1));
+		assertTrue(deque.push(2));
+		assertFalse(deque.push(3));
+		assertEquals(3, deque.size());
+		// Owner pops the most recent, thieves steal the oldest.
+		assertEquals(Integer.valueOf(2), deque.pop());
+		assertEquals(Integer.valueOf(0), deque.steal());
+		assertTrue(deque.push(4));
+		assertEquals(Integer.valueOf(4), deque.pop());
+		assertEquals(Integer.valueOf(1), deque.pop());
+		assertNull(deque.pop());
+		assertNull(deque.steal());
+		assertTrue(deque.isEmpty());
+	}
+
+	public void testReleaseReference() throws Exception {
+		final WorkStealingDeque<Object> deque = new WorkStealingDeque<Object>(4);
+		Object element = new Object();
+		final WeakReference<Object> reference = new WeakReference<Object>(element);
+		assertTrue(deque.push(element));
+		// Popping the last element competes with the thieves.
+		assertTrue(element == deque.pop());
+		element = null;
+		for (int i = 0; i < 50 && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(reference.get());
+	}
+
+	public void testConcurrentConsumption() throws Exception {
+		final WorkStealingDeque<Integer> deque = new WorkStealingDeque<Integer>(1024);
+		final AtomicIntegerArray consumed = new AtomicIntegerArray(this.elementCount);
+		final CountDownLatch done = new CountDownLatch(this.thiefCount);
+		final Thread[] thieves = new Thread[this.thiefCount];
+		final boolean[] finished = new boolean[1];
+		for (int i = 0; i < this.thiefCount; i++) {
+			thieves[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					while (true) {
+						final Integer element = deque.steal();
+						if (element != null) consumed.incrementAndGet(element);
+						else if (isFinished(finished) && deque.isEmpty()) break;
+					}
+					done.countDown();
+				}
+			});
+			thieves[i].start();
+		}
+		for (int i = 0; i < this.elementCount; i++) {
+			while (!deque.push(i)) {
+				final Integer element = deque.pop();
+				if (element != null) consumed.incrementAndGet(element);
+			}
+			if (i % 3 == 0) {
+				final Integer element = deque.pop();
+				if (element != null) consumed.incrementAndGet(element);
+			}
+		}
+		synchronized (finished) {
+			finished[0] = true;
+		}
+		Integer element = deque.pop();
+		while (element != null) {
+			consumed.incrementAndGet(element);
+			element = deque.pop();
+		}
+		done.await();
+		for (int i = 0; i < this.elementCount; i++) {
+			assertEquals(1, consumed.get(i));
+		}
+	}
+
+	public void testConcurrentPushers() throws Exception {
+		final WorkStealingDeque<Integer> deque = new WorkStealingDeque<Integer>(256);
+		final AtomicIntegerArray consumed = new AtomicIntegerArray(this.pushedCount);
+		final int pusherCount = 4;
+		final int range = this.pushedCount / pusherCount;
+		final CountDownLatch pushed = new CountDownLatch(pusherCount);
+		final CountDownLatch done = new CountDownLatch(this.thiefCount);
+		final boolean[] finished = new boolean[1];
+		for (int i = 0; i < pusherCount; i++) {
+			final int start = i * range;
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = start; j < start + range; j++) {
+						while (!deque.push(j)) Thread.yield();
+					}
+					pushed.countDown();
+				}
+			}).start();
+		}
+		for (int i = 0; i < this.thiefCount; i++) {
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					while (true) {
+						final Integer element = deque.steal();
+						if (element != null) consumed.incrementAndGet(element);
+						else if (isFinished(finished) && deque.isEmpty()) break;
+					}
+					done.countDown();
+				}
+			}).start();
+		}
+		// The owner pops while the pushers are running.
+		while (pushed.getCount() > 0) {
+			final Integer element = deque.pop();
+			if (element != null) consumed.incrementAndGet(element);
+		}
+		synchronized (finished) {
+			finished[0] = true;
+		}
+		Integer element = deque.pop();
+		while (element != null) {
+			consumed.incrementAndGet(element);
+			element = deque.pop();
+		}
+		done.await();
+		for (int i = 0; i < this.pushedCount; i++) {
+			assertEquals(1, consumed.get(i));
+		}
+	}
+
+	private boolean isFinished(final boolean[] finished) {
+		synchronized (finished) {
+			return finished[0];
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package hemera.core.execution.unittest.context;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.assisted.AssistedService;
+import hemera.core.execution.context.ContextPropagator;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.interfaces.IExecutionService;
+import hemera.core.execution.interfaces.context.IContextCarrier;
+import hemera.core.execution.interfaces.task.IResultTask;
+import hemera.core.execution.listener.LogServiceListener;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that the context of the registered carriers is
+ * installed on the executor threads for the duration of
+ * the tasks only, and that unchanged context is captured
+ * without creating new snapshots.
+ */
+public class TestContextPropagation extends TestCase {
+
+	private final ThreadLocal<String> request = new ThreadLocal<String>();
+	private final RequestCarrier carrier = new RequestCarrier();
+	private IExecutionService service;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.service = new AssistedService(new LogExceptionHandler(), new LogServiceListener(), 1, 16, 100, TimeUnit.MILLISECONDS);
+		this.service.activate();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		this.request.remove();
+		this.service.shutdownAndWait();
+	}
+
+	public void testPropagation() throws Exception {
+		// Without carriers nothing is propagated.
+		this.request.set("request-0");
+		assertNull(this.service.submit(new RequestTask()).getAndWait());
+		this.service.addContextCarrier(this.carrier);
+		this.request.set("request-1");
+		assertEquals("request-1", this.service.submit(new RequestTask()).getAndWait());
+		this.request.set("request-2");
+		assertEquals("request-2", this.service.submit(new RequestTask()).getAndWait());
+		// The executor thread does not keep the context after the task.
+		this.request.remove();
+		assertNull(this.service.submit(new RequestTask()).getAndWait());
+		assertTrue(this.service.removeContextCarrier(this.carrier));
+		assertFalse(this.service.removeContextCarrier(this.carrier));
+		this.request.set("request-3");
+		assertNull(this.service.submit(new RequestTask()).getAndWait());
+	}
+
+	public void testSnapshotReuse() {
+		final ContextPropagator propagator = new ContextPropagator();
+		assertNull(propagator.capture());
+		propagator.add(this.carrier);
+		assertNull(propagator.capture());
+		this.request.set("request-1");
+		final Object first = propagator.capture();
+		assertNotNull(first);
+		assertTrue(first == propagator.capture());
+		this.request.set("request-2");
+		final Object second = propagator.capture();
+		assertTrue(first != second);
+		assertTrue(second == propagator.capture());
+	}
+
+	private class RequestTask implements IResultTask<String> {
+
+		@Override
+		public String execute() throws Exception {
+			return request.get();
+		}
+	}
+
+	private class RequestCarrier implements IContextCarrier<String> {
+
+		@Override
+		public String capture() {
+			return request.get();
+		}
+
+		@Override
+		public String install(final String context) {
+			final String previous = request.get();
+			request.set(context);
+			return previous;
+		}
+
+		@Override
+		public void restore(final String previous) {
+			if (previous == null) request.remove();
+			else request.set(previous);
+		}
+	}
+}
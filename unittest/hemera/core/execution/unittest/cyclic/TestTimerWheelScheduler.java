@@ -0,0 +1,127 @@
+package hemera.core.execution.unittest.cyclic;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hemera.core.execution.cyclic.TimerWheelScheduler;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.interfaces.task.CycleMode;
+import hemera.core.execution.interfaces.task.ICyclicTask;
+import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that the timer wheel scheduler multiplexes
+ * many cyclic tasks onto a few threads while honoring
+ * the cycle limit, cycle count and termination.
+ */
+public class TestTimerWheelScheduler extends TestCase {
+
+	private final int taskCount = 2000;
+	private final AtomicInteger cleanups = new AtomicInteger();
+	private final AtomicInteger signals = new AtomicInteger();
+	private TimerWheelScheduler scheduler;
+
+	@Override
+	protected void setUp() throws Exception {
+		this.scheduler = new TimerWheelScheduler(new LogExceptionHandler(), 2, 1, TimeUnit.MILLISECONDS, 64);
+		this.scheduler.activate();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		this.scheduler.shutdownAndWait();
+	}
+
+	public void testFiniteTasks() throws Exception {
+		final CountingTask[] tasks = new CountingTask[this.taskCount];
+		final ICyclicTaskHandle[] handles = new ICyclicTaskHandle[this.taskCount];
+		final long submitted = System.nanoTime();
+		for (int i = 0; i < this.taskCount; i++) {
+			tasks[i] = new CountingTask(5, 20);
+			handles[i] = this.scheduler.submit(tasks[i]);
+		}
+		for (int i = 0; i < this.taskCount; i++) {
+			assertTrue(handles[i].await(5, TimeUnit.SECONDS));
+			assertEquals(5, tasks[i].count);
+			// Fixed rate cycles are anchored on the start, so a late
+			// first cycle is caught up, but the last cycle is never
+			// earlier than four cycle limits after the submission.
+			assertTrue(tasks[i].last - submitted >= TimeUnit.MILLISECONDS.toNanos(80));
+		}
+		assertEquals(this.taskCount, this.cleanups.get());
+		assertEquals(0, this.scheduler.getTaskCount());
+	}
+
+	public void testTermination() throws Exception {
+		// A long cycle limit must not delay the termination.
+		final CountingTask task = new CountingTask(0, 60000);
+		final ICyclicTaskHandle handle = this.scheduler.submit(task);
+		TimeUnit.MILLISECONDS.sleep(100);
+		handle.terminate();
+		assertTrue(handle.await(1, TimeUnit.SECONDS));
+		assertEquals(1, task.count);
+		assertEquals(1, this.signals.get());
+		assertEquals(1, this.cleanups.get());
+	}
+
+	public void testShutdown() throws Exception {
+		for (int i = 0; i < this.taskCount; i++) {
+			this.scheduler.submit(new CountingTask(0, 10));
+		}
+		this.scheduler.shutdownAndWait();
+		assertEquals(this.taskCount, this.cleanups.get());
+		assertEquals(0, this.scheduler.getTaskCount());
+	}
+
+	private final class CountingTask implements ICyclicTask {
+
+		private final int cycleCount;
+		private final long cycleLimit;
+		private volatile int count;
+		private volatile long last;
+
+		private CountingTask(final int cycleCount, final long cycleLimit) {
+			this.cycleCount = cycleCount;
+			this.cycleLimit = cycleLimit;
+		}
+
+		@Override
+		public boolean execute() throws Exception {
+			this.last = System.nanoTime();
+			this.count++;
+			return true;
+		}
+
+		@Override
+		public void cleanup() throws Exception {
+			cleanups.incrementAndGet();
+		}
+
+		@Override
+		public void signalTerminate() throws Exception {
+			signals.incrementAndGet();
+		}
+
+		@Override
+		public int getCycleCount() {
+			return this.cycleCount;
+		}
+
+		@Override
+		public long getCycleLimit(final TimeUnit unit) {
+			return unit.convert(this.cycleLimit, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public CycleMode getCycleMode() {
+			return CycleMode.FIXED_RATE;
+		}
+
+		@Override
+		public int getCatchUpLimit() {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,188 @@
+package hemera.core.execution.unittest.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.assisted.AssistedService;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.interfaces.IExecutionService;
+import hemera.core.execution.interfaces.event.ExecutionEventType;
+import hemera.core.execution.interfaces.event.IEventSubscriber;
+import hemera.core.execution.interfaces.event.IExecutionEvent;
+import hemera.core.execution.interfaces.task.CycleMode;
+import hemera.core.execution.interfaces.task.ICyclicTask;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.scalable.ScalableService;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that the lifecycle events are delivered to the
+ * subscribers of their types only, on the dispatcher
+ * thread, and cover the task, executor and cyclic task
+ * events.
+ */
+public class TestExecutionEvents extends TestCase {
+
+	private final List<IExecutionEvent> events = Collections.synchronizedList(new ArrayList<IExecutionEvent>());
+	private final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+	private IExecutionService service;
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		if (this.service != null) this.service.shutdownAndWait();
+	}
+
+	public void testTaskEvents() throws Exception {
+		this.service = new AssistedService(new LogExceptionHandler(), new LogServiceListener(), 2, 16, 100, TimeUnit.MILLISECONDS);
+		this.service.activate();
+		this.service.subscribe(new RecordSubscriber(), ExecutionEventType.TASK_SUBMITTED, ExecutionEventType.TASK_STARTED,
+				ExecutionEventType.TASK_COMPLETED, ExecutionEventType.TASK_FAILED);
+		final IEventTaskHandle completed = this.service.submit(new IEventTask() {
+			@Override
+			public void execute() throws Exception {
+			}
+		});
+		final IEventTaskHandle failed = this.service.submit(new IEventTask() {
+			@Override
+			public void execute() throws Exception {
+				throw new IllegalStateException("Failure");
+			}
+		});
+		completed.await();
+		failed.await();
+		this.awaitEvents(6);
+		assertEquals(6, this.events.size());
+		assertEquals(ExecutionEventType.TASK_SUBMITTED, this.find(completed, ExecutionEventType.TASK_SUBMITTED).getType());
+		assertNotNull(this.find(completed, ExecutionEventType.TASK_STARTED).getExecutorName());
+		assertNotNull(this.find(completed, ExecutionEventType.TASK_COMPLETED));
+		assertNull(this.find(completed, ExecutionEventType.TASK_FAILED));
+		final IExecutionEvent failure = this.find(failed, ExecutionEventType.TASK_FAILED);
+		assertEquals("Failure", failure.getCause().getMessage());
+		assertNull(this.find(failed, ExecutionEventType.TASK_COMPLETED));
+		for (final Thread thread : this.threads) {
+			assertEquals("EventStream-Dispatcher", thread.getName());
+		}
+	}
+
+	public void testExecutorEvents() throws Exception {
+		this.service = new ScalableService(new LogExceptionHandler(), new LogServiceListener(), 1, 3, 50, TimeUnit.MILLISECONDS);
+		this.service.subscribe(new RecordSubscriber(), ExecutionEventType.EXECUTOR_CREATED, ExecutionEventType.EXECUTOR_RETIRED);
+		this.service.activate();
+		final CountDownLatch release = new CountDownLatch(1);
+		final IEventTaskHandle[] handles = new IEventTaskHandle[3];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = this.service.submit(new IEventTask() {
+				@Override
+				public void execute() throws Exception {
+					release.await();
+				}
+			});
+		}
+		release.countDown();
+		for (final IEventTaskHandle handle : handles) {
+			handle.await();
+		}
+		// The two on-demand executors time out and retire.
+		this.awaitEvents(4);
+		int created = 0;
+		int retired = 0;
+		for (final IExecutionEvent event : this.events) {
+			if (event.getType() == ExecutionEventType.EXECUTOR_CREATED) created++;
+			else if (event.getType() == ExecutionEventType.EXECUTOR_RETIRED) retired++;
+			assertNull(event.getHandle());
+			assertTrue(event.getExecutorName().startsWith("Ondemand-ScaleExecutor-"));
+		}
+		assertEquals(2, created);
+		assertEquals(2, retired);
+	}
+
+	public void testCycleOverrun() throws Exception {
+		this.service = new AssistedService(new LogExceptionHandler(), new LogServiceListener(), 1, 16, 100, TimeUnit.MILLISECONDS);
+		this.service.activate();
+		final RecordSubscriber subscriber = new RecordSubscriber();
+		this.service.subscribe(subscriber, ExecutionEventType.CYCLE_OVERRUN);
+		final ICyclicTaskHandle handle = this.service.submit(new OverrunTask());
+		handle.await();
+		// The last cycle is not followed by a wait, so it is not checked.
+		this.awaitEvents(2);
+		assertEquals(2, this.events.size());
+		for (final IExecutionEvent event : this.events) {
+			assertTrue(event.getDuration(TimeUnit.MILLISECONDS) >= 5);
+			assertEquals(OverrunTask.class, event.getTask().getClass());
+		}
+		assertTrue(this.service.unsubscribe(subscriber));
+		assertFalse(this.service.unsubscribe(subscriber));
+	}
+
+	private void awaitEvents(final int count) throws InterruptedException {
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (this.events.size() < count && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(5);
+		}
+		// Allow unexpected events to arrive.
+		TimeUnit.MILLISECONDS.sleep(50);
+	}
+
+	private IExecutionEvent find(final IEventTaskHandle handle, final ExecutionEventType type) {
+		synchronized (this.events) {
+			for (final IExecutionEvent event : this.events) {
+				if (event.getHandle() == handle && event.getType() == type) return event;
+			}
+		}
+		return null;
+	}
+
+	private class RecordSubscriber implements IEventSubscriber {
+
+		@Override
+		public void onEvent(final IExecutionEvent event) {
+			events.add(event);
+			threads.add(Thread.currentThread());
+		}
+	}
+
+	private static class OverrunTask implements ICyclicTask {
+
+		@Override
+		public boolean execute() throws Exception {
+			TimeUnit.MILLISECONDS.sleep(5);
+			return true;
+		}
+
+		@Override
+		public void cleanup() throws Exception {
+		}
+
+		@Override
+		public void signalTerminate() throws Exception {
+		}
+
+		@Override
+		public int getCycleCount() {
+			return 3;
+		}
+
+		@Override
+		public long getCycleLimit(final TimeUnit unit) {
+			return unit.convert(1, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public CycleMode getCycleMode() {
+			return CycleMode.FIXED_DELAY;
+		}
+
+		@Override
+		public int getCatchUpLimit() {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package hemera.core.execution.unittest.exception;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.exception.AsyncExceptionHandler;
+import hemera.core.execution.interfaces.IExceptionHandler;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that the asynchronous exception handler
+ * forwards exceptions on its writer thread, limits
+ * the rate of identical exceptions, and drops the
+ * exceptions that do not fit in its buffer.
+ */
+public class TestAsyncExceptionHandler extends TestCase {
+
+	private final List<Exception> handled = Collections.synchronizedList(new ArrayList<Exception>());
+	private final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+	private final CountDownLatch entered = new CountDownLatch(1);
+	private volatile CountDownLatch release = new CountDownLatch(0);
+	private volatile boolean ran;
+
+	public void testRateLimit() throws Exception {
+		final AsyncExceptionHandler handler = new AsyncExceptionHandler(new RecordHandler(), 64, 3, 1, TimeUnit.HOURS);
+		for (int i = 0; i < 10; i++) {
+			handler.handle(new IllegalStateException("Failure " + i));
+		}
+		handler.handle(this.newException());
+		handler.handle(new IllegalArgumentException());
+		handler.run();
+		assertTrue(this.ran);
+		// Identical stack-traces are limited regardless of the messages.
+		assertEquals(5, this.handled.size());
+		for (int i = 0; i < 3; i++) {
+			assertEquals("Failure " + i, this.handled.get(i).getMessage());
+		}
+		for (final Thread thread : this.threads) {
+			assertTrue(thread != Thread.currentThread());
+		}
+	}
+
+	public void testDrop() throws Exception {
+		this.release = new CountDownLatch(1);
+		final AsyncExceptionHandler handler = new AsyncExceptionHandler(new RecordHandler(), 4, 100, 1, TimeUnit.HOURS);
+		handler.handle(new IllegalStateException());
+		assertTrue(this.entered.await(5, TimeUnit.SECONDS));
+		// The writer is held by the delegate, so only the buffer
+		// capacity is accepted without blocking.
+		for (int i = 0; i < 10; i++) {
+			handler.handle(new IllegalStateException());
+		}
+		assertEquals(6, handler.getDroppedCount());
+		this.release.countDown();
+		handler.run();
+		assertEquals(5, this.handled.size());
+	}
+
+	private Exception newException() {
+		return new IllegalStateException("Failure");
+	}
+
+	private class RecordHandler implements IExceptionHandler {
+
+		@Override
+		public void handle(final Exception e) {
+			handled.add(e);
+			threads.add(Thread.currentThread());
+			entered.countDown();
+			try {
+				release.await();
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public void run() {
+			ran = true;
+		}
+	}
+}
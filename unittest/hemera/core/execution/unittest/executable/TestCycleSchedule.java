@@ -0,0 +1,60 @@
+package hemera.core.execution.unittest.executable;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.executable.CycleSchedule;
+import hemera.core.execution.interfaces.task.CycleMode;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify the deadline calculation of each cycle mode
+ * and the schedule counters.
+ */
+public class TestCycleSchedule extends TestCase {
+
+	private final long period = 100;
+
+	public void testFixedRate() {
+		final CycleSchedule schedule = new CycleSchedule(CycleMode.FIXED_RATE, this.period, 2, 0);
+		// On time cycles do not drift with the execution latency.
+		assertEquals(100, schedule.next(5, 30));
+		assertEquals(200, schedule.next(110, 150));
+		// A slow cycle misses four deadlines, two are caught up.
+		assertEquals(500, schedule.next(200, 720));
+		assertEquals(2, schedule.getSkippedCount());
+		assertEquals(1, schedule.getOverrunCount());
+		assertEquals(600, schedule.next(720, 730));
+		assertEquals(220, schedule.getMaxLateness(TimeUnit.NANOSECONDS));
+		assertEquals(5+10+220, schedule.getTotalLateness(TimeUnit.NANOSECONDS));
+	}
+
+	public void testUnlimitedCatchUp() {
+		final CycleSchedule schedule = new CycleSchedule(CycleMode.FIXED_RATE, this.period, -1, 0);
+		assertEquals(100, schedule.next(0, 1000));
+		assertEquals(0, schedule.getSkippedCount());
+	}
+
+	public void testFixedDelay() {
+		final CycleSchedule schedule = new CycleSchedule(CycleMode.FIXED_DELAY, this.period, 0, 0);
+		assertEquals(130, schedule.next(0, 30));
+		assertEquals(390, schedule.next(140, 290));
+		assertEquals(0, schedule.getSkippedCount());
+		assertEquals(1, schedule.getOverrunCount());
+	}
+
+	public void testSkipMissed() {
+		final CycleSchedule schedule = new CycleSchedule(CycleMode.SKIP_MISSED, this.period, 0, 0);
+		assertEquals(100, schedule.next(0, 50));
+		// Deadlines 200 and 300 have passed.
+		assertEquals(400, schedule.next(100, 350));
+		assertEquals(2, schedule.getSkippedCount());
+		assertEquals(500, schedule.next(400, 500));
+	}
+
+	public void testNoLimit() {
+		final CycleSchedule schedule = new CycleSchedule(CycleMode.FIXED_RATE, 0, 0, 0);
+		assertEquals(40, schedule.next(10, 40));
+		assertEquals(0, schedule.getOverrunCount());
+	}
+}
@@ -0,0 +1,199 @@
+package hemera.core.execution.unittest.executable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hemera.core.execution.executable.EventExecutable;
+import hemera.core.execution.executable.ResultExecutable;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.unittest.task.CPUResultTask;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify the executable life cycle transitions and
+ * that waiting threads are released on every final
+ * state.
+ */
+public class TestEventExecutable extends TestCase {
+
+	private final AtomicInteger executions = new AtomicInteger();
+
+	public void testCompletion() throws Exception {
+		final EventExecutable executable = new EventExecutable(this.newTask(false));
+		assertFalse(executable.await(10, TimeUnit.MILLISECONDS));
+		executable.execute();
+		executable.execute();
+		assertEquals(1, this.executions.get());
+		assertTrue(executable.await());
+		assertFalse(executable.cancel());
+	}
+
+	public void testCancellation() throws Exception {
+		final EventExecutable executable = new EventExecutable(this.newTask(false));
+		assertTrue(executable.cancel());
+		assertFalse(executable.cancel());
+		executable.execute();
+		assertEquals(0, this.executions.get());
+		assertFalse(executable.await());
+	}
+
+	public void testFailure() throws Exception {
+		final EventExecutable executable = new EventExecutable(this.newTask(true));
+		try {
+			executable.execute();
+			fail("Task exception should be propagated.");
+		} catch (final IllegalStateException e) {
+			// Expected.
+		}
+		assertFalse(executable.await());
+		assertFalse(executable.cancel());
+	}
+
+	public void testWaitersReleased() throws Exception {
+		final ResultExecutable<Integer> executable = new ResultExecutable<Integer>(new CPUResultTask(7, 100));
+		final int waiterCount = 8;
+		final CountDownLatch released = new CountDownLatch(waiterCount);
+		final AtomicInteger results = new AtomicInteger();
+		for (int i = 0; i < waiterCount; i++) {
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						results.addAndGet(executable.getAndWait());
+					} catch (final InterruptedException e) {
+						e.printStackTrace();
+					}
+					released.countDown();
+				}
+			}).start();
+		}
+		executable.execute();
+		assertTrue(released.await(5, TimeUnit.SECONDS));
+		assertEquals(7*waiterCount, results.get());
+	}
+
+	public void testThrowingCallback() throws Exception {
+		final EventExecutable executable = new EventExecutable(this.newTask(false));
+		final AtomicInteger callbacks = new AtomicInteger();
+		final AtomicInteger uncaught = new AtomicInteger();
+		executable.onDone(new Runnable() {
+			@Override
+			public void run() {
+				callbacks.incrementAndGet();
+			}
+		});
+		executable.onDone(new Runnable() {
+			@Override
+			public void run() {
+				throw new IllegalStateException("Failing callback.");
+			}
+		});
+		final Thread thread = Thread.currentThread();
+		final Thread.UncaughtExceptionHandler original = thread.getUncaughtExceptionHandler();
+		thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			@Override
+			public void uncaughtException(final Thread t, final Throwable e) {
+				uncaught.incrementAndGet();
+			}
+		});
+		try {
+			executable.execute();
+		} finally {
+			thread.setUncaughtExceptionHandler(original);
+		}
+		// The callback pushed before the failing one is still run.
+		assertEquals(1, callbacks.get());
+		assertEquals(1, uncaught.get());
+		assertTrue(executable.await());
+	}
+
+	public void testTimedWaitersUnlinked() throws Exception {
+		final CountingExecutable executable = new CountingExecutable();
+		executable.onDone(new Runnable() {
+			@Override
+			public void run() {
+				executions.incrementAndGet();
+			}
+		});
+		for (int i = 0; i < 10000; i++) {
+			assertFalse(executable.await(0, TimeUnit.NANOSECONDS));
+		}
+		final Thread waiter = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					executable.await();
+				} catch (final InterruptedException e) {
+					// Expected.
+				}
+			}
+		});
+		waiter.start();
+		while (executable.getCount() < 2) Thread.sleep(1);
+		waiter.interrupt();
+		waiter.join();
+		// Only the callback remains.
+		assertEquals(1, executable.getCount());
+		executable.execute();
+		assertEquals(1, this.executions.get());
+		assertEquals(0, executable.getCount());
+	}
+
+	public void testConcurrentUnlinking() throws Exception {
+		final CountingExecutable executable = new CountingExecutable();
+		final int threadCount = 4;
+		final int callbackCount = 1000;
+		final Thread[] threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < 20000; j++) executable.await(0, TimeUnit.NANOSECONDS);
+					} catch (final InterruptedException e) {
+						e.printStackTrace();
+					}
+				}
+			});
+			threads[i].start();
+		}
+		// Callbacks pushed concurrently with the unlinking are never lost.
+		for (int i = 0; i < callbackCount; i++) {
+			executable.onDone(new Runnable() {
+				@Override
+				public void run() {
+					executions.incrementAndGet();
+				}
+			});
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(callbackCount, executable.getCount());
+		executable.execute();
+		assertEquals(callbackCount, this.executions.get());
+	}
+
+	private IEventTask newTask(final boolean failing) {
+		return new IEventTask() {
+			@Override
+			public void execute() throws Exception {
+				executions.incrementAndGet();
+				if (failing) throw new IllegalStateException("Failing task.");
+			}
+		};
+	}
+
+	private static class CountingExecutable extends EventExecutable {
+
+		@Override
+		protected void executeTask() throws Exception {
+		}
+
+		private int getCount() {
+			return this.getPendingCompletionCount();
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package hemera.core.execution.unittest.executable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import hemera.core.execution.executable.ResultExecutable;
+import hemera.core.execution.interfaces.task.IResultTask;
+import hemera.core.execution.interfaces.task.handle.IResultCallback;
+import hemera.core.execution.interfaces.task.handle.IResultFunction;
+import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.unittest.task.CPUResultTask;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify the continuations chained onto result
+ * executables are run on completion and propagate
+ * failures and cancellations.
+ */
+public class TestResultExecutable extends TestCase {
+
+	private final IResultFunction<Integer, Integer> doubler = new IResultFunction<Integer, Integer>() {
+		@Override
+		public Integer apply(final Integer result) throws Exception {
+			return result*2;
+		}
+	};
+
+	public void testThenApply() throws Exception {
+		final ResultExecutable<Integer> executable = new ResultExecutable<Integer>(new CPUResultTask(7, 10));
+		final IResultTaskHandle<Integer> dependent = executable.thenApply(this.doubler).thenApply(this.doubler);
+		assertFalse(dependent.await(10, TimeUnit.MILLISECONDS));
+		executable.execute();
+		assertEquals(Integer.valueOf(28), dependent.getAndWait(1, TimeUnit.SECONDS));
+		// Chaining onto a completed executable runs immediately.
+		assertEquals(Integer.valueOf(14), executable.thenApply(this.doubler).getAndWait(0, TimeUnit.MILLISECONDS));
+	}
+
+	public void testFailurePropagation() throws Exception {
+		final ResultExecutable<Integer> executable = new ResultExecutable<Integer>(new IResultTask<Integer>() {
+			@Override
+			public Integer execute() throws Exception {
+				throw new IllegalStateException("Failing task.");
+			}
+		});
+		final IResultTaskHandle<Integer> dependent = executable.thenApply(this.doubler);
+		final AtomicReference<Exception> received = new AtomicReference<Exception>();
+		dependent.whenComplete(new IResultCallback<Integer>() {
+			@Override
+			public void completed(final Integer result, final Exception exception) {
+				received.set(exception);
+			}
+		});
+		try {
+			executable.execute();
+			fail("Task exception should be propagated.");
+		} catch (final IllegalStateException e) {
+			// Expected.
+		}
+		assertFalse(dependent.await());
+		assertTrue(received.get() instanceof IllegalStateException);
+		try {
+			dependent.toFuture().get();
+			fail("Future should report the failure.");
+		} catch (final ExecutionException e) {
+			assertSame(received.get(), e.getCause());
+		}
+	}
+
+	public void testCancellation() throws Exception {
+		final ResultExecutable<Integer> executable = new ResultExecutable<Integer>(new CPUResultTask(7, 10));
+		final IResultTaskHandle<Integer> dependent = executable.thenApply(this.doubler);
+		final AtomicReference<Exception> received = new AtomicReference<Exception>();
+		executable.whenComplete(new IResultCallback<Integer>() {
+			@Override
+			public void completed(final Integer result, final Exception exception) {
+				received.set(exception);
+			}
+		});
+		assertTrue(executable.cancel());
+		assertFalse(dependent.await());
+		assertTrue(dependent.toFuture().isCancelled());
+		assertTrue(received.get() instanceof CancellationException);
+	}
+
+	public void testThenCompose() throws Exception {
+		final ResultExecutable<Integer> first = new ResultExecutable<Integer>(new CPUResultTask(3, 10));
+		final ResultExecutable<Integer> second = new ResultExecutable<Integer>(new CPUResultTask(4, 10));
+		final IResultTaskHandle<Integer> composed = first.thenCompose(new IResultFunction<Integer, IResultTaskHandle<Integer>>() {
+			@Override
+			public IResultTaskHandle<Integer> apply(final Integer result) throws Exception {
+				return second.thenApply(doubler);
+			}
+		});
+		first.execute();
+		assertFalse(composed.await(10, TimeUnit.MILLISECONDS));
+		second.execute();
+		assertEquals(Integer.valueOf(8), composed.getAndWait(1, TimeUnit.SECONDS));
+	}
+
+	public void testCombinators() throws Exception {
+		final List<ResultExecutable<Integer>> executables = new ArrayList<ResultExecutable<Integer>>();
+		for (int i = 0; i < 4; i++) {
+			executables.add(new ResultExecutable<Integer>(new CPUResultTask(i, 10)));
+		}
+		final IResultTaskHandle<List<Integer>> all = ResultExecutable.allOf(executables);
+		final IResultTaskHandle<Integer> any = ResultExecutable.anyOf(executables);
+		final Future<List<Integer>> future = all.toFuture();
+		executables.get(2).execute();
+		assertEquals(Integer.valueOf(2), any.getAndWait(1, TimeUnit.SECONDS));
+		try {
+			future.get(10, TimeUnit.MILLISECONDS);
+			fail("Combined handle should not be completed.");
+		} catch (final TimeoutException e) {
+			// Expected.
+		}
+		for (final ResultExecutable<Integer> executable : executables) {
+			executable.execute();
+		}
+		final List<Integer> results = future.get();
+		for (int i = 0; i < 4; i++) {
+			assertEquals(Integer.valueOf(i), results.get(i));
+		}
+	}
+}
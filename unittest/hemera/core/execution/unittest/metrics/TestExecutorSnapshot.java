@@ -0,0 +1,115 @@
+package hemera.core.execution.unittest.metrics;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.AbstractServiceListener;
+import hemera.core.execution.admission.AbortPolicy;
+import hemera.core.execution.assisted.AssistedService;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.interfaces.IExecutionService;
+import hemera.core.execution.interfaces.metrics.ExecutorState;
+import hemera.core.execution.interfaces.metrics.IExecutorSnapshot;
+import hemera.core.execution.interfaces.task.IEventTask;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that executor snapshots capture the task being
+ * executed without inspecting the executor threads, and
+ * that the capacity reached notification samples the
+ * stack-traces asynchronously when enabled.
+ */
+public class TestExecutorSnapshot extends TestCase {
+
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final CountDownLatch reported = new CountDownLatch(1);
+	private final CountDownLatch sampled = new CountDownLatch(1);
+	private volatile String report;
+	private volatile String stacktrace;
+	private IExecutionService service;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		final AbstractServiceListener listener = new AbstractServiceListener(1, 32) {
+			@Override
+			protected void capacityReached(final String report) {
+				TestExecutorSnapshot.this.report = report;
+				reported.countDown();
+			}
+
+			@Override
+			protected void stacksSampled(final String stacktrace) {
+				TestExecutorSnapshot.this.stacktrace = stacktrace;
+				sampled.countDown();
+			}
+
+			@Override
+			public long getFrequency(final TimeUnit unit) {
+				return 0;
+			}
+		};
+		this.service = new AssistedService(new LogExceptionHandler(), listener, 1, 1, 100, TimeUnit.MILLISECONDS);
+		this.service.setRejectionPolicy(new AbortPolicy());
+		this.service.activate();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		this.release.countDown();
+		this.service.shutdownAndWait();
+	}
+
+	public void testSnapshot() throws Exception {
+		List<IExecutorSnapshot> snapshots = this.service.getExecutorSnapshots();
+		assertEquals(1, snapshots.size());
+		assertNull(snapshots.get(0).getTaskClass());
+		this.service.submit(new BlockTask());
+		assertTrue(this.started.await(5, TimeUnit.SECONDS));
+		this.service.submit(new BlockTask());
+		Thread.sleep(20);
+		snapshots = this.service.getExecutorSnapshots();
+		final IExecutorSnapshot snapshot = snapshots.get(0);
+		assertEquals("AssistExecutor-0", snapshot.getName());
+		assertEquals(ExecutorState.EXECUTING, snapshot.getState());
+		assertEquals(BlockTask.class.getName(), snapshot.getTaskClass());
+		assertTrue(snapshot.getTimeInTask(TimeUnit.MILLISECONDS) >= 20);
+		assertEquals(1, snapshot.getQueueLength());
+		assertFalse(snapshot.isCyclic());
+	}
+
+	public void testCapacityReached() throws Exception {
+		this.service.submit(new BlockTask());
+		assertTrue(this.started.await(5, TimeUnit.SECONDS));
+		this.service.submit(new BlockTask());
+		try {
+			this.service.submit(new BlockTask());
+			fail("Submission to a full buffer should be rejected.");
+		} catch (final RejectedExecutionException e) {
+			// Expected.
+		}
+		// The notification is sent by the dispatcher thread.
+		assertTrue(this.reported.await(5, TimeUnit.SECONDS));
+		assertNotNull(this.report);
+		assertTrue(this.report.contains(ExecutorState.EXECUTING.toString()));
+		assertTrue(this.report.contains(BlockTask.class.getName()));
+		// The report itself does not contain stack-traces.
+		assertFalse(this.report.contains("CountDownLatch"));
+		assertTrue(this.sampled.await(5, TimeUnit.SECONDS));
+		assertTrue(this.stacktrace.contains("CountDownLatch"));
+	}
+
+	private class BlockTask implements IEventTask {
+
+		@Override
+		public void execute() throws Exception {
+			started.countDown();
+			release.await();
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package hemera.core.execution.unittest.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.assisted.AssistedService;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.interfaces.IExecutionService;
+import hemera.core.execution.interfaces.metrics.IServiceMetrics;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.metrics.Histogram;
+import hemera.core.execution.metrics.ServiceMonitor;
+import hemera.core.execution.metrics.StripedCounter;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify the metric primitives and that an execution
+ * service records the outcome of every submitted task.
+ */
+public class TestServiceMetrics extends TestCase {
+
+	public void testStripedCounter() throws Exception {
+		final StripedCounter counter = new StripedCounter();
+		final Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < 10000; j++) counter.increment();
+				}
+			});
+			threads[i].start();
+		}
+		for (final Thread thread : threads) thread.join();
+		assertEquals(80000, counter.sum());
+	}
+
+	public void testHistogram() {
+		final Histogram histogram = new Histogram(true);
+		assertEquals(0, histogram.getPercentile(99));
+		for (int i = 1; i <= 1000; i++) histogram.record(i);
+		assertEquals(1000, histogram.getCount());
+		assertEquals(500500, histogram.getSum());
+		assertEquals(1000, histogram.getMax());
+		// The median 500 falls in the bucket of [256, 511].
+		assertEquals(511, histogram.getPercentile(50));
+		assertEquals(1000, histogram.getPercentile(100));
+		assertEquals(1, histogram.getPercentile(0));
+	}
+
+	public void testServiceMetrics() throws Exception {
+		final IExecutionService service = new AssistedService(new LogExceptionHandler(), new LogServiceListener(), 4, 100, 100, TimeUnit.MILLISECONDS);
+		service.activate();
+		final ServiceMonitor monitor = new ServiceMonitor(service.getMetrics());
+		monitor.register("TestServiceMetrics");
+		try {
+			final int count = 200;
+			final IEventTaskHandle[] handles = new IEventTaskHandle[count];
+			for (int i = 0; i < count; i++) {
+				final boolean failing = (i % 10 == 0);
+				handles[i] = service.submit(new IEventTask() {
+					@Override
+					public void execute() throws Exception {
+						if (failing) throw new IllegalStateException("Failing task.");
+					}
+				});
+			}
+			for (final IEventTaskHandle handle : handles) handle.await();
+			final IServiceMetrics metrics = service.getMetrics();
+			// Outcomes are recorded right after the handles are released.
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (metrics.getCompletedCount() + metrics.getFailedCount() < count && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			assertEquals(count, metrics.getSubmittedCount());
+			assertEquals(count / 10, metrics.getFailedCount());
+			assertEquals(count - count / 10, metrics.getCompletedCount());
+			assertEquals(count, metrics.getQueueWait().getCount());
+			assertEquals(4, metrics.getExecutorCreatedCount());
+			assertEquals(4, metrics.getExecutorMetrics().size());
+			assertEquals(4, monitor.getExecutorReports().length);
+			assertEquals(count, monitor.getSubmittedCount());
+		} finally {
+			monitor.unregister();
+			service.shutdownAndWait();
+		}
+		assertEquals(4, service.getMetrics().getExecutorRetiredCount());
+		assertTrue(service.getMetrics().getExecutorMetrics().isEmpty());
+	}
+}
@@ -0,0 +1,145 @@
+package hemera.core.execution.unittest.scalable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.idle.BlockIdleStrategy;
+import hemera.core.execution.interfaces.scalable.IScalableService;
+import hemera.core.execution.interfaces.scalable.OverflowOrder;
+import hemera.core.execution.interfaces.scalable.ReusePolicy;
+import hemera.core.execution.interfaces.task.IDeadlineTask;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.IResultTask;
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.scalable.ScalableService;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that tasks whose deadlines have passed are
+ * dropped without being executed, and that the overflow
+ * queue executes the tasks with the earliest deadlines
+ * first.
+ */
+public class TestDeadline extends TestCase {
+
+	private final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private IScalableService service;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.service = new ScalableService(new LogExceptionHandler(), new LogServiceListener(), 1, 1, 200, TimeUnit.MILLISECONDS,
+				new BlockIdleStrategy(), 100, ReusePolicy.LIFO, null, OverflowOrder.DEADLINE);
+		this.service.activate();
+		this.service.submit(new BlockTask());
+		assertTrue(this.started.await(5, TimeUnit.SECONDS));
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		this.release.countDown();
+		this.service.shutdownAndWait();
+	}
+
+	public void testExpired() throws Exception {
+		final IEventTaskHandle expired = this.service.submit(new DeadlineTask(0, 50));
+		final IResultTaskHandle<Integer> result = this.service.submit(new DeadlineResultTask(50));
+		final IEventTaskHandle valid = this.service.submit(new DeadlineTask(1, 10000));
+		Thread.sleep(100);
+		this.release.countDown();
+		assertFalse(expired.await(5, TimeUnit.SECONDS));
+		assertTrue(expired.isExpired());
+		assertFalse(expired.cancel());
+		assertNull(result.getAndWait(5, TimeUnit.SECONDS));
+		assertTrue(result.isExpired());
+		try {
+			result.toFuture().get();
+			fail("Expired task should not have a result.");
+		} catch (final ExecutionException e) {
+			assertTrue(e.getCause() instanceof TimeoutException);
+		}
+		assertTrue(valid.await(5, TimeUnit.SECONDS));
+		assertFalse(valid.isExpired());
+		assertEquals(1, this.order.size());
+		assertEquals(Integer.valueOf(1), this.order.get(0));
+		assertEquals(2, this.service.getMetrics().getExpiredCount());
+	}
+
+	public void testDeadlineOrder() throws Exception {
+		final List<IEventTaskHandle> handles = new ArrayList<IEventTaskHandle>();
+		handles.add(this.service.submit(new DeadlineTask(3, 0)));
+		handles.add(this.service.submit(new DeadlineTask(2, 20000)));
+		handles.add(this.service.submit(new DeadlineTask(0, 5000)));
+		handles.add(this.service.submit(new DeadlineTask(1, 10000)));
+		this.release.countDown();
+		for (final IEventTaskHandle handle : handles) {
+			assertTrue(handle.await(5, TimeUnit.SECONDS));
+		}
+		assertEquals(4, this.order.size());
+		for (int i = 0; i < this.order.size(); i++) {
+			assertEquals(Integer.valueOf(i), this.order.get(i));
+		}
+	}
+
+	private class BlockTask implements IEventTask {
+
+		@Override
+		public void execute() throws Exception {
+			started.countDown();
+			release.await();
+		}
+	}
+
+	private class DeadlineTask implements IEventTask, IDeadlineTask {
+
+		private final int index;
+		private final long timeout;
+
+		private DeadlineTask(final int index, final long timeout) {
+			this.index = index;
+			this.timeout = timeout;
+		}
+
+		@Override
+		public void execute() throws Exception {
+			order.add(this.index);
+		}
+
+		@Override
+		public long getTimeout(final TimeUnit unit) {
+			return unit.convert(this.timeout, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private class DeadlineResultTask implements IResultTask<Integer>, IDeadlineTask {
+
+		private final long timeout;
+
+		private DeadlineResultTask(final long timeout) {
+			this.timeout = timeout;
+		}
+
+		@Override
+		public Integer execute() throws Exception {
+			order.add(-1);
+			return -1;
+		}
+
+		@Override
+		public long getTimeout(final TimeUnit unit) {
+			return unit.convert(this.timeout, TimeUnit.MILLISECONDS);
+		}
+	}
+}
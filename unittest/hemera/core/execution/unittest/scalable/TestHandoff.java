@@ -0,0 +1,114 @@
+package hemera.core.execution.unittest.scalable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.idle.BlockIdleStrategy;
+import hemera.core.execution.interfaces.scalable.IScalableService;
+import hemera.core.execution.interfaces.scalable.IScaleExecutor;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.scalable.ScalableService;
+import hemera.core.execution.scalable.ScaleExecutor;
+import hemera.core.execution.unittest.task.IOResultTask;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that tasks are handed off to idle executors,
+ * buffered in the overflow queue without blocking once
+ * the pool is at its maximum size, that a failed task
+ * does not leak its executor, and that a task handed
+ * off to a terminating executor is not stranded.
+ */
+public class TestHandoff extends TestCase {
+
+	private IScalableService service;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.service = new ScalableService(new LogExceptionHandler(), new LogServiceListener(), 2, 4, 200, TimeUnit.MILLISECONDS,
+				new BlockIdleStrategy(), 100);
+		this.service.activate();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		this.service.shutdownAndWait();
+	}
+
+	@SuppressWarnings("unchecked")
+	public void testOverflow() throws Exception {
+		final IResultTaskHandle<Integer>[] handles = new IResultTaskHandle[50];
+		final long start = System.nanoTime();
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = this.service.submit(new IOResultTask(i, 20));
+		}
+		// Four executors can only complete a few tasks while submitting.
+		final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue("Submission blocked for " + elapsed + "ms", elapsed < 200);
+		assertTrue(this.service.getCurrentExecutorCount() <= 4);
+		for (int i = 0; i < handles.length; i++) {
+			assertEquals(Integer.valueOf(i), handles[i].getAndWait(10, TimeUnit.SECONDS));
+		}
+	}
+
+	public void testFailedTaskRecycled() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			final IEventTaskHandle handle = this.service.submit(new IEventTask() {
+				@Override
+				public void execute() throws Exception {
+					throw new IllegalStateException("Failing task.");
+				}
+			});
+			assertFalse(handle.await(5, TimeUnit.SECONDS));
+		}
+		// Every executor must have been recycled.
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (this.service.getAvailableCount() < this.service.getCurrentExecutorCount() && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(5);
+		}
+		assertEquals(this.service.getCurrentExecutorCount(), this.service.getAvailableCount());
+	}
+
+	public void testTerminatedHandoff() throws Exception {
+		final IEventTaskHandle[] stranded = new IEventTaskHandle[1];
+		final CountDownLatch recycled = new CountDownLatch(1);
+		// Hand the executor another task and terminate it once
+		// it recycles, as a cancellation racing with the recycling
+		// would.
+		final IScalableService group = new ScalableService(new LogExceptionHandler(), new LogServiceListener(), 1, 1, 200,
+				TimeUnit.MILLISECONDS) {
+			@Override
+			public void recycle(final IScaleExecutor executor) {
+				stranded[0] = executor.assign(new NoopTask());
+				executor.requestTerminate();
+				recycled.countDown();
+			}
+		};
+		final ScaleExecutor executor = new ScaleExecutor("ScaleExecutor-Terminated", new LogExceptionHandler(), group, 200,
+				TimeUnit.MILLISECONDS, new BlockIdleStrategy(), null);
+		final IEventTaskHandle first = executor.assign(new NoopTask());
+		executor.start();
+		assertTrue(first.await(5, TimeUnit.SECONDS));
+		assertTrue(recycled.await(5, TimeUnit.SECONDS));
+		// The task is cancelled when the executor exits.
+		final long start = System.nanoTime();
+		assertFalse(stranded[0].await(5, TimeUnit.SECONDS));
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+		assertFalse(stranded[0].cancel());
+		assertTrue(executor.hasTerminated());
+	}
+
+	private static final class NoopTask implements IEventTask {
+
+		@Override
+		public void execute() throws Exception {
+		}
+	}
+}
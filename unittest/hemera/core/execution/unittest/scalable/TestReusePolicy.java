@@ -0,0 +1,67 @@
+package hemera.core.execution.unittest.scalable;
+
+import java.util.concurrent.TimeUnit;
+
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.idle.BlockIdleStrategy;
+import hemera.core.execution.interfaces.scalable.IScalableService;
+import hemera.core.execution.interfaces.scalable.ReusePolicy;
+import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.scalable.ScalableService;
+import hemera.core.execution.unittest.task.IOResultTask;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that the LIFO reuse policy lets surplus
+ * on-demand executors retire under a light load after
+ * a spike, while the FIFO policy keeps them all warm.
+ */
+public class TestReusePolicy extends TestCase {
+
+	private final int max = 8;
+
+	public void testLIFO() throws Exception {
+		final IScalableService service = this.newService(ReusePolicy.LIFO);
+		try {
+			this.spikeThenTrickle(service);
+			assertTrue(service.getCurrentExecutorCount() <= 2);
+		} finally {
+			service.shutdownAndWait();
+		}
+	}
+
+	public void testFIFO() throws Exception {
+		final IScalableService service = this.newService(ReusePolicy.FIFO);
+		try {
+			this.spikeThenTrickle(service);
+			assertEquals(this.max, service.getCurrentExecutorCount());
+		} finally {
+			service.shutdownAndWait();
+		}
+	}
+
+	private IScalableService newService(final ReusePolicy policy) {
+		final IScalableService service = new ScalableService(new LogExceptionHandler(), new LogServiceListener(), 1, this.max,
+				300, TimeUnit.MILLISECONDS, new BlockIdleStrategy(), 0, policy);
+		service.activate();
+		return service;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void spikeThenTrickle(final IScalableService service) throws Exception {
+		final IResultTaskHandle<Integer>[] handles = new IResultTaskHandle[this.max];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = service.submit(new IOResultTask(i, 50));
+		}
+		for (final IResultTaskHandle<Integer> handle : handles) handle.getAndWait();
+		assertEquals(this.max, service.getCurrentExecutorCount());
+		// A trickle of sequential tasks for well over the timeout.
+		final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1000);
+		while (System.nanoTime() < end) {
+			service.submit(new IOResultTask(0, 1)).getAndWait();
+			TimeUnit.MILLISECONDS.sleep(10);
+		}
+	}
+}
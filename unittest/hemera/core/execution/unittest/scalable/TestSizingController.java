@@ -0,0 +1,264 @@
+package hemera.core.execution.unittest.scalable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import hemera.core.execution.Executor;
+
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.idle.BlockIdleStrategy;
+import hemera.core.execution.interfaces.scalable.IScalableService;
+import hemera.core.execution.interfaces.scalable.IScaleExecutor;
+import hemera.core.execution.interfaces.scalable.ISizingController;
+import hemera.core.execution.interfaces.scalable.ISizingSample;
+import hemera.core.execution.interfaces.scalable.ReusePolicy;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.listener.LogServiceListener;
+import hemera.core.execution.scalable.ScalableService;
+import hemera.core.execution.sizing.LittleLawController;
+import hemera.core.execution.unittest.task.IOResultTask;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that the executor count bounds can be changed
+ * at runtime, that the maximum count holds while
+ * executors are being removed, and that the service
+ * follows the target count of the sizing controller.
+ */
+public class TestSizingController extends TestCase {
+
+	private final int max = 8;
+
+	public void testSetMinCount() throws Exception {
+		final IScalableService service = this.newService(null);
+		try {
+			service.setMinCount(4);
+			assertEquals(4, service.getCurrentExecutorCount());
+			this.spike(service);
+			TimeUnit.MILLISECONDS.sleep(800);
+			assertEquals(4, service.getCurrentExecutorCount());
+			// On-demand executors retire down to the initial one.
+			service.setMinCount(0);
+			TimeUnit.MILLISECONDS.sleep(800);
+			assertEquals(1, service.getCurrentExecutorCount());
+		} finally {
+			service.shutdownAndWait();
+		}
+	}
+
+	public void testSetMaxCount() throws Exception {
+		final IScalableService service = this.newService(null);
+		try {
+			service.setMaxCount(3);
+			this.spike(service);
+			assertEquals(3, service.getCurrentExecutorCount());
+			service.setMaxCount(this.max);
+			this.spike(service);
+			assertEquals(this.max, service.getCurrentExecutorCount());
+			try {
+				service.setMinCount(this.max+1);
+				fail("Minimum count cannot exceed the maximum count.");
+			} catch (final IllegalArgumentException e) {
+				// Expected.
+			}
+			try {
+				service.setMaxCount(0);
+				fail("Maximum count must be positive.");
+			} catch (final IllegalArgumentException e) {
+				// Expected.
+			}
+		} finally {
+			service.shutdownAndWait();
+		}
+	}
+
+	public void testController() throws Exception {
+		final FixedController controller = new FixedController(6);
+		final IScalableService service = this.newService(controller);
+		try {
+			TimeUnit.MILLISECONDS.sleep(300);
+			assertEquals(6, service.getTargetCount());
+			assertEquals(6, service.getCurrentExecutorCount());
+			// The target is bounded by the maximum count.
+			controller.target = 20;
+			TimeUnit.MILLISECONDS.sleep(300);
+			assertEquals(this.max, service.getTargetCount());
+			assertEquals(this.max, service.getCurrentExecutorCount());
+			controller.target = 2;
+			TimeUnit.MILLISECONDS.sleep(800);
+			assertEquals(2, service.getCurrentExecutorCount());
+		} finally {
+			service.shutdownAndWait();
+		}
+	}
+
+	public void testMaxCountUnderRemoval() throws Exception {
+		final ExposedService service = new ExposedService();
+		service.activate();
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicBoolean removing = new AtomicBoolean(true);
+		try {
+			// Occupy the initial and an on-demand executor.
+			service.submit(new BlockTask(release));
+			service.submit(new BlockTask(release));
+			assertEquals(2, service.getCurrentExecutorCount());
+			IScaleExecutor ondemand = null;
+			for (final Executor executor : service.getExecutors()) {
+				if (((IScaleExecutor)executor).isOndemand()) ondemand = (IScaleExecutor)executor;
+			}
+			assertNotNull(ondemand);
+			// The busy executor can never be retired, each attempt
+			// releases and takes back its count.
+			final IScaleExecutor busy = ondemand;
+			final Thread remover = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					while (removing.get()) {
+						service.remove(busy);
+					}
+				}
+			});
+			remover.start();
+			for (int i = 0; i < 20000; i++) {
+				service.submit(new BlockTask(null));
+			}
+			removing.set(false);
+			remover.join(5000);
+			int count = 0;
+			for (@SuppressWarnings("unused") final Executor executor : service.getExecutors()) count++;
+			assertEquals(2, count);
+			assertEquals(2, service.getCurrentExecutorCount());
+		} finally {
+			removing.set(false);
+			release.countDown();
+			service.shutdownAndWait();
+		}
+	}
+
+	public void testLittleLaw() throws Exception {
+		final LittleLawController controller = new LittleLawController(1, TimeUnit.SECONDS, 1.2, 1);
+		// 100 tasks per second taking 50 milliseconds each.
+		assertEquals(6, controller.getTargetCount(new Sample(100, 50, 0, 16)));
+		assertEquals(16, controller.getTargetCount(new Sample(1000, 50, 0, 16)));
+		assertEquals(2, controller.getTargetCount(new Sample(0, 50, 2, 16)));
+	}
+
+	private IScalableService newService(final ISizingController controller) {
+		final IScalableService service = new ScalableService(new LogExceptionHandler(), new LogServiceListener(), 1, this.max,
+				200, TimeUnit.MILLISECONDS, new BlockIdleStrategy(), 0, ReusePolicy.LIFO, controller);
+		service.activate();
+		return service;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void spike(final IScalableService service) throws Exception {
+		final IResultTaskHandle<Integer>[] handles = new IResultTaskHandle[this.max];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = service.submit(new IOResultTask(i, 50));
+		}
+		for (final IResultTaskHandle<Integer> handle : handles) handle.getAndWait();
+	}
+
+	private static final class ExposedService extends ScalableService {
+
+		private ExposedService() {
+			super(new LogExceptionHandler(), new LogServiceListener(), 1, 2, 1, TimeUnit.SECONDS, new BlockIdleStrategy(), 100000);
+		}
+
+		@Override
+		protected Iterable<Executor> getExecutors() {
+			return super.getExecutors();
+		}
+	}
+
+	private static final class BlockTask implements IEventTask {
+
+		private final CountDownLatch release;
+
+		private BlockTask(final CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public void execute() throws Exception {
+			if (this.release != null) this.release.await();
+		}
+	}
+
+	private final class FixedController implements ISizingController {
+
+		private volatile int target;
+
+		private FixedController(final int target) {
+			this.target = target;
+		}
+
+		@Override
+		public int getTargetCount(final ISizingSample sample) {
+			return this.target;
+		}
+
+		@Override
+		public long getPeriod(final TimeUnit unit) {
+			return unit.convert(50, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private final class Sample implements ISizingSample {
+
+		private final double arrivalRate;
+		private final long serviceTime;
+		private final int min;
+		private final int max;
+
+		private Sample(final double arrivalRate, final long serviceTime, final int min, final int max) {
+			this.arrivalRate = arrivalRate;
+			this.serviceTime = serviceTime;
+			this.min = min;
+			this.max = max;
+		}
+
+		@Override
+		public double getArrivalRate() {
+			return this.arrivalRate;
+		}
+
+		@Override
+		public double getCompletionRate() {
+			return this.arrivalRate;
+		}
+
+		@Override
+		public long getQueueWait(final TimeUnit unit) {
+			return 0;
+		}
+
+		@Override
+		public long getServiceTime(final TimeUnit unit) {
+			return unit.convert(this.serviceTime, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int getExecutorCount() {
+			return this.min;
+		}
+
+		@Override
+		public int getBusyCount() {
+			return 0;
+		}
+
+		@Override
+		public int getMinCount() {
+			return this.min;
+		}
+
+		@Override
+		public int getMaxCount() {
+			return this.max;
+		}
+	}
+}
@@ -2,6 +2,7 @@ package hemera.core.execution.unittest.task;
 
 import java.util.concurrent.TimeUnit;
 
+import hemera.core.execution.interfaces.task.CycleMode;
 import hemera.core.execution.interfaces.task.ICyclicTask;
 
 public class FiniteCyclicTask implements ICyclicTask {
@@ -37,4 +38,14 @@ public class FiniteCyclicTask implements ICyclicTask {
 	public void signalTerminate() throws Exception {
 		System.out.println("Signal terminate");
 	}
+
+	@Override
+	public CycleMode getCycleMode() {
+		return CycleMode.FIXED_RATE;
+	}
+
+	@Override
+	public int getCatchUpLimit() {
+		return 0;
+	}
 }
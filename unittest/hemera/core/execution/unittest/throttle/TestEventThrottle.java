@@ -0,0 +1,103 @@
+package hemera.core.execution.unittest.throttle;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.throttle.EventDispatcher;
+import hemera.core.execution.throttle.EventThrottle;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that the event throttle allows the burst and
+ * then a single event per interval regardless of the
+ * number of competing threads, and that the dispatcher
+ * sends the notifications on its own thread.
+ */
+public class TestEventThrottle extends TestCase {
+
+	public void testBurst() throws Exception {
+		final EventThrottle throttle = new EventThrottle(100, TimeUnit.MILLISECONDS, 3);
+		for (int i = 0; i < 3; i++) {
+			assertTrue(throttle.tryAcquire());
+		}
+		assertFalse(throttle.tryAcquire());
+		TimeUnit.MILLISECONDS.sleep(120);
+		assertTrue(throttle.tryAcquire());
+		assertFalse(throttle.tryAcquire());
+	}
+
+	public void testUnthrottled() {
+		final EventThrottle throttle = new EventThrottle(0, TimeUnit.MILLISECONDS);
+		for (int i = 0; i < 100; i++) {
+			assertTrue(throttle.tryAcquire());
+		}
+	}
+
+	public void testConcurrent() throws Exception {
+		final EventThrottle throttle = new EventThrottle(1, TimeUnit.HOURS, 5);
+		final AtomicInteger acquired = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch(1);
+		final Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (final InterruptedException e) {
+						return;
+					}
+					for (int j = 0; j < 10000; j++) {
+						if (throttle.tryAcquire()) acquired.incrementAndGet();
+					}
+				}
+			});
+			threads[i].start();
+		}
+		start.countDown();
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(5, acquired.get());
+	}
+
+	public void testDispatch() throws Exception {
+		final EventDispatcher dispatcher = new EventDispatcher("Test-Dispatcher", new LogExceptionHandler(), new EventThrottle(1, TimeUnit.HOURS), 4);
+		final CountDownLatch notified = new CountDownLatch(1);
+		final Thread[] thread = new Thread[1];
+		final Runnable notification = new Runnable() {
+			@Override
+			public void run() {
+				thread[0] = Thread.currentThread();
+				notified.countDown();
+			}
+		};
+		assertTrue(dispatcher.dispatch(notification));
+		assertFalse(dispatcher.dispatch(notification));
+		assertTrue(notified.await(5, TimeUnit.SECONDS));
+		assertEquals("Test-Dispatcher", thread[0].getName());
+	}
+
+	public void testRestart() throws Exception {
+		final EventDispatcher dispatcher = new EventDispatcher("Test-Dispatcher", new LogExceptionHandler(), null, 4);
+		final AtomicInteger count = new AtomicInteger();
+		final Runnable notification = new Runnable() {
+			@Override
+			public void run() {
+				count.incrementAndGet();
+			}
+		};
+		assertTrue(dispatcher.dispatch(notification));
+		// Let the dispatcher thread exit after being idle.
+		TimeUnit.MILLISECONDS.sleep(1500);
+		assertTrue(dispatcher.dispatch(notification));
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (count.get() < 2 && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(5);
+		}
+		assertEquals(2, count.get());
+	}
+}
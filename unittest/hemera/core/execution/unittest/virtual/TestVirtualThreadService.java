@@ -0,0 +1,135 @@
+package hemera.core.execution.unittest.virtual;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hemera.core.execution.AbstractServiceListener;
+import hemera.core.execution.exception.LogExceptionHandler;
+import hemera.core.execution.interfaces.task.IEventTask;
+import hemera.core.execution.interfaces.task.IResultTask;
+import hemera.core.execution.interfaces.task.handle.ICyclicTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IEventTaskHandle;
+import hemera.core.execution.interfaces.task.handle.IResultTaskHandle;
+import hemera.core.execution.interfaces.virtual.IVirtualThreadService;
+import hemera.core.execution.unittest.task.InfiniteCyclicTask;
+import hemera.core.execution.virtual.VirtualThreadService;
+
+import junit.framework.TestCase;
+
+/**
+ * Verify that the virtual thread service bounds the
+ * number of concurrently executing tasks, notifies the
+ * listener when the limit is reached, and preserves
+ * the task handle semantics.
+ */
+public class TestVirtualThreadService extends TestCase {
+
+	private final int concurrency = 50;
+	private final AtomicInteger capacityReached = new AtomicInteger();
+	private IVirtualThreadService service;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		final AbstractServiceListener listener = new AbstractServiceListener() {
+			@Override
+			protected void capacityReached(final String stacktrace) {
+				capacityReached.incrementAndGet();
+			}
+
+			@Override
+			public long getFrequency(final TimeUnit unit) {
+				return 0;
+			}
+		};
+		this.service = new VirtualThreadService(new LogExceptionHandler(), listener, this.concurrency);
+		this.service.activate();
+		System.out.println("Virtual threads: " + this.service.isVirtual());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		this.service.shutdownAndWait();
+		assertEquals(0, this.service.getCurrentExecutorCount());
+	}
+
+	@SuppressWarnings("unchecked")
+	public void testConcurrencyLimit() throws Exception {
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		final IResultTaskHandle<Integer>[] handles = new IResultTaskHandle[500];
+		for (int i = 0; i < handles.length; i++) {
+			final int value = i;
+			handles[i] = this.service.submit(new IResultTask<Integer>() {
+				@Override
+				public Integer execute() throws Exception {
+					final int current = running.incrementAndGet();
+					int max = maxRunning.get();
+					while (current > max && !maxRunning.compareAndSet(max, current)) max = maxRunning.get();
+					TimeUnit.MILLISECONDS.sleep(20);
+					running.decrementAndGet();
+					return value;
+				}
+			});
+		}
+		for (int i = 0; i < handles.length; i++) {
+			assertEquals(Integer.valueOf(i), handles[i].getAndWait(10, TimeUnit.SECONDS));
+		}
+		assertTrue(maxRunning.get() <= this.concurrency);
+		assertTrue(this.capacityReached.get() > 0);
+		// Permits are released right after the handles.
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (this.service.getAvailableCount() < this.concurrency && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(5);
+		}
+		assertEquals(this.concurrency, this.service.getAvailableCount());
+	}
+
+	public void testCyclicTermination() throws Exception {
+		final InfiniteCyclicTask task = new InfiniteCyclicTask();
+		final ICyclicTaskHandle handle = this.service.submit(task);
+		assertFalse(handle.await(1200, TimeUnit.MILLISECONDS));
+		assertEquals(this.concurrency - 1, this.service.getAvailableCount());
+		handle.terminate();
+		assertTrue(handle.await(5, TimeUnit.SECONDS));
+		assertTrue(task.count >= 2);
+	}
+
+	public void testCancelBeforeStart() throws Exception {
+		// Most executor threads have not begun running when the
+		// service is cancelled right after the submissions.
+		final IEventTaskHandle[] handles = new IEventTaskHandle[this.concurrency];
+		final AtomicBoolean[] executed = new AtomicBoolean[handles.length];
+		for (int i = 0; i < handles.length; i++) {
+			final AtomicBoolean flag = new AtomicBoolean();
+			executed[i] = flag;
+			handles[i] = this.service.submit(new IEventTask() {
+				@Override
+				public void execute() throws Exception {
+					flag.set(true);
+				}
+			});
+		}
+		final List<IEventTaskHandle> cancelled = this.service.shutdownAndCancel();
+		assertTrue(this.service.awaitTermination(5, TimeUnit.SECONDS));
+		// The returned handles are exactly the tasks that never ran.
+		int ran = 0;
+		for (int i = 0; i < handles.length; i++) {
+			if (executed[i].get()) {
+				assertTrue(handles[i].await(5, TimeUnit.SECONDS));
+				assertFalse(cancelled.contains(handles[i]));
+				ran++;
+			} else {
+				assertFalse(handles[i].await(5, TimeUnit.SECONDS));
+				assertTrue(cancelled.contains(handles[i]));
+			}
+		}
+		assertEquals(handles.length, ran + cancelled.size());
+		// Every permit is released.
+		assertEquals(0, this.service.getCurrentExecutorCount());
+		assertEquals(this.concurrency, this.service.getAvailableCount());
+	}
+}